@@ -0,0 +1,94 @@
+#!/usr/bin/env bash
+# Time from `docker run` to the first successful GET /api/sweets, per image.
+#
+#   scripts/startup-benchmark.sh [-n runs] [-e env-file] image [image...]
+#   scripts/startup-benchmark.sh -n 5 -e .env sweet-management:latest sweet-management:fast-start
+#
+# The env file must provide DATASOURCE_URL, DATASOURCE_USERNAME, DATASOURCE_PASSWORD and
+# FRONTEND_ORIGIN for a database reachable from the container. BENCH_EMAIL/BENCH_PASSWORD
+# (default: the seeded admin) are used once to get a token before the timed runs.
+set -euo pipefail
+
+RUNS=5
+ENV_FILE=.env
+PORT=${BENCH_PORT:-18081}
+TIMEOUT_SECONDS=${BENCH_TIMEOUT_SECONDS:-120}
+BENCH_EMAIL=${BENCH_EMAIL:-himanitrivedi1874@gmail.com}
+BENCH_PASSWORD=${BENCH_PASSWORD:-Admin@123}
+
+while getopts "n:e:" opt; do
+    case $opt in
+        n) RUNS=$OPTARG ;;
+        e) ENV_FILE=$OPTARG ;;
+        *) sed -n '2,10p' "$0"; exit 1 ;;
+    esac
+done
+shift $((OPTIND - 1))
+if [ $# -eq 0 ]; then
+    sed -n '2,10p' "$0"
+    exit 1
+fi
+
+BASE_URL="http://localhost:${PORT}/api"
+CONTAINER=""
+
+now_ms() {
+    echo $(( $(date +%s%N) / 1000000 ))
+}
+
+start_container() {
+    CONTAINER=$(docker run -d --rm --env-file "$ENV_FILE" -p "${PORT}:8081" "$1")
+}
+
+stop_container() {
+    if [ -n "$CONTAINER" ]; then
+        docker stop "$CONTAINER" > /dev/null 2>&1 || true
+        CONTAINER=""
+    fi
+}
+trap stop_container EXIT
+
+# Polls until the command succeeds, failing the run after TIMEOUT_SECONDS
+wait_for() {
+    local deadline=$(( $(now_ms) + TIMEOUT_SECONDS * 1000 ))
+    until "$@"; do
+        if [ "$(now_ms)" -gt "$deadline" ]; then
+            echo "Timed out after ${TIMEOUT_SECONDS}s" >&2
+            docker logs "$CONTAINER" 2>&1 | tail -n 30 >&2
+            return 1
+        fi
+        sleep 0.05
+    done
+}
+
+login() {
+    TOKEN=$(curl -sf -X POST "${BASE_URL}/auth/login" -H 'Content-Type: application/json' \
+        -d "{\"email\":\"${BENCH_EMAIL}\",\"password\":\"${BENCH_PASSWORD}\"}" \
+        | sed -n 's/.*"accessToken":"\([^"]*\)".*/\1/p')
+    [ -n "$TOKEN" ]
+}
+
+list_sweets() {
+    curl -sf -o /dev/null -H "Authorization: Bearer ${TOKEN}" "${BASE_URL}/sweets"
+}
+
+# The token stays valid across restarts, so it is fetched once outside the timed runs
+echo "Warm-up: migrating, seeding and logging in with $1"
+start_container "$1"
+wait_for login
+stop_container
+
+for image in "$@"; do
+    timings=()
+    for run in $(seq 1 "$RUNS"); do
+        start=$(now_ms)
+        start_container "$image"
+        wait_for list_sweets
+        elapsed=$(( $(now_ms) - start ))
+        stop_container
+        timings+=("$elapsed")
+        echo "${image} run ${run}: ${elapsed} ms"
+    done
+    sorted=($(printf '%s\n' "${timings[@]}" | sort -n))
+    echo "${image}: median $(( sorted[RUNS / 2] )) ms, min ${sorted[0]} ms, max ${sorted[RUNS - 1]} ms over ${RUNS} runs"
+done
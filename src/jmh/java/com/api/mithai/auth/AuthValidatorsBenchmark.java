@@ -0,0 +1,42 @@
+package com.api.mithai.auth;
+
+import com.api.mithai.auth.service.AuthService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AuthValidatorsBenchmark {
+
+    private String email = "himani.trivedi@example.com";
+    private String password = "Admin@123";
+    private String shortPassword = "Ab@1";
+    private String username = "himani";
+
+    @Benchmark
+    public String validateEmail() {
+        return AuthService.validateEmail(email);
+    }
+
+    @Benchmark
+    public boolean validatePassword() {
+        return AuthService.validatePassword(password);
+    }
+
+    // The rejection path re-runs the fallback regexes and builds an exception
+    @Benchmark
+    public Object validatePasswordRejected() {
+        try {
+            return AuthService.validatePassword(shortPassword);
+        } catch (IllegalArgumentException ex) {
+            return ex;
+        }
+    }
+
+    @Benchmark
+    public String validateUsername() {
+        return AuthService.validateUsername(username);
+    }
+}
@@ -0,0 +1,37 @@
+package com.api.mithai.auth;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+public class PasswordEncoderBenchmark {
+
+    // 10 is the default used by User and the security config
+    @Param({"4", "8", "10", "12"})
+    private int strength;
+
+    private BCryptPasswordEncoder passwordEncoder;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        passwordEncoder = new BCryptPasswordEncoder(strength);
+        hash = passwordEncoder.encode("Admin@123");
+    }
+
+    @Benchmark
+    public String encode() {
+        return passwordEncoder.encode("Admin@123");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return passwordEncoder.matches("Admin@123", hash);
+    }
+}
@@ -0,0 +1,48 @@
+package com.api.mithai.base;
+
+import com.api.mithai.base.constants.Constants;
+import com.api.mithai.base.response.BaseResponse;
+import com.api.mithai.base.response.PaginatedBaseResponse;
+import com.api.mithai.sweet.dto.SweetResponseDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResponseSerializationBenchmark {
+
+    // 10 is the default page size and 100 the maximum SweetService allows
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private BaseResponse<PaginatedBaseResponse<SweetResponseDto>> response;
+
+    @Setup
+    public void setUp() {
+        // Same defaults as the ObjectMapper Spring Boot configures for MVC
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        List<SweetResponseDto> sweets = new ArrayList<>(pageSize);
+        for (long id = 1; id <= pageSize; id++) {
+            sweets.add(new SweetResponseDto(id, "Sweet " + id, 1L, "Milk Sweets", 150.0, 50));
+        }
+        PaginatedBaseResponse<SweetResponseDto> page = new PaginatedBaseResponse<>();
+        page.setList(sweets);
+        page.setTotalRecords(1000L);
+        page.setCurrentPage(0L);
+        response = new BaseResponse<>(page, true, Constants.SWEETS_RETRIEVED_SUCCESSFULLY);
+    }
+
+    @Benchmark
+    public byte[] serializeSweetsPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,50 @@
+package com.api.mithai.security;
+
+import com.api.mithai.auth.entity.User;
+import com.api.mithai.auth.enums.Role;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+// Lives in the security package to reach the package-private generate/validate methods
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtTokenProviderBenchmark {
+
+    private static final String JWT_SECRET = "P%k8G~ZP_%Zh%vFxqTrh7H1I%CfcT@0UDBd|CALL!GR@PHYOFUF*z2%tA*%!+:0N*a*Y;*%G";
+    private static final Long EXPIRATION_IN_MS = 14400000L;
+
+    private JwtTokenProvider jwtTokenProvider;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtTokenProvider = new JwtTokenProvider();
+        Field secret = ReflectionUtils.findField(JwtTokenProvider.class, "jwtSecrete");
+        ReflectionUtils.makeAccessible(secret);
+        ReflectionUtils.setField(secret, jwtTokenProvider, JWT_SECRET);
+
+        user = new User(1L, "himani", "himani.trivedi@example.com", "Admin@123", Role.ADMIN);
+        token = jwtTokenProvider.generateToken(user, EXPIRATION_IN_MS);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtTokenProvider.generateToken(user, EXPIRATION_IN_MS);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtTokenProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public Claims extractAllClaims() {
+        return jwtTokenProvider.extractAllClaims(token);
+    }
+}
@@ -0,0 +1,38 @@
+package com.api.mithai.sweet;
+
+import com.api.mithai.ledger.service.InventoryLedger;
+import com.api.mithai.sweet.dto.SweetResponseDto;
+import com.api.mithai.sweet.entity.Sweet;
+import com.api.mithai.sweet.entity.SweetCategory;
+import com.api.mithai.sweet.service.SweetService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SweetServiceBenchmark {
+
+    private SweetService sweetService;
+    private Sweet sweet;
+
+    @Setup
+    public void setUp() {
+        // mapToResponseDto never touches the repositories or the event publisher. Stock comes from
+        // a ledger returning a fixed quantity, so only the mapping is measured.
+        InventoryLedger inventoryLedger = new InventoryLedger(null, null, null) {
+            @Override
+            public int getQuantity(Long sweetId) {
+                return 50;
+            }
+        };
+        sweetService = new SweetService(null, null, null, inventoryLedger);
+        sweet = new Sweet(1L, "Gulab Jamun", new SweetCategory(1L, "Milk Sweets"), 150.0, 50);
+    }
+
+    @Benchmark
+    public SweetResponseDto mapToResponseDto() {
+        return sweetService.mapToResponseDto(sweet);
+    }
+}
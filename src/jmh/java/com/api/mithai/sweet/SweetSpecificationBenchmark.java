@@ -0,0 +1,60 @@
+package com.api.mithai.sweet;
+
+import com.api.mithai.sweet.entity.Sweet;
+import com.api.mithai.sweet.entity.SweetCategory;
+import com.api.mithai.sweet.specification.SweetSpecification;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SweetSpecificationBenchmark {
+
+    @Param({"none", "search", "price", "all"})
+    private String filters;
+
+    private SessionFactory sessionFactory;
+    private CriteriaBuilder criteriaBuilder;
+    private String searchValue;
+    private Double minPrice;
+    private Double maxPrice;
+
+    @Setup
+    public void setUp() {
+        // Criteria objects are built from the metamodel only, so no database is needed
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(Sweet.class)
+                .addAnnotatedClass(SweetCategory.class)
+                .setProperty("hibernate.dialect", "org.hibernate.dialect.PostgreSQLDialect")
+                .setProperty("hibernate.boot.allow_jdbc_metadata_access", "false")
+                .buildSessionFactory();
+        criteriaBuilder = sessionFactory.getCriteriaBuilder();
+
+        boolean search = filters.equals("search") || filters.equals("all");
+        boolean price = filters.equals("price") || filters.equals("all");
+        searchValue = search ? " Jamun " : null;
+        minPrice = price ? 50.0 : null;
+        maxPrice = price ? 500.0 : null;
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public Predicate withFilters() {
+        CriteriaQuery<Sweet> query = criteriaBuilder.createQuery(Sweet.class);
+        Root<Sweet> root = query.from(Sweet.class);
+        return SweetSpecification.withFilters(searchValue, minPrice, maxPrice)
+                .toPredicate(root, query, criteriaBuilder);
+    }
+}
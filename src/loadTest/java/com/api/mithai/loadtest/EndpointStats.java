@@ -0,0 +1,77 @@
+package com.api.mithai.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latency and outcome counters for one operation in the traffic mix
+class EndpointStats {
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(2);
+
+    private final String name;
+    private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_NANOS, 3);
+    private final LongAdder success = new LongAdder();
+    private final LongAdder clientErrors = new LongAdder();
+    private final LongAdder serverErrors = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    // Latency is measured from the intended start time so queueing delay is not hidden
+    void record(long intendedStartNanos, int statusCode) {
+        recorder.recordValue(Math.min(System.nanoTime() - intendedStartNanos, HIGHEST_TRACKABLE_NANOS));
+        if (statusCode >= 500) {
+            serverErrors.increment();
+        } else if (statusCode >= 400) {
+            clientErrors.increment();
+        } else {
+            success.increment();
+        }
+    }
+
+    void recordFailure(long intendedStartNanos) {
+        recorder.recordValue(Math.min(System.nanoTime() - intendedStartNanos, HIGHEST_TRACKABLE_NANOS));
+        failures.increment();
+    }
+
+    void recordDropped() {
+        dropped.increment();
+    }
+
+    Map<String, Object> toReport(double elapsedSeconds) {
+        Histogram histogram = recorder.getIntervalHistogram();
+        long completed = histogram.getTotalCount();
+
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("mean", toMillis(histogram.getMean()));
+        latency.put("p50", toMillis(histogram.getValueAtPercentile(50)));
+        latency.put("p90", toMillis(histogram.getValueAtPercentile(90)));
+        latency.put("p99", toMillis(histogram.getValueAtPercentile(99)));
+        latency.put("p999", toMillis(histogram.getValueAtPercentile(99.9)));
+        latency.put("max", toMillis(histogram.getMaxValue()));
+
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("endpoint", name);
+        values.put("completed", completed);
+        values.put("throughputPerSecond", completed / elapsedSeconds);
+        values.put("success", success.sum());
+        values.put("clientErrors", clientErrors.sum());
+        values.put("serverErrors", serverErrors.sum());
+        values.put("failures", failures.sum());
+        values.put("dropped", dropped.sum());
+        values.put("latencyMs", latency);
+        return values;
+    }
+
+    private static double toMillis(double nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,116 @@
+package com.api.mithai.loadtest;
+
+import com.api.mithai.SweetManagementApplication;
+import com.api.mithai.base.constants.Constants;
+import com.api.mithai.base.constants.Urls;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares sweet insert throughput for each id allocation size, by default 1 (one sequence
+ * round trip per row) against the pooled-lo block the application ships with. Every size gets
+ * a fresh embedded PostgreSQL, so the repeatable migration sets the sequence increment and
+ * Hibernate adopts it, and then creates the same sweets through the batch endpoint.
+ */
+public class IdAllocationBenchmark {
+
+    private final String email = System.getProperty("idallocation.adminEmail", "himanitrivedi1874@gmail.com");
+    private final String password = System.getProperty("idallocation.adminPassword", "Admin@123");
+    private final int sweets = Integer.parseInt(System.getProperty("idallocation.sweets", "5000"));
+    private final int warmupSweets = Integer.parseInt(System.getProperty("idallocation.warmupSweets", "1000"));
+
+    public static void main(String[] args) throws Exception {
+        IdAllocationBenchmark benchmark = new IdAllocationBenchmark();
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (String size : System.getProperty("idallocation.sizes", "1,50").split(",")) {
+            results.add(benchmark.run(Integer.parseInt(size.trim())));
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("finishedAt", Instant.now().toString());
+        report.put("sweets", benchmark.sweets);
+        report.put("warmupSweets", benchmark.warmupSweets);
+        report.put("results", results);
+
+        File reportFile = new File(System.getProperty("idallocation.report", "build/reports/idallocation/report.json"));
+        reportFile.getParentFile().mkdirs();
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(reportFile, report);
+        System.out.println(new ObjectMapper().writerWithDefaultPrettyPrinter().writeValueAsString(report));
+        System.out.println("Report written to " + reportFile.getAbsolutePath());
+    }
+
+    private Map<String, Object> run(int allocationSize) throws Exception {
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start()) {
+            ConfigurableApplicationContext context = new SpringApplication(SweetManagementApplication.class).run(
+                    "--server.port=0",
+                    "--management.server.port=0",
+                    "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                    "--spring.datasource.username=postgres",
+                    "--spring.datasource.password=postgres",
+                    "--spring.flyway.placeholders.id_allocation_size=" + allocationSize,
+                    "--app.frontend.allowed.origin=http://localhost",
+                    "--logging.level.root=WARN");
+            try {
+                LoadTestClient client = new LoadTestClient(
+                        Integer.parseInt(context.getEnvironment().getRequiredProperty("local.server.port")));
+                String token = client.awaitLogin(email, password);
+                List<Long> categoryIds = client.awaitCategories(token);
+
+                createSweets(client, token, categoryIds, "Warmup Sweet ", warmupSweets);
+                long sequenceBefore = sequenceValue(postgres);
+                long start = System.nanoTime();
+                createSweets(client, token, categoryIds, "Timed Sweet ", sweets);
+                double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+                long sequenceAfter = sequenceValue(postgres);
+
+                Map<String, Object> result = new LinkedHashMap<>();
+                result.put("allocationSize", allocationSize);
+                result.put("elapsedSeconds", elapsedSeconds);
+                result.put("insertsPerSecond", sweets / elapsedSeconds);
+                // Each nextval moves the sequence by one allocation block
+                result.put("sequenceCalls", (sequenceAfter - sequenceBefore) / allocationSize);
+                return result;
+            } finally {
+                context.close();
+            }
+        }
+    }
+
+    private void createSweets(LoadTestClient client, String token, List<Long> categoryIds, String prefix, int count)
+            throws Exception {
+        List<Map<String, Object>> batch = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            Map<String, Object> sweet = new LinkedHashMap<>();
+            sweet.put("name", prefix + i);
+            sweet.put("categoryId", categoryIds.get(i % categoryIds.size()));
+            sweet.put("price", 50.0 + i % 450);
+            sweet.put("quantity", 100);
+            batch.add(sweet);
+            if (batch.size() == Constants.MAX_BATCH_SIZE || i == count) {
+                client.requireOk(client.post(Urls.SWEETS_URL + Urls.BATCH_URL, token, batch), "create sweets");
+                batch = new ArrayList<>();
+            }
+        }
+    }
+
+    private long sequenceValue(EmbeddedPostgres postgres) throws Exception {
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT last_value FROM sweets_seq")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
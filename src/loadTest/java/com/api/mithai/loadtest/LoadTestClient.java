@@ -0,0 +1,116 @@
+package com.api.mithai.loadtest;
+
+import com.api.mithai.base.constants.Urls;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// Thin JSON-over-HTTP wrapper shared by the seeding phases and the load generators
+class LoadTestClient {
+
+    private final String baseUrl;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    LoadTestClient(int port) {
+        this.baseUrl = "http://localhost:" + port + Urls.BASE_URL;
+    }
+
+    HttpResponse<byte[]> get(String path, String token) throws IOException, InterruptedException {
+        return send(request(path, token).GET().build());
+    }
+
+    HttpResponse<byte[]> post(String path, String token, Object body) throws IOException, InterruptedException {
+        return send(request(path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build());
+    }
+
+    String login(String email, String password) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = post(Urls.AUTH_URL + Urls.LOGIN_URL, null,
+                Map.of("email", email, "password", password));
+        return requireOk(response, "login " + email).path("data").path("accessToken").asText();
+    }
+
+    // DataInitializer seeds after the context reports ready, so the account may not exist yet
+    String awaitLogin(String email, String password) throws IOException, InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (true) {
+            try {
+                return login(email, password);
+            } catch (IllegalStateException ex) {
+                if (System.nanoTime() > deadline) {
+                    throw ex;
+                }
+                Thread.sleep(250);
+            }
+        }
+    }
+
+    // DataInitializer may still be creating the categories when the context reports ready
+    List<Long> awaitCategories(String token) throws IOException, InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (System.nanoTime() < deadline) {
+            JsonNode categories = requireOk(get(Urls.SWEETS_URL + Urls.CATEGORY_URL, token), "list categories").path("data");
+            if (categories.size() > 0) {
+                return ids(categories);
+            }
+            Thread.sleep(250);
+        }
+        throw new IllegalStateException("No sweet categories were initialized");
+    }
+
+    void register(String email, String password) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = post(Urls.AUTH_URL + Urls.REGISTER_URL, null,
+                Map.of("emailId", email, "password", password));
+        // A rerun against a reused database finds the account already there
+        if (response.statusCode() != 201 && response.statusCode() != 400) {
+            requireOk(response, "register " + email);
+        }
+    }
+
+    JsonNode requireOk(HttpResponse<byte[]> response, String action) throws IOException {
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException(action + " failed with " + response.statusCode() + ": "
+                    + new String(response.body()));
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    List<Long> ids(JsonNode array) {
+        List<Long> ids = new ArrayList<>(array.size());
+        for (JsonNode item : array) {
+            ids.add(item.path("id").asLong());
+        }
+        return ids;
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private HttpResponse<byte[]> send(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
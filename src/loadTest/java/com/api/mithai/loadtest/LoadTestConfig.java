@@ -0,0 +1,75 @@
+package com.api.mithai.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Every value can be overridden with -Dloadtest.<name>, or -Ploadtest.<name> through Gradle
+public class LoadTestConfig {
+
+    // Target arrival rate in requests per second, independent of response times
+    final double rate = doubleProperty("rate", 200);
+    // "poisson" for exponential inter-arrival gaps, "constant" for a fixed interval
+    final String arrival = stringProperty("arrival", "poisson");
+    final int warmupSeconds = intProperty("warmupSeconds", 15);
+    final int durationSeconds = intProperty("durationSeconds", 60);
+    // Arrivals beyond this many outstanding requests are counted as dropped instead of sent
+    final int maxInFlight = intProperty("maxInFlight", 5000);
+
+    final int sweets = intProperty("sweets", 1000);
+    final int users = intProperty("users", 50);
+    final int admins = intProperty("admins", 2);
+
+    final Map<String, Integer> mix = parseMix(stringProperty("mix",
+            "list=40,search=25,purchase=20,restock=5,login=10"));
+
+    final String report = stringProperty("report", "build/reports/loadtest/report.json");
+
+    // Account seeded by DataInitializer, promoted accounts reuse the same password rules
+    final String adminEmail = stringProperty("adminEmail", "himanitrivedi1874@gmail.com");
+    final String adminPassword = stringProperty("adminPassword", "Admin@123");
+    final String accountPassword = "Load@1234";
+
+    Map<String, Object> toReport() {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("rate", rate);
+        values.put("arrival", arrival);
+        values.put("warmupSeconds", warmupSeconds);
+        values.put("durationSeconds", durationSeconds);
+        values.put("maxInFlight", maxInFlight);
+        values.put("sweets", sweets);
+        values.put("users", users);
+        values.put("admins", admins);
+        values.put("mix", mix);
+        return values;
+    }
+
+    private static Map<String, Integer> parseMix(String value) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid loadtest.mix entry: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(parts[0].trim(), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.mix must contain at least one positive weight");
+        }
+        return weights;
+    }
+
+    private static String stringProperty(String name, String defaultValue) {
+        return System.getProperty("loadtest." + name, defaultValue);
+    }
+
+    private static int intProperty(String name, int defaultValue) {
+        return Integer.parseInt(stringProperty(name, String.valueOf(defaultValue)));
+    }
+
+    private static double doubleProperty(String name, double defaultValue) {
+        return Double.parseDouble(stringProperty(name, String.valueOf(defaultValue)));
+    }
+}
@@ -0,0 +1,236 @@
+package com.api.mithai.loadtest;
+
+import com.api.mithai.SweetManagementApplication;
+import com.api.mithai.base.constants.Constants;
+import com.api.mithai.base.constants.Urls;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Boots the application against an embedded PostgreSQL, seeds sweets and accounts through the
+ * public API and then drives an open-model mix of list, search, purchase, restock and login
+ * requests. Arrivals follow the configured rate whatever the response times are, and latency is
+ * measured from the intended start, so a saturated server shows up as growing percentiles
+ * instead of a quietly reduced request rate.
+ */
+public class LoadTestRunner {
+
+    private static final List<String> OPERATIONS = List.of("list", "search", "purchase", "restock", "login");
+    private static final String[] SEARCH_TERMS = {"milk", "sweet 1", "dry", "festival", "sweet 42", "bengali"};
+
+    private final LoadTestConfig config;
+    private final LoadTestClient client;
+    private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+    private final List<String[]> accounts = new ArrayList<>();
+    private final List<String> userTokens = new ArrayList<>();
+    private final List<String> adminTokens = new ArrayList<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private List<Long> sweetIds = new ArrayList<>();
+
+    LoadTestRunner(LoadTestConfig config, int port) {
+        this.config = config;
+        this.client = new LoadTestClient(port);
+        for (String operation : config.mix.keySet()) {
+            if (!OPERATIONS.contains(operation)) {
+                throw new IllegalArgumentException("Unknown load test operation " + operation + ", expected one of " + OPERATIONS);
+            }
+            stats.put(operation, new EndpointStats(operation));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = new LoadTestConfig();
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start()) {
+            ConfigurableApplicationContext context = new SpringApplication(SweetManagementApplication.class).run(
+                    "--server.port=0",
+                    "--management.server.port=0",
+                    "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                    "--spring.datasource.username=postgres",
+                    "--spring.datasource.password=postgres",
+                    "--app.frontend.allowed.origin=http://localhost",
+                    "--logging.level.root=WARN");
+            try {
+                int port = Integer.parseInt(context.getEnvironment().getRequiredProperty("local.server.port"));
+                LoadTestRunner runner = new LoadTestRunner(config, port);
+                runner.seed(postgres);
+                Map<String, Object> report = runner.run();
+
+                File reportFile = new File(config.report);
+                reportFile.getParentFile().mkdirs();
+                new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(reportFile, report);
+                System.out.println(new ObjectMapper().writerWithDefaultPrettyPrinter().writeValueAsString(report));
+                System.out.println("Report written to " + reportFile.getAbsolutePath());
+            } finally {
+                context.close();
+            }
+        }
+    }
+
+    private void seed(EmbeddedPostgres postgres) throws Exception {
+        String adminToken = client.awaitLogin(config.adminEmail, config.adminPassword);
+        accounts.add(new String[]{config.adminEmail, config.adminPassword});
+        adminTokens.add(adminToken);
+
+        List<Long> categoryIds = client.awaitCategories(adminToken);
+        seedSweets(adminToken, categoryIds);
+
+        for (int i = 0; i < config.users + config.admins; i++) {
+            boolean admin = i >= config.users;
+            String email = (admin ? "loadtest-admin-" : "loadtest-user-") + i + "@example.com";
+            client.register(email, config.accountPassword);
+            if (admin) {
+                // Registration only creates USER accounts
+                try (Connection connection = postgres.getPostgresDatabase().getConnection();
+                     PreparedStatement statement = connection.prepareStatement(
+                             "UPDATE users SET role_name = 'ADMIN' WHERE email_id = ?")) {
+                    statement.setString(1, email);
+                    statement.executeUpdate();
+                }
+            }
+            accounts.add(new String[]{email, config.accountPassword});
+            (admin ? adminTokens : userTokens).add(client.login(email, config.accountPassword));
+        }
+        if (userTokens.isEmpty()) {
+            userTokens.addAll(adminTokens);
+        }
+    }
+
+    private void seedSweets(String token, List<Long> categoryIds) throws Exception {
+        List<Map<String, Object>> batch = new ArrayList<>();
+        for (int i = 1; i <= config.sweets; i++) {
+            Map<String, Object> sweet = new LinkedHashMap<>();
+            sweet.put("name", "Load Sweet " + i);
+            sweet.put("categoryId", categoryIds.get(i % categoryIds.size()));
+            sweet.put("price", 50.0 + i % 450);
+            // Large enough that purchases do not run the stock out during a run
+            sweet.put("quantity", 1_000_000);
+            batch.add(sweet);
+            if (batch.size() == Constants.MAX_BATCH_SIZE || i == config.sweets) {
+                JsonNode created = client.requireOk(client.post(Urls.SWEETS_URL + Urls.BATCH_URL, token, batch),
+                        "seed sweets");
+                sweetIds.addAll(client.ids(created.path("data")));
+                batch = new ArrayList<>();
+            }
+        }
+        if (sweetIds.isEmpty()) {
+            throw new IllegalStateException("loadtest.sweets must be at least 1");
+        }
+        sweetIds = List.copyOf(sweetIds);
+    }
+
+    private Map<String, Object> run() throws InterruptedException {
+        List<String> operations = new ArrayList<>();
+        config.mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                operations.add(operation);
+            }
+        });
+
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / config.rate);
+        long start = System.nanoTime();
+        long measureStart = start + TimeUnit.SECONDS.toNanos(config.warmupSeconds);
+        long end = measureStart + TimeUnit.SECONDS.toNanos(config.durationSeconds);
+        long sent = 0;
+
+        long nextArrival = start;
+        while (nextArrival < end) {
+            long now = System.nanoTime();
+            if (nextArrival > now) {
+                LockSupport.parkNanos(nextArrival - now);
+            }
+            long intendedStart = nextArrival;
+            boolean measured = intendedStart >= measureStart;
+            String operation = operations.get(ThreadLocalRandom.current().nextInt(operations.size()));
+            EndpointStats endpointStats = stats.get(operation);
+
+            if (inFlight.get() >= config.maxInFlight) {
+                if (measured) {
+                    endpointStats.recordDropped();
+                }
+            } else {
+                inFlight.incrementAndGet();
+                if (measured) {
+                    sent++;
+                }
+                Thread.ofVirtual().start(() -> execute(operation, endpointStats, intendedStart, measured));
+            }
+
+            nextArrival += "constant".equals(config.arrival) ? intervalNanos
+                    : (long) (-Math.log(1 - ThreadLocalRandom.current().nextDouble()) * intervalNanos);
+        }
+
+        // Let the requests issued near the end complete before reading the histograms
+        long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(50);
+        }
+
+        double elapsedSeconds = config.durationSeconds;
+        List<Map<String, Object>> endpoints = new ArrayList<>();
+        stats.values().forEach(endpointStats -> endpoints.add(endpointStats.toReport(elapsedSeconds)));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("finishedAt", Instant.now().toString());
+        report.put("config", config.toReport());
+        report.put("measuredSeconds", elapsedSeconds);
+        report.put("sentPerSecond", sent / elapsedSeconds);
+        report.put("unfinishedAtEnd", inFlight.get());
+        report.put("endpoints", endpoints);
+        return report;
+    }
+
+    private void execute(String operation, EndpointStats endpointStats, long intendedStart, boolean measured) {
+        try {
+            HttpResponse<byte[]> response = send(operation);
+            if (measured) {
+                endpointStats.record(intendedStart, response.statusCode());
+            }
+        } catch (Exception ex) {
+            if (measured) {
+                endpointStats.recordFailure(intendedStart);
+            }
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private HttpResponse<byte[]> send(String operation) throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Long sweetId = sweetIds.get(random.nextInt(sweetIds.size()));
+        String userToken = userTokens.get(random.nextInt(userTokens.size()));
+        return switch (operation) {
+            case "list" -> client.get(Urls.SWEETS_URL + "?page=" + random.nextInt(Math.max(1, sweetIds.size() / 10))
+                    + "&size=10&sortField=price&sortOrder=DESC", userToken);
+            case "search" -> client.get(Urls.SWEETS_URL + Urls.SEARCH_URL + "?searchValue="
+                    + SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)].replace(" ", "%20")
+                    + "&minValue=50&maxValue=" + (100 + random.nextInt(400)), userToken);
+            case "purchase" -> client.post(Urls.SWEETS_URL + "/" + sweetId + Urls.PURCHASE_URL, userToken,
+                    Map.of("purchaseQuantity", 1 + random.nextInt(3)));
+            case "restock" -> client.post(Urls.SWEETS_URL + "/" + sweetId + Urls.RESTOCK_URL,
+                    adminTokens.get(random.nextInt(adminTokens.size())), Map.of("quantity", 5));
+            case "login" -> {
+                String[] account = accounts.get(random.nextInt(accounts.size()));
+                yield client.post(Urls.AUTH_URL + Urls.LOGIN_URL, null,
+                        Map.of("email", account[0], "password", account[1]));
+            }
+            default -> throw new IllegalArgumentException("Unknown load test operation: " + operation);
+        };
+    }
+}
@@ -0,0 +1,229 @@
+package com.api.mithai.loadtest;
+
+import com.api.mithai.base.constants.Urls;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Starts the application as a separate process (the native executable or the boot jar) against an
+ * embedded PostgreSQL, checks login, create, list and purchase end to end, and then reports the
+ * time to a healthy server, the resident set size after a steady closed-loop run of
+ * GET /api/sweets, and that run's throughput. Each run appends one row to a markdown table so the
+ * native and JVM builds can be compared side by side.
+ */
+public class ProcessSmokeTest {
+
+    private static final String ADMIN_EMAIL = System.getProperty("smoke.adminEmail", "himanitrivedi1874@gmail.com");
+    private static final String ADMIN_PASSWORD = System.getProperty("smoke.adminPassword", "Admin@123");
+
+    private final String label = System.getProperty("smoke.label", "app");
+    // Whitespace separated command line that starts the application
+    private final List<String> command = Arrays.asList(System.getProperty("smoke.command").trim().split("\\s+"));
+    private final int threads = Integer.getInteger("smoke.threads", 16);
+    private final int warmupSeconds = Integer.getInteger("smoke.warmupSeconds", 10);
+    private final int durationSeconds = Integer.getInteger("smoke.durationSeconds", 30);
+    private final String report = System.getProperty("smoke.report", "build/reports/smoke/comparison.md");
+
+    public static void main(String[] args) throws Exception {
+        new ProcessSmokeTest().run();
+    }
+
+    private void run() throws Exception {
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start()) {
+            int port = freePort();
+            int managementPort = freePort();
+            List<String> arguments = new ArrayList<>(command);
+            arguments.addAll(List.of(
+                    "--server.port=" + port,
+                    "--management.server.port=" + managementPort,
+                    "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                    "--spring.datasource.username=postgres",
+                    "--spring.datasource.password=postgres",
+                    "--app.frontend.allowed.origin=http://localhost",
+                    "--logging.level.root=WARN"));
+
+            File log = new File(new File(report).getParentFile(), label + ".log");
+            log.getParentFile().mkdirs();
+            long start = System.nanoTime();
+            Process process = new ProcessBuilder(arguments)
+                    .redirectErrorStream(true)
+                    .redirectOutput(log)
+                    .start();
+            try {
+                long startupMs = waitForHealth(process, managementPort, start);
+                LoadTestClient client = new LoadTestClient(port);
+                String token = checkFlows(client);
+                double throughput = measureThroughput(client, token);
+                String rss = residentSetSize(process.pid());
+
+                String row = String.format("| %s | %d | %s | %.0f |", label, startupMs, rss, throughput);
+                System.out.println(row);
+                appendRow(row);
+            } finally {
+                process.destroy();
+                if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            }
+        }
+    }
+
+    private long waitForHealth(Process process, int managementPort, long start) throws Exception {
+        HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest health = HttpRequest.newBuilder(URI.create("http://localhost:" + managementPort + "/actuator/health"))
+                .timeout(Duration.ofSeconds(2))
+                .build();
+        long deadline = start + TimeUnit.SECONDS.toNanos(120);
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException(label + " exited with " + process.exitValue() + ", see its log");
+            }
+            try {
+                if (httpClient.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                }
+            } catch (IOException ex) {
+                // Not listening yet
+            }
+            Thread.sleep(10);
+        }
+        throw new IllegalStateException(label + " did not become healthy within 120 seconds");
+    }
+
+    // Fails with the response body on the first broken step
+    private String checkFlows(LoadTestClient client) throws Exception {
+        String token = retry(() -> client.login(ADMIN_EMAIL, ADMIN_PASSWORD));
+        List<Long> categoryIds = retry(() -> {
+            List<Long> ids = client.ids(client.requireOk(
+                    client.get(Urls.SWEETS_URL + Urls.CATEGORY_URL, token), "list categories").path("data"));
+            if (ids.isEmpty()) {
+                throw new IllegalStateException("No sweet categories were initialized");
+            }
+            return ids;
+        });
+
+        Map<String, Object> sweet = new LinkedHashMap<>();
+        sweet.put("name", "Smoke Sweet " + System.currentTimeMillis());
+        sweet.put("categoryId", categoryIds.get(0));
+        sweet.put("price", 120.0);
+        sweet.put("quantity", 10);
+        long sweetId = client.requireOk(client.post(Urls.SWEETS_URL, token, sweet), "create sweet")
+                .path("data").path("id").asLong();
+
+        JsonNode purchased = client.requireOk(client.post(Urls.SWEETS_URL + "/" + sweetId + Urls.PURCHASE_URL, token,
+                Map.of("purchaseQuantity", 3)), "purchase sweet").path("data");
+        if (purchased.path("quantity").asInt() != 7) {
+            throw new IllegalStateException("Purchase left quantity " + purchased.path("quantity").asInt() + ", expected 7");
+        }
+
+        JsonNode listed = client.requireOk(client.get(Urls.SWEETS_URL, token), "list sweets").path("data");
+        if (listed.path("list").isEmpty()) {
+            throw new IllegalStateException("List sweets returned no sweets");
+        }
+        return token;
+    }
+
+    // Closed loop: each thread sends its next request as soon as the previous one completes
+    private double measureThroughput(LoadTestClient client, String token) throws Exception {
+        AtomicLong completed = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        long measureFrom = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long measureUntil = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+
+        List<Thread> workers = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            workers.add(Thread.ofVirtual().start(() -> {
+                while (System.nanoTime() < measureUntil) {
+                    try {
+                        boolean ok = client.get(Urls.SWEETS_URL, token).statusCode() == 200;
+                        if (System.nanoTime() >= measureFrom) {
+                            (ok ? completed : failed).incrementAndGet();
+                        }
+                    } catch (IOException ex) {
+                        failed.incrementAndGet();
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }));
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        if (failed.get() > 0) {
+            throw new IllegalStateException(failed.get() + " requests failed during the throughput run");
+        }
+        return completed.get() / (double) durationSeconds;
+    }
+
+    // Linux only; reported as n/a elsewhere
+    private static String residentSetSize(long pid) throws IOException {
+        Path status = Path.of("/proc", String.valueOf(pid), "status");
+        if (!Files.exists(status)) {
+            return "n/a";
+        }
+        for (String line : Files.readAllLines(status)) {
+            if (line.startsWith("VmRSS:")) {
+                long kilobytes = Long.parseLong(line.replaceAll("\\D", ""));
+                return String.valueOf(kilobytes / 1024);
+            }
+        }
+        return "n/a";
+    }
+
+    private void appendRow(String row) throws IOException {
+        Path file = Path.of(report);
+        if (!Files.exists(file)) {
+            Files.writeString(file, "| Build | Startup to healthy (ms) | RSS after run (MB) | GET /api/sweets (req/s) |"
+                    + System.lineSeparator() + "|---|---|---|---|" + System.lineSeparator(), StandardCharsets.UTF_8);
+        }
+        Files.writeString(file, row + System.lineSeparator(), StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        System.out.println("Row appended to " + file.toAbsolutePath());
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static <T> T retry(Step<T> step) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (true) {
+            try {
+                return step.run();
+            } catch (IllegalStateException ex) {
+                if (System.nanoTime() > deadline) {
+                    throw ex;
+                }
+                Thread.sleep(250);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Step<T> {
+        T run() throws Exception;
+    }
+}
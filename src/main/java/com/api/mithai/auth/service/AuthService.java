@@ -7,7 +7,10 @@ import com.api.mithai.auth.entity.User;
 import com.api.mithai.auth.enums.Role;
 import com.api.mithai.auth.repository.UserRepository;
 import com.api.mithai.base.exception.ResponseStatusException;
+import com.api.mithai.base.jfr.AuthenticationEvent;
+import com.api.mithai.base.jfr.JfrOutcome;
 import com.api.mithai.security.AccessTokenManager;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -26,46 +29,86 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final AccessTokenManager accessTokenManager;
 
+    @Timed(value = "mithai.service", histogram = true)
     public LoginResponseDto login(LoginRequestDto loginRequestDto) {
-        String emailId = validateEmail(loginRequestDto.getEmail());
-        String password = loginRequestDto.getPassword();
+        AuthenticationEvent event = new AuthenticationEvent();
+        event.begin();
+        event.setOperation(AuthenticationEvent.LOGIN);
+        try {
+            String emailId = validateEmail(loginRequestDto.getEmail());
+            String password = loginRequestDto.getPassword();
+
+            if (!validatePassword(password)) {
+                throw new ResponseStatusException("Invalid email or password", HttpStatus.BAD_REQUEST);
+            }
 
-        if (!validatePassword(password)) {
-            throw new ResponseStatusException("Invalid email or password", HttpStatus.BAD_REQUEST);
-        }
+            long lookupStart = System.nanoTime();
+            Optional<User> user = userRepository.findByEmailId(emailId);
+            event.setLookupDuration(System.nanoTime() - lookupStart);
+            if (user.isEmpty()) {
+                throw new ResponseStatusException("Invalid email or password", HttpStatus.BAD_REQUEST);
+            }
 
-        Optional<User> user = userRepository.findByEmailId(emailId);
-        if (user.isEmpty()) {
-            throw new ResponseStatusException("Invalid email or password", HttpStatus.BAD_REQUEST);
-        }
+            long bcryptStart = System.nanoTime();
+            boolean passwordMatches = passwordEncoder.matches(password, user.get().getPassword());
+            event.setBcryptDuration(System.nanoTime() - bcryptStart);
+            if (!passwordMatches) {
+                throw new ResponseStatusException("Invalid email or password", HttpStatus.BAD_REQUEST);
+            }
 
-        if (!passwordEncoder.matches(password, user.get().getPassword())) {
-            throw new ResponseStatusException("Invalid email or password", HttpStatus.BAD_REQUEST);
+            long tokenStart = System.nanoTime();
+            String accessToken = accessTokenManager.getAccessToken(user.get());
+            event.setFinishDuration(System.nanoTime() - tokenStart);
+            event.setOutcome(JfrOutcome.SUCCESS);
+            return new LoginResponseDto(user.get().getEmailId(),
+                    accessToken,
+                    user.get().getRoleName());
+        } catch (RuntimeException ex) {
+            event.setOutcome(JfrOutcome.of(ex));
+            throw ex;
+        } finally {
+            event.commit();
         }
-
-        return new LoginResponseDto(user.get().getEmailId(),
-                accessTokenManager.getAccessToken(user.get()),
-                user.get().getRoleName());
     }
 
+    @Timed(value = "mithai.service", histogram = true)
     public void register(RegisterAuthRequestDto registerAuthRequestDto) {
-        String emailId = validateEmail(registerAuthRequestDto.getEmailId());
-        String password = registerAuthRequestDto.getPassword();
+        AuthenticationEvent event = new AuthenticationEvent();
+        event.begin();
+        event.setOperation(AuthenticationEvent.REGISTER);
+        try {
+            String emailId = validateEmail(registerAuthRequestDto.getEmailId());
+            String password = registerAuthRequestDto.getPassword();
+
+            if (!validatePassword(password)) {
+                throw new ResponseStatusException("Invalid email or password", HttpStatus.BAD_REQUEST);
+            }
 
-        if (!validatePassword(password)) {
-            throw new ResponseStatusException("Invalid email or password", HttpStatus.BAD_REQUEST);
-        }
+            long lookupStart = System.nanoTime();
+            boolean exists = userRepository.existsByEmailId(emailId);
+            event.setLookupDuration(System.nanoTime() - lookupStart);
+            if (exists) {
+                throw new ResponseStatusException("User with this email already exists", HttpStatus.BAD_REQUEST);
+            }
 
-        if (userRepository.existsByEmailId(emailId)) {
-            throw new ResponseStatusException("User with this email already exists", HttpStatus.BAD_REQUEST);
+            User user = new User();
+            user.setEmailId(emailId);
+            long bcryptStart = System.nanoTime();
+            user.setPassword(password);
+            event.setBcryptDuration(System.nanoTime() - bcryptStart);
+            user.setUsername(emailId.substring(0,5));
+            user.setRoleName(Role.USER);
+
+            long saveStart = System.nanoTime();
+            userRepository.save(user);
+            event.setFinishDuration(System.nanoTime() - saveStart);
+            event.setOutcome(JfrOutcome.SUCCESS);
+        } catch (RuntimeException ex) {
+            event.setOutcome(JfrOutcome.of(ex));
+            throw ex;
+        } finally {
+            event.commit();
         }
-
-        User user = new User();
-        user.setEmailId(emailId);
-        user.setPassword(password);
-        user.setUsername(emailId.substring(0,5));
-        user.setRoleName(Role.USER);
-        userRepository.save(user);
     }
 
     public static String validateEmail(String emailId) {
@@ -1,73 +1,105 @@
 package com.api.mithai.base.config;
 
-import com.api.mithai.auth.entity.User;
-import com.api.mithai.auth.enums.Role;
-import com.api.mithai.auth.repository.UserRepository;
-import com.api.mithai.sweet.entity.SweetCategory;
-import com.api.mithai.sweet.repository.SweetCategoryRepository;
+import com.api.mithai.auth.service.AuthService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.boot.CommandLineRunner;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
-import java.util.Arrays;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.List;
 
+// Seeds the manifest rows once the application is ready, without holding up startup.
+// Each table is one INSERT ... ON CONFLICT DO NOTHING, so replicas starting together
+// cannot create duplicates and existing rows are left untouched.
 @Component
 @RequiredArgsConstructor
 @Slf4j
-public class DataInitializer implements CommandLineRunner {
+public class DataInitializer {
 
-    private final UserRepository userRepository;
-    private final SweetCategoryRepository sweetCategoryRepository;
+    private static final String INSERT_USERS_SQL = """
+            INSERT INTO users (username, email_id, password, role_name)
+            SELECT * FROM unnest(?::text[], ?::text[], ?::text[], ?::text[])
+            ON CONFLICT (email_id) DO NOTHING
+            """;
+    private static final String INSERT_CATEGORIES_SQL = """
+            INSERT INTO sweet_categories (name)
+            SELECT unnest(?::text[])
+            ON CONFLICT (name) DO NOTHING
+            """;
 
-    @Override
-    public void run(String... args) throws Exception {
-        initializeAdminUser();
-        initializeSweetCategories();
-    }
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final PasswordEncoder passwordEncoder;
+
+    @Value("${app.seed.manifest:classpath:seed/manifest.json}")
+    private Resource manifestResource;
 
-    private void initializeAdminUser() {
-        String adminEmail = "himanitrivedi1874@gmail.com";
-        
-        if (!userRepository.existsByEmailId(adminEmail)) {
-            User adminUser = new User();
-            adminUser.setUsername("himani");
-            adminUser.setEmailId(adminEmail);
-            adminUser.setPassword("Admin@123");
-            adminUser.setRoleName(Role.ADMIN);
-            
-            userRepository.save(adminUser);
-            log.info("Admin user initialized: {}", adminEmail);
-        } else {
-            log.info("Admin user already exists: {}", adminEmail);
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() throws IOException {
+        SeedManifest manifest;
+        try (InputStream inputStream = manifestResource.getInputStream()) {
+            manifest = objectMapper.readValue(inputStream, SeedManifest.class);
         }
+
+        int users = seedUsers(manifest.getUsers());
+        int categories = seedCategories(manifest.getCategories());
+        log.info("Seed manifest applied: {} of {} users and {} of {} sweet categories inserted",
+                users, manifest.getUsers().size(), categories, manifest.getCategories().size());
     }
 
-    private void initializeSweetCategories() {
-        List<String> categoryNames = Arrays.asList(
-                "Milk Sweets",
-                "Dry Fruits Sweets",
-                "Traditional Sweets",
-                "Modern Sweets",
-                "Sugar-Free Sweets",
-                "Festival Special",
-                "Bengali Sweets",
-                "Gujarati Sweets",
-                "Rajasthani Sweets",
-                "South Indian Sweets"
-        );
+    private int seedUsers(List<SeedManifest.SeedUser> seedUsers) {
+        if (seedUsers.isEmpty()) {
+            return 0;
+        }
 
-        for (String categoryName : categoryNames) {
-            if (!sweetCategoryRepository.existsByName(categoryName)) {
-                SweetCategory category = new SweetCategory();
-                category.setName(categoryName);
-                sweetCategoryRepository.save(category);
-                log.info("Sweet category initialized: {}", categoryName);
-            } else {
-                log.info("Sweet category already exists: {}", categoryName);
-            }
+        int size = seedUsers.size();
+        String[] usernames = new String[size];
+        String[] emailIds = new String[size];
+        String[] passwords = new String[size];
+        String[] roleNames = new String[size];
+        for (int i = 0; i < size; i++) {
+            SeedManifest.SeedUser seedUser = seedUsers.get(i);
+            // Same rules as a registered user
+            AuthService.validatePassword(seedUser.getPassword());
+            AuthService.validateRoleName(seedUser.getRoleName());
+            usernames[i] = AuthService.validateUsername(seedUser.getUsername());
+            emailIds[i] = AuthService.validateEmail(seedUser.getEmailId());
+            passwords[i] = passwordEncoder.encode(seedUser.getPassword());
+            roleNames[i] = seedUser.getRoleName().name();
         }
+
+        return jdbcTemplate.update(INSERT_USERS_SQL, ps -> {
+            ps.setArray(1, textArray(ps.getConnection(), usernames));
+            ps.setArray(2, textArray(ps.getConnection(), emailIds));
+            ps.setArray(3, textArray(ps.getConnection(), passwords));
+            ps.setArray(4, textArray(ps.getConnection(), roleNames));
+        });
     }
-}
 
+    private int seedCategories(List<String> categoryNames) {
+        if (categoryNames.isEmpty()) {
+            return 0;
+        }
+
+        String[] names = categoryNames.toArray(new String[0]);
+        return jdbcTemplate.update(INSERT_CATEGORIES_SQL,
+                ps -> ps.setArray(1, textArray(ps.getConnection(), names)));
+    }
+
+    private static Array textArray(Connection connection, String[] values) throws SQLException {
+        return connection.createArrayOf("text", values);
+    }
+}
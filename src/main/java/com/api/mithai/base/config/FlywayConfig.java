@@ -0,0 +1,26 @@
+package com.api.mithai.base.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Slf4j
+@Configuration
+public class FlywayConfig {
+
+    // Read at runtime, unlike spring.flyway.enabled which is fixed when beans are AOT-processed.
+    // The fast-start image turns it off for the CDS training run, which has no database.
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(
+            @Value("${app.flyway.migrateOnStartup:true}") boolean migrateOnStartup) {
+        return flyway -> {
+            if (migrateOnStartup) {
+                flyway.migrate();
+            } else {
+                log.info("Skipping Flyway migrations (app.flyway.migrateOnStartup=false)");
+            }
+        };
+    }
+}
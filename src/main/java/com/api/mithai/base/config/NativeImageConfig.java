@@ -0,0 +1,122 @@
+package com.api.mithai.base.config;
+
+import com.api.mithai.auth.dto.LoginRequestDto;
+import com.api.mithai.auth.dto.LoginResponseDto;
+import com.api.mithai.auth.dto.RegisterAuthRequestDto;
+import com.api.mithai.auth.entity.User;
+import com.api.mithai.base.response.BaseResponse;
+import com.api.mithai.base.response.PaginatedBaseResponse;
+import com.api.mithai.base.sqlguard.SqlTimingSessionListener;
+import com.api.mithai.base.tracing.SpanRecord;
+import com.api.mithai.ledger.dto.LedgerRebuildDto;
+import com.api.mithai.order.dto.OrderLineResponseDto;
+import com.api.mithai.order.dto.OrderPageDto;
+import com.api.mithai.order.dto.OrderResponseDto;
+import com.api.mithai.order.entity.CustomerOrder;
+import com.api.mithai.order.entity.OrderLine;
+import com.api.mithai.outbox.OutboxEvent;
+import com.api.mithai.report.dto.CategorySalesDto;
+import com.api.mithai.report.dto.MinuteSalesDto;
+import com.api.mithai.report.dto.SalesReportDto;
+import com.api.mithai.report.dto.SweetSalesDto;
+import com.api.mithai.store.dto.StoreRequestDto;
+import com.api.mithai.store.dto.StoreResponseDto;
+import com.api.mithai.sweet.alert.LowStockAlert;
+import com.api.mithai.sweet.dto.LowStockDto;
+import com.api.mithai.sweet.dto.PurchaseDto;
+import com.api.mithai.sweet.dto.ReorderThresholdDto;
+import com.api.mithai.sweet.dto.ReservationDto;
+import com.api.mithai.sweet.dto.ReserveDto;
+import com.api.mithai.sweet.dto.RestockRecommendationDto;
+import com.api.mithai.sweet.dto.RestockDto;
+import com.api.mithai.sweet.dto.StockLevelDto;
+import com.api.mithai.sweet.dto.SweetBatchUpdateRequestDto;
+import com.api.mithai.sweet.dto.SweetCategoryResponseDto;
+import com.api.mithai.sweet.dto.SweetChangesDto;
+import com.api.mithai.sweet.dto.SweetRequestDto;
+import com.api.mithai.sweet.dto.SweetResponseDto;
+import com.api.mithai.sweet.dto.TrendingSweetDto;
+import com.api.mithai.sweet.entity.Sweet;
+import com.api.mithai.sweet.entity.SweetCategory;
+import com.api.mithai.sweet.entity.SweetReorderThreshold;
+import com.api.mithai.sweet.entity.SweetTombstone;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import java.sql.Connection;
+import java.sql.Statement;
+
+// Hints for a native image (./gradlew nativeCompile -Pnative) that AOT processing cannot infer.
+// Responses carry their payload as Object inside BaseResponse, so the Lombok DTOs are not
+// reachable from the controller signatures and are registered for JSON binding here.
+@Configuration
+@ImportRuntimeHints(NativeImageConfig.Hints.class)
+@RegisterReflectionForBinding({
+        BaseResponse.class, PaginatedBaseResponse.class,
+        LoginRequestDto.class, LoginResponseDto.class, RegisterAuthRequestDto.class,
+        SweetRequestDto.class, SweetBatchUpdateRequestDto.class, SweetResponseDto.class,
+        SweetCategoryResponseDto.class, SweetChangesDto.class, StockLevelDto.class,
+        PurchaseDto.class, RestockDto.class, SeedManifest.class, SpanRecord.class,
+        OrderPageDto.class, OrderResponseDto.class, OrderLineResponseDto.class,
+        SalesReportDto.class, SweetSalesDto.class, CategorySalesDto.class, MinuteSalesDto.class,
+        TrendingSweetDto.class, LowStockDto.class, ReorderThresholdDto.class, LowStockAlert.class,
+        RestockRecommendationDto.class, ReserveDto.class, ReservationDto.class, OutboxEvent.class,
+        LedgerRebuildDto.class, StoreRequestDto.class, StoreResponseDto.class
+})
+public class NativeImageConfig {
+
+    // JJWT 0.12 looks its implementation up by class name and its Jackson binding through ServiceLoader
+    private static final String[] JJWT_TYPES = {
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.DefaultClaimsBuilder",
+            "io.jsonwebtoken.impl.io.StandardCompressionAlgorithms",
+            "io.jsonwebtoken.impl.security.KeysBridge",
+            "io.jsonwebtoken.impl.security.JwksBridge",
+            "io.jsonwebtoken.impl.security.StandardSecureDigestAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyOperations",
+            "io.jsonwebtoken.impl.security.StandardEncryptionAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardHashAlgorithms",
+            "io.jsonwebtoken.impl.security.DefaultDynamicJwkBuilder",
+            "io.jsonwebtoken.impl.security.DefaultJwkParserBuilder",
+            "io.jsonwebtoken.impl.security.DefaultJwkSetBuilder",
+            "io.jsonwebtoken.impl.security.DefaultJwkSetParserBuilder",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+    };
+
+    static class Hints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            // Entities are found by AOT through the persistence unit; field access is listed for clarity
+            for (Class<?> entity : new Class<?>[]{Sweet.class, SweetCategory.class, SweetTombstone.class, User.class,
+                    CustomerOrder.class, OrderLine.class, SweetReorderThreshold.class}) {
+                hints.reflection().registerType(entity, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                        MemberCategory.DECLARED_FIELDS, MemberCategory.INVOKE_DECLARED_METHODS);
+            }
+
+            for (String type : JJWT_TYPES) {
+                hints.reflection().registerType(TypeReference.of(type), MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                        MemberCategory.INVOKE_PUBLIC_METHODS, MemberCategory.DECLARED_FIELDS);
+            }
+            hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.io.Serializer");
+            hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.io.Deserializer");
+
+            // Hibernate instantiates the listener from hibernate.session.events.auto
+            hints.reflection().registerType(SqlTimingSessionListener.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            // SqlCountingDataSource hands out JDK proxies of the connections and plain statements
+            hints.proxies().registerJdkProxy(Connection.class);
+            hints.proxies().registerJdkProxy(Statement.class);
+
+            hints.resources().registerPattern("seed/*.json");
+            hints.resources().registerPattern("META-INF/resources/webjars/swagger-ui/**");
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.api.mithai.base.config;
+
+import com.api.mithai.auth.enums.Role;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Rows DataInitializer makes sure exist, read from app.seed.manifest
+@Getter
+@Setter
+@NoArgsConstructor
+public class SeedManifest {
+
+    private List<SeedUser> users = new ArrayList<>();
+    private List<String> categories = new ArrayList<>();
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class SeedUser {
+        private String username;
+        private String emailId;
+        private String password;
+        private Role roleName;
+    }
+}
@@ -0,0 +1,61 @@
+package com.api.mithai.base.config;
+
+import com.api.mithai.base.sqlguard.SqlCountingDataSource;
+import com.api.mithai.base.sqlguard.SqlGuardFilter;
+import com.api.mithai.base.sqlguard.SqlTimingSessionListener;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+@Configuration
+@ConditionalOnProperty(name = "app.sqlGuard.enabled", havingValue = "true")
+public class SqlGuardConfig {
+
+    @Value("${app.sqlGuard.maxStatements:10}")
+    private int maxStatements;
+
+    @Value("${app.sqlGuard.maxJdbcTimeInMs:100}")
+    private long maxJdbcTimeInMs;
+
+    @Value("${app.sqlGuard.maxRequestTimeInMs:500}")
+    private long maxRequestTimeInMs;
+
+    // Statements are counted on the connections rather than in Hibernate, so the
+    // JdbcTemplate repositories (ledger, outbox, idempotency) are part of the budget too
+    @Bean
+    public static BeanPostProcessor sqlCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof SqlCountingDataSource)) {
+                    return new SqlCountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    // JDBC time is only measured for Hibernate statements
+    @Bean
+    public HibernatePropertiesCustomizer sqlGuardHibernateProperties() {
+        return properties -> properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER,
+                SqlTimingSessionListener.class.getName());
+    }
+
+    // Ahead of the security chain so the JWT user lookup is counted as well
+    @Bean
+    public FilterRegistrationBean<SqlGuardFilter> sqlGuardFilter() {
+        FilterRegistrationBean<SqlGuardFilter> registration = new FilterRegistrationBean<>(
+                new SqlGuardFilter(maxStatements, maxJdbcTimeInMs, maxRequestTimeInMs));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
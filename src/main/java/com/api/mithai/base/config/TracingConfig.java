@@ -0,0 +1,30 @@
+package com.api.mithai.base.config;
+
+import com.api.mithai.base.tracing.FileSpanExporter;
+import com.api.mithai.base.tracing.RecentSpanExporter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+// Span exporters picked up by the OpenTelemetry tracing auto-configuration
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.tracing.exporter", havingValue = "file", matchIfMissing = true)
+    public FileSpanExporter fileSpanExporter(ObjectMapper objectMapper,
+                                             @Value("${app.tracing.file:logs/spans.jsonl}") String file) throws IOException {
+        return new FileSpanExporter(objectMapper, Path.of(file));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.tracing.exporter", havingValue = "memory")
+    public RecentSpanExporter recentSpanExporter(@Value("${app.tracing.maxTraces:200}") int maxTraces) {
+        return new RecentSpanExporter(maxTraces);
+    }
+}
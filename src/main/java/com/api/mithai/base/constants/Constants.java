@@ -12,5 +12,53 @@ public class Constants {
     public static final String SWEETS_RETRIEVED_SUCCESSFULLY = "Sweets retrieved successfully";
     public static final String SWEET_PURCHASED_SUCCESSFULLY = "Sweet purchased successfully";
     public static final String SWEET_RESTOCKED_SUCCESSFULLY = "Sweet restocked successfully";
+    public static final String SWEETS_CREATED_SUCCESSFULLY = "Sweets created successfully";
+    public static final String SWEETS_UPDATED_SUCCESSFULLY = "Sweets updated successfully";
+    public static final String SWEET_NAME_DUPLICATED_IN_BATCH = "Sweet name is repeated in the batch";
+    public static final String SWEET_ID_DUPLICATED_IN_BATCH = "Sweet ID is repeated in the batch";
+    public static final int MAX_BATCH_SIZE = 500;
+    public static final String BATCH_SIZE_INVALID = "Batch must contain between 1 and " + MAX_BATCH_SIZE + " sweets";
+    public static final String CHANGES_RETRIEVED_SUCCESSFULLY = "Changes retrieved successfully";
+    public static final int MAX_CHANGES_PAGE_SIZE = 1000;
+    public static final String CHANGES_VERSION_INVALID = "Change version cannot be negative";
+    public static final String JFR_RECORDING_NOT_RUNNING = "Continuous flight recording is not running";
+    public static final String JFR_MINUTES_INVALID = "Minutes must be between 1 and the recording max age";
+    public static final String TRACES_RETRIEVED_SUCCESSFULLY = "Traces retrieved successfully";
+    public static final String TRACES_NOT_KEPT_IN_MEMORY = "Traces are only kept in memory when app.tracing.exporter=memory";
+    public static final String TRACE_NOT_FOUND = "Trace not found";
+    public static final String ORDERS_RETRIEVED_SUCCESSFULLY = "Orders retrieved successfully";
+    public static final int MAX_ORDERS_PAGE_SIZE = 100;
+    public static final String ORDERS_PAGE_SIZE_INVALID = "Size must be between 1 and " + MAX_ORDERS_PAGE_SIZE;
+    public static final String ORDER_CURSOR_INVALID = "Order cursor is invalid";
+    public static final String SALES_REPORT_RETRIEVED_SUCCESSFULLY = "Sales report retrieved successfully";
+    public static final int MAX_TOP_SELLERS = 100;
+    public static final String TOP_SELLERS_INVALID = "Top must be between 1 and " + MAX_TOP_SELLERS;
+    public static final int MAX_RECENT_MINUTES = 1440;
+    public static final String RECENT_MINUTES_INVALID = "Minutes must be between 1 and " + MAX_RECENT_MINUTES;
+    public static final String TRENDING_RETRIEVED_SUCCESSFULLY = "Trending sweets retrieved successfully";
+    public static final int MAX_TRENDING_LIMIT = 50;
+    public static final String TRENDING_LIMIT_INVALID = "Limit must be between 1 and " + MAX_TRENDING_LIMIT;
+    public static final String TRENDING_WINDOW_INVALID = "Window must be one of 1h, 1d or 7d";
+    public static final String LOW_STOCK_RETRIEVED_SUCCESSFULLY = "Low-stock sweets retrieved successfully";
+    public static final String REORDER_THRESHOLD_UPDATED_SUCCESSFULLY = "Reorder threshold updated successfully";
+    public static final String REORDER_THRESHOLD_INVALID = "Reorder threshold cannot be negative";
+    public static final int MAX_LOW_STOCK_LIMIT = 500;
+    public static final String LOW_STOCK_LIMIT_INVALID = "Limit must be between 1 and " + MAX_LOW_STOCK_LIMIT;
+    public static final String RECOMMENDATIONS_RETRIEVED_SUCCESSFULLY = "Restock recommendations retrieved successfully";
+    public static final int MAX_RECOMMENDATIONS_LIMIT = 500;
+    public static final String RECOMMENDATIONS_LIMIT_INVALID = "Limit must be between 1 and " + MAX_RECOMMENDATIONS_LIMIT;
+    public static final String SWEET_RESERVED_SUCCESSFULLY = "Sweet reserved successfully";
+    public static final String RESERVATION_CANCELLED_SUCCESSFULLY = "Reservation cancelled successfully";
+    public static final String RESERVATION_QUANTITY_INVALID = "Reservation quantity must be greater than zero";
+    public static final String RESERVATION_EXCEEDS_AVAILABLE = "Reservation quantity cannot exceed available quantity";
+    public static final String RESERVATION_NOT_FOUND = "Reservation not found or expired";
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String IDEMPOTENCY_KEY_INVALID = "Idempotency-Key must be between 1 and 100 characters";
+    public static final String IDEMPOTENCY_KEY_REUSED = "Idempotency-Key was already used for a different request";
+    public static final String INVENTORY_CONFLICT = "Stock was changed by another request, please retry";
+    public static final String LEDGER_REBUILT_SUCCESSFULLY = "Inventory ledger rebuilt successfully";
+    public static final String STORE_CREATED_SUCCESSFULLY = "Store created successfully";
+    public static final String STORE_NAME_ALREADY_EXISTS = "Store name already exists";
+    public static final String STORE_NOT_FOUND = "Store not found";
     public static final String SUCCESS ="Success";
 }
@@ -14,7 +14,30 @@ public class Urls {
     public static final String SEARCH_URL = "/search";
     public static final String PURCHASE_URL = "/purchase";
     public static final String RESTOCK_URL = "/restock";
+    public static final String RESERVE_URL = "/reserve";
+    public static final String RESERVATIONS_URL = "/reservations";
     public static final String CATEGORY_URL = "/category";
+    public static final String BATCH_URL = "/batch";
+    public static final String STREAM_URL = "/stream";
+    public static final String CHANGES_URL = "/changes";
+    public static final String TRENDING_URL = "/trending";
+
+    public static final String INVENTORY_URL = "/inventory";
+    public static final String LOW_STOCK_URL = "/low-stock";
+    public static final String THRESHOLDS_URL = "/thresholds";
+    public static final String RECOMMENDATIONS_URL = "/recommendations";
+    public static final String LEDGER_URL = "/ledger";
+    public static final String REBUILD_URL = "/rebuild";
+
+    public static final String STORES_URL = "/stores";
+
+    public static final String ORDERS_URL = "/orders";
+    public static final String REPORTS_URL = "/reports";
+    public static final String SALES_URL = "/sales";
+
+    public static final String ADMIN_URL = "/admin";
+    public static final String JFR_URL = "/jfr";
+    public static final String TRACES_URL = "/traces";
 
     public static final String ACCESS_TOKEN = "accessToken";
 }
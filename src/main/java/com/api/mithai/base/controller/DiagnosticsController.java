@@ -0,0 +1,88 @@
+package com.api.mithai.base.controller;
+
+import com.api.mithai.base.constants.Constants;
+import com.api.mithai.base.constants.Urls;
+import com.api.mithai.base.exception.ResponseStatusException;
+import com.api.mithai.base.jfr.JfrRecordingService;
+import com.api.mithai.base.response.BaseResponse;
+import com.api.mithai.base.response.ResponseHandler;
+import com.api.mithai.base.tracing.RecentSpanExporter;
+import com.api.mithai.base.tracing.SpanRecord;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+@RestController
+@RequestMapping(Urls.BASE_URL + Urls.ADMIN_URL)
+@RequiredArgsConstructor
+@Tag(name = "Diagnostics", description = "Flight recordings and traces for investigating latency (Admin only)")
+public class DiagnosticsController {
+
+    private final JfrRecordingService jfrRecordingService;
+    private final ObjectProvider<RecentSpanExporter> recentSpanExporter;
+    private final ResponseHandler responseHandler;
+
+    @GetMapping(Urls.JFR_URL)
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Dump recent flight recording", description = "Download the JFR events of the last N minutes (Admin only)", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<StreamingResponseBody> dumpRecording(@RequestParam(defaultValue = "5") Integer minutes) throws IOException {
+        Path dump = jfrRecordingService.dumpLast(minutes);
+        StreamingResponseBody body = outputStream -> {
+            try {
+                Files.copy(dump, outputStream);
+            } finally {
+                Files.deleteIfExists(dump);
+            }
+        };
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"mithai-last-" + minutes + "m.jfr\"")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .contentLength(Files.size(dump))
+                .body(body);
+    }
+
+    @GetMapping(Urls.TRACES_URL)
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "List recent traces", description = "Root span of each trace kept in memory, newest first (Admin only)", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<BaseResponse> recentTraces() {
+        List<SpanRecord> traces = getRecentSpanExporter().getRecentTraces();
+        return responseHandler.okResponse(traces, HttpStatus.OK, Constants.TRACES_RETRIEVED_SUCCESSFULLY);
+    }
+
+    @GetMapping(Urls.TRACES_URL + "/{traceId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get trace", description = "Every span of a trace with its offset and depth, in start order (Admin only)", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<BaseResponse> trace(@PathVariable String traceId) {
+        List<SpanRecord> spans = getRecentSpanExporter().getTrace(traceId);
+        if (spans == null) {
+            throw new ResponseStatusException(Constants.TRACE_NOT_FOUND, HttpStatus.NOT_FOUND);
+        }
+        return responseHandler.okResponse(spans, HttpStatus.OK, Constants.TRACES_RETRIEVED_SUCCESSFULLY);
+    }
+
+    private RecentSpanExporter getRecentSpanExporter() {
+        RecentSpanExporter exporter = recentSpanExporter.getIfAvailable();
+        if (exporter == null) {
+            throw new ResponseStatusException(Constants.TRACES_NOT_KEPT_IN_MEMORY, HttpStatus.NOT_FOUND);
+        }
+        return exporter;
+    }
+}
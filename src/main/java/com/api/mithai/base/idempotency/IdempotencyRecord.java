@@ -0,0 +1,13 @@
+package com.api.mithai.base.idempotency;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class IdempotencyRecord {
+    // What the key was first used for, e.g. "purchase:1:10"
+    private final String request;
+    // JSON of the response returned the first time
+    private final String response;
+}
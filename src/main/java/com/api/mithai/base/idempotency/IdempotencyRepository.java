@@ -0,0 +1,36 @@
+package com.api.mithai.base.idempotency;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class IdempotencyRepository {
+
+    private static final String FIND_SQL = "SELECT request, response FROM idempotency_keys WHERE user_id = ? AND idempotency_key = ?";
+    // No ON CONFLICT: a concurrent insert of the same key must fail and roll back its own work
+    private static final String INSERT_SQL =
+            "INSERT INTO idempotency_keys (user_id, idempotency_key, request, response, created_at) VALUES (?, ?, ?, ?, ?)";
+    private static final String PURGE_SQL = "DELETE FROM idempotency_keys WHERE created_at < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Optional<IdempotencyRecord> find(Long userId, String key) {
+        return jdbcTemplate.query(FIND_SQL,
+                (rs, rowNum) -> new IdempotencyRecord(rs.getString("request"), rs.getString("response")),
+                userId, key).stream().findFirst();
+    }
+
+    public void insert(Long userId, String key, String request, String response) {
+        jdbcTemplate.update(INSERT_SQL, userId, key, request, response, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    public int purgeOlderThan(LocalDateTime cutoff) {
+        return jdbcTemplate.update(PURGE_SQL, Timestamp.valueOf(cutoff));
+    }
+}
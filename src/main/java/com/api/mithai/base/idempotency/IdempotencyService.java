@@ -0,0 +1,144 @@
+package com.api.mithai.base.idempotency;
+
+import com.api.mithai.base.constants.Constants;
+import com.api.mithai.base.exception.ResponseStatusException;
+import com.api.mithai.security.CurrentUser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+// Runs a request at most once per Idempotency-Key and user, replaying the first successful
+// response to retries. Recent results are served from a bounded LRU; the idempotency_keys
+// table is written in the same transaction as the request, so a result is never lost or
+// recorded without its side effects. Failed requests are not remembered and can be retried.
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final IdempotencyRepository idempotencyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Map<String, IdempotencyRecord> recent;
+    // Requests running on this instance; duplicates wait on the first one instead of running
+    private final Map<String, CompletableFuture<IdempotencyRecord>> inFlight = new ConcurrentHashMap<>();
+
+    @Value("${app.idempotency.retentionHours:24}")
+    private int retentionHours;
+
+    public IdempotencyService(IdempotencyRepository idempotencyRepository,
+                              PlatformTransactionManager transactionManager,
+                              ObjectMapper objectMapper,
+                              @Value("${app.idempotency.cacheSize:10000}") int cacheSize) {
+        this.idempotencyRepository = idempotencyRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.recent = Collections.synchronizedMap(new LinkedHashMap<String, IdempotencyRecord>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, IdempotencyRecord> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    public <T> T execute(String key, String request, Class<T> type, Supplier<T> action) {
+        if (key == null || key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new ResponseStatusException(Constants.IDEMPOTENCY_KEY_INVALID, HttpStatus.BAD_REQUEST);
+        }
+        Long userId = CurrentUser.id();
+        String cacheKey = userId + ":" + key;
+
+        IdempotencyRecord record = recent.get(cacheKey);
+        if (record == null) {
+            CompletableFuture<IdempotencyRecord> mine = new CompletableFuture<>();
+            CompletableFuture<IdempotencyRecord> running = inFlight.putIfAbsent(cacheKey, mine);
+            if (running != null) {
+                record = await(running);
+            } else {
+                try {
+                    record = executeOnce(userId, key, request, action);
+                    recent.put(cacheKey, record);
+                    mine.complete(record);
+                } catch (RuntimeException ex) {
+                    mine.completeExceptionally(ex);
+                    throw ex;
+                } finally {
+                    inFlight.remove(cacheKey, mine);
+                }
+            }
+        }
+        return replay(record, request, type);
+    }
+
+    @Scheduled(cron = "${app.idempotency.purgeCron:0 45 3 * * *}")
+    public void purge() {
+        int purged = idempotencyRepository.purgeOlderThan(LocalDateTime.now().minusHours(retentionHours));
+        log.info("Purged {} idempotency keys older than {} hours", purged, retentionHours);
+    }
+
+    private IdempotencyRecord executeOnce(Long userId, String key, String request, Supplier<?> action) {
+        // Remembered by an earlier run, possibly on another instance or before a restart
+        IdempotencyRecord stored = idempotencyRepository.find(userId, key).orElse(null);
+        if (stored != null) {
+            return stored;
+        }
+        try {
+            return transactionTemplate.execute(status -> {
+                String response = toJson(action.get());
+                idempotencyRepository.insert(userId, key, request, response);
+                return new IdempotencyRecord(request, response);
+            });
+        } catch (DuplicateKeyException ex) {
+            // Another instance ran the same key at the same time; its work committed, ours rolled back
+            return idempotencyRepository.find(userId, key).orElseThrow(() -> ex);
+        }
+    }
+
+    private <T> T replay(IdempotencyRecord record, String request, Class<T> type) {
+        if (!record.getRequest().equals(request)) {
+            throw new ResponseStatusException(Constants.IDEMPOTENCY_KEY_REUSED, HttpStatus.UNPROCESSABLE_ENTITY);
+        }
+        try {
+            return objectMapper.readValue(record.getResponse(), type);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Stored idempotent response cannot be read", ex);
+        }
+    }
+
+    private String toJson(Object response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Idempotent response cannot be stored", ex);
+        }
+    }
+
+    private static IdempotencyRecord await(CompletableFuture<IdempotencyRecord> running) {
+        try {
+            return running.join();
+        } catch (CompletionException ex) {
+            // Duplicates fail the same way the request they waited on did
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+}
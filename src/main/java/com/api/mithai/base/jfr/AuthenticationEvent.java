@@ -0,0 +1,41 @@
+package com.api.mithai.base.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import lombok.Setter;
+
+@Name("com.api.mithai.Authentication")
+@Label("Authentication")
+@Category({"Mithai", "Security"})
+@Description("AuthService.login and AuthService.register split into lookup, BCrypt and token phases")
+@StackTrace(false)
+@Setter
+public class AuthenticationEvent extends jdk.jfr.Event {
+
+    public static final String LOGIN = "login";
+    public static final String REGISTER = "register";
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Outcome")
+    private String outcome;
+
+    @Label("User Lookup")
+    @Timespan(Timespan.NANOSECONDS)
+    private long lookupDuration;
+
+    @Label("BCrypt")
+    @Description("Password check on login, password hashing on register")
+    @Timespan(Timespan.NANOSECONDS)
+    private long bcryptDuration;
+
+    @Label("Token Or Save")
+    @Description("Token generation on login, user insert on register")
+    @Timespan(Timespan.NANOSECONDS)
+    private long finishDuration;
+}
@@ -0,0 +1,12 @@
+package com.api.mithai.base.jfr;
+
+public class JfrOutcome {
+    public static final String SUCCESS = "success";
+    public static final String ANONYMOUS = "anonymous";
+    public static final String PUBLIC = "public";
+
+    // Failures are recorded with the exception message so they group by reason
+    public static String of(Throwable ex) {
+        return ex.getMessage() != null ? ex.getMessage() : ex.getClass().getSimpleName();
+    }
+}
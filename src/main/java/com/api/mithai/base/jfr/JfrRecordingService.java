@@ -0,0 +1,99 @@
+package com.api.mithai.base.jfr;
+
+import com.api.mithai.base.constants.Constants;
+import com.api.mithai.base.exception.ResponseStatusException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+
+// Keeps a continuous recording with the low-overhead "default" settings; JFR rotates the
+// on-disk chunks by age and size, so only the most recent window is ever kept.
+@Slf4j
+@Service
+public class JfrRecordingService {
+
+    private static final String RECORDING_NAME = "mithai-continuous";
+
+    @Value("${app.jfr.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.jfr.maxAgeInMinutes:60}")
+    private long maxAgeInMinutes;
+
+    @Value("${app.jfr.maxSizeInMb:250}")
+    private long maxSizeInMb;
+
+    private Recording recording;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled || !FlightRecorder.isAvailable()) {
+            log.info("Continuous JFR recording is disabled");
+            return;
+        }
+        try {
+            recording = new Recording(Configuration.getConfiguration("default"));
+        } catch (IOException | ParseException ex) {
+            log.error("Could not load the default JFR configuration", ex);
+            return;
+        }
+        recording.setName(RECORDING_NAME);
+        recording.setToDisk(true);
+        recording.setMaxAge(Duration.ofMinutes(maxAgeInMinutes));
+        recording.setMaxSize(maxSizeInMb * 1024 * 1024);
+        recording.setDumpOnExit(false);
+        recording.start();
+        log.info("Continuous JFR recording started, keeping {} minutes / {} MB", maxAgeInMinutes, maxSizeInMb);
+    }
+
+    public long getMaxAgeInMinutes() {
+        return maxAgeInMinutes;
+    }
+
+    // Writes the events of the last N minutes to a new file; the caller deletes it
+    public Path dumpLast(int minutes) throws IOException {
+        if (recording == null) {
+            throw new ResponseStatusException(Constants.JFR_RECORDING_NOT_RUNNING, HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        if (minutes <= 0 || minutes > maxAgeInMinutes) {
+            throw new ResponseStatusException(Constants.JFR_MINUTES_INVALID, HttpStatus.BAD_REQUEST, maxAgeInMinutes);
+        }
+
+        Path snapshot = Files.createTempFile("mithai-jfr-", ".jfr");
+        Path window = Files.createTempFile("mithai-jfr-window-", ".jfr");
+        try {
+            recording.dump(snapshot);
+            Instant cutoff = Instant.now().minus(Duration.ofMinutes(minutes));
+            try (RecordingFile recordingFile = new RecordingFile(snapshot)) {
+                recordingFile.write(window, event -> !event.getEndTime().isBefore(cutoff));
+            }
+            return window;
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(window);
+            throw ex;
+        } finally {
+            Files.deleteIfExists(snapshot);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+}
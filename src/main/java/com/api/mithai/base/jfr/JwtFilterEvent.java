@@ -0,0 +1,40 @@
+package com.api.mithai.base.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import lombok.Getter;
+import lombok.Setter;
+
+@Name("com.api.mithai.JwtFilter")
+@Label("JWT Filter")
+@Category({"Mithai", "Security"})
+@StackTrace(false)
+@Setter
+public class JwtFilterEvent extends jdk.jfr.Event {
+
+    @Label("Path")
+    private String path;
+
+    @Label("Outcome")
+    @Getter
+    private String outcome;
+
+    @Label("Extract")
+    @Timespan(Timespan.NANOSECONDS)
+    private long extractDuration;
+
+    @Label("Validate")
+    @Timespan(Timespan.NANOSECONDS)
+    private long validateDuration;
+
+    @Label("Claims")
+    @Timespan(Timespan.NANOSECONDS)
+    private long claimsDuration;
+
+    @Label("User Lookup")
+    @Timespan(Timespan.NANOSECONDS)
+    private long userLookupDuration;
+}
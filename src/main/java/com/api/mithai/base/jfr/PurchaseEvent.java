@@ -0,0 +1,35 @@
+package com.api.mithai.base.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import lombok.Setter;
+
+@Name("com.api.mithai.Purchase")
+@Label("Purchase")
+@Category({"Mithai", "Inventory"})
+@Description("InventoryService.purchase; the flush at commit happens after the event ends")
+@StackTrace(false)
+@Setter
+public class PurchaseEvent extends jdk.jfr.Event {
+
+    @Label("Sweet Id")
+    private long sweetId;
+
+    @Label("Quantity")
+    private int quantity;
+
+    @Label("Outcome")
+    private String outcome;
+
+    @Label("Lookup")
+    @Timespan(Timespan.NANOSECONDS)
+    private long lookupDuration;
+
+    @Label("Save")
+    @Timespan(Timespan.NANOSECONDS)
+    private long saveDuration;
+}
@@ -0,0 +1,57 @@
+package com.api.mithai.base.sqlguard;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+// Records every statement prepared or executed on its connections, so Hibernate, JdbcTemplate
+// and plain JDBC all count. A prepared statement counts once however often it is batched.
+public class SqlCountingDataSource extends DelegatingDataSource {
+
+    // Connection methods taking SQL, and the Statement ones for statements created without it
+    private static final Set<String> SQL_METHODS = Set.of("prepareStatement", "prepareCall",
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "addBatch");
+
+    public SqlCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return counting(Connection.class, super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return counting(Connection.class, super.getConnection(username, password));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T counting(Class<T> type, T target) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (SQL_METHODS.contains(method.getName()) && args != null && args.length > 0
+                    && args[0] instanceof String sql) {
+                SqlStatementStats stats = SqlStatementStats.current();
+                if (stats != null) {
+                    stats.recordStatement(sql);
+                }
+            }
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getTargetException();
+            }
+            if (result instanceof Statement statement && method.getName().equals("createStatement")) {
+                return counting(Statement.class, statement);
+            }
+            return result;
+        });
+    }
+}
@@ -0,0 +1,63 @@
+package com.api.mithai.base.sqlguard;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// Counts the SQL each request runs and logs the ones over the statement or latency budget
+@Slf4j
+public class SqlGuardFilter extends OncePerRequestFilter {
+
+    public static final String STATS_ATTRIBUTE = SqlGuardFilter.class.getName() + ".stats";
+
+    private final int maxStatements;
+    private final long maxJdbcTimeInMs;
+    private final long maxRequestTimeInMs;
+
+    public SqlGuardFilter(int maxStatements, long maxJdbcTimeInMs, long maxRequestTimeInMs) {
+        this.maxStatements = maxStatements;
+        this.maxJdbcTimeInMs = maxJdbcTimeInMs;
+        this.maxRequestTimeInMs = maxRequestTimeInMs;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementStats stats = SqlStatementStats.start();
+        request.setAttribute(STATS_ATTRIBUTE, stats);
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStatementStats.stop();
+            long requestTimeInMs = (System.nanoTime() - start) / 1_000_000;
+            if (isOverBudget(stats, requestTimeInMs)) {
+                log.warn("{} {} ran {} SQL statements in {} ms of {} ms (budget {} statements, {} ms JDBC, {} ms total):{}",
+                        request.getMethod(), request.getRequestURI(), stats.getStatementCount(),
+                        stats.getJdbcTimeInMs(), requestTimeInMs, maxStatements, maxJdbcTimeInMs, maxRequestTimeInMs,
+                        describe(stats));
+            }
+        }
+    }
+
+    private boolean isOverBudget(SqlStatementStats stats, long requestTimeInMs) {
+        return stats.getStatementCount() > maxStatements
+                || stats.getJdbcTimeInMs() > maxJdbcTimeInMs
+                || requestTimeInMs > maxRequestTimeInMs;
+    }
+
+    // Most repeated statements first, which is where an N+1 shows up
+    public static String describe(SqlStatementStats stats) {
+        return stats.getFingerprints().entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .map(entry -> System.lineSeparator() + "  " + entry.getValue() + "x " + entry.getKey())
+                .collect(Collectors.joining());
+    }
+}
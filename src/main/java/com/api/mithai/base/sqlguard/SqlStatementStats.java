@@ -0,0 +1,55 @@
+package com.api.mithai.base.sqlguard;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// SQL activity of the request running on the current thread
+public class SqlStatementStats {
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+    private static final int MAX_FINGERPRINTS = 50;
+
+    private int statementCount;
+    private long jdbcNanos;
+    private final Map<String, Integer> fingerprints = new LinkedHashMap<>();
+
+    public static SqlStatementStats start() {
+        SqlStatementStats stats = new SqlStatementStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static SqlStatementStats current() {
+        return CURRENT.get();
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    void recordStatement(String sql) {
+        statementCount++;
+        String fingerprint = SqlFingerprint.of(sql);
+        if (fingerprints.containsKey(fingerprint) || fingerprints.size() < MAX_FINGERPRINTS) {
+            fingerprints.merge(fingerprint, 1, Integer::sum);
+        }
+    }
+
+    void addJdbcTime(long nanos) {
+        jdbcNanos += nanos;
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public long getJdbcTimeInMs() {
+        return jdbcNanos / 1_000_000;
+    }
+
+    // Normalized statement -> number of executions, in first-seen order
+    public Map<String, Integer> getFingerprints() {
+        return Collections.unmodifiableMap(fingerprints);
+    }
+}
@@ -0,0 +1,37 @@
+package com.api.mithai.base.sqlguard;
+
+import org.hibernate.SessionEventListener;
+
+// Created by Hibernate for every session through hibernate.session.events.auto
+public class SqlTimingSessionListener implements SessionEventListener {
+
+    private long statementStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        addJdbcTime(statementStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        addJdbcTime(batchStart);
+    }
+
+    private void addJdbcTime(long start) {
+        SqlStatementStats stats = SqlStatementStats.current();
+        if (stats != null && start != 0) {
+            stats.addJdbcTime(System.nanoTime() - start);
+        }
+    }
+}
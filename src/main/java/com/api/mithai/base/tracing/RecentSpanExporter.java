@@ -0,0 +1,86 @@
+package com.api.mithai.base.tracing;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Keeps the spans of the most recent traces in memory for the admin traces endpoint
+public class RecentSpanExporter implements SpanExporter {
+
+    private final Map<String, List<SpanRecord>> spansByTrace;
+
+    public RecentSpanExporter(int maxTraces) {
+        this.spansByTrace = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<SpanRecord>> eldest) {
+                return size() > maxTraces;
+            }
+        };
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+        for (SpanData span : spans) {
+            spansByTrace.computeIfAbsent(span.getTraceId(), traceId -> new ArrayList<>()).add(SpanRecord.of(span));
+        }
+        return CompletableResultCode.ofSuccess();
+    }
+
+    // Root span of each recent trace, newest first
+    public synchronized List<SpanRecord> getRecentTraces() {
+        List<SpanRecord> roots = new ArrayList<>();
+        for (List<SpanRecord> spans : spansByTrace.values()) {
+            spans.stream()
+                    .filter(span -> span.getParentSpanId() == null)
+                    .findFirst()
+                    .ifPresent(roots::add);
+        }
+        roots.sort(Comparator.comparingLong(SpanRecord::getStartEpochNanos).reversed());
+        return roots;
+    }
+
+    // Spans in start order with their offset from the trace start and nesting depth
+    public synchronized List<SpanRecord> getTrace(String traceId) {
+        List<SpanRecord> spans = spansByTrace.get(traceId);
+        if (spans == null) {
+            return null;
+        }
+
+        List<SpanRecord> ordered = new ArrayList<>(spans);
+        ordered.sort(Comparator.comparingLong(SpanRecord::getStartEpochNanos));
+        long traceStart = ordered.get(0).getStartEpochNanos();
+        Map<String, SpanRecord> bySpanId = new HashMap<>();
+        ordered.forEach(span -> bySpanId.put(span.getSpanId(), span));
+
+        List<SpanRecord> positioned = new ArrayList<>(ordered.size());
+        for (SpanRecord span : ordered) {
+            int depth = 0;
+            SpanRecord parent = bySpanId.get(span.getParentSpanId());
+            while (parent != null && depth < ordered.size()) {
+                depth++;
+                parent = bySpanId.get(parent.getParentSpanId());
+            }
+            positioned.add(span.at((span.getStartEpochNanos() - traceStart) / 1_000, depth));
+        }
+        return positioned;
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public synchronized CompletableResultCode shutdown() {
+        spansByTrace.clear();
+        return CompletableResultCode.ofSuccess();
+    }
+}
@@ -0,0 +1,31 @@
+package com.api.mithai.base.tracing;
+
+import io.opentelemetry.api.trace.Span;
+
+// Attribute names shared by the spans of every layer
+public final class SpanAttributes {
+
+    public static final String LAYER = "mithai.layer";
+    public static final String OUTCOME = "mithai.outcome";
+    public static final String SWEET_ID = "mithai.sweet.id";
+    public static final String QUANTITY = "mithai.quantity";
+    public static final String PAGE_SIZE = "mithai.page.size";
+    public static final String BATCH_SIZE = "mithai.batch.size";
+    public static final String SEARCH_TERM_LENGTH = "mithai.search.term_length";
+
+    private SpanAttributes() {
+    }
+
+    // Tags the innermost open span; a no-op when the request is not sampled or traced
+    public static void set(String key, Long value) {
+        if (value != null) {
+            Span.current().setAttribute(key, value);
+        }
+    }
+
+    public static void set(String key, Integer value) {
+        if (value != null) {
+            Span.current().setAttribute(key, value.longValue());
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.api.mithai.base.tracing;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// A finished span as written to the span file or returned by the traces endpoint
+@Getter
+@AllArgsConstructor
+public class SpanRecord {
+
+    private String traceId;
+    private String spanId;
+    private String parentSpanId;
+    private String name;
+    private long startEpochNanos;
+    private long durationInMicros;
+    private String status;
+    private Map<String, Object> attributes;
+
+    // Position inside the trace, filled in when the trace is assembled
+    private Long offsetInMicros;
+    private Integer depth;
+
+    public static SpanRecord of(SpanData spanData) {
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        for (Map.Entry<AttributeKey<?>, Object> attribute : spanData.getAttributes().asMap().entrySet()) {
+            attributes.put(attribute.getKey().getKey(), attribute.getValue());
+        }
+        return new SpanRecord(
+                spanData.getTraceId(),
+                spanData.getSpanId(),
+                spanData.getParentSpanContext().isValid() ? spanData.getParentSpanId() : null,
+                spanData.getName(),
+                spanData.getStartEpochNanos(),
+                (spanData.getEndEpochNanos() - spanData.getStartEpochNanos()) / 1_000,
+                spanData.getStatus().getStatusCode().name(),
+                attributes,
+                null,
+                null
+        );
+    }
+
+    public SpanRecord at(long offsetInMicros, int depth) {
+        return new SpanRecord(traceId, spanId, parentSpanId, name, startEpochNanos, durationInMicros,
+                status, attributes, offsetInMicros, depth);
+    }
+}
@@ -0,0 +1,18 @@
+package com.api.mithai.ledger;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// One stock change of a sweet in a store. Versions are consecutive per sweet and store, starting at 1.
+@Getter
+@AllArgsConstructor
+public class InventoryEvent {
+    private final Long sweetId;
+    private final Long storeId;
+    private final long version;
+    private final InventoryEventType type;
+    private final int delta;
+    private final LocalDateTime createdAt;
+}
@@ -0,0 +1,8 @@
+package com.api.mithai.ledger;
+
+public enum InventoryEventType {
+    PURCHASE,
+    RESTOCK,
+    // A quantity set directly, including the opening stock of a new sweet
+    ADJUSTMENT
+}
@@ -0,0 +1,14 @@
+package com.api.mithai.ledger;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+// A sweet's stock in one store; each pair has its own ledger versions
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor
+public class StockKey {
+    private final Long sweetId;
+    private final Long storeId;
+}
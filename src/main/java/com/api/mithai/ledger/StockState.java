@@ -0,0 +1,12 @@
+package com.api.mithai.ledger;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Stock of a sweet in one store after applying its ledger up to and including version
+@Getter
+@AllArgsConstructor
+public class StockState {
+    private final int quantity;
+    private final long version;
+}
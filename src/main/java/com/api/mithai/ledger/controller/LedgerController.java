@@ -0,0 +1,36 @@
+package com.api.mithai.ledger.controller;
+
+import com.api.mithai.base.constants.Constants;
+import com.api.mithai.base.constants.Urls;
+import com.api.mithai.base.response.BaseResponse;
+import com.api.mithai.base.response.ResponseHandler;
+import com.api.mithai.ledger.dto.LedgerRebuildDto;
+import com.api.mithai.ledger.service.InventoryLedger;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping(Urls.BASE_URL + Urls.INVENTORY_URL + Urls.LEDGER_URL)
+@RequiredArgsConstructor
+@Tag(name = "Inventory Ledger", description = "APIs for the append-only stock ledger (Admin only)")
+public class LedgerController {
+
+    private final InventoryLedger inventoryLedger;
+    private final ResponseHandler responseHandler;
+
+    @PostMapping(Urls.REBUILD_URL)
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Rebuild stock from the ledger", description = "Reload every sweet's stock from its last snapshot and the events after it (Admin only)", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<BaseResponse> rebuild() {
+        LedgerRebuildDto ledgerRebuildDto = inventoryLedger.rebuild();
+        return responseHandler.okResponse(ledgerRebuildDto, HttpStatus.OK, Constants.LEDGER_REBUILT_SUCCESSFULLY);
+    }
+}
@@ -0,0 +1,15 @@
+package com.api.mithai.ledger.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerRebuildDto {
+    private Integer sweets;
+    // Events newer than the snapshots that had to be applied
+    private Long replayedEvents;
+    private Long durationInMs;
+}
@@ -0,0 +1,171 @@
+package com.api.mithai.ledger.repository;
+
+import com.api.mithai.ledger.InventoryEvent;
+import com.api.mithai.ledger.StockKey;
+import com.api.mithai.ledger.StockState;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+@Repository
+@RequiredArgsConstructor
+public class InventoryEventRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO inventory_events (sweet_id, store_id, version, event_type, delta, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+    // Waits for a transaction holding the same version, and writes nothing if it commits
+    private static final String APPEND_SQL = INSERT_SQL + " ON CONFLICT (sweet_id, store_id, version) DO NOTHING";
+    // Newest version of every pair with events after an id, a range scan of the primary key
+    private static final String LATEST_VERSIONS_SQL = """
+            SELECT sweet_id, store_id, MAX(version) AS version
+            FROM inventory_events
+            WHERE id > ?
+            GROUP BY sweet_id, store_id
+            """;
+    // Ids come from a sequence, so an event can commit after a newer one; only events created
+    // before a cutoff are taken as settled
+    private static final String SETTLED_ID_SQL =
+            "SELECT COALESCE(MAX(id), ?) FROM inventory_events WHERE id > ? AND created_at < ?";
+    // Each sweet and store's snapshot plus the events after it; the lateral subquery is a range
+    // scan of the (sweet_id, store_id, version) key, so the cost grows with events since the
+    // last snapshot only. A pair without a snapshot row starts from zero.
+    private static final String STATE_SQL = """
+            SELECT s.id AS sweet_id, st.id AS store_id, COALESCE(k.quantity, 0) + COALESCE(t.delta, 0) AS quantity,
+                   GREATEST(COALESCE(k.ledger_version, 0), COALESCE(t.version, 0)) AS version, t.events
+            FROM sweets s
+            CROSS JOIN stores st
+            LEFT JOIN sweet_stock k ON k.sweet_id = s.id AND k.store_id = st.id
+            LEFT JOIN LATERAL (
+                SELECT SUM(e.delta) AS delta, MAX(e.version) AS version, COUNT(*) AS events
+                FROM inventory_events e
+                WHERE e.sweet_id = s.id AND e.store_id = st.id AND e.version > COALESCE(k.ledger_version, 0)
+            ) t ON TRUE
+            """;
+    private static final String FIND_STATE_SQL = STATE_SQL + " WHERE s.id = ? AND st.id = ?";
+    private static final String FIND_STATES_SQL = STATE_SQL + " WHERE s.id = ANY (?)";
+    private static final String FIND_TOTAL_SQL = "SELECT COALESCE(SUM(quantity), 0) FROM (" + STATE_SQL + " WHERE s.id = ?) t";
+    // Folds the events after each snapshot into it, for the pairs with events after the mark
+    // only; events of deleted sweets are kept and skipped here. Every row is written with the
+    // absolute quantity at its version, so a snapshot can only be overtaken by a newer one.
+    private static final String SNAPSHOT_SQL = """
+            INSERT INTO sweet_stock (sweet_id, store_id, quantity, ledger_version)
+            SELECT c.sweet_id, c.store_id, COALESCE(k.quantity, 0) + t.delta, t.version
+            FROM (SELECT DISTINCT sweet_id, store_id FROM inventory_events WHERE id > ?) c
+            JOIN sweets s ON s.id = c.sweet_id
+            JOIN stores st ON st.id = c.store_id
+            LEFT JOIN sweet_stock k ON k.sweet_id = c.sweet_id AND k.store_id = c.store_id
+            JOIN LATERAL (
+                SELECT SUM(e.delta) AS delta, MAX(e.version) AS version
+                FROM inventory_events e
+                WHERE e.sweet_id = c.sweet_id AND e.store_id = c.store_id AND e.version > COALESCE(k.ledger_version, 0)
+            ) t ON t.version IS NOT NULL
+            ON CONFLICT (sweet_id, store_id) DO UPDATE
+            SET quantity = EXCLUDED.quantity, ledger_version = EXCLUDED.ledger_version
+            WHERE sweet_stock.ledger_version < EXCLUDED.ledger_version
+            RETURNING sweet_id
+            """;
+    // sweets.quantity is the total over stores; only sweets whose total moved are written, so
+    // catalog change versions are bumped for real stock changes only
+    private static final String TOTALS_SQL = """
+            UPDATE sweets s
+            SET quantity = k.total
+            FROM (SELECT sweet_id, SUM(quantity) AS total FROM sweet_stock WHERE sweet_id = ANY (?) GROUP BY sweet_id) k
+            WHERE s.id = k.sweet_id AND s.quantity <> k.total
+            """;
+    private static final String LOCK_SNAPSHOT_MARK_SQL =
+            "SELECT last_event_id FROM ledger_snapshot_state WHERE id = 1 FOR UPDATE";
+    private static final String SAVE_SNAPSHOT_MARK_SQL =
+            "UPDATE ledger_snapshot_state SET last_event_id = ? WHERE id = 1 AND last_event_id < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public interface StockStateConsumer {
+        void accept(Long sweetId, Long storeId, StockState state, long replayedEvents);
+    }
+
+    // Returns false when the version was already written by someone else
+    public boolean append(InventoryEvent event) {
+        return jdbcTemplate.update(APPEND_SQL, event.getSweetId(), event.getStoreId(), event.getVersion(),
+                event.getType().name(), event.getDelta(), Timestamp.valueOf(event.getCreatedAt())) > 0;
+    }
+
+    public void appendAll(List<InventoryEvent> events) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, events, events.size(), (ps, event) -> {
+            ps.setLong(1, event.getSweetId());
+            ps.setLong(2, event.getStoreId());
+            ps.setLong(3, event.getVersion());
+            ps.setString(4, event.getType().name());
+            ps.setInt(5, event.getDelta());
+            ps.setTimestamp(6, Timestamp.valueOf(event.getCreatedAt()));
+        });
+    }
+
+    public Optional<StockState> findState(Long sweetId, Long storeId) {
+        return jdbcTemplate.query(FIND_STATE_SQL, (rs, rowNum) ->
+                new StockState(rs.getInt("quantity"), rs.getLong("version")), sweetId, storeId).stream().findFirst();
+    }
+
+    // Every store's stock of the given sweets
+    public void findStates(Collection<Long> sweetIds, StockStateConsumer consumer) {
+        Long[] ids = sweetIds.toArray(new Long[0]);
+        jdbcTemplate.query(FIND_STATES_SQL, ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids)), rs -> {
+            consumer.accept(rs.getLong("sweet_id"), rs.getLong("store_id"),
+                    new StockState(rs.getInt("quantity"), rs.getLong("version")), rs.getLong("events"));
+        });
+    }
+
+    // Total over stores as this statement sees it: committed events plus the caller's own
+    public int findTotal(Long sweetId) {
+        return jdbcTemplate.queryForObject(FIND_TOTAL_SQL, Integer.class, sweetId);
+    }
+
+    public void replay(StockStateConsumer consumer) {
+        jdbcTemplate.query(STATE_SQL, rs -> {
+            consumer.accept(rs.getLong("sweet_id"), rs.getLong("store_id"),
+                    new StockState(rs.getInt("quantity"), rs.getLong("version")), rs.getLong("events"));
+        });
+    }
+
+    public Map<StockKey, Long> findLatestVersions(long afterId) {
+        Map<StockKey, Long> versions = new HashMap<>();
+        jdbcTemplate.query(LATEST_VERSIONS_SQL, rs -> {
+            versions.put(new StockKey(rs.getLong("sweet_id"), rs.getLong("store_id")), rs.getLong("version"));
+        }, afterId);
+        return versions;
+    }
+
+    // Highest id after afterId of an event created before createdBefore, or afterId if none
+    public long findSettledEventId(long afterId, LocalDateTime createdBefore) {
+        return jdbcTemplate.queryForObject(SETTLED_ID_SQL, Long.class, afterId, afterId,
+                Timestamp.valueOf(createdBefore));
+    }
+
+    // Locks the snapshot mark until the transaction ends
+    public long lockSnapshotMark() {
+        return jdbcTemplate.queryForObject(LOCK_SNAPSHOT_MARK_SQL, Long.class);
+    }
+
+    public void saveSnapshotMark(long eventId) {
+        jdbcTemplate.update(SAVE_SNAPSHOT_MARK_SQL, eventId, eventId);
+    }
+
+    // Returns the sweets whose snapshot moved
+    public Set<Long> snapshot(long afterId) {
+        return new HashSet<>(jdbcTemplate.queryForList(SNAPSHOT_SQL, Long.class, afterId));
+    }
+
+    public int refreshTotals(Collection<Long> sweetIds) {
+        Long[] ids = sweetIds.toArray(new Long[0]);
+        return jdbcTemplate.update(TOTALS_SQL, ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids)));
+    }
+}
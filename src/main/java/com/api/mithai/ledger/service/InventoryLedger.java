@@ -0,0 +1,367 @@
+package com.api.mithai.ledger.service;
+
+import com.api.mithai.base.constants.Constants;
+import com.api.mithai.base.exception.ResponseStatusException;
+import com.api.mithai.ledger.InventoryEvent;
+import com.api.mithai.ledger.InventoryEventType;
+import com.api.mithai.ledger.StockKey;
+import com.api.mithai.ledger.StockState;
+import com.api.mithai.ledger.dto.LedgerRebuildDto;
+import com.api.mithai.ledger.repository.InventoryEventRepository;
+import com.api.mithai.store.service.StoreService;
+import com.api.mithai.sweet.entity.Sweet;
+import com.api.mithai.sweet.event.SweetDeletedEvent;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntUnaryOperator;
+
+// Stock is the sum of inventory_events per sweet and store. The current quantity and version of
+// every pair are projected in memory; sweet_stock is only a snapshot the scheduled job folds
+// newer events into, so a rebuild reads one row per pair plus the events after it, and
+// sweets.quantity is the snapshot total over stores. Appends to a pair are serialised by a
+// per-pair lock held until the transaction ends, so versions commit in order, the projection
+// only ever holds committed stock, and stores selling the same sweet never wait on each other.
+// Other instances write the same events: an append finding its version taken reloads the pair
+// under the lock and decides again, and each snapshot tick drops the entries events past the
+// last one seen have moved on, so they are reloaded on their next read. A sweet's total is
+// summed from its stores' entries on read, so no write contends on a shared per-sweet row or counter.
+@Slf4j
+@Service
+public class InventoryLedger {
+
+    public static final long OPENING_VERSION = 1;
+    private static final int MAX_APPEND_ATTEMPTS = 3;
+
+    private final InventoryEventRepository inventoryEventRepository;
+    private final StoreService storeService;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<StockKey, StoreStock> stocks = new ConcurrentHashMap<>();
+    // Events up to this id have been checked against the entries; -1 until the first rebuild
+    private final AtomicLong checkedEventId = new AtomicLong(-1);
+
+    // How long an event may take to commit after it was created
+    @Value("${app.ledger.eventCommitLagInMs:30000}")
+    private long eventCommitLagInMs;
+
+    public InventoryLedger(InventoryEventRepository inventoryEventRepository,
+                           StoreService storeService,
+                           PlatformTransactionManager transactionManager) {
+        this.inventoryEventRepository = inventoryEventRepository;
+        this.storeService = storeService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Total over all stores. Stores this thread's transaction has written to are counted with
+    // its uncommitted stock, so a write can report the total it leads to.
+    public int getQuantity(Long sweetId) {
+        int total = 0;
+        for (Long storeId : storeService.getStoreIds()) {
+            StoreStock stock = stock(sweetId, storeId);
+            StockState pending = stock.lock.isHeldByCurrentThread() ? stock.pending : null;
+            total += (pending != null ? pending : committed(sweetId, storeId, stock)).getQuantity();
+        }
+        return total;
+    }
+
+    // Stock of one store, with this thread's uncommitted stock like the total; null is the default store
+    public int getQuantity(Long sweetId, Long storeId) {
+        Long store = storeService.validateStoreId(storeId);
+        StoreStock stock = stock(sweetId, store);
+        StockState pending = stock.lock.isHeldByCurrentThread() ? stock.pending : null;
+        return (pending != null ? pending : committed(sweetId, store, stock)).getQuantity();
+    }
+
+    // Loads the stock of the given sweets that is not in memory in one query, so a page of sweets
+    // is read without a query per sweet and store
+    public void loadStock(Collection<Long> sweetIds) {
+        Set<Long> storeIds = storeService.getStoreIds();
+        List<Long> cold = sweetIds.stream()
+                .distinct()
+                .filter(sweetId -> storeIds.stream().anyMatch(storeId -> {
+                    StoreStock stock = stocks.get(new StockKey(sweetId, storeId));
+                    return stock == null || stock.committed == null;
+                }))
+                .toList();
+        if (cold.isEmpty()) {
+            return;
+        }
+        inventoryEventRepository.findStates(cold, (sweetId, storeId, state, events) ->
+                cache(stock(sweetId, storeId), state));
+    }
+
+    // New sweets are inserted with their opening stock in one store as its event at OPENING_VERSION
+    public void open(Long storeId, List<Sweet> sweets) {
+        Long store = storeService.validateStoreId(storeId);
+        LocalDateTime now = LocalDateTime.now();
+        inventoryEventRepository.appendAll(sweets.stream()
+                .map(sweet -> new InventoryEvent(sweet.getId(), store, OPENING_VERSION,
+                        InventoryEventType.ADJUSTMENT, sweet.getQuantity(), now))
+                .toList());
+        afterCommit(() -> sweets.forEach(sweet ->
+                stock(sweet.getId(), store).committed = new StockState(sweet.getQuantity(), OPENING_VERSION)));
+    }
+
+    // Sets the store's stock to quantity, recording the difference. Returns the total over stores.
+    public int adjust(Long sweetId, Long storeId, int quantity) {
+        return append(sweetId, storeId, InventoryEventType.ADJUSTMENT, current -> quantity - current);
+    }
+
+    // deltaForQuantity gets the store's current stock and returns the change, or throws to reject
+    // it. It is called again when another instance changed the stock first, so it must not have
+    // side effects. Returns the sweet's total over stores after the change; nothing is written
+    // for a zero change. A null store is the default store.
+    public int append(Long sweetId, Long storeId, InventoryEventType type, IntUnaryOperator deltaForQuantity) {
+        Long store = storeService.validateStoreId(storeId);
+        StoreStock stock = stock(sweetId, store);
+        stock.lock.lock();
+        boolean heldUntilCompletion = false;
+        try {
+            StockState current = stock.pending != null ? stock.pending : committed(sweetId, store, stock);
+            for (int attempt = 1; ; attempt++) {
+                int delta = deltaForQuantity.applyAsInt(current.getQuantity());
+                if (delta == 0) {
+                    return getQuantity(sweetId);
+                }
+                StockState next = new StockState(current.getQuantity() + delta, current.getVersion() + 1);
+                if (inventoryEventRepository.append(new InventoryEvent(sweetId, store, next.getVersion(), type, delta,
+                        LocalDateTime.now()))) {
+                    heldUntilCompletion = holdUntilCompletion(stock, next);
+                    return getQuantity(sweetId);
+                }
+                // Another instance changed this stock since it was loaded. Stock this transaction
+                // already wrote cannot be reloaded, and it is rolling back anyway.
+                if (stock.pending != null || attempt == MAX_APPEND_ATTEMPTS) {
+                    if (stock.lock.getHoldCount() == 1) {
+                        stock.committed = null;
+                    }
+                    throw new ResponseStatusException(Constants.INVENTORY_CONFLICT, HttpStatus.CONFLICT);
+                }
+                current = inventoryEventRepository.findState(sweetId, store)
+                        .orElseThrow(() -> new ResponseStatusException("Sweet not found", HttpStatus.BAD_REQUEST));
+                stock.committed = current;
+            }
+        } finally {
+            if (!heldUntilCompletion) {
+                stock.lock.unlock();
+            }
+        }
+    }
+
+    // Stock of one store as committed in the database, past the entry another instance may have
+    // moved on; the entry is refreshed with it. A null store is the default store.
+    public int getCommittedQuantity(Long sweetId, Long storeId) {
+        Long store = storeService.validateStoreId(storeId);
+        StockState loaded = inventoryEventRepository.findState(sweetId, store)
+                .orElseThrow(() -> new ResponseStatusException("Sweet not found", HttpStatus.BAD_REQUEST));
+        return cache(stock(sweetId, store), loaded).getQuantity();
+    }
+
+    @Scheduled(fixedDelayString = "${app.ledger.snapshotIntervalInMs:5000}")
+    @Transactional
+    public void snapshot() {
+        // Only pairs with events past the stored mark are read. The mark moves to settled events
+        // only, the rest are read again next time, which is harmless: a pair at its version is skipped.
+        long afterId = inventoryEventRepository.lockSnapshotMark();
+        long settledId = inventoryEventRepository.findSettledEventId(afterId, commitLagCutoff());
+        Set<Long> sweets = inventoryEventRepository.snapshot(afterId);
+        if (!sweets.isEmpty()) {
+            int totals = inventoryEventRepository.refreshTotals(sweets);
+            log.debug("Snapshotted stock of {} sweets, {} sweet totals changed", sweets.size(), totals);
+        }
+        inventoryEventRepository.saveSnapshotMark(settledId);
+        // Stores created on other instances count towards totals from here on
+        storeService.reload();
+        refresh();
+    }
+
+    // Drops the entries another instance has moved past since the last check. Events are checked
+    // again until they are older than the commit lag, so one committing after a newer id is not
+    // missed. Entries locked by a transaction are skipped; its append finds the newer version.
+    public int refresh() {
+        long afterId = checkedEventId.get();
+        if (afterId < 0) {
+            return 0;
+        }
+        long settledId = inventoryEventRepository.findSettledEventId(afterId, commitLagCutoff());
+        int dropped = 0;
+        for (Map.Entry<StockKey, Long> latest : inventoryEventRepository.findLatestVersions(afterId).entrySet()) {
+            StoreStock stock = stocks.get(latest.getKey());
+            if (stock == null || !stock.lock.tryLock()) {
+                continue;
+            }
+            try {
+                StockState committed = stock.committed;
+                if (committed != null && committed.getVersion() < latest.getValue()) {
+                    stock.committed = null;
+                    dropped++;
+                }
+            } finally {
+                stock.lock.unlock();
+            }
+        }
+        checkedEventId.set(settledId);
+        if (dropped > 0) {
+            log.debug("Dropped {} stock entries changed by other instances", dropped);
+        }
+        return dropped;
+    }
+
+    // Reloads every sweet and store from its snapshot and the events after it. Entries already
+    // at a newer version are kept, so this is safe to run while stock is changing.
+    public LedgerRebuildDto rebuild() {
+        long start = System.nanoTime();
+        storeService.reload();
+        // Read first: events after it may be missing from the replay
+        long settledId = inventoryEventRepository.findSettledEventId(0, commitLagCutoff());
+        Set<Long> sweets = new HashSet<>();
+        AtomicLong replayedEvents = new AtomicLong();
+        inventoryEventRepository.replay((sweetId, storeId, state, events) -> {
+            StoreStock stock = stock(sweetId, storeId);
+            stock.lock.lock();
+            try {
+                if (stock.committed == null || stock.committed.getVersion() < state.getVersion()) {
+                    stock.committed = state;
+                }
+            } finally {
+                stock.lock.unlock();
+            }
+            sweets.add(sweetId);
+            replayedEvents.addAndGet(events);
+        });
+        checkedEventId.set(settledId);
+        long durationInMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        log.info("Inventory ledger rebuilt for {} sweets, {} events after snapshots, in {} ms",
+                sweets.size(), replayedEvents.get(), durationInMs);
+        return new LedgerRebuildDto(sweets.size(), replayedEvents.get(), durationInMs);
+    }
+
+    // Runs before other startup listeners, so the ones reading sweets.quantity see a fresh snapshot
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        // Called on this instance, so snapshot's @Transactional does not apply and the mark lock
+        // needs a transaction of its own
+        transactionTemplate.executeWithoutResult(status -> snapshot());
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSweetDeleted(SweetDeletedEvent event) {
+        for (Long storeId : storeService.getStoreIds()) {
+            stocks.remove(new StockKey(event.getSweetId(), storeId));
+        }
+    }
+
+    private LocalDateTime commitLagCutoff() {
+        return LocalDateTime.now().minus(eventCommitLagInMs, ChronoUnit.MILLIS);
+    }
+
+    private StoreStock stock(Long sweetId, Long storeId) {
+        return stocks.computeIfAbsent(new StockKey(sweetId, storeId), key -> new StoreStock());
+    }
+
+    // Loads a cold entry without waiting for its lock: an append reads every store's stock for
+    // the total while holding its own pair, so waiting here could deadlock two stores' writers
+    private StockState committed(Long sweetId, Long storeId, StoreStock stock) {
+        StockState state = stock.committed;
+        if (state != null) {
+            return state;
+        }
+        StockState loaded = inventoryEventRepository.findState(sweetId, storeId).orElse(null);
+        if (loaded == null) {
+            stocks.remove(new StockKey(sweetId, storeId), stock);
+            throw new ResponseStatusException("Sweet not found", HttpStatus.BAD_REQUEST);
+        }
+        return cache(stock, loaded);
+    }
+
+    // Keeps a loaded stock unless a newer one is known. A stock locked by another thread is left
+    // alone rather than waited for; its holder publishes the stock when its transaction ends.
+    private static StockState cache(StoreStock stock, StockState loaded) {
+        if (!stock.lock.tryLock()) {
+            return loaded;
+        }
+        try {
+            if (stock.committed == null || stock.committed.getVersion() < loaded.getVersion()) {
+                stock.committed = loaded;
+            }
+            return stock.committed;
+        } finally {
+            stock.lock.unlock();
+        }
+    }
+
+    // Keeps the stock locked until the transaction ends and publishes the new stock only if it
+    // commits. Returns false when the caller should release its hold now.
+    private static boolean holdUntilCompletion(StoreStock stock, StockState next) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Auto-commit: the event is already durable
+            stock.committed = next;
+            return false;
+        }
+        stock.pending = next;
+        if (stock.lock.getHoldCount() > 1) {
+            // An earlier append in this transaction holds the lock until it ends
+            return false;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    stock.committed = stock.pending;
+                } else if (status == STATUS_UNKNOWN) {
+                    stock.committed = null;
+                }
+                stock.pending = null;
+                stock.lock.unlock();
+            }
+        });
+        return true;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static final class StoreStock {
+        private final ReentrantLock lock = new ReentrantLock();
+        // Read without the lock; written only while holding it, or for a sweet nobody else knows yet
+        private volatile StockState committed;
+        // Stock written by the lock holder's transaction but not yet committed
+        private StockState pending;
+    }
+}
@@ -0,0 +1,36 @@
+package com.api.mithai.order.controller;
+
+import com.api.mithai.base.constants.Constants;
+import com.api.mithai.base.constants.Urls;
+import com.api.mithai.base.response.BaseResponse;
+import com.api.mithai.base.response.ResponseHandler;
+import com.api.mithai.order.dto.OrderPageDto;
+import com.api.mithai.order.service.OrderService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping(Urls.BASE_URL + Urls.ORDERS_URL)
+@RequiredArgsConstructor
+@Tag(name = "Orders", description = "APIs for reading purchase history")
+public class OrderController {
+
+    private final OrderService orderService;
+    private final ResponseHandler responseHandler;
+
+    @GetMapping
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "List my orders", description = "Get the caller's orders, newest first, one keyset page at a time", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<BaseResponse> listMyOrders(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        OrderPageDto orderPageDto = orderService.listMyOrders(cursor, size);
+        return responseHandler.okResponse(orderPageDto, HttpStatus.OK, Constants.ORDERS_RETRIEVED_SUCCESSFULLY);
+    }
+}
@@ -0,0 +1,15 @@
+package com.api.mithai.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderLineResponseDto {
+    private Long sweetId;
+    private String sweetName;
+    private Double unitPrice;
+    private Integer quantity;
+}
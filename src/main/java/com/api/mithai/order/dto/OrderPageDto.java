@@ -0,0 +1,16 @@
+package com.api.mithai.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderPageDto {
+    private List<OrderResponseDto> orders;
+    // Pass as "cursor" on the next call; null when there are no older orders
+    private String nextCursor;
+}
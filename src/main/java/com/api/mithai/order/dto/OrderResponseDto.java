@@ -0,0 +1,18 @@
+package com.api.mithai.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderResponseDto {
+    private Long id;
+    private LocalDateTime createdAt;
+    private Double totalAmount;
+    private List<OrderLineResponseDto> lines;
+}
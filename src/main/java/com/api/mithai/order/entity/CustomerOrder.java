@@ -0,0 +1,40 @@
+package com.api.mithai.order.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// One purchase. The table is partitioned by month on created_at, so its primary key is
+// (id, created_at); id alone is still unique because it comes from orders_seq.
+@Entity(name = "CustomerOrder")
+@Table(name = "orders")
+@Getter
+@NoArgsConstructor
+public class CustomerOrder {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false, updatable = false)
+    private Long userId;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "total_amount", nullable = false, updatable = false)
+    private Double totalAmount;
+
+    public CustomerOrder(Long userId, LocalDateTime createdAt, Double totalAmount) {
+        this.userId = userId;
+        this.createdAt = createdAt;
+        this.totalAmount = totalAmount;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+}
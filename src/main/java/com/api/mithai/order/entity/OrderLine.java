@@ -0,0 +1,48 @@
+package com.api.mithai.order.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Name and price are copied from the sweet at purchase time so history survives later
+// edits or deletes. order_created_at is the partition key and lets lookups prune partitions.
+@Entity
+@Table(name = "order_lines")
+@Getter
+@NoArgsConstructor
+public class OrderLine {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_lines_seq")
+    @SequenceGenerator(name = "order_lines_seq", sequenceName = "order_lines_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "order_id", nullable = false, updatable = false)
+    private Long orderId;
+
+    @Column(name = "order_created_at", nullable = false, updatable = false)
+    private LocalDateTime orderCreatedAt;
+
+    @Column(name = "sweet_id", nullable = false, updatable = false)
+    private Long sweetId;
+
+    @Column(name = "sweet_name", nullable = false, updatable = false)
+    private String sweetName;
+
+    @Column(name = "unit_price", nullable = false, updatable = false)
+    private Double unitPrice;
+
+    @Column(nullable = false, updatable = false)
+    private Integer quantity;
+
+    public OrderLine(CustomerOrder order, Long sweetId, String sweetName, Double unitPrice, Integer quantity) {
+        this.orderId = order.getId();
+        this.orderCreatedAt = order.getCreatedAt();
+        this.sweetId = sweetId;
+        this.sweetName = sweetName;
+        this.unitPrice = unitPrice;
+        this.quantity = quantity;
+    }
+}
@@ -0,0 +1,35 @@
+package com.api.mithai.order.repository;
+
+import com.api.mithai.order.entity.CustomerOrder;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface CustomerOrderRepository extends JpaRepository<CustomerOrder, Long> {
+
+    @Query(value = """
+            SELECT * FROM orders
+            WHERE user_id = :userId
+            ORDER BY created_at DESC, id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<CustomerOrder> findLatestByUser(@Param("userId") Long userId, @Param("limit") int limit);
+
+    // Keyset page: orders strictly older than the (createdAt, id) of the previous page's last row
+    @Query(value = """
+            SELECT * FROM orders
+            WHERE user_id = :userId
+              AND (created_at, id) < (:createdAt, :id)
+            ORDER BY created_at DESC, id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<CustomerOrder> findByUserBefore(@Param("userId") Long userId,
+                                         @Param("createdAt") LocalDateTime createdAt,
+                                         @Param("id") Long id,
+                                         @Param("limit") int limit);
+}
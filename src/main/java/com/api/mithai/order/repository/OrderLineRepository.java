@@ -0,0 +1,22 @@
+package com.api.mithai.order.repository;
+
+import com.api.mithai.order.entity.OrderLine;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OrderLineRepository extends JpaRepository<OrderLine, Long> {
+
+    // The time range keeps the scan to the partitions the page actually covers
+    @Query("SELECT l FROM OrderLine l WHERE l.orderId IN :orderIds " +
+           "AND l.orderCreatedAt BETWEEN :from AND :to ORDER BY l.orderId, l.id")
+    List<OrderLine> findByOrderIds(@Param("orderIds") Collection<Long> orderIds,
+                                   @Param("from") LocalDateTime from,
+                                   @Param("to") LocalDateTime to);
+}
@@ -0,0 +1,72 @@
+package com.api.mithai.order.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+// Keeps monthly partitions of orders/order_lines created ahead of time and, when a
+// retention is configured, detaches the ones that fell out of it. Detached partitions
+// stay as plain tables for archiving; purchases and history pages never scan them again.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderPartitionMaintenance {
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final List<String> PARTITIONED_TABLES = List.of("orders", "order_lines");
+    private static final String CHILD_PARTITIONS_SQL = """
+            SELECT child.relname FROM pg_inherits
+            JOIN pg_class child ON child.oid = pg_inherits.inhrelid
+            WHERE pg_inherits.inhparent = ?::regclass
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.orders.partitionMonthsAhead:3}")
+    private int monthsAhead;
+
+    @Value("${app.orders.retentionMonths:0}")
+    private int retentionMonths;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${app.orders.partitionCron:0 15 3 * * *}")
+    public void maintain() {
+        jdbcTemplate.execute("SELECT create_order_partitions(" + monthsAhead + ")");
+        if (retentionMonths > 0) {
+            detachOlderThan(YearMonth.now().minusMonths(retentionMonths));
+        }
+    }
+
+    private void detachOlderThan(YearMonth oldestKept) {
+        for (String table : PARTITIONED_TABLES) {
+            String prefix = table + "_p";
+            List<String> partitions = jdbcTemplate.queryForList(CHILD_PARTITIONS_SQL, String.class, table);
+            for (String partition : partitions) {
+                if (!partition.startsWith(prefix)) {
+                    continue;
+                }
+                YearMonth month = YearMonth.parse(partition.substring(prefix.length()), PARTITION_SUFFIX);
+                if (month.isBefore(oldestKept)) {
+                    // CONCURRENTLY cannot run inside a transaction; JdbcTemplate here is autocommit
+                    jdbcTemplate.execute("ALTER TABLE " + table + " DETACH PARTITION " + partition + " CONCURRENTLY");
+                    log.info("Detached partition {} from {}", partition, table);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.api.mithai.order.service;
+
+import com.api.mithai.base.constants.Constants;
+import com.api.mithai.base.exception.ResponseStatusException;
+import com.api.mithai.order.dto.OrderLineResponseDto;
+import com.api.mithai.order.dto.OrderPageDto;
+import com.api.mithai.order.dto.OrderResponseDto;
+import com.api.mithai.order.entity.CustomerOrder;
+import com.api.mithai.order.entity.OrderLine;
+import com.api.mithai.order.repository.CustomerOrderRepository;
+import com.api.mithai.order.repository.OrderLineRepository;
+import com.api.mithai.security.CurrentUser;
+import com.api.mithai.sweet.entity.Sweet;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+@Service
+public class OrderService {
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final String CURSOR_SEPARATOR = "_";
+
+    private final CustomerOrderRepository customerOrderRepository;
+    private final OrderLineRepository orderLineRepository;
+
+    // Called inside the purchase transaction, so the order commits or rolls back with the decrement
+    public CustomerOrder recordPurchase(Sweet sweet, Integer quantity) {
+        // Postgres keeps microseconds; truncating here keeps cursors exact
+        LocalDateTime createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        CustomerOrder order = customerOrderRepository.save(
+                new CustomerOrder(CurrentUser.id(), createdAt, sweet.getPrice() * quantity));
+        orderLineRepository.save(new OrderLine(order, sweet.getId(), sweet.getName(), sweet.getPrice(), quantity));
+        return order;
+    }
+
+    @Timed(value = "mithai.service", histogram = true)
+    public OrderPageDto listMyOrders(String cursor, Integer size) {
+        int pageSize = validatePageSize(size);
+        Long userId = CurrentUser.id();
+
+        // One extra row tells whether an older page exists
+        List<CustomerOrder> orders;
+        if (cursor == null || cursor.isBlank()) {
+            orders = customerOrderRepository.findLatestByUser(userId, pageSize + 1);
+        } else {
+            CustomerOrder after = decodeCursor(cursor);
+            orders = customerOrderRepository.findByUserBefore(userId, after.getCreatedAt(), after.getId(), pageSize + 1);
+        }
+
+        boolean hasMore = orders.size() > pageSize;
+        if (hasMore) {
+            orders = orders.subList(0, pageSize);
+        }
+        if (orders.isEmpty()) {
+            return new OrderPageDto(new ArrayList<>(), null);
+        }
+
+        // Newest first, so the page spans [last.createdAt, first.createdAt]
+        Map<Long, List<OrderLineResponseDto>> linesByOrder = new LinkedHashMap<>();
+        for (CustomerOrder order : orders) {
+            linesByOrder.put(order.getId(), new ArrayList<>());
+        }
+        List<OrderLine> lines = orderLineRepository.findByOrderIds(linesByOrder.keySet(),
+                orders.get(orders.size() - 1).getCreatedAt(), orders.get(0).getCreatedAt());
+        for (OrderLine line : lines) {
+            linesByOrder.get(line.getOrderId()).add(new OrderLineResponseDto(
+                    line.getSweetId(), line.getSweetName(), line.getUnitPrice(), line.getQuantity()));
+        }
+
+        List<OrderResponseDto> orderResponseDtos = new ArrayList<>(orders.size());
+        for (CustomerOrder order : orders) {
+            orderResponseDtos.add(new OrderResponseDto(order.getId(), order.getCreatedAt(),
+                    order.getTotalAmount(), linesByOrder.get(order.getId())));
+        }
+        String nextCursor = hasMore ? encodeCursor(orders.get(orders.size() - 1)) : null;
+        return new OrderPageDto(orderResponseDtos, nextCursor);
+    }
+
+    public static String encodeCursor(CustomerOrder order) {
+        String raw = order.getCreatedAt() + CURSOR_SEPARATOR + order.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static CustomerOrder decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(CURSOR_SEPARATOR);
+            CustomerOrder order = new CustomerOrder(null, LocalDateTime.parse(raw.substring(0, separator)), null);
+            order.setId(Long.parseLong(raw.substring(separator + 1)));
+            return order;
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException ex) {
+            throw new ResponseStatusException(Constants.ORDER_CURSOR_INVALID, HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    private int validatePageSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (size < 1 || size > Constants.MAX_ORDERS_PAGE_SIZE) {
+            throw new ResponseStatusException(Constants.ORDERS_PAGE_SIZE_INVALID, HttpStatus.BAD_REQUEST);
+        }
+        return size;
+    }
+}
@@ -0,0 +1,21 @@
+package com.api.mithai.outbox;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// One relayed change. Ids grow in commit order for any one sweet, so consumers can drop
+// redelivered events by remembering the last id they applied per sweet.
+@Getter
+@AllArgsConstructor
+public class OutboxEvent {
+    private final Long id;
+    private final Long sweetId;
+    private final String type;
+    // The sweet as JSON after the change; null for a deletion
+    @JsonRawValue
+    private final String sweet;
+    private final LocalDateTime createdAt;
+}
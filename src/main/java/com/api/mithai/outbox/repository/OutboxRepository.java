@@ -0,0 +1,70 @@
+package com.api.mithai.outbox.repository;
+
+import com.api.mithai.outbox.OutboxEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class OutboxRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO inventory_outbox (sweet_id, event_type, payload, created_at) VALUES (?, ?, CAST(? AS JSONB), ?) RETURNING id";
+    // Keyed by the sweet id alone; the job locks elsewhere use hashtext keys
+    private static final String LOCK_SWEET_SQL = "SELECT pg_advisory_xact_lock(?)";
+    // Locks the oldest events no other relay holds. An event is blocked when an older event of
+    // its sweet is not in the batch: that one is held by another relay and must go out first.
+    private static final String LOCK_BATCH_SQL = """
+            WITH batch AS (
+                SELECT id, sweet_id FROM inventory_outbox
+                ORDER BY id
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            )
+            SELECT o.id, o.sweet_id, o.event_type, o.payload, o.created_at,
+                   EXISTS (SELECT 1 FROM inventory_outbox e
+                           WHERE e.sweet_id = b.sweet_id AND e.id < b.id
+                             AND e.id NOT IN (SELECT id FROM batch)) AS blocked
+            FROM batch b
+            JOIN inventory_outbox o ON o.id = b.id
+            ORDER BY o.id
+            """;
+    private static final String DELETE_SQL = "DELETE FROM inventory_outbox WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Returns the event's id
+    public long insert(Long sweetId, String eventType, String payload, LocalDateTime createdAt) {
+        return jdbcTemplate.queryForObject(INSERT_SQL, Long.class, sweetId, eventType, payload, Timestamp.valueOf(createdAt));
+    }
+
+    // Waits for any other transaction writing events of the sweet; held until this one ends
+    public void lockSweet(Long sweetId) {
+        jdbcTemplate.query(LOCK_SWEET_SQL, (ResultSetExtractor<Void>) rs -> null, sweetId);
+    }
+
+    // Events that can be published now, oldest first. Must run in a transaction; the row
+    // locks are held until it ends, and blocked events are left for a later batch.
+    public List<OutboxEvent> lockBatch(int batchSize) {
+        List<OutboxEvent> ready = new ArrayList<>();
+        jdbcTemplate.query(LOCK_BATCH_SQL, rs -> {
+            if (!rs.getBoolean("blocked")) {
+                ready.add(new OutboxEvent(rs.getLong("id"), rs.getLong("sweet_id"), rs.getString("event_type"),
+                        rs.getString("payload"), rs.getTimestamp("created_at").toLocalDateTime()));
+            }
+        }, batchSize);
+        return ready;
+    }
+
+    public void delete(List<OutboxEvent> events) {
+        jdbcTemplate.batchUpdate(DELETE_SQL, events, events.size(),
+                (ps, event) -> ps.setLong(1, event.getId()));
+    }
+}
@@ -0,0 +1,104 @@
+package com.api.mithai.outbox.service;
+
+import com.api.mithai.outbox.OutboxEvent;
+import com.api.mithai.outbox.repository.OutboxRepository;
+import com.api.mithai.outbox.sink.OutboxSink;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Moves outbox events to the configured sink. Each batch is locked with SKIP LOCKED, so
+// several instances can relay at once; an event waits while an older event of its sweet is
+// held by another relay, which keeps each sweet's events in order. Events are deleted only
+// after the sink accepted them, in the same transaction that locked them.
+@Slf4j
+@Service
+public class OutboxRelay {
+
+    private final OutboxRepository outboxRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxSink sink;
+    private final Counter published;
+    private final Counter failures;
+    private final Timer publishTimer;
+    // Age of the oldest event in the last relayed batch
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    @Value("${app.outbox.batchSize:500}")
+    private int batchSize;
+
+    public OutboxRelay(OutboxRepository outboxRepository,
+                       PlatformTransactionManager transactionManager,
+                       List<OutboxSink> sinks,
+                       MeterRegistry meterRegistry,
+                       @Value("${app.outbox.sink:memory}") String sinkName) {
+        this.outboxRepository = outboxRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.sink = sinks.stream()
+                .filter(candidate -> candidate.getName().equals(sinkName))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Unknown outbox sink: " + sinkName));
+        this.published = Counter.builder("mithai.outbox.events.published")
+                .description("Outbox events accepted by the sink")
+                .tag("sink", sinkName)
+                .register(meterRegistry);
+        this.failures = Counter.builder("mithai.outbox.publish.failures")
+                .description("Outbox batches the sink rejected and that will be sent again")
+                .tag("sink", sinkName)
+                .register(meterRegistry);
+        this.publishTimer = Timer.builder("mithai.outbox.publish")
+                .description("Time to hand one batch to the sink and delete it from the outbox")
+                .tag("sink", sinkName)
+                .register(meterRegistry);
+        Gauge.builder("mithai.outbox.lag", lagMillis, AtomicLong::get)
+                .description("Age in milliseconds of the oldest event in the last relayed batch")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.pollIntervalInMs:200}")
+    public void relay() {
+        // Keep going while batches come back full, each in its own short transaction
+        int relayed;
+        do {
+            relayed = relayBatch();
+        } while (relayed == batchSize);
+    }
+
+    public int relayBatch() {
+        Integer relayed = transactionTemplate.execute(status -> {
+            List<OutboxEvent> events = outboxRepository.lockBatch(batchSize);
+            if (events.isEmpty()) {
+                return 0;
+            }
+            long start = System.nanoTime();
+            try {
+                sink.publish(events);
+            } catch (Exception ex) {
+                // Nothing is deleted, so the whole batch is sent again on the next poll
+                failures.increment();
+                log.warn("Outbox sink {} rejected {} events: {}", sink.getName(), events.size(), ex.getMessage());
+                return 0;
+            }
+            outboxRepository.delete(events);
+            publishTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            published.increment(events.size());
+            lagMillis.set(Duration.between(events.get(0).getCreatedAt(), LocalDateTime.now()).toMillis());
+            return events.size();
+        });
+        return relayed != null ? relayed : 0;
+    }
+}
@@ -0,0 +1,66 @@
+package com.api.mithai.outbox.service;
+
+import com.api.mithai.ledger.repository.InventoryEventRepository;
+import com.api.mithai.outbox.repository.OutboxRepository;
+import com.api.mithai.sweet.dto.SweetResponseDto;
+import com.api.mithai.sweet.event.SweetChangedEvent;
+import com.api.mithai.sweet.event.SweetDeletedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+
+// Appends every sweet change to the outbox just before its transaction commits, so the
+// event is stored if and only if the change is
+@Service
+@RequiredArgsConstructor
+public class OutboxWriter {
+
+    public static final String DELETED = "DELETED";
+
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+    private final InventoryEventRepository inventoryEventRepository;
+
+    // Changes of a sweet are written one transaction at a time, each with the total over stores
+    // read after the previous one committed, so the newest event carries the true total even when
+    // stores sell the sweet concurrently. The outbox id becomes the change's sequence, which
+    // in-process listeners use to drop a change reaching them after a newer one.
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onSweetChanged(SweetChangedEvent event) {
+        SweetResponseDto sweet = event.getSweet();
+        if (lock(sweet.getId())) {
+            sweet.setQuantity(inventoryEventRepository.findTotal(sweet.getId()));
+        }
+        event.setSequence(outboxRepository.insert(sweet.getId(), event.getChangeType().name(), toJson(sweet),
+                LocalDateTime.now()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onSweetDeleted(SweetDeletedEvent event) {
+        lock(event.getSweetId());
+        outboxRepository.insert(event.getSweetId(), DELETED, null, LocalDateTime.now());
+    }
+
+    // Held until commit; without a transaction the write is committed on its own
+    private boolean lock(Long sweetId) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return false;
+        }
+        outboxRepository.lockSweet(sweetId);
+        return true;
+    }
+
+    private String toJson(SweetResponseDto sweet) {
+        try {
+            return objectMapper.writeValueAsString(sweet);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Sweet change cannot be written to the outbox", ex);
+        }
+    }
+}
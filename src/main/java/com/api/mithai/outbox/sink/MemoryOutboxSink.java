@@ -0,0 +1,61 @@
+package com.api.mithai.outbox.sink;
+
+import com.api.mithai.outbox.OutboxEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+// Stand-in for a message broker: keeps the latest events in memory as a log that in-process
+// consumers read by offset, like a single broker partition
+@Component
+public class MemoryOutboxSink implements OutboxSink {
+
+    private final int capacity;
+    private final Deque<OutboxEvent> events = new ArrayDeque<>();
+    // Offset of the oldest event still held
+    private long firstOffset;
+
+    public MemoryOutboxSink(@Value("${app.outbox.memoryCapacity:10000}") int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public String getName() {
+        return "memory";
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxEvent> published) {
+        for (OutboxEvent event : published) {
+            if (events.size() == capacity) {
+                events.removeFirst();
+                firstOffset++;
+            }
+            events.addLast(event);
+        }
+    }
+
+    // Events from offset on, in delivery order and including redeliveries. Events that were
+    // already dropped for capacity are skipped, so reading starts at the oldest one held.
+    public synchronized List<OutboxEvent> read(long offset, int limit) {
+        List<OutboxEvent> result = new ArrayList<>();
+        long position = firstOffset;
+        for (OutboxEvent event : events) {
+            if (result.size() == limit) {
+                break;
+            }
+            if (position++ >= offset) {
+                result.add(event);
+            }
+        }
+        return result;
+    }
+
+    public synchronized long getEndOffset() {
+        return firstOffset + events.size();
+    }
+}
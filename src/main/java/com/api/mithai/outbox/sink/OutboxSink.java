@@ -0,0 +1,15 @@
+package com.api.mithai.outbox.sink;
+
+import com.api.mithai.outbox.OutboxEvent;
+
+import java.util.List;
+
+// Where relayed events are delivered. publish() gets events in id order and must either
+// accept all of them or throw; anything not accepted is sent again, so delivery is at least once.
+public interface OutboxSink {
+
+    // Name used in app.outbox.sink
+    String getName();
+
+    void publish(List<OutboxEvent> events) throws Exception;
+}
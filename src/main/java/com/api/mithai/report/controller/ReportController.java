@@ -0,0 +1,40 @@
+package com.api.mithai.report.controller;
+
+import com.api.mithai.base.constants.Constants;
+import com.api.mithai.base.constants.Urls;
+import com.api.mithai.base.response.BaseResponse;
+import com.api.mithai.base.response.ResponseHandler;
+import com.api.mithai.report.dto.SalesReportDto;
+import com.api.mithai.report.service.SalesReportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping(Urls.BASE_URL + Urls.REPORTS_URL)
+@RequiredArgsConstructor
+@Tag(name = "Reports", description = "APIs for sales dashboards")
+public class ReportController {
+
+    private final SalesReportService salesReportService;
+    private final ResponseHandler responseHandler;
+
+    @GetMapping(Urls.SALES_URL)
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Sales report", description = "Revenue per category, units per sweet and top sellers for a day, plus recent per-minute totals (Admin only)", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<BaseResponse> sales(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) Integer top,
+            @RequestParam(required = false) Integer minutes) {
+        SalesReportDto salesReportDto = salesReportService.getSalesReport(date, top, minutes);
+        return responseHandler.okResponse(salesReportDto, HttpStatus.OK, Constants.SALES_REPORT_RETRIEVED_SUCCESSFULLY);
+    }
+}
@@ -0,0 +1,15 @@
+package com.api.mithai.report.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategorySalesDto {
+    private Long categoryId;
+    private String categoryName;
+    private Long units;
+    private Double revenue;
+}
@@ -0,0 +1,16 @@
+package com.api.mithai.report.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MinuteSalesDto {
+    private LocalDateTime minute;
+    private Long units;
+    private Double revenue;
+}
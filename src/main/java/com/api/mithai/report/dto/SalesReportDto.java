@@ -0,0 +1,22 @@
+package com.api.mithai.report.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesReportDto {
+    private LocalDate date;
+    private Long totalUnits;
+    private Double totalRevenue;
+    private List<CategorySalesDto> revenueByCategory;
+    private List<SweetSalesDto> unitsBySweet;
+    private List<SweetSalesDto> topSellers;
+    // Totals per minute, oldest first, up to the current minute
+    private List<MinuteSalesDto> recentMinutes;
+}
@@ -0,0 +1,18 @@
+package com.api.mithai.report.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SweetSalesDto {
+    private Long sweetId;
+    // Null once the sweet has been deleted
+    private String sweetName;
+    private Long categoryId;
+    private String categoryName;
+    private Long units;
+    private Double revenue;
+}
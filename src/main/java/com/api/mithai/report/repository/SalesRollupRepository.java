@@ -0,0 +1,99 @@
+package com.api.mithai.report.repository;
+
+import com.api.mithai.report.dto.MinuteSalesDto;
+import com.api.mithai.report.dto.SweetSalesDto;
+import com.api.mithai.report.service.SalesDelta;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class SalesRollupRepository {
+
+    private static final String ADD_TO_MINUTE_ROLLUP_SQL = """
+            INSERT INTO sales_rollup_minute AS r (bucket_start, sweet_id, category_id, units, revenue)
+            VALUES (?, ?, ?, ?, ?)
+            ON CONFLICT (bucket_start, sweet_id)
+            DO UPDATE SET units = r.units + EXCLUDED.units, revenue = r.revenue + EXCLUDED.revenue
+            """;
+    private static final String ADD_TO_DAY_ROLLUP_SQL = """
+            INSERT INTO sales_rollup_day AS r (bucket_date, sweet_id, category_id, units, revenue)
+            VALUES (?, ?, ?, ?, ?)
+            ON CONFLICT (bucket_date, sweet_id)
+            DO UPDATE SET units = r.units + EXCLUDED.units, revenue = r.revenue + EXCLUDED.revenue
+            """;
+    private static final String FIND_DAY_SQL = """
+            SELECT r.sweet_id, s.name AS sweet_name, r.category_id, c.name AS category_name, r.units, r.revenue
+            FROM sales_rollup_day r
+            LEFT JOIN sweets s ON s.id = r.sweet_id
+            LEFT JOIN sweet_categories c ON c.id = r.category_id
+            WHERE r.bucket_date = ?
+            ORDER BY r.units DESC, r.sweet_id
+            """;
+    private static final String FIND_MINUTE_TOTALS_SQL = """
+            SELECT bucket_start, SUM(units) AS units, SUM(revenue) AS revenue
+            FROM sales_rollup_minute
+            WHERE bucket_start >= ?
+            GROUP BY bucket_start
+            ORDER BY bucket_start
+            """;
+    private static final String DELETE_MINUTES_BEFORE_SQL = "DELETE FROM sales_rollup_minute WHERE bucket_start < ?";
+
+    // Rows are written in key order so two instances flushing the same keys cannot deadlock
+    private static final Comparator<SalesDelta> KEY_ORDER =
+            Comparator.comparing(SalesDelta::getBucket).thenComparing(SalesDelta::getSweetId);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void addToMinuteRollup(List<SalesDelta> deltas) {
+        List<SalesDelta> ordered = deltas.stream().sorted(KEY_ORDER).toList();
+        jdbcTemplate.batchUpdate(ADD_TO_MINUTE_ROLLUP_SQL, ordered, ordered.size(), (ps, delta) -> {
+            ps.setTimestamp(1, Timestamp.valueOf(delta.getBucket()));
+            ps.setLong(2, delta.getSweetId());
+            ps.setLong(3, delta.getCategoryId());
+            ps.setLong(4, delta.getUnits());
+            ps.setDouble(5, delta.getRevenue());
+        });
+    }
+
+    public void addToDayRollup(List<SalesDelta> deltas) {
+        List<SalesDelta> ordered = deltas.stream().sorted(KEY_ORDER).toList();
+        jdbcTemplate.batchUpdate(ADD_TO_DAY_ROLLUP_SQL, ordered, ordered.size(), (ps, delta) -> {
+            ps.setObject(1, delta.getBucket().toLocalDate());
+            ps.setLong(2, delta.getSweetId());
+            ps.setLong(3, delta.getCategoryId());
+            ps.setLong(4, delta.getUnits());
+            ps.setDouble(5, delta.getRevenue());
+        });
+    }
+
+    public List<SweetSalesDto> findDay(LocalDate date) {
+        return jdbcTemplate.query(FIND_DAY_SQL, (rs, rowNum) -> new SweetSalesDto(
+                rs.getLong("sweet_id"),
+                rs.getString("sweet_name"),
+                rs.getLong("category_id"),
+                rs.getString("category_name"),
+                rs.getLong("units"),
+                rs.getDouble("revenue")
+        ), date);
+    }
+
+    public List<MinuteSalesDto> findMinuteTotalsSince(LocalDateTime from) {
+        return jdbcTemplate.query(FIND_MINUTE_TOTALS_SQL, (rs, rowNum) -> new MinuteSalesDto(
+                rs.getTimestamp("bucket_start").toLocalDateTime(),
+                rs.getLong("units"),
+                rs.getDouble("revenue")
+        ), Timestamp.valueOf(from));
+    }
+
+    public int deleteMinutesBefore(LocalDateTime cutoff) {
+        return jdbcTemplate.update(DELETE_MINUTES_BEFORE_SQL, Timestamp.valueOf(cutoff));
+    }
+}
@@ -0,0 +1,118 @@
+package com.api.mithai.report.service;
+
+import com.api.mithai.report.repository.SalesRollupRepository;
+import com.api.mithai.sweet.event.SweetPurchasedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Keeps per-minute and per-day sales counters in memory as purchases commit and adds
+// them to the rollup tables in batches, so reports never aggregate raw purchases.
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class SalesAggregator {
+
+    // A closed bucket is dropped from memory this long after it ends, once fully written
+    private static final Duration CLOSED_BUCKET_GRACE = Duration.ofMinutes(2);
+
+    private final SalesRollupRepository salesRollupRepository;
+
+    private final Map<BucketKey, SalesCounter> minuteCounters = new ConcurrentHashMap<>();
+    private final Map<BucketKey, SalesCounter> dayCounters = new ConcurrentHashMap<>();
+
+    @Value("${app.sales.minuteRetentionDays:7}")
+    private int minuteRetentionDays;
+
+    // Runs after commit, so rolled back purchases are never counted
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSweetPurchased(SweetPurchasedEvent event) {
+        LocalDateTime purchasedAt = event.getPurchasedAt();
+        counter(minuteCounters, purchasedAt.truncatedTo(ChronoUnit.MINUTES), event)
+                .add(event.getQuantity(), event.getAmount());
+        counter(dayCounters, purchasedAt.truncatedTo(ChronoUnit.DAYS), event)
+                .add(event.getQuantity(), event.getAmount());
+    }
+
+    private static SalesCounter counter(Map<BucketKey, SalesCounter> counters, LocalDateTime bucket,
+                                        SweetPurchasedEvent event) {
+        return counters.computeIfAbsent(new BucketKey(bucket, event.getSweetId()),
+                key -> new SalesCounter(bucket, event.getSweetId(), event.getCategoryId()));
+    }
+
+    @Scheduled(fixedDelayString = "${app.sales.flushIntervalInMs:10000}")
+    public synchronized void flush() {
+        List<SalesDelta> minuteDeltas = pending(minuteCounters);
+        if (!minuteDeltas.isEmpty()) {
+            salesRollupRepository.addToMinuteRollup(minuteDeltas);
+            minuteDeltas.forEach(delta -> delta.getCounter().markFlushed(delta));
+        }
+        List<SalesDelta> dayDeltas = pending(dayCounters);
+        if (!dayDeltas.isEmpty()) {
+            salesRollupRepository.addToDayRollup(dayDeltas);
+            dayDeltas.forEach(delta -> delta.getCounter().markFlushed(delta));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        evictClosed(minuteCounters, now.minus(CLOSED_BUCKET_GRACE).minusMinutes(1));
+        evictClosed(dayCounters, now.minus(CLOSED_BUCKET_GRACE).minusDays(1));
+    }
+
+    private static List<SalesDelta> pending(Map<BucketKey, SalesCounter> counters) {
+        List<SalesDelta> deltas = new ArrayList<>();
+        for (SalesCounter counter : counters.values()) {
+            SalesDelta delta = counter.pending();
+            if (delta != null) {
+                deltas.add(delta);
+            }
+        }
+        return deltas;
+    }
+
+    private static void evictClosed(Map<BucketKey, SalesCounter> counters, LocalDateTime closedBefore) {
+        counters.values().removeIf(counter -> counter.getBucket().isBefore(closedBefore) && !counter.hasPending());
+    }
+
+    @Scheduled(cron = "${app.sales.minuteCleanupCron:0 30 3 * * *}")
+    public void purgeOldMinutes() {
+        int deleted = salesRollupRepository.deleteMinutesBefore(LocalDateTime.now().minusDays(minuteRetentionDays));
+        log.info("Deleted {} per-minute sales rollup rows older than {} days", deleted, minuteRetentionDays);
+    }
+
+    public int getCounterCount() {
+        return minuteCounters.size() + dayCounters.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        try {
+            flush();
+        } catch (RuntimeException ex) {
+            log.error("Could not flush sales counters on shutdown", ex);
+        }
+    }
+
+    @EqualsAndHashCode
+    private static final class BucketKey {
+        private final LocalDateTime bucket;
+        private final Long sweetId;
+
+        private BucketKey(LocalDateTime bucket, Long sweetId) {
+            this.bucket = bucket;
+            this.sweetId = sweetId;
+        }
+    }
+}
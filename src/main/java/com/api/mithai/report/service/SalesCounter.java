@@ -0,0 +1,57 @@
+package com.api.mithai.report.service;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+// Running units and revenue for one sweet in one bucket. Purchases add to striped adders
+// and never contend on a single cell; nothing is reset. The flusher remembers how much it
+// has already written and sends only the difference, so a purchase that races a flush is
+// simply picked up by the next one.
+public class SalesCounter {
+
+    @Getter
+    private final LocalDateTime bucket;
+    @Getter
+    private final Long sweetId;
+    @Getter
+    private final Long categoryId;
+    private final LongAdder units = new LongAdder();
+    private final DoubleAdder revenue = new DoubleAdder();
+
+    // Only touched by the (single) flusher
+    private long flushedUnits = 0;
+    private double flushedRevenue = 0;
+
+    public SalesCounter(LocalDateTime bucket, Long sweetId, Long categoryId) {
+        this.bucket = bucket;
+        this.sweetId = sweetId;
+        this.categoryId = categoryId;
+    }
+
+    public void add(int quantity, double amount) {
+        units.add(quantity);
+        revenue.add(amount);
+    }
+
+    // Null when everything added so far has been written
+    public SalesDelta pending() {
+        long totalUnits = units.sum();
+        double totalRevenue = revenue.sum();
+        if (totalUnits == flushedUnits) {
+            return null;
+        }
+        return new SalesDelta(this, totalUnits - flushedUnits, totalRevenue - flushedRevenue, totalUnits, totalRevenue);
+    }
+
+    public void markFlushed(SalesDelta delta) {
+        flushedUnits = delta.getTotalUnits();
+        flushedRevenue = delta.getTotalRevenue();
+    }
+
+    public boolean hasPending() {
+        return units.sum() != flushedUnits;
+    }
+}
@@ -0,0 +1,30 @@
+package com.api.mithai.report.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// What one flush adds to a rollup row
+@Getter
+@AllArgsConstructor
+public class SalesDelta {
+    private final SalesCounter counter;
+    private final long units;
+    private final double revenue;
+    // Counter totals this delta brings the rollup up to
+    private final long totalUnits;
+    private final double totalRevenue;
+
+    public LocalDateTime getBucket() {
+        return counter.getBucket();
+    }
+
+    public Long getSweetId() {
+        return counter.getSweetId();
+    }
+
+    public Long getCategoryId() {
+        return counter.getCategoryId();
+    }
+}
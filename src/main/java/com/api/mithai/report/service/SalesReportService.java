@@ -0,0 +1,75 @@
+package com.api.mithai.report.service;
+
+import com.api.mithai.base.constants.Constants;
+import com.api.mithai.base.exception.ResponseStatusException;
+import com.api.mithai.report.dto.CategorySalesDto;
+import com.api.mithai.report.dto.MinuteSalesDto;
+import com.api.mithai.report.dto.SalesReportDto;
+import com.api.mithai.report.dto.SweetSalesDto;
+import com.api.mithai.report.repository.SalesRollupRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Answers from the rollup tables only: at most one row per sweet for the day and one row
+// per minute, however many purchases were made. Figures lag by up to one flush interval.
+@RequiredArgsConstructor
+@Service
+public class SalesReportService {
+
+    private static final int DEFAULT_TOP_SELLERS = 10;
+    private static final int DEFAULT_RECENT_MINUTES = 60;
+
+    private final SalesRollupRepository salesRollupRepository;
+
+    @Timed(value = "mithai.service", histogram = true)
+    public SalesReportDto getSalesReport(LocalDate date, Integer top, Integer minutes) {
+        int topSellers = validateRange(top, DEFAULT_TOP_SELLERS, Constants.MAX_TOP_SELLERS, Constants.TOP_SELLERS_INVALID);
+        int recentMinutes = validateRange(minutes, DEFAULT_RECENT_MINUTES, Constants.MAX_RECENT_MINUTES,
+                Constants.RECENT_MINUTES_INVALID);
+        LocalDate reportDate = date != null ? date : LocalDate.now();
+
+        // Already sorted by units sold, best first
+        List<SweetSalesDto> unitsBySweet = salesRollupRepository.findDay(reportDate);
+
+        long totalUnits = 0;
+        double totalRevenue = 0;
+        Map<Long, CategorySalesDto> byCategory = new LinkedHashMap<>();
+        for (SweetSalesDto sweetSales : unitsBySweet) {
+            totalUnits += sweetSales.getUnits();
+            totalRevenue += sweetSales.getRevenue();
+            CategorySalesDto categorySales = byCategory.computeIfAbsent(sweetSales.getCategoryId(),
+                    id -> new CategorySalesDto(id, sweetSales.getCategoryName(), 0L, 0.0));
+            categorySales.setUnits(categorySales.getUnits() + sweetSales.getUnits());
+            categorySales.setRevenue(categorySales.getRevenue() + sweetSales.getRevenue());
+        }
+        List<CategorySalesDto> revenueByCategory = new ArrayList<>(byCategory.values());
+        revenueByCategory.sort(Comparator.comparing(CategorySalesDto::getRevenue).reversed());
+
+        LocalDateTime since = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES).minusMinutes(recentMinutes - 1L);
+        List<MinuteSalesDto> recent = salesRollupRepository.findMinuteTotalsSince(since);
+
+        return new SalesReportDto(reportDate, totalUnits, totalRevenue, revenueByCategory, unitsBySweet,
+                unitsBySweet.subList(0, Math.min(topSellers, unitsBySweet.size())), recent);
+    }
+
+    private int validateRange(Integer value, int defaultValue, int max, String message) {
+        if (value == null) {
+            return defaultValue;
+        }
+        if (value < 1 || value > max) {
+            throw new ResponseStatusException(message, HttpStatus.BAD_REQUEST);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,21 @@
+package com.api.mithai.security;
+
+import com.api.mithai.base.exception.ResponseStatusException;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+public final class CurrentUser {
+
+    private CurrentUser() {
+    }
+
+    // Id of the user the JWT filter authenticated for this request
+    public static Long id() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserDetailsImpl userDetails)) {
+            throw new ResponseStatusException("User is not authenticated", HttpStatus.UNAUTHORIZED);
+        }
+        return userDetails.getUser().getId();
+    }
+}
@@ -2,7 +2,15 @@ package com.api.mithai.security;
 
 import com.api.mithai.auth.entity.User;
 import com.api.mithai.auth.repository.UserRepository;
+import com.api.mithai.base.jfr.JfrOutcome;
+import com.api.mithai.base.jfr.JwtFilterEvent;
 import com.api.mithai.base.service.BaseService;
+import com.api.mithai.base.tracing.SpanAttributes;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
@@ -21,6 +29,7 @@ import com.api.mithai.base.constants.Urls;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -34,28 +43,107 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private BaseService baseService;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private Tracer tracer;
+
     @Value("${app.jwtHeaderString}")
     private String accessTokenHeader;
 
+    // Time spent in each step of authenticating a request, tagged by phase
+    private Timer extractTimer;
+    private Timer validateTimer;
+    private Timer claimsTimer;
+    private Timer userLookupTimer;
+
+    @PostConstruct
+    void initTimers() {
+        extractTimer = phaseTimer("extract");
+        validateTimer = phaseTimer("validate");
+        claimsTimer = phaseTimer("claims");
+        userLookupTimer = phaseTimer("user_lookup");
+    }
+
+    private Timer phaseTimer(String phase) {
+        return Timer.builder("mithai.jwt.filter")
+                .description("JWT authentication filter time by phase")
+                .tag("phase", phase)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    // The span scope is only opened and closed, never read
+    @SuppressWarnings("try")
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        JwtFilterEvent event = new JwtFilterEvent();
+        event.begin();
+        event.setPath(request.getRequestURI());
+        // Child of the HTTP server span, which is opened before the security filter chain
+        Span span = tracer.nextSpan().name("JwtAuthenticationFilter.authenticate").tag(SpanAttributes.LAYER, "filter").start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            authenticate(request, event);
+        } catch (RuntimeException ex) {
+            event.setOutcome(JfrOutcome.of(ex));
+            span.error(ex);
+            throw ex;
+        } finally {
+            if (event.getOutcome() != null) {
+                span.tag(SpanAttributes.OUTCOME, event.getOutcome());
+            }
+            span.end();
+            event.commit();
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private void authenticate(HttpServletRequest request, JwtFilterEvent event) {
+        long phaseStart = System.nanoTime();
         String accessToken = getAccessTokenFromRequest(request);
-        if (!Arrays.stream(baseService.publicEndpoints)
-                .anyMatch(publicEndpoint -> request.getRequestURI().startsWith(publicEndpoint))) {
-            if (StringUtils.hasText(accessToken) && accessTokenManager.validateJwtToken(accessToken)) {
-                Long userId = accessTokenManager.getUserIdFromJwt(accessToken);
-                User user = userRepository.findById(userId)
-                        .orElseThrow(() -> new BadCredentialsException("error.user.authentication"));
+        event.setExtractDuration(recordPhase(extractTimer, phaseStart));
 
-                UserDetailsImpl userDetails = new UserDetailsImpl(user);
+        if (Arrays.stream(baseService.publicEndpoints)
+                .anyMatch(publicEndpoint -> request.getRequestURI().startsWith(publicEndpoint))) {
+            event.setOutcome(JfrOutcome.PUBLIC);
+            return;
+        }
+        if (!StringUtils.hasText(accessToken)) {
+            event.setOutcome(JfrOutcome.ANONYMOUS);
+            return;
+        }
 
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authentication);
-            }
+        phaseStart = System.nanoTime();
+        boolean valid = accessTokenManager.validateJwtToken(accessToken);
+        event.setValidateDuration(recordPhase(validateTimer, phaseStart));
+        if (!valid) {
+            event.setOutcome(JfrOutcome.ANONYMOUS);
+            return;
         }
-        filterChain.doFilter(request, response);
+
+        phaseStart = System.nanoTime();
+        Long userId = accessTokenManager.getUserIdFromJwt(accessToken);
+        event.setClaimsDuration(recordPhase(claimsTimer, phaseStart));
+
+        phaseStart = System.nanoTime();
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new BadCredentialsException("error.user.authentication"));
+        event.setUserLookupDuration(recordPhase(userLookupTimer, phaseStart));
+
+        UserDetailsImpl userDetails = new UserDetailsImpl(user);
+
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        event.setOutcome(JfrOutcome.SUCCESS);
+    }
+
+    private long recordPhase(Timer timer, long phaseStart) {
+        long duration = System.nanoTime() - phaseStart;
+        timer.record(duration, TimeUnit.NANOSECONDS);
+        return duration;
     }
 
     private String getJwtFromRequest(HttpServletRequest httpServletRequest) {
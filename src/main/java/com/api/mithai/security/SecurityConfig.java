@@ -1,8 +1,10 @@
 package com.api.mithai.security;
 
 import com.api.mithai.base.service.BaseService;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -34,6 +36,10 @@ public class SecurityConfig {
                 })
                 .authorizeHttpRequests(authorizeRequests ->
                         authorizeRequests
+                                // Async dispatches of an already authorized SSE stream
+                                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                                // Served on the management port only, which is not exposed publicly
+                                .requestMatchers(EndpointRequest.to("health", "info", "prometheus")).permitAll()
                                 .requestMatchers(baseService.publicEndpoints)
                                 .permitAll()
                                 .anyRequest().authenticated()
@@ -0,0 +1,47 @@
+package com.api.mithai.store.controller;
+
+import com.api.mithai.base.constants.Constants;
+import com.api.mithai.base.constants.Urls;
+import com.api.mithai.base.response.BaseResponse;
+import com.api.mithai.base.response.ResponseHandler;
+import com.api.mithai.store.dto.StoreRequestDto;
+import com.api.mithai.store.dto.StoreResponseDto;
+import com.api.mithai.store.service.StoreService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping(Urls.BASE_URL + Urls.STORES_URL)
+@RequiredArgsConstructor
+@Tag(name = "Stores", description = "APIs for the outlets that hold stock")
+public class StoreController {
+
+    private final StoreService storeService;
+    private final ResponseHandler responseHandler;
+
+    @GetMapping
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "List stores", description = "Get every outlet; pass an id as storeId to scope stock requests to it", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<BaseResponse> getAllStores() {
+        return responseHandler.okResponse(storeService.getAllStores(), HttpStatus.OK, Constants.SUCCESS);
+    }
+
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Create a store", description = "Add an outlet; it starts with no stock of any sweet (Admin only)", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<BaseResponse> create(@RequestBody @Valid StoreRequestDto storeRequestDto) {
+        StoreResponseDto storeResponseDto = storeService.create(storeRequestDto);
+        return responseHandler.okResponse(storeResponseDto, HttpStatus.CREATED, Constants.STORE_CREATED_SUCCESSFULLY);
+    }
+}
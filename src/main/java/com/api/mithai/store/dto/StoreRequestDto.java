@@ -0,0 +1,10 @@
+package com.api.mithai.store.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+public class StoreRequestDto {
+    @NotBlank
+    private String name;
+}
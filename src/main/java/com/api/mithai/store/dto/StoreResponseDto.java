@@ -0,0 +1,13 @@
+package com.api.mithai.store.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StoreResponseDto {
+    private Long id;
+    private String name;
+}
@@ -0,0 +1,38 @@
+package com.api.mithai.store.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "stores")
+@Getter
+@NoArgsConstructor
+public class Store {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stores_seq")
+    @SequenceGenerator(name = "stores_seq", sequenceName = "stores_seq", allocationSize = 50)
+    private Long id;
+
+    // Unique regardless of case through the ux_stores_lower_name index
+    @Column(nullable = false)
+    private String name;
+
+    public Store(Long id, String name) {
+        this.id = id;
+        setName(name);
+    }
+
+    // Custom setters with validation
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public void setName(String name) {
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Store name cannot be null or empty");
+        }
+        this.name = name.trim();
+    }
+}
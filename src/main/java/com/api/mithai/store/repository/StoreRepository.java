@@ -0,0 +1,15 @@
+package com.api.mithai.store.repository;
+
+import com.api.mithai.store.entity.Store;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface StoreRepository extends JpaRepository<Store, Long> {
+
+    @Query("select s.id from Store s")
+    List<Long> findAllIds();
+}
@@ -0,0 +1,91 @@
+package com.api.mithai.store.service;
+
+import com.api.mithai.base.constants.Constants;
+import com.api.mithai.base.exception.ResponseStatusException;
+import com.api.mithai.store.dto.StoreRequestDto;
+import com.api.mithai.store.dto.StoreResponseDto;
+import com.api.mithai.store.entity.Store;
+import com.api.mithai.store.repository.StoreRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Outlets that hold stock. Store ids are cached since every stock read and write checks them;
+// stores are never deleted, so a store created on another instance is the only way the cache
+// can be behind. It is reloaded on the first request naming an id it does not know, and on
+// every ledger snapshot tick so totals over stores pick up a new store without such a request.
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class StoreService {
+
+    // Seeded by V14; holds the stock that existed before stores and serves requests without a store
+    public static final long DEFAULT_STORE_ID = 1;
+    public static final String NAME_UNIQUE_INDEX = "ux_stores_lower_name";
+
+    private final StoreRepository storeRepository;
+    private volatile Set<Long> storeIds;
+
+    public static Long orDefault(Long storeId) {
+        return storeId != null ? storeId : DEFAULT_STORE_ID;
+    }
+
+    public List<StoreResponseDto> getAllStores() {
+        return storeRepository.findAll().stream()
+                .map(store -> new StoreResponseDto(store.getId(), store.getName()))
+                .collect(Collectors.toList());
+    }
+
+    @Transactional
+    public StoreResponseDto create(StoreRequestDto storeRequestDto) {
+        String name = storeRequestDto.getName() != null ? storeRequestDto.getName().trim() : null;
+        if (name == null || name.isEmpty()) {
+            throw new ResponseStatusException("Store name cannot be null or empty", HttpStatus.BAD_REQUEST);
+        }
+        Store store = saveAndFlush(new Store(null, name));
+        // Picked up by the next read; a read racing this commit reloads on first use of the id
+        storeIds = null;
+        return new StoreResponseDto(store.getId(), store.getName());
+    }
+
+    public Set<Long> getStoreIds() {
+        Set<Long> ids = storeIds;
+        return ids != null ? ids : reload();
+    }
+
+    // The given store, or the default one for null; throws for a store that does not exist
+    public Long validateStoreId(Long storeId) {
+        Long id = orDefault(storeId);
+        if (!getStoreIds().contains(id) && !reload().contains(id)) {
+            throw new ResponseStatusException(Constants.STORE_NOT_FOUND, HttpStatus.BAD_REQUEST);
+        }
+        return id;
+    }
+
+    // Duplicate names (case-insensitive) are rejected by the unique index on lower(name)
+    private Store saveAndFlush(Store store) {
+        try {
+            return storeRepository.saveAndFlush(store);
+        } catch (DataIntegrityViolationException ex) {
+            if (ex.getCause() instanceof ConstraintViolationException constraintViolation
+                    && NAME_UNIQUE_INDEX.equalsIgnoreCase(constraintViolation.getConstraintName())) {
+                throw new ResponseStatusException(Constants.STORE_NAME_ALREADY_EXISTS, HttpStatus.BAD_REQUEST);
+            }
+            throw ex;
+        }
+    }
+
+    public Set<Long> reload() {
+        Set<Long> ids = Set.copyOf(storeRepository.findAllIds());
+        storeIds = ids;
+        return ids;
+    }
+}
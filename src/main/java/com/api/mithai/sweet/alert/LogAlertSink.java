@@ -0,0 +1,20 @@
+package com.api.mithai.sweet.alert;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class LogAlertSink implements LowStockAlertSink {
+
+    @Override
+    public String getName() {
+        return "log";
+    }
+
+    @Override
+    public void send(LowStockAlert alert) {
+        log.warn("Low stock: sweet {} ({}) is {} with {} left, reorder threshold {}",
+                alert.getSweetId(), alert.getSweetName(), alert.getLevel(), alert.getQuantity(), alert.getReorderThreshold());
+    }
+}
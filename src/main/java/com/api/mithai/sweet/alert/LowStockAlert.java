@@ -0,0 +1,19 @@
+package com.api.mithai.sweet.alert;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LowStockAlert {
+    private Long sweetId;
+    private String sweetName;
+    private LowStockLevel level;
+    private Integer quantity;
+    private Integer reorderThreshold;
+    private LocalDateTime raisedAt;
+}
@@ -0,0 +1,11 @@
+package com.api.mithai.sweet.alert;
+
+// Somewhere low-stock alerts are delivered to. Called on the thread that committed the
+// stock change, so implementations must not block.
+public interface LowStockAlertSink {
+
+    // Name used in app.lowStock.sinks
+    String getName();
+
+    void send(LowStockAlert alert);
+}
@@ -0,0 +1,18 @@
+package com.api.mithai.sweet.alert;
+
+// Ordered from least to most severe
+public enum LowStockLevel {
+    LOW,
+    OUT_OF_STOCK;
+
+    // Null while the sweet is above its threshold
+    public static LowStockLevel of(int quantity, int threshold) {
+        if (quantity <= 0) {
+            return OUT_OF_STOCK;
+        }
+        if (quantity <= threshold) {
+            return LOW;
+        }
+        return null;
+    }
+}
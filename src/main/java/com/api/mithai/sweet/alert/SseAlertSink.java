@@ -0,0 +1,85 @@
+package com.api.mithai.sweet.alert;
+
+import com.api.mithai.sweet.service.StockSubscriber;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Pushes alerts to open /api/inventory/low-stock/stream connections. Reuses the stock
+// stream's subscriber, so a slow admin client drops old alerts instead of blocking.
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class SseAlertSink implements LowStockAlertSink {
+
+    public static final String ALERT_EVENT_NAME = "low-stock";
+
+    private final ObjectMapper objectMapper;
+    private final Set<StockSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    @Value("${app.stockStream.bufferSize:64}")
+    private int bufferSize;
+
+    @Value("${app.stockStream.timeoutInMs:1800000}")
+    private long timeoutInMs;
+
+    @Override
+    public String getName() {
+        return "sse";
+    }
+
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(timeoutInMs);
+        StockSubscriber subscriber = new StockSubscriber(emitter, bufferSize);
+
+        emitter.onCompletion(() -> unregister(subscriber));
+        emitter.onTimeout(() -> unregister(subscriber));
+        emitter.onError(ex -> unregister(subscriber));
+
+        subscribers.add(subscriber);
+        Thread.ofVirtual().name("low-stock-stream").start(subscriber);
+        return emitter;
+    }
+
+    private void unregister(StockSubscriber subscriber) {
+        subscriber.close();
+        subscribers.remove(subscriber);
+    }
+
+    @Override
+    public void send(LowStockAlert alert) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(alert);
+        } catch (JsonProcessingException ex) {
+            log.error("Could not serialize low-stock alert", ex);
+            return;
+        }
+        for (StockSubscriber subscriber : subscribers) {
+            subscriber.offer(SseEmitter.event()
+                    .name(ALERT_EVENT_NAME)
+                    .data(payload, MediaType.APPLICATION_JSON));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (StockSubscriber subscriber : subscribers) {
+            subscriber.close();
+            subscriber.getEmitter().complete();
+        }
+        subscribers.clear();
+    }
+}
@@ -0,0 +1,62 @@
+package com.api.mithai.sweet.alert;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+// Posts each alert as JSON to app.lowStock.webhookUrl without waiting for the answer
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class WebhookAlertSink implements LowStockAlertSink {
+
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(2))
+            .build();
+
+    @Value("${app.lowStock.webhookUrl:}")
+    private String webhookUrl;
+
+    @Override
+    public String getName() {
+        return "webhook";
+    }
+
+    @Override
+    public void send(LowStockAlert alert) {
+        if (webhookUrl == null || webhookUrl.isBlank()) {
+            log.debug("No low-stock webhook configured, dropping alert for sweet {}", alert.getSweetId());
+            return;
+        }
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(alert);
+        } catch (JsonProcessingException ex) {
+            log.error("Could not serialize low-stock alert", ex);
+            return;
+        }
+        HttpRequest request = HttpRequest.newBuilder(URI.create(webhookUrl))
+                .timeout(Duration.ofSeconds(5))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(payload))
+                .build();
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, ex) -> {
+                    if (ex != null) {
+                        log.warn("Low-stock webhook failed for sweet {}: {}", alert.getSweetId(), ex.getMessage());
+                    } else if (response.statusCode() >= 300) {
+                        log.warn("Low-stock webhook answered {} for sweet {}", response.statusCode(), alert.getSweetId());
+                    }
+                });
+    }
+}
@@ -2,12 +2,16 @@ package com.api.mithai.sweet.controller;
 
 import com.api.mithai.base.constants.Constants;
 import com.api.mithai.base.constants.Urls;
+import com.api.mithai.base.idempotency.IdempotencyService;
 import com.api.mithai.base.response.BaseResponse;
 import com.api.mithai.base.response.ResponseHandler;
 import com.api.mithai.sweet.dto.PurchaseDto;
+import com.api.mithai.sweet.dto.ReservationDto;
+import com.api.mithai.sweet.dto.ReserveDto;
 import com.api.mithai.sweet.dto.RestockDto;
 import com.api.mithai.sweet.dto.SweetResponseDto;
 import com.api.mithai.sweet.service.InventoryService;
+import com.api.mithai.sweet.service.ReservationService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -18,33 +22,67 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.function.Supplier;
+
 @RestController
 @RequestMapping(Urls.BASE_URL + Urls.SWEETS_URL)
 @RequiredArgsConstructor
-@Tag(name = "Inventory Management", description = "APIs for managing sweet inventory (purchase and restock)")
+@Tag(name = "Inventory Management", description = "APIs for managing sweet inventory (purchase, restock and cart reservations)")
 public class InventoryController {
 
     private final InventoryService inventoryService;
+    private final ReservationService reservationService;
+    private final IdempotencyService idempotencyService;
     private final ResponseHandler responseHandler;
 
     @PostMapping("/{id}" + Urls.PURCHASE_URL)
     @PreAuthorize("isAuthenticated()")
-    @Operation(summary = "Purchase a sweet", description = "Purchase a sweet, decreasing its quantity (User role required)", security = @SecurityRequirement(name = "bearerAuth"))
+    @Operation(summary = "Purchase a sweet", description = "Purchase a sweet from a store (the default store when storeId is absent), decreasing its quantity. Retries with the same Idempotency-Key return the first result (User role required)", security = @SecurityRequirement(name = "bearerAuth"))
     public ResponseEntity<BaseResponse> purchase(
             @PathVariable Long id,
+            @RequestHeader(value = Constants.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             @RequestBody @Valid PurchaseDto purchaseDto) {
-        SweetResponseDto sweetResponseDto = inventoryService.purchase(id, purchaseDto);
+        String request = "purchase:" + id + ":" + purchaseDto.getPurchaseQuantity() + ":" + purchaseDto.getReservationId()
+                + ":" + purchaseDto.getStoreId();
+        SweetResponseDto sweetResponseDto = once(idempotencyKey, request, () -> inventoryService.purchase(id, purchaseDto));
         return responseHandler.okResponse(sweetResponseDto, HttpStatus.OK, Constants.SWEET_PURCHASED_SUCCESSFULLY);
     }
 
     @PostMapping("/{id}" + Urls.RESTOCK_URL)
     @PreAuthorize("hasRole('ADMIN')")
-    @Operation(summary = "Restock a sweet", description = "Restock a sweet, increasing its quantity (Admin only)", security = @SecurityRequirement(name = "bearerAuth"))
+    @Operation(summary = "Restock a sweet", description = "Restock a sweet in a store (the default store when storeId is absent), increasing its quantity. Retries with the same Idempotency-Key return the first result (Admin only)", security = @SecurityRequirement(name = "bearerAuth"))
     public ResponseEntity<BaseResponse> restock(
             @PathVariable Long id,
+            @RequestHeader(value = Constants.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             @RequestBody @Valid RestockDto restockDto) {
-        SweetResponseDto sweetResponseDto = inventoryService.restock(id, restockDto);
+        String request = "restock:" + id + ":" + restockDto.getQuantity() + ":" + restockDto.getStoreId();
+        SweetResponseDto sweetResponseDto = once(idempotencyKey, request, () -> inventoryService.restock(id, restockDto));
         return responseHandler.okResponse(sweetResponseDto, HttpStatus.OK, Constants.SWEET_RESTOCKED_SUCCESSFULLY);
     }
-}
 
+    @PostMapping("/{id}" + Urls.RESERVE_URL)
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Reserve a sweet", description = "Hold a store's stock for a cart until it is purchased or the hold expires (User role required)", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<BaseResponse> reserve(
+            @PathVariable Long id,
+            @RequestBody @Valid ReserveDto reserveDto) {
+        ReservationDto reservationDto = reservationService.reserve(id, reserveDto);
+        return responseHandler.okResponse(reservationDto, HttpStatus.CREATED, Constants.SWEET_RESERVED_SUCCESSFULLY);
+    }
+
+    @DeleteMapping(Urls.RESERVATIONS_URL + "/{reservationId}")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Cancel a reservation", description = "Release your own hold before it expires (User role required)", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<BaseResponse> cancelReservation(@PathVariable String reservationId) {
+        reservationService.cancel(reservationId);
+        return responseHandler.okResponse(HttpStatus.OK, Constants.RESERVATION_CANCELLED_SUCCESSFULLY);
+    }
+
+    // Without a key every call executes, as before
+    private SweetResponseDto once(String idempotencyKey, String request, Supplier<SweetResponseDto> action) {
+        if (idempotencyKey == null) {
+            return action.get();
+        }
+        return idempotencyService.execute(idempotencyKey, request, SweetResponseDto.class, action);
+    }
+}
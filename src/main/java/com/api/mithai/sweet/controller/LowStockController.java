@@ -0,0 +1,70 @@
+package com.api.mithai.sweet.controller;
+
+import com.api.mithai.base.constants.Constants;
+import com.api.mithai.base.constants.Urls;
+import com.api.mithai.base.response.BaseResponse;
+import com.api.mithai.base.response.ResponseHandler;
+import com.api.mithai.sweet.alert.SseAlertSink;
+import com.api.mithai.sweet.dto.LowStockDto;
+import com.api.mithai.sweet.dto.ReorderThresholdDto;
+import com.api.mithai.sweet.dto.RestockRecommendationDto;
+import com.api.mithai.sweet.service.DemandForecastJob;
+import com.api.mithai.sweet.service.LowStockService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+@RestController
+@RequestMapping(Urls.BASE_URL + Urls.INVENTORY_URL)
+@RequiredArgsConstructor
+@Tag(name = "Low Stock", description = "APIs for reorder thresholds, low-stock alerts and restock recommendations")
+public class LowStockController {
+
+    private final LowStockService lowStockService;
+    private final SseAlertSink sseAlertSink;
+    private final DemandForecastJob demandForecastJob;
+    private final ResponseHandler responseHandler;
+
+    @GetMapping(Urls.LOW_STOCK_URL)
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "List low-stock sweets", description = "Sweets at or below their reorder threshold, lowest stock relative to threshold first (Admin only)", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<BaseResponse> lowStock(@RequestParam(required = false) Integer limit) {
+        List<LowStockDto> lowStockDtos = lowStockService.getLowStock(limit);
+        return responseHandler.okResponse(lowStockDtos, HttpStatus.OK, Constants.LOW_STOCK_RETRIEVED_SUCCESSFULLY);
+    }
+
+    @GetMapping(value = Urls.LOW_STOCK_URL + Urls.STREAM_URL, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Stream low-stock alerts", description = "Server-Sent Events stream of low-stock alerts as they are raised (Admin only)", security = @SecurityRequirement(name = "bearerAuth"))
+    public SseEmitter streamAlerts() {
+        return sseAlertSink.subscribe();
+    }
+
+    @GetMapping(Urls.RECOMMENDATIONS_URL)
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Restock recommendations", description = "Forecast daily demand, days of cover and suggested restock quantity per sweet, soonest to run out first (Admin only)", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<BaseResponse> recommendations(@RequestParam(required = false) Integer limit) {
+        List<RestockRecommendationDto> recommendationDtos = demandForecastJob.getRecommendations(limit);
+        return responseHandler.okResponse(recommendationDtos, HttpStatus.OK, Constants.RECOMMENDATIONS_RETRIEVED_SUCCESSFULLY);
+    }
+
+    @PutMapping(Urls.THRESHOLDS_URL + "/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Set a reorder threshold", description = "Set the stock level at or below which a sweet raises a low-stock alert (Admin only)", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<BaseResponse> setThreshold(
+            @PathVariable Long id,
+            @RequestBody @Valid ReorderThresholdDto reorderThresholdDto) {
+        LowStockDto lowStockDto = lowStockService.setThreshold(id, reorderThresholdDto.getThreshold());
+        return responseHandler.okResponse(lowStockDto, HttpStatus.OK, Constants.REORDER_THRESHOLD_UPDATED_SUCCESSFULLY);
+    }
+}
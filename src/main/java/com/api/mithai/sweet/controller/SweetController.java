@@ -5,19 +5,28 @@ import com.api.mithai.base.constants.Urls;
 import com.api.mithai.base.response.BaseResponse;
 import com.api.mithai.base.response.PaginatedBaseResponse;
 import com.api.mithai.base.response.ResponseHandler;
+import com.api.mithai.sweet.dto.SweetBatchUpdateRequestDto;
+import com.api.mithai.sweet.dto.SweetChangesDto;
 import com.api.mithai.sweet.dto.SweetRequestDto;
 import com.api.mithai.sweet.dto.SweetResponseDto;
+import com.api.mithai.sweet.dto.TrendingSweetDto;
+import com.api.mithai.sweet.service.CatalogSyncService;
+import com.api.mithai.sweet.service.StockStreamService;
 import com.api.mithai.sweet.service.SweetService;
+import com.api.mithai.sweet.service.TrendingService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -27,6 +36,9 @@ import java.util.Map;
 public class SweetController {
 
     private final SweetService sweetService;
+    private final StockStreamService stockStreamService;
+    private final CatalogSyncService catalogSyncService;
+    private final TrendingService trendingService;
     private final ResponseHandler responseHandler;
 
     @PostMapping
@@ -37,9 +49,25 @@ public class SweetController {
         return responseHandler.okResponse(sweetResponseDto, HttpStatus.CREATED, Constants.SWEET_CREATED_SUCCESSFULLY);
     }
 
+    @PostMapping(Urls.BATCH_URL)
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Create sweets in batch", description = "Add several sweets to the inventory in one request (Admin only)", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<BaseResponse> createBatch(@RequestBody @Valid List<SweetRequestDto> sweetRequestDtos) {
+        List<SweetResponseDto> sweetResponseDtos = sweetService.createBatch(sweetRequestDtos);
+        return responseHandler.okResponse(sweetResponseDtos, HttpStatus.CREATED, Constants.SWEETS_CREATED_SUCCESSFULLY);
+    }
+
+    @PutMapping(Urls.BATCH_URL)
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Update sweets in batch", description = "Update several sweets by ID in one request; each quantity sets the stock of its storeId (Admin only)", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<BaseResponse> updateBatch(@RequestBody @Valid List<SweetBatchUpdateRequestDto> sweetRequestDtos) {
+        List<SweetResponseDto> sweetResponseDtos = sweetService.updateBatch(sweetRequestDtos);
+        return responseHandler.okResponse(sweetResponseDtos, HttpStatus.OK, Constants.SWEETS_UPDATED_SUCCESSFULLY);
+    }
+
     @GetMapping
     @PreAuthorize("isAuthenticated()")
-    @Operation(summary = "List all sweets", description = "Get a paginated list of all available sweets (Public access)")
+    @Operation(summary = "List all sweets", description = "Get a paginated list of all available sweets; quantities are totals over stores, or one store's stock when storeId is given (Public access)")
     public ResponseEntity<BaseResponse> listAll(@RequestParam Map<String, Object> params) {
         PaginatedBaseResponse<SweetResponseDto> paginatedResponse = sweetService.listAll(params);
         return responseHandler.okResponse(paginatedResponse, HttpStatus.OK, Constants.SWEETS_RETRIEVED_SUCCESSFULLY);
@@ -53,9 +81,36 @@ public class SweetController {
         return responseHandler.okResponse(paginatedResponse, HttpStatus.OK, Constants.SWEETS_RETRIEVED_SUCCESSFULLY);
     }
 
+    @GetMapping(value = Urls.STREAM_URL, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Stream stock levels", description = "Server-Sent Events stream of changed stock levels, coalesced per flush interval. A resync event means frames were dropped and stock should be re-fetched")
+    public SseEmitter streamStock() {
+        return stockStreamService.subscribe();
+    }
+
+    @GetMapping(Urls.CHANGES_URL)
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Catalog changes since a version", description = "Sweets and categories changed and sweets deleted after the given change version, for offline terminals")
+    public ResponseEntity<BaseResponse> changes(
+            @RequestParam(defaultValue = "0") Long since,
+            @RequestParam(required = false) Integer limit) {
+        SweetChangesDto sweetChangesDto = catalogSyncService.getChanges(since, limit);
+        return responseHandler.okResponse(sweetChangesDto, HttpStatus.OK, Constants.CHANGES_RETRIEVED_SUCCESSFULLY);
+    }
+
+    @GetMapping(Urls.TRENDING_URL)
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Trending sweets", description = "Best sellers over the last 1h, 1d or 7d, answered from memory")
+    public ResponseEntity<BaseResponse> trending(
+            @RequestParam(required = false) String window,
+            @RequestParam(required = false) Integer limit) {
+        List<TrendingSweetDto> trendingSweetDtos = trendingService.getTrending(window, limit);
+        return responseHandler.okResponse(trendingSweetDtos, HttpStatus.OK, Constants.TRENDING_RETRIEVED_SUCCESSFULLY);
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
-    @Operation(summary = "Update a sweet", description = "Update sweet details by ID (Admin only)", security = @SecurityRequirement(name = "bearerAuth"))
+    @Operation(summary = "Update a sweet", description = "Update sweet details by ID; quantity sets the stock of the given storeId, which the response returns (Admin only)", security = @SecurityRequirement(name = "bearerAuth"))
     public ResponseEntity<BaseResponse> update(
             @PathVariable Long id,
             @RequestBody @Valid SweetRequestDto sweetRequestDto) {
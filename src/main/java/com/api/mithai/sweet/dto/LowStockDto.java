@@ -0,0 +1,18 @@
+package com.api.mithai.sweet.dto;
+
+import com.api.mithai.sweet.alert.LowStockLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LowStockDto {
+    private Long sweetId;
+    private String sweetName;
+    private Integer quantity;
+    private Integer reorderThreshold;
+    // Null while the sweet is above its threshold
+    private LowStockLevel level;
+}
@@ -9,5 +9,10 @@ public class PurchaseDto {
     @NotNull
     @Positive(message = "Purchase quantity must be greater than zero")
     private Integer purchaseQuantity;
-}
 
+    // Optional hold from POST /api/sweets/{id}/reserve, consumed by this purchase
+    private String reservationId;
+
+    // Store the sale is taken from; the default store when absent
+    private Long storeId;
+}
@@ -0,0 +1,12 @@
+package com.api.mithai.sweet.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Data;
+
+@Data
+public class ReorderThresholdDto {
+    @NotNull
+    @PositiveOrZero(message = "Reorder threshold cannot be negative")
+    private Integer threshold;
+}
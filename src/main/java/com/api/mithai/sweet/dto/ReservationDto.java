@@ -0,0 +1,20 @@
+package com.api.mithai.sweet.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationDto {
+    private String reservationId;
+    private Long sweetId;
+    private Long storeId;
+    private Integer quantity;
+    private LocalDateTime expiresAt;
+    // Stock of the store left for other carts once this hold is taken
+    private Integer available;
+}
@@ -0,0 +1,15 @@
+package com.api.mithai.sweet.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+@Data
+public class ReserveDto {
+    @NotNull
+    @Positive(message = "Reservation quantity must be greater than zero")
+    private Integer quantity;
+
+    // Store whose stock is held; the default store when absent
+    private Long storeId;
+}
@@ -9,6 +9,9 @@ public class RestockDto {
     @NotNull
     @Positive(message = "Restock quantity must be greater than zero")
     private Integer quantity;
+
+    // Store receiving the stock; the default store when absent
+    private Long storeId;
 }
 
 
@@ -0,0 +1,25 @@
+package com.api.mithai.sweet.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RestockRecommendationDto {
+    private Long sweetId;
+    private String sweetName;
+    // Smoothed units sold per day, from sales through throughDay
+    private Double dailyDemand;
+    private LocalDate throughDay;
+    // Stock when the recommendation was computed
+    private Integer stockQuantity;
+    // Null when the sweet is not selling
+    private Double daysOfCover;
+    private Integer recommendedQuantity;
+    private LocalDateTime computedAt;
+}
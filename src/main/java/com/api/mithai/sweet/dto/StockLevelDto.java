@@ -0,0 +1,13 @@
+package com.api.mithai.sweet.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockLevelDto {
+    private Long id;
+    private Integer quantity;
+}
@@ -0,0 +1,12 @@
+package com.api.mithai.sweet.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class SweetBatchUpdateRequestDto extends SweetRequestDto {
+    @NotNull
+    private Long id;
+}
@@ -0,0 +1,19 @@
+package com.api.mithai.sweet.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SweetChangesDto {
+    private List<SweetResponseDto> sweets;
+    private List<SweetCategoryResponseDto> categories;
+    private List<Long> deletedSweetIds;
+    // Pass as "since" on the next call
+    private Long nextVersion;
+    private Boolean hasMore;
+}
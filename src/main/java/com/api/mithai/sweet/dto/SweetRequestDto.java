@@ -20,5 +20,8 @@ public class SweetRequestDto {
     @NotNull
     @Min(value = 0, message = "Quantity cannot be negative")
     private Integer quantity;
+
+    // Store whose stock quantity sets; the default store when absent
+    private Long storeId;
 }
 
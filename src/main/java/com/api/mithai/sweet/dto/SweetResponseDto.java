@@ -1,5 +1,6 @@
 package com.api.mithai.sweet.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -13,8 +14,13 @@ public class SweetResponseDto {
     private Long categoryId;
     private String categoryName;
     private Double price;
+    // Total over all stores
     private Integer quantity;
-}
-
-
+    // Stock of the store a request was for, the default store for writes without one; absent otherwise
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer storeQuantity;
 
+    public SweetResponseDto(Long id, String name, Long categoryId, String categoryName, Double price, Integer quantity) {
+        this(id, name, categoryId, categoryName, price, quantity, null);
+    }
+}
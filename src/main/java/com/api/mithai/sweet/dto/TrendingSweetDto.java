@@ -0,0 +1,14 @@
+package com.api.mithai.sweet.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrendingSweetDto {
+    private SweetResponseDto sweet;
+    // Estimated units sold in the window; may be slightly high, never low
+    private Long units;
+}
@@ -12,7 +12,8 @@ import lombok.NoArgsConstructor;
 public class Sweet {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sweets_seq")
+    @SequenceGenerator(name = "sweets_seq", sequenceName = "sweets_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -25,9 +26,15 @@ public class Sweet {
     @Column(nullable = false)
     private Double price;
 
-    @Column(nullable = false)
+    // Snapshot of the total stock over all stores, written on insert and by the ledger snapshot
+    // job; current stock comes from InventoryLedger
+    @Column(nullable = false, updatable = false)
     private Integer quantity;
 
+    // Assigned by a database trigger on every insert/update, used for delta sync
+    @Column(name = "change_version", insertable = false, updatable = false)
+    private Long changeVersion;
+
     public Sweet(Long id, String name, SweetCategory category, Double price, Integer quantity) {
         this.id = id;
         this.name = SweetService.validateName(name);
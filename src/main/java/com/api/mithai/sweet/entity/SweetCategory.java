@@ -14,12 +14,17 @@ import lombok.NoArgsConstructor;
 public class SweetCategory {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sweet_categories_seq")
+    @SequenceGenerator(name = "sweet_categories_seq", sequenceName = "sweet_categories_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
     private String name;
 
+    // Assigned by a database trigger on every insert/update, used for delta sync
+    @Column(name = "change_version", insertable = false, updatable = false)
+    private Long changeVersion;
+
     public SweetCategory(Long id, String name) {
         // Validate name
         if (name == null) {
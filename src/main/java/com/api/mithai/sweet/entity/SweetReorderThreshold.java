@@ -0,0 +1,24 @@
+package com.api.mithai.sweet.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "sweet_reorder_thresholds")
+@Getter
+@NoArgsConstructor
+public class SweetReorderThreshold {
+
+    @Id
+    @Column(name = "sweet_id")
+    private Long sweetId;
+
+    @Column(nullable = false)
+    private Integer threshold;
+
+    public SweetReorderThreshold(Long sweetId, Integer threshold) {
+        this.sweetId = sweetId;
+        this.threshold = threshold;
+    }
+}
@@ -0,0 +1,31 @@
+package com.api.mithai.sweet.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Written by a database trigger when a sweet row is deleted
+@Entity
+@Table(name = "sweet_tombstones")
+@Getter
+@NoArgsConstructor
+public class SweetTombstone {
+
+    @Id
+    @Column(name = "sweet_id")
+    private Long sweetId;
+
+    @Column(name = "change_version", nullable = false)
+    private Long changeVersion;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+
+    public SweetTombstone(Long sweetId, Long changeVersion, LocalDateTime deletedAt) {
+        this.sweetId = sweetId;
+        this.changeVersion = changeVersion;
+        this.deletedAt = deletedAt;
+    }
+}
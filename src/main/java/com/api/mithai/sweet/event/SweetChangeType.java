@@ -0,0 +1,8 @@
+package com.api.mithai.sweet.event;
+
+public enum SweetChangeType {
+    CREATED,
+    UPDATED,
+    PURCHASED,
+    RESTOCKED
+}
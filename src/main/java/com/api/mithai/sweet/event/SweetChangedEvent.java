@@ -0,0 +1,17 @@
+package com.api.mithai.sweet.event;
+
+import com.api.mithai.sweet.dto.SweetResponseDto;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+
+// Published by SweetService and InventoryService after a sweet is written
+@Getter
+@RequiredArgsConstructor
+public class SweetChangedEvent {
+    private final SweetChangeType changeType;
+    private final SweetResponseDto sweet;
+    // The change's outbox id, set before commit. It grows in commit order for any one sweet; 0 until set.
+    @Setter
+    private long sequence;
+}
@@ -0,0 +1,11 @@
+package com.api.mithai.sweet.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Published by SweetService after a sweet is deleted
+@Getter
+@AllArgsConstructor
+public class SweetDeletedEvent {
+    private final Long sweetId;
+}
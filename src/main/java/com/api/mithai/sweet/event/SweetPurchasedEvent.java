@@ -0,0 +1,17 @@
+package com.api.mithai.sweet.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// Published by InventoryService for every successful purchase
+@Getter
+@AllArgsConstructor
+public class SweetPurchasedEvent {
+    private final Long sweetId;
+    private final Long categoryId;
+    private final Integer quantity;
+    private final Double amount;
+    private final LocalDateTime purchasedAt;
+}
@@ -0,0 +1,47 @@
+package com.api.mithai.sweet.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Business counters for stock movements, exposed with the rest of the metrics on the management port
+@Component
+public class InventoryMetrics {
+
+    public static final String REASON_SWEET_NOT_FOUND = "sweet_not_found";
+    public static final String REASON_INVALID_QUANTITY = "invalid_quantity";
+    public static final String REASON_INSUFFICIENT_STOCK = "insufficient_stock";
+
+    private final MeterRegistry meterRegistry;
+    private final Counter unitsPurchased;
+    private final Counter unitsRestocked;
+    private final Map<String, Counter> purchaseFailures = new ConcurrentHashMap<>();
+
+    public InventoryMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.unitsPurchased = Counter.builder("mithai.inventory.units.purchased")
+                .description("Units of sweets sold")
+                .register(meterRegistry);
+        this.unitsRestocked = Counter.builder("mithai.inventory.units.restocked")
+                .description("Units of sweets added back to stock")
+                .register(meterRegistry);
+    }
+
+    public void recordPurchase(int units) {
+        unitsPurchased.increment(units);
+    }
+
+    public void recordRestock(int units) {
+        unitsRestocked.increment(units);
+    }
+
+    public void recordPurchaseFailure(String reason) {
+        purchaseFailures.computeIfAbsent(reason, key -> Counter.builder("mithai.inventory.purchase.failures")
+                .description("Purchases rejected, by reason")
+                .tag("reason", key)
+                .register(meterRegistry)).increment();
+    }
+}
@@ -0,0 +1,121 @@
+package com.api.mithai.sweet.repository;
+
+import com.api.mithai.sweet.dto.RestockRecommendationDto;
+import com.api.mithai.sweet.service.DemandModel;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+@RequiredArgsConstructor
+public class DemandRepository {
+
+    private static final String TRY_LOCK_SQL = "SELECT pg_try_advisory_xact_lock(hashtext('demand_forecast_job'))";
+    private static final String FIND_MODELS_SQL = "SELECT sweet_id, daily_demand, through_day FROM restock_recommendations";
+    // order_lines is the append-only purchase log; the database sums each sweet's day
+    private static final String DAILY_DEMAND_SQL = """
+            SELECT sweet_id, CAST(order_created_at AS DATE) AS day, SUM(quantity) AS units
+            FROM order_lines
+            WHERE order_created_at >= ? AND order_created_at < ?
+            GROUP BY sweet_id, CAST(order_created_at AS DATE)
+            """;
+    private static final String FIND_STOCK_SQL = "SELECT id, quantity FROM sweets";
+    private static final String UPSERT_SQL = """
+            INSERT INTO restock_recommendations
+                (sweet_id, daily_demand, through_day, stock_quantity, days_of_cover, recommended_quantity, computed_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (sweet_id) DO UPDATE SET
+                daily_demand = EXCLUDED.daily_demand,
+                through_day = EXCLUDED.through_day,
+                stock_quantity = EXCLUDED.stock_quantity,
+                days_of_cover = EXCLUDED.days_of_cover,
+                recommended_quantity = EXCLUDED.recommended_quantity,
+                computed_at = EXCLUDED.computed_at
+            """;
+    private static final String FIND_RECOMMENDATIONS_SQL = """
+            SELECT r.sweet_id, s.name, r.daily_demand, r.through_day, r.stock_quantity,
+                   r.days_of_cover, r.recommended_quantity, r.computed_at
+            FROM restock_recommendations r
+            JOIN sweets s ON s.id = r.sweet_id
+            ORDER BY r.days_of_cover ASC NULLS LAST, r.sweet_id
+            LIMIT ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public interface DailyDemandConsumer {
+        void accept(Long sweetId, LocalDate day, long units);
+    }
+
+    // Other instances running the job at the same time skip their run
+    public boolean tryLock() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(TRY_LOCK_SQL, Boolean.class));
+    }
+
+    public List<DemandModel> findModels() {
+        return jdbcTemplate.query(FIND_MODELS_SQL, (rs, rowNum) -> new DemandModel(
+                rs.getLong("sweet_id"),
+                rs.getDouble("daily_demand"),
+                rs.getDate("through_day").toLocalDate()
+        ));
+    }
+
+    // Streams rows in chunks of fetchSize; Postgres only uses a cursor inside a transaction
+    public void streamDailyDemand(LocalDate from, LocalDate toExclusive, int fetchSize, DailyDemandConsumer consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(DAILY_DEMAND_SQL);
+            statement.setFetchSize(fetchSize);
+            statement.setTimestamp(1, Timestamp.valueOf(from.atStartOfDay()));
+            statement.setTimestamp(2, Timestamp.valueOf(toExclusive.atStartOfDay()));
+            return statement;
+        }, rs -> {
+            consumer.accept(rs.getLong("sweet_id"), rs.getDate("day").toLocalDate(), rs.getLong("units"));
+        });
+    }
+
+    public Map<Long, Integer> findStockLevels() {
+        Map<Long, Integer> stock = new HashMap<>();
+        jdbcTemplate.query(FIND_STOCK_SQL, rs -> {
+            stock.put(rs.getLong("id"), rs.getInt("quantity"));
+        });
+        return stock;
+    }
+
+    public void saveRecommendations(List<RestockRecommendationDto> recommendations, int batchSize) {
+        jdbcTemplate.batchUpdate(UPSERT_SQL, recommendations, batchSize, (ps, recommendation) -> {
+            ps.setLong(1, recommendation.getSweetId());
+            ps.setDouble(2, recommendation.getDailyDemand());
+            ps.setDate(3, Date.valueOf(recommendation.getThroughDay()));
+            ps.setInt(4, recommendation.getStockQuantity());
+            if (recommendation.getDaysOfCover() != null) {
+                ps.setDouble(5, recommendation.getDaysOfCover());
+            } else {
+                ps.setNull(5, Types.DOUBLE);
+            }
+            ps.setInt(6, recommendation.getRecommendedQuantity());
+            ps.setTimestamp(7, Timestamp.valueOf(recommendation.getComputedAt()));
+        });
+    }
+
+    public List<RestockRecommendationDto> findRecommendations(int limit) {
+        return jdbcTemplate.query(FIND_RECOMMENDATIONS_SQL, (rs, rowNum) -> new RestockRecommendationDto(
+                rs.getLong("sweet_id"),
+                rs.getString("name"),
+                rs.getDouble("daily_demand"),
+                rs.getDate("through_day").toLocalDate(),
+                rs.getInt("stock_quantity"),
+                rs.getObject("days_of_cover", Double.class),
+                rs.getInt("recommended_quantity"),
+                rs.getTimestamp("computed_at").toLocalDateTime()
+        ), limit);
+    }
+}
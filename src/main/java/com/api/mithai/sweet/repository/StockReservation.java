@@ -0,0 +1,18 @@
+package com.api.mithai.sweet.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// One cart's hold on a sweet's stock in a store, until expiresAt
+@Getter
+@AllArgsConstructor
+public class StockReservation {
+    private final String id;
+    private final Long sweetId;
+    private final Long storeId;
+    private final Long userId;
+    private final int quantity;
+    private final LocalDateTime expiresAt;
+}
@@ -0,0 +1,65 @@
+package com.api.mithai.sweet.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class StockReservationRepository {
+
+    // Two-int keys, a key space apart from the outbox's per-sweet lock; pairs sharing a key only wait on each other
+    private static final String LOCK_STOCK_SQL = "SELECT pg_advisory_xact_lock(?, ?)";
+    private static final String INSERT_SQL =
+            "INSERT INTO stock_reservations (id, sweet_id, store_id, user_id, quantity, expires_at) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String HELD_SQL =
+            "SELECT COALESCE(SUM(quantity), 0) FROM stock_reservations WHERE sweet_id = ? AND store_id = ? AND expires_at > ?";
+    private static final String FIND_ACTIVE_SQL =
+            "SELECT id, sweet_id, store_id, user_id, quantity, expires_at FROM stock_reservations WHERE id = ? AND expires_at > ?";
+    private static final String DELETE_ACTIVE_SQL = "DELETE FROM stock_reservations WHERE id = ? AND expires_at > ?";
+    private static final String DELETE_SQL = "DELETE FROM stock_reservations WHERE id = ?";
+    private static final String PURGE_SQL = "DELETE FROM stock_reservations WHERE expires_at <= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Waits for any other transaction checking holds against this sweet and store; held until this one ends
+    public void lockStock(Long sweetId, Long storeId) {
+        jdbcTemplate.query(LOCK_STOCK_SQL, (ResultSetExtractor<Void>) rs -> null,
+                Long.hashCode(sweetId), Long.hashCode(storeId));
+    }
+
+    public void insert(StockReservation reservation) {
+        jdbcTemplate.update(INSERT_SQL, reservation.getId(), reservation.getSweetId(), reservation.getStoreId(),
+                reservation.getUserId(), reservation.getQuantity(), Timestamp.valueOf(reservation.getExpiresAt()));
+    }
+
+    // Sum of the holds on a sweet in a store that have not expired at `now`
+    public int getHeldQuantity(Long sweetId, Long storeId, LocalDateTime now) {
+        Integer held = jdbcTemplate.queryForObject(HELD_SQL, Integer.class, sweetId, storeId, Timestamp.valueOf(now));
+        return held != null ? held : 0;
+    }
+
+    public Optional<StockReservation> findActive(String id, LocalDateTime now) {
+        return jdbcTemplate.query(FIND_ACTIVE_SQL, (rs, rowNum) -> new StockReservation(rs.getString("id"),
+                rs.getLong("sweet_id"), rs.getLong("store_id"), rs.getLong("user_id"), rs.getInt("quantity"),
+                rs.getTimestamp("expires_at").toLocalDateTime()), id, Timestamp.valueOf(now)).stream().findFirst();
+    }
+
+    // Returns false when the hold had already expired, been consumed or been cancelled
+    public boolean deleteActive(String id, LocalDateTime now) {
+        return jdbcTemplate.update(DELETE_ACTIVE_SQL, id, Timestamp.valueOf(now)) > 0;
+    }
+
+    public void delete(String id) {
+        jdbcTemplate.update(DELETE_SQL, id);
+    }
+
+    public int purgeExpired(LocalDateTime now) {
+        return jdbcTemplate.update(PURGE_SQL, Timestamp.valueOf(now));
+    }
+}
@@ -1,11 +1,15 @@
 package com.api.mithai.sweet.repository;
 
 import com.api.mithai.sweet.entity.SweetCategory;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface SweetCategoryRepository extends JpaRepository<SweetCategory, Long> {
-    boolean existsByName(String name);
+
+    List<SweetCategory> findByChangeVersionBetweenOrderByChangeVersionAsc(Long from, Long to, Pageable pageable);
 }
 
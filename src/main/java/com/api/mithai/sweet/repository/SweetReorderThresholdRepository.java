@@ -0,0 +1,19 @@
+package com.api.mithai.sweet.repository;
+
+import com.api.mithai.sweet.entity.SweetReorderThreshold;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SweetReorderThresholdRepository extends JpaRepository<SweetReorderThreshold, Long> {
+
+    @Query(value = """
+            SELECT s.id AS sweetId, s.name AS name, s.quantity AS quantity, t.threshold AS threshold
+            FROM sweets s
+            LEFT JOIN sweet_reorder_thresholds t ON t.sweet_id = s.id
+            """, nativeQuery = true)
+    List<SweetStockView> findAllStockLevels();
+}
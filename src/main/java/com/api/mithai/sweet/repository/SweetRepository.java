@@ -1,13 +1,36 @@
 package com.api.mithai.sweet.repository;
 
 import com.api.mithai.sweet.entity.Sweet;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface SweetRepository extends JpaRepository<Sweet, Long>, JpaSpecificationExecutor<Sweet> {
-    boolean existsByNameIgnoreCase(String name);
-    boolean existsByNameIgnoreCaseAndIdNot(String name, Long id);
-}
+    // Names must already be lower-cased by the caller
+    @Query("select s from Sweet s where lower(s.name) in :names")
+    List<Sweet> findAllByLowerNameIn(@Param("names") Collection<String> names);
 
+    @Query("select s from Sweet s join fetch s.category where s.changeVersion > :since and s.changeVersion <= :until order by s.changeVersion")
+    List<Sweet> findChangedSince(@Param("since") Long since, @Param("until") Long until, Pageable pageable);
+
+    // Highest catalog version after since, of sweets, categories and tombstones alike, taken
+    // before takenBefore; since if none. Each part is a range scan of its change_version index.
+    @Query(value = """
+            SELECT COALESCE(MAX(v), :since) FROM (
+                SELECT MAX(change_version) AS v FROM sweets WHERE change_version > :since AND changed_at < :takenBefore
+                UNION ALL
+                SELECT MAX(change_version) FROM sweet_categories WHERE change_version > :since AND changed_at < :takenBefore
+                UNION ALL
+                SELECT MAX(change_version) FROM sweet_tombstones WHERE change_version > :since AND deleted_at < :takenBefore
+            ) settled
+            """, nativeQuery = true)
+    long findSettledChangeVersion(@Param("since") long since, @Param("takenBefore") LocalDateTime takenBefore);
+}
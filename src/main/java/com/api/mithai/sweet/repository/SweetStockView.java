@@ -0,0 +1,12 @@
+package com.api.mithai.sweet.repository;
+
+// One row of the low-stock index bootstrap; threshold is null when the sweet has none set
+public interface SweetStockView {
+    Long getSweetId();
+
+    String getName();
+
+    Integer getQuantity();
+
+    Integer getThreshold();
+}
@@ -0,0 +1,13 @@
+package com.api.mithai.sweet.repository;
+
+import com.api.mithai.sweet.entity.SweetTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SweetTombstoneRepository extends JpaRepository<SweetTombstone, Long> {
+    List<SweetTombstone> findByChangeVersionBetweenOrderByChangeVersionAsc(Long from, Long to, Pageable pageable);
+}
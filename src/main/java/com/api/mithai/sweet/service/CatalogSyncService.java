@@ -0,0 +1,108 @@
+package com.api.mithai.sweet.service;
+
+import com.api.mithai.base.constants.Constants;
+import com.api.mithai.base.exception.ResponseStatusException;
+import com.api.mithai.base.tracing.SpanAttributes;
+import com.api.mithai.sweet.dto.SweetChangesDto;
+import com.api.mithai.sweet.entity.Sweet;
+import com.api.mithai.sweet.entity.SweetCategory;
+import com.api.mithai.sweet.entity.SweetTombstone;
+import com.api.mithai.sweet.repository.SweetCategoryRepository;
+import com.api.mithai.sweet.repository.SweetRepository;
+import com.api.mithai.sweet.repository.SweetTombstoneRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class CatalogSyncService {
+
+    private final SweetRepository sweetRepository;
+    private final SweetCategoryRepository sweetCategoryRepository;
+    private final SweetTombstoneRepository sweetTombstoneRepository;
+    private final SweetService sweetService;
+    private final SweetCategoryService sweetCategoryService;
+
+    // How long a catalog change may take to commit after its version was taken
+    @Value("${app.catalog.changeCommitLagInMs:30000}")
+    private long changeCommitLagInMs;
+
+    @Timed(value = "mithai.service", histogram = true)
+    @Transactional
+    public SweetChangesDto getChanges(Long since, Integer limit) {
+        long fromVersion = since != null ? since : 0L;
+        if (fromVersion < 0) {
+            throw new ResponseStatusException(Constants.CHANGES_VERSION_INVALID, HttpStatus.BAD_REQUEST);
+        }
+        int pageSize = limit == null || limit <= 0 || limit > Constants.MAX_CHANGES_PAGE_SIZE
+                ? Constants.MAX_CHANGES_PAGE_SIZE : limit;
+        SpanAttributes.set(SpanAttributes.PAGE_SIZE, pageSize);
+
+        // A version can commit after a higher one, so changes are handed out up to the highest
+        // version taken longer than the commit lag ago only; the rest come with a later call
+        long settledVersion = sweetRepository.findSettledChangeVersion(fromVersion,
+                LocalDateTime.now().minus(changeCommitLagInMs, ChronoUnit.MILLIS));
+        if (settledVersion == fromVersion) {
+            return emptyChanges(fromVersion);
+        }
+
+        // Each source is read with an index range scan; one extra row tells us whether more remain
+        Pageable firstRows = PageRequest.of(0, pageSize + 1);
+        List<Sweet> sweets = sweetRepository.findChangedSince(fromVersion, settledVersion, firstRows);
+        List<SweetCategory> categories = sweetCategoryRepository
+                .findByChangeVersionBetweenOrderByChangeVersionAsc(fromVersion + 1, settledVersion, firstRows);
+        List<SweetTombstone> tombstones = sweetTombstoneRepository
+                .findByChangeVersionBetweenOrderByChangeVersionAsc(fromVersion + 1, settledVersion, firstRows);
+
+        // All three share one version sequence, so the page ends at the pageSize-th lowest version
+        List<Long> versions = new ArrayList<>();
+        sweets.forEach(sweet -> versions.add(sweet.getChangeVersion()));
+        categories.forEach(category -> versions.add(category.getChangeVersion()));
+        tombstones.forEach(tombstone -> versions.add(tombstone.getChangeVersion()));
+        Collections.sort(versions);
+
+        boolean hasMore = versions.size() > pageSize;
+        long nextVersion = versions.isEmpty() ? fromVersion
+                : versions.get(Math.min(versions.size(), pageSize) - 1);
+
+        SweetChangesDto sweetChangesDto = new SweetChangesDto();
+        sweetChangesDto.setSweets(sweetService.mapToResponseDtos(sweets.stream()
+                .filter(sweet -> sweet.getChangeVersion() <= nextVersion)
+                .collect(Collectors.toList())));
+        sweetChangesDto.setCategories(sweetCategoryService.mapToResponseDto(categories.stream()
+                .filter(category -> category.getChangeVersion() <= nextVersion)
+                .collect(Collectors.toList())));
+        sweetChangesDto.setDeletedSweetIds(tombstones.stream()
+                .filter(tombstone -> tombstone.getChangeVersion() <= nextVersion)
+                .map(SweetTombstone::getSweetId)
+                .collect(Collectors.toList()));
+        sweetChangesDto.setNextVersion(nextVersion);
+        sweetChangesDto.setHasMore(hasMore);
+        return sweetChangesDto;
+    }
+
+    private static SweetChangesDto emptyChanges(long version) {
+        SweetChangesDto sweetChangesDto = new SweetChangesDto();
+        sweetChangesDto.setSweets(Collections.emptyList());
+        sweetChangesDto.setCategories(Collections.emptyList());
+        sweetChangesDto.setDeletedSweetIds(Collections.emptyList());
+        sweetChangesDto.setNextVersion(version);
+        sweetChangesDto.setHasMore(false);
+        return sweetChangesDto;
+    }
+}
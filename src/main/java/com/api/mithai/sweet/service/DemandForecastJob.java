@@ -0,0 +1,135 @@
+package com.api.mithai.sweet.service;
+
+import com.api.mithai.base.constants.Constants;
+import com.api.mithai.base.exception.ResponseStatusException;
+import com.api.mithai.sweet.dto.RestockRecommendationDto;
+import com.api.mithai.sweet.repository.DemandRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+// Fits each sweet's demand model from the purchase log and stores a restock recommendation.
+// Runs are incremental: a model remembers the last day it has seen, so only complete days
+// after the oldest such day are read. Today is never read because it is still filling up.
+@Slf4j
+@Service
+public class DemandForecastJob {
+
+    private static final int DEFAULT_LIMIT = 50;
+
+    private final DemandRepository demandRepository;
+    private final ForkJoinPool fittingPool;
+
+    @Value("${app.demand.alpha:0.3}")
+    private double alpha;
+
+    @Value("${app.demand.leadTimeDays:2}")
+    private int leadTimeDays;
+
+    @Value("${app.demand.targetCoverDays:7}")
+    private int targetCoverDays;
+
+    @Value("${app.demand.lookbackDays:90}")
+    private int lookbackDays;
+
+    @Value("${app.demand.chunkSize:10000}")
+    private int chunkSize;
+
+    public DemandForecastJob(DemandRepository demandRepository,
+                             @Value("${app.demand.parallelism:0}") int parallelism) {
+        this.demandRepository = demandRepository;
+        this.fittingPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @Scheduled(cron = "${app.demand.cron:0 0 2 * * *}")
+    @Transactional
+    public void run() {
+        if (!demandRepository.tryLock()) {
+            log.info("Demand forecast already running on another instance, skipping");
+            return;
+        }
+        long start = System.nanoTime();
+        LocalDate today = LocalDate.now();
+
+        Map<Long, DemandModel> models = new HashMap<>();
+        LocalDate from = today.minusDays(lookbackDays);
+        LocalDate oldestSeen = null;
+        for (DemandModel model : demandRepository.findModels()) {
+            models.put(model.getSweetId(), model);
+            if (oldestSeen == null || model.getThroughDay().isBefore(oldestSeen)) {
+                oldestSeen = model.getThroughDay();
+            }
+        }
+        if (oldestSeen != null && oldestSeen.plusDays(1).isAfter(from)) {
+            from = oldestSeen.plusDays(1);
+        }
+        if (!from.isBefore(today)) {
+            log.info("Demand models are up to date through {}", today.minusDays(1));
+            return;
+        }
+
+        // Units per sweet per day of [from, today); days without sales stay zero
+        int days = (int) ChronoUnit.DAYS.between(from, today);
+        LocalDate firstDay = from;
+        Map<Long, long[]> unitsByDay = new HashMap<>();
+        demandRepository.streamDailyDemand(from, today, chunkSize, (sweetId, day, units) ->
+                unitsByDay.computeIfAbsent(sweetId, id -> new long[days])[(int) ChronoUnit.DAYS.between(firstDay, day)] += units);
+        for (Long sweetId : unitsByDay.keySet()) {
+            models.computeIfAbsent(sweetId, id -> new DemandModel(id, 0, null));
+        }
+
+        Map<Long, Integer> stock = demandRepository.findStockLevels();
+        LocalDateTime computedAt = LocalDateTime.now();
+        ConcurrentLinkedQueue<RestockRecommendationDto> recommendations = new ConcurrentLinkedQueue<>();
+        // Each model is independent, so they are fitted in parallel
+        fittingPool.submit(() -> models.values().parallelStream().forEach(model -> {
+            Integer quantity = stock.get(model.getSweetId());
+            if (quantity == null) {
+                // Deleted since; its row goes with the sweet
+                return;
+            }
+            long[] units = unitsByDay.get(model.getSweetId());
+            for (int i = 0; i < days; i++) {
+                model.observe(firstDay.plusDays(i), units != null ? units[i] : 0, alpha);
+            }
+            if (model.getThroughDay() != null) {
+                recommendations.add(new RestockRecommendationDto(model.getSweetId(), null, model.getDailyDemand(),
+                        model.getThroughDay(), quantity, model.daysOfCover(quantity),
+                        model.recommendedQuantity(quantity, leadTimeDays, targetCoverDays), computedAt));
+            }
+        })).join();
+
+        demandRepository.saveRecommendations(new ArrayList<>(recommendations), chunkSize);
+        log.info("Demand forecast fitted {} sweets over {} days from {} in {} ms",
+                recommendations.size(), days, from, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    // Sweets that will run out soonest first
+    public List<RestockRecommendationDto> getRecommendations(Integer limit) {
+        int size = limit != null ? limit : DEFAULT_LIMIT;
+        if (size < 1 || size > Constants.MAX_RECOMMENDATIONS_LIMIT) {
+            throw new ResponseStatusException(Constants.RECOMMENDATIONS_LIMIT_INVALID, HttpStatus.BAD_REQUEST);
+        }
+        return demandRepository.findRecommendations(size);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        fittingPool.shutdown();
+    }
+}
@@ -0,0 +1,49 @@
+package com.api.mithai.sweet.service;
+
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+// Simple exponential smoothing of one sweet's units sold per day. Days must be fed in
+// order; a day without sales counts as zero demand once the sweet has sold at least once.
+@Getter
+public class DemandModel {
+
+    private final Long sweetId;
+    private double dailyDemand;
+    // Last day folded into dailyDemand; null until the first sale
+    private LocalDate throughDay;
+
+    public DemandModel(Long sweetId, double dailyDemand, LocalDate throughDay) {
+        this.sweetId = sweetId;
+        this.dailyDemand = dailyDemand;
+        this.throughDay = throughDay;
+    }
+
+    public void observe(LocalDate day, long units, double alpha) {
+        if (throughDay != null && !day.isAfter(throughDay)) {
+            // Already folded in by an earlier run
+            return;
+        }
+        if (throughDay == null) {
+            if (units == 0) {
+                return;
+            }
+            dailyDemand = units;
+        } else {
+            dailyDemand = alpha * units + (1 - alpha) * dailyDemand;
+        }
+        throughDay = day;
+    }
+
+    // Null when the sweet is not selling, so any stock lasts indefinitely
+    public Double daysOfCover(int stock) {
+        return dailyDemand > 0 ? stock / dailyDemand : null;
+    }
+
+    // Units to order now so stock lasts the lead time plus the target cover
+    public int recommendedQuantity(int stock, int leadTimeDays, int targetCoverDays) {
+        long needed = (long) Math.ceil(dailyDemand * (leadTimeDays + targetCoverDays));
+        return (int) Math.max(0, needed - stock);
+    }
+}
@@ -0,0 +1,116 @@
+package com.api.mithai.sweet.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+// Expires items with constant work per schedule and per tick, however many are pending.
+// Time is cut into ticks and an item lands in the bucket its deadline falls in, carrying the
+// number of full turns of the wheel left before it is due. Items fire at most one tick late.
+// schedule() and cancel() are thread-safe; advance() is driven by a single ticking thread.
+public class HashedTimingWheel<T> {
+
+    private static final int PENDING = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+
+    private final long tickMillis;
+    private final long startMillis;
+    private final int mask;
+    private final List<ArrayDeque<Timeout<T>>> buckets;
+    // Scheduled items wait here until the ticking thread files them into a bucket
+    private final Queue<Timeout<T>> pending = new ConcurrentLinkedQueue<>();
+    private final Consumer<T> onExpire;
+    private long tick;
+
+    public HashedTimingWheel(long tickMillis, int wheelSize, long startMillis, Consumer<T> onExpire) {
+        if (tickMillis < 1 || wheelSize < 1) {
+            throw new IllegalArgumentException("Tick and wheel size must be positive");
+        }
+        int size = Integer.highestOneBit(wheelSize);
+        if (size < wheelSize) {
+            size <<= 1;
+        }
+        this.tickMillis = tickMillis;
+        this.startMillis = startMillis;
+        this.mask = size - 1;
+        this.buckets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            buckets.add(new ArrayDeque<>());
+        }
+        this.onExpire = onExpire;
+    }
+
+    public Timeout<T> schedule(T item, long deadlineMillis) {
+        Timeout<T> timeout = new Timeout<>(item, deadlineMillis);
+        pending.add(timeout);
+        return timeout;
+    }
+
+    // Runs every tick that has fully elapsed by nowMillis and returns how many items expired
+    public synchronized int advance(long nowMillis) {
+        long elapsed = nowMillis - startMillis;
+        int expired = 0;
+        while ((tick + 1) * tickMillis <= elapsed) {
+            transferPending();
+            Iterator<Timeout<T>> iterator = buckets.get((int) (tick & mask)).iterator();
+            while (iterator.hasNext()) {
+                Timeout<T> timeout = iterator.next();
+                if (timeout.isCancelled()) {
+                    iterator.remove();
+                } else if (timeout.rounds > 0) {
+                    timeout.rounds--;
+                } else {
+                    iterator.remove();
+                    if (timeout.state.compareAndSet(PENDING, EXPIRED)) {
+                        onExpire.accept(timeout.item);
+                        expired++;
+                    }
+                }
+            }
+            tick++;
+        }
+        return expired;
+    }
+
+    private void transferPending() {
+        Timeout<T> timeout;
+        while ((timeout = pending.poll()) != null) {
+            if (timeout.isCancelled()) {
+                continue;
+            }
+            // A deadline already behind the wheel goes in the current bucket
+            long deadlineTick = Math.max((timeout.deadlineMillis - startMillis) / tickMillis, tick);
+            timeout.rounds = (deadlineTick - tick) / buckets.size();
+            buckets.get((int) (deadlineTick & mask)).add(timeout);
+        }
+    }
+
+    public static final class Timeout<T> {
+
+        private final T item;
+        private final long deadlineMillis;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+        // Only touched by the ticking thread
+        private long rounds;
+
+        private Timeout(T item, long deadlineMillis) {
+            this.item = item;
+            this.deadlineMillis = deadlineMillis;
+        }
+
+        // False when the item already expired, so exactly one of cancel and expiry wins
+        public boolean cancel() {
+            return state.compareAndSet(PENDING, CANCELLED);
+        }
+
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+    }
+}
@@ -1,70 +1,153 @@
 package com.api.mithai.sweet.service;
 
 import com.api.mithai.base.exception.ResponseStatusException;
+import com.api.mithai.base.jfr.JfrOutcome;
+import com.api.mithai.base.jfr.PurchaseEvent;
+import com.api.mithai.base.jfr.RestockEvent;
+import com.api.mithai.base.tracing.SpanAttributes;
+import com.api.mithai.ledger.InventoryEventType;
+import com.api.mithai.ledger.service.InventoryLedger;
+import com.api.mithai.order.service.OrderService;
+import com.api.mithai.store.service.StoreService;
 import com.api.mithai.sweet.dto.PurchaseDto;
 import com.api.mithai.sweet.dto.RestockDto;
 import com.api.mithai.sweet.dto.SweetResponseDto;
 import com.api.mithai.sweet.entity.Sweet;
+import com.api.mithai.sweet.event.SweetChangeType;
+import com.api.mithai.sweet.event.SweetChangedEvent;
+import com.api.mithai.sweet.event.SweetPurchasedEvent;
+import com.api.mithai.sweet.metrics.InventoryMetrics;
 import com.api.mithai.sweet.repository.SweetRepository;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+
 @Slf4j
 @RequiredArgsConstructor
 @Service
 public class InventoryService {
 
     private final SweetRepository sweetRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final InventoryMetrics inventoryMetrics;
+    private final OrderService orderService;
+    private final ReservationService reservationService;
+    private final InventoryLedger inventoryLedger;
 
+    @Timed(value = "mithai.service", histogram = true)
     @Transactional
     public SweetResponseDto purchase(Long id, PurchaseDto purchaseDto) {
-        // Check if sweet exists
-        Sweet sweet = sweetRepository.findById(id)
-                .orElseThrow(() -> new ResponseStatusException("Sweet not found", HttpStatus.BAD_REQUEST));
-
-        // Validate purchase quantity
-        Integer purchaseQuantity = validatePurchaseQuantity(purchaseDto.getPurchaseQuantity());
-
-        // Validate purchase quantity does not exceed available quantity
-        if (purchaseQuantity > sweet.getQuantity()) {
-            throw new ResponseStatusException("Purchase quantity cannot exceed available quantity", HttpStatus.BAD_REQUEST);
+        PurchaseEvent event = new PurchaseEvent();
+        event.begin();
+        event.setSweetId(id != null ? id : 0L);
+        event.setQuantity(purchaseDto.getPurchaseQuantity() != null ? purchaseDto.getPurchaseQuantity() : 0);
+        SpanAttributes.set(SpanAttributes.SWEET_ID, id);
+        SpanAttributes.set(SpanAttributes.QUANTITY, purchaseDto.getPurchaseQuantity());
+        try {
+            // Check if sweet exists
+            long lookupStart = System.nanoTime();
+            Sweet sweet = sweetRepository.findById(id)
+                    .orElseThrow(() -> {
+                        inventoryMetrics.recordPurchaseFailure(InventoryMetrics.REASON_SWEET_NOT_FOUND);
+                        return new ResponseStatusException("Sweet not found", HttpStatus.BAD_REQUEST);
+                    });
+            event.setLookupDuration(System.nanoTime() - lookupStart);
+
+            // Validate purchase quantity
+            Integer purchaseQuantity = validatePurchaseQuantity(purchaseDto.getPurchaseQuantity());
+
+            // Append the sale to the store's ledger. It may not exceed the store's stock under its
+            // ledger lock; stock held for other carts is not available, the buyer's own hold is.
+            // The stock lock keeps holds from being taken meanwhile on any instance.
+            String reservationId = purchaseDto.getReservationId();
+            Long storeId = StoreService.orDefault(purchaseDto.getStoreId());
+            long saveStart = System.nanoTime();
+            reservationService.lockStock(id, storeId);
+            int newQuantity = inventoryLedger.append(id, storeId, InventoryEventType.PURCHASE, quantity -> {
+                int ownHold = reservationId != null
+                        ? reservationService.getReservedQuantity(reservationId, id, storeId) : 0;
+                int available = quantity - reservationService.getHeldQuantity(id, storeId) + ownHold;
+                if (purchaseQuantity > available) {
+                    inventoryMetrics.recordPurchaseFailure(InventoryMetrics.REASON_INSUFFICIENT_STOCK);
+                    throw new ResponseStatusException("Purchase quantity cannot exceed available quantity", HttpStatus.BAD_REQUEST);
+                }
+                return -purchaseQuantity;
+            });
+            // Still under the ledger lock, which the transaction holds until it ends
+            if (reservationId != null) {
+                reservationService.consume(reservationId);
+            }
+            event.setSaveDuration(System.nanoTime() - saveStart);
+
+            // Record the order in the same transaction as the ledger event
+            orderService.recordPurchase(sweet, purchaseQuantity);
+
+            SweetResponseDto sweetResponseDto = mapToResponseDto(sweet, newQuantity, inventoryLedger.getQuantity(id, storeId));
+            applicationEventPublisher.publishEvent(new SweetChangedEvent(SweetChangeType.PURCHASED, sweetResponseDto));
+            applicationEventPublisher.publishEvent(new SweetPurchasedEvent(sweet.getId(),
+                    sweet.getCategory().getId(), purchaseQuantity,
+                    sweet.getPrice() * purchaseQuantity, LocalDateTime.now()));
+            inventoryMetrics.recordPurchase(purchaseQuantity);
+            event.setOutcome(JfrOutcome.SUCCESS);
+            return sweetResponseDto;
+        } catch (RuntimeException ex) {
+            event.setOutcome(JfrOutcome.of(ex));
+            throw ex;
+        } finally {
+            event.commit();
         }
-
-        // Reduce quantity
-        Integer newQuantity = sweet.getQuantity() - purchaseQuantity;
-        sweet.setQuantity(newQuantity);
-
-        // Save and return
-        Sweet updatedSweet = sweetRepository.save(sweet);
-        return mapToResponseDto(updatedSweet);
     }
 
+    @Timed(value = "mithai.service", histogram = true)
     @Transactional
     public SweetResponseDto restock(Long id, RestockDto restockDto) {
-        // Check if sweet exists
-        Sweet sweet = sweetRepository.findById(id)
-                .orElseThrow(() -> new ResponseStatusException("Sweet not found", HttpStatus.BAD_REQUEST));
-
-        // Validate restock quantity
-        Integer restockQuantity = validateRestockQuantity(restockDto.getQuantity());
-
-        // Increase quantity
-        Integer newQuantity = sweet.getQuantity() + restockQuantity;
-        sweet.setQuantity(newQuantity);
-
-        // Save and return
-        Sweet updatedSweet = sweetRepository.save(sweet);
-        return mapToResponseDto(updatedSweet);
+        RestockEvent event = new RestockEvent();
+        event.begin();
+        event.setSweetId(id != null ? id : 0L);
+        event.setQuantity(restockDto.getQuantity() != null ? restockDto.getQuantity() : 0);
+        SpanAttributes.set(SpanAttributes.SWEET_ID, id);
+        SpanAttributes.set(SpanAttributes.QUANTITY, restockDto.getQuantity());
+        try {
+            // Check if sweet exists
+            long lookupStart = System.nanoTime();
+            Sweet sweet = sweetRepository.findById(id)
+                    .orElseThrow(() -> new ResponseStatusException("Sweet not found", HttpStatus.BAD_REQUEST));
+            event.setLookupDuration(System.nanoTime() - lookupStart);
+
+            // Validate restock quantity
+            Integer restockQuantity = validateRestockQuantity(restockDto.getQuantity());
+
+            // Append the restock to the store's ledger and return
+            long saveStart = System.nanoTime();
+            Long storeId = StoreService.orDefault(restockDto.getStoreId());
+            int newQuantity = inventoryLedger.append(id, storeId, InventoryEventType.RESTOCK, quantity -> restockQuantity);
+            event.setSaveDuration(System.nanoTime() - saveStart);
+            SweetResponseDto sweetResponseDto = mapToResponseDto(sweet, newQuantity, inventoryLedger.getQuantity(id, storeId));
+            applicationEventPublisher.publishEvent(new SweetChangedEvent(SweetChangeType.RESTOCKED, sweetResponseDto));
+            inventoryMetrics.recordRestock(restockQuantity);
+            event.setOutcome(JfrOutcome.SUCCESS);
+            return sweetResponseDto;
+        } catch (RuntimeException ex) {
+            event.setOutcome(JfrOutcome.of(ex));
+            throw ex;
+        } finally {
+            event.commit();
+        }
     }
 
     private Integer validatePurchaseQuantity(Integer purchaseQuantity) {
         if (purchaseQuantity == null) {
+            inventoryMetrics.recordPurchaseFailure(InventoryMetrics.REASON_INVALID_QUANTITY);
             throw new ResponseStatusException("Purchase quantity cannot be null", HttpStatus.BAD_REQUEST);
         }
         if (purchaseQuantity <= 0) {
+            inventoryMetrics.recordPurchaseFailure(InventoryMetrics.REASON_INVALID_QUANTITY);
             throw new ResponseStatusException("Purchase quantity must be greater than zero", HttpStatus.BAD_REQUEST);
         }
         return purchaseQuantity;
@@ -80,14 +163,15 @@ public class InventoryService {
         return quantity;
     }
 
-    private SweetResponseDto mapToResponseDto(Sweet sweet) {
+    private SweetResponseDto mapToResponseDto(Sweet sweet, int quantity, Integer storeQuantity) {
         return new SweetResponseDto(
                 sweet.getId(),
                 sweet.getName(),
                 sweet.getCategory().getId(),
                 sweet.getCategory().getName(),
                 sweet.getPrice(),
-                sweet.getQuantity()
+                quantity,
+                storeQuantity
         );
     }
 }
@@ -0,0 +1,176 @@
+package com.api.mithai.sweet.service;
+
+import com.api.mithai.base.constants.Constants;
+import com.api.mithai.base.exception.ResponseStatusException;
+import com.api.mithai.ledger.service.InventoryLedger;
+import com.api.mithai.sweet.alert.LowStockAlert;
+import com.api.mithai.sweet.alert.LowStockAlertSink;
+import com.api.mithai.sweet.alert.LowStockLevel;
+import com.api.mithai.sweet.dto.LowStockDto;
+import com.api.mithai.sweet.dto.SweetResponseDto;
+import com.api.mithai.sweet.entity.Sweet;
+import com.api.mithai.sweet.entity.SweetReorderThreshold;
+import com.api.mithai.sweet.event.SweetChangedEvent;
+import com.api.mithai.sweet.event.SweetDeletedEvent;
+import com.api.mithai.sweet.repository.SweetReorderThresholdRepository;
+import com.api.mithai.sweet.repository.SweetRepository;
+import com.api.mithai.sweet.repository.SweetStockView;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+// Evaluates reorder thresholds on every committed quantity change and keeps all sweets
+// in memory ordered by stock relative to threshold, so the low-stock list is a head scan.
+// An alert is raised once per level (low, then out of stock) and re-armed only after the
+// sweet is back above its threshold.
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class LowStockService {
+
+    private static final int DEFAULT_LIMIT = 50;
+
+    private final SweetRepository sweetRepository;
+    private final SweetReorderThresholdRepository sweetReorderThresholdRepository;
+    private final List<LowStockAlertSink> alertSinks;
+    private final InventoryLedger inventoryLedger;
+
+    private final Map<Long, StockLevel> levels = new ConcurrentHashMap<>();
+    private final NavigableSet<StockLevel> byRatio = new ConcurrentSkipListSet<>(StockLevel.BY_RATIO);
+
+    @Value("${app.lowStock.defaultThreshold:10}")
+    private int defaultThreshold;
+
+    @Value("${app.lowStock.sinks:log,sse}")
+    private Set<String> enabledSinks;
+
+    // Alerts are not replayed for sweets that were already low before a restart
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        int loaded = 0;
+        for (SweetStockView view : sweetReorderThresholdRepository.findAllStockLevels()) {
+            int threshold = view.getThreshold() != null ? view.getThreshold() : defaultThreshold;
+            StockLevel level = new StockLevel(view.getSweetId(), view.getName(), view.getQuantity(), threshold,
+                    LowStockLevel.of(view.getQuantity(), threshold), 0);
+            // A change that arrived while loading is newer than this row
+            if (levels.putIfAbsent(view.getSweetId(), level) == null) {
+                byRatio.add(level);
+                loaded++;
+            }
+        }
+        log.info("Low-stock index loaded with {} sweets", loaded);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSweetChanged(SweetChangedEvent event) {
+        SweetResponseDto sweet = event.getSweet();
+        update(sweet.getId(), sweet.getName(), sweet.getQuantity(), null, event.getSequence());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSweetDeleted(SweetDeletedEvent event) {
+        StockLevel removed = levels.remove(event.getSweetId());
+        if (removed != null) {
+            byRatio.remove(removed);
+        }
+    }
+
+    @Transactional
+    public LowStockDto setThreshold(Long sweetId, Integer threshold) {
+        if (threshold == null || threshold < 0) {
+            throw new ResponseStatusException(Constants.REORDER_THRESHOLD_INVALID, HttpStatus.BAD_REQUEST);
+        }
+        Sweet sweet = sweetRepository.findById(sweetId)
+                .orElseThrow(() -> new ResponseStatusException("Sweet not found", HttpStatus.BAD_REQUEST));
+        sweetReorderThresholdRepository.save(new SweetReorderThreshold(sweetId, threshold));
+        return mapToDto(update(sweetId, sweet.getName(), inventoryLedger.getQuantity(sweetId), threshold, null));
+    }
+
+    public List<LowStockDto> getLowStock(Integer limit) {
+        int size = limit != null ? limit : DEFAULT_LIMIT;
+        if (size < 1 || size > Constants.MAX_LOW_STOCK_LIMIT) {
+            throw new ResponseStatusException(Constants.LOW_STOCK_LIMIT_INVALID, HttpStatus.BAD_REQUEST);
+        }
+
+        List<LowStockDto> lowStock = new ArrayList<>();
+        // The skip list iterator is weakly consistent; a sweet moving during the scan may show twice
+        Set<Long> seen = new HashSet<>();
+        for (StockLevel level : byRatio) {
+            if (level.getLevel() == null || lowStock.size() == size) {
+                break;
+            }
+            if (seen.add(level.getSweetId())) {
+                lowStock.add(mapToDto(level));
+            }
+        }
+        return lowStock;
+    }
+
+    // Threshold null keeps the sweet's current one. A change older than the one the level came
+    // from is dropped; a null sequence is not a change and keeps the level's.
+    private StockLevel update(Long sweetId, String sweetName, int quantity, Integer threshold, Long sequence) {
+        LowStockAlert[] raised = new LowStockAlert[1];
+        StockLevel updated = levels.compute(sweetId, (id, previous) -> {
+            if (sequence != null && previous != null && previous.getSequence() > sequence) {
+                return previous;
+            }
+            int newThreshold = threshold != null ? threshold
+                    : previous != null ? previous.getThreshold() : defaultThreshold;
+            LowStockLevel level = LowStockLevel.of(quantity, newThreshold);
+            LowStockLevel alerted = previous != null ? previous.getAlertedLevel() : null;
+            if (level == null) {
+                alerted = null;
+            } else if (alerted == null || level.compareTo(alerted) > 0) {
+                raised[0] = new LowStockAlert(sweetId, sweetName, level, quantity, newThreshold, LocalDateTime.now());
+                alerted = level;
+            }
+
+            long nextSequence = sequence != null ? sequence : previous != null ? previous.getSequence() : 0;
+            StockLevel next = new StockLevel(sweetId, sweetName, quantity, newThreshold, alerted, nextSequence);
+            if (previous != null) {
+                byRatio.remove(previous);
+            }
+            byRatio.add(next);
+            return next;
+        });
+
+        if (raised[0] != null) {
+            dispatch(raised[0]);
+        }
+        return updated;
+    }
+
+    private void dispatch(LowStockAlert alert) {
+        for (LowStockAlertSink sink : alertSinks) {
+            if (!enabledSinks.contains(sink.getName())) {
+                continue;
+            }
+            try {
+                sink.send(alert);
+            } catch (RuntimeException ex) {
+                log.error("Low-stock sink {} failed", sink.getName(), ex);
+            }
+        }
+    }
+
+    private LowStockDto mapToDto(StockLevel level) {
+        return new LowStockDto(level.getSweetId(), level.getSweetName(), level.getQuantity(),
+                level.getThreshold(), level.getLevel());
+    }
+}
@@ -0,0 +1,143 @@
+package com.api.mithai.sweet.service;
+
+import com.api.mithai.base.constants.Constants;
+import com.api.mithai.base.exception.ResponseStatusException;
+import com.api.mithai.ledger.service.InventoryLedger;
+import com.api.mithai.security.CurrentUser;
+import com.api.mithai.store.service.StoreService;
+import com.api.mithai.sweet.dto.ReservationDto;
+import com.api.mithai.sweet.dto.ReserveDto;
+import com.api.mithai.sweet.repository.StockReservation;
+import com.api.mithai.sweet.repository.StockReservationRepository;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+
+// Holds stock for a cart until checkout or until the hold's TTL runs out. Holds are rows of
+// stock_reservations, so every instance sees them, and each one is expired by a timing wheel
+// on the instance that took it, ticked from one scheduled task. Holds are taken from one
+// store's stock, and the stock a store has available is its quantity of the sweet minus the
+// active holds on it. Holds and purchases of a store's stock are checked under a database lock
+// held until their transaction ends, on every instance, so a sale and a hold cannot both take
+// the last units; a hold reads the store's stock from the database under it.
+@Slf4j
+@Service
+public class ReservationService {
+
+    private final InventoryLedger inventoryLedger;
+    private final StockReservationRepository stockReservationRepository;
+    private final long ttlMillis;
+    private final HashedTimingWheel<String> wheel;
+
+    public ReservationService(InventoryLedger inventoryLedger,
+                              StockReservationRepository stockReservationRepository,
+                              @Value("${app.reservations.ttlSeconds:900}") long ttlSeconds,
+                              @Value("${app.reservations.tickMillis:1000}") long tickMillis,
+                              @Value("${app.reservations.wheelSize:1024}") int wheelSize) {
+        this.inventoryLedger = inventoryLedger;
+        this.stockReservationRepository = stockReservationRepository;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.wheel = new HashedTimingWheel<>(tickMillis, wheelSize, System.currentTimeMillis(),
+                stockReservationRepository::delete);
+    }
+
+    @Transactional
+    public ReservationDto reserve(Long sweetId, ReserveDto reserveDto) {
+        Integer quantity = reserveDto.getQuantity();
+        if (quantity == null || quantity <= 0) {
+            throw new ResponseStatusException(Constants.RESERVATION_QUANTITY_INVALID, HttpStatus.BAD_REQUEST);
+        }
+        Long userId = CurrentUser.id();
+        Long storeId = StoreService.orDefault(reserveDto.getStoreId());
+        long expiresAt = System.currentTimeMillis() + ttlMillis;
+        StockReservation reservation = new StockReservation(UUID.randomUUID().toString(), sweetId, storeId, userId,
+                quantity, toDateTime(expiresAt));
+
+        // A purchase committing before the lock was granted is in the stock read after it
+        lockStock(sweetId, storeId);
+        int stock = inventoryLedger.getCommittedQuantity(sweetId, storeId);
+        int held = stockReservationRepository.getHeldQuantity(sweetId, storeId, LocalDateTime.now());
+        if (held + quantity > stock) {
+            throw new ResponseStatusException(Constants.RESERVATION_EXCEEDS_AVAILABLE, HttpStatus.BAD_REQUEST);
+        }
+        stockReservationRepository.insert(reservation);
+        int available = stock - held - quantity;
+
+        wheel.schedule(reservation.getId(), expiresAt);
+        return new ReservationDto(reservation.getId(), sweetId, storeId, quantity, reservation.getExpiresAt(), available);
+    }
+
+    // Lets the current user drop their own hold before it expires
+    public void cancel(String reservationId) {
+        StockReservation reservation = find(reservationId);
+        stockReservationRepository.delete(reservation.getId());
+    }
+
+    // Taken by a purchase before it checks the holds, in its transaction
+    public void lockStock(Long sweetId, Long storeId) {
+        stockReservationRepository.lockStock(sweetId, StoreService.orDefault(storeId));
+    }
+
+    // Called under the stock lock by a purchase
+    public int getHeldQuantity(Long sweetId, Long storeId) {
+        return stockReservationRepository.getHeldQuantity(sweetId, storeId, LocalDateTime.now());
+    }
+
+    // Quantity of the current user's active hold on this sweet in this store
+    public int getReservedQuantity(String reservationId, Long sweetId, Long storeId) {
+        StockReservation reservation = find(reservationId);
+        if (!reservation.getSweetId().equals(sweetId) || !reservation.getStoreId().equals(storeId)) {
+            throw new ResponseStatusException(Constants.RESERVATION_NOT_FOUND, HttpStatus.BAD_REQUEST);
+        }
+        return reservation.getQuantity();
+    }
+
+    // Ends the hold at checkout, in the purchase's transaction; fails if it expired since it was looked up
+    public void consume(String reservationId) {
+        if (!stockReservationRepository.deleteActive(reservationId, LocalDateTime.now())) {
+            throw new ResponseStatusException(Constants.RESERVATION_NOT_FOUND, HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.reservations.tickMillis:1000}")
+    public void tick() {
+        expireDue(System.currentTimeMillis());
+    }
+
+    // Consumed and cancelled holds are already gone; deleting them again is a no-op
+    public int expireDue(long nowMillis) {
+        int expired = wheel.advance(nowMillis);
+        if (expired > 0) {
+            log.debug("Expired {} stock reservations", expired);
+        }
+        return expired;
+    }
+
+    // Holds of an instance that stopped before expiring them no longer count, this removes the rows
+    @Scheduled(cron = "${app.reservations.purgeCron:0 50 3 * * *}")
+    public void purge() {
+        int purged = stockReservationRepository.purgeExpired(LocalDateTime.now());
+        log.info("Purged {} expired stock reservations", purged);
+    }
+
+    private StockReservation find(String reservationId) {
+        StockReservation reservation = reservationId != null
+                ? stockReservationRepository.findActive(reservationId, LocalDateTime.now()).orElse(null) : null;
+        if (reservation == null || !reservation.getUserId().equals(CurrentUser.id())) {
+            throw new ResponseStatusException(Constants.RESERVATION_NOT_FOUND, HttpStatus.BAD_REQUEST);
+        }
+        return reservation;
+    }
+
+    private static LocalDateTime toDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
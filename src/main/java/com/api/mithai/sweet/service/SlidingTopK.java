@@ -0,0 +1,55 @@
+package com.api.mithai.sweet.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Heavy hitters over a sliding window, kept as a ring of per-slot Space-Saving sketches.
+// The window slides one slot at a time, and memory is slots * capacity counters whatever
+// the catalog size.
+public class SlidingTopK {
+
+    private final long slotMillis;
+    private final SpaceSavingSketch[] ring;
+
+    public SlidingTopK(Duration window, Duration slot, int capacity) {
+        this.slotMillis = slot.toMillis();
+        this.ring = new SpaceSavingSketch[(int) (window.toMillis() / slotMillis)];
+        for (int i = 0; i < ring.length; i++) {
+            ring[i] = new SpaceSavingSketch(capacity);
+        }
+    }
+
+    public void offer(Long sweetId, long weight, long nowMillis) {
+        long slot = nowMillis / slotMillis;
+        ring[(int) (slot % ring.length)].offer(slot, sweetId, weight);
+    }
+
+    // Sweet ids with their estimated counts, highest first
+    public List<Map.Entry<Long, Long>> top(int limit, long nowMillis) {
+        long oldestSlot = nowMillis / slotMillis - ring.length + 1;
+        // Every sweet any live slot holds, then its count summed over all of them
+        Set<Long> sweetIds = new HashSet<>();
+        for (SpaceSavingSketch sketch : ring) {
+            sketch.collectSweets(sweetIds, oldestSlot);
+        }
+        Map<Long, Long> totals = new HashMap<>();
+        sweetIds.forEach(sweetId -> totals.put(sweetId, 0L));
+        for (SpaceSavingSketch sketch : ring) {
+            sketch.mergeInto(totals, oldestSlot);
+        }
+        List<Map.Entry<Long, Long>> entries = new ArrayList<>(totals.entrySet());
+        entries.sort(Map.Entry.<Long, Long>comparingByValue().reversed().thenComparing(Map.Entry.<Long, Long>comparingByKey()));
+        return entries.subList(0, Math.min(limit, entries.size()));
+    }
+
+    public void remove(Long sweetId) {
+        for (SpaceSavingSketch sketch : ring) {
+            sketch.remove(sweetId);
+        }
+    }
+}
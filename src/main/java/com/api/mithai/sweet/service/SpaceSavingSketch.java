@@ -0,0 +1,72 @@
+package com.api.mithai.sweet.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+// Space-Saving heavy hitters over at most `capacity` sweets. When a new sweet arrives and
+// the sketch is full, it takes over the smallest counter and inherits its count, so a
+// count can be overestimated by at most that inherited amount but never underestimated.
+// Each instance covers one time slot of a SlidingTopK; `slot` says which one.
+public class SpaceSavingSketch {
+
+    private final int capacity;
+    private final Map<Long, Long> counts;
+    private long slot = Long.MIN_VALUE;
+    // Largest count evicted in this slot, the most any sweet the sketch no longer holds can have had
+    private long evictedCount;
+
+    public SpaceSavingSketch(int capacity) {
+        this.capacity = capacity;
+        this.counts = new HashMap<>(capacity * 2);
+    }
+
+    public synchronized void offer(long slot, Long sweetId, long weight) {
+        if (slot > this.slot) {
+            // The ring came back around; this sketch now covers a newer slot
+            counts.clear();
+            evictedCount = 0;
+            this.slot = slot;
+        } else if (slot < this.slot) {
+            return;
+        }
+
+        Long count = counts.get(sweetId);
+        if (count != null) {
+            counts.put(sweetId, count + weight);
+        } else if (counts.size() < capacity) {
+            counts.put(sweetId, weight);
+        } else {
+            Map.Entry<Long, Long> smallest = null;
+            for (Map.Entry<Long, Long> entry : counts.entrySet()) {
+                if (smallest == null || entry.getValue() < smallest.getValue()) {
+                    smallest = entry;
+                }
+            }
+            counts.remove(smallest.getKey());
+            evictedCount = Math.max(evictedCount, smallest.getValue());
+            counts.put(sweetId, smallest.getValue() + weight);
+        }
+    }
+
+    // Adds the sweets this slot counts to `sweetIds` if the slot is not older than `oldestSlot`
+    public synchronized void collectSweets(Set<Long> sweetIds, long oldestSlot) {
+        if (slot >= oldestSlot) {
+            sweetIds.addAll(counts.keySet());
+        }
+    }
+
+    // Adds this slot's count of every sweet in `totals` if the slot is not older than `oldestSlot`.
+    // A sweet this slot does not hold may have been evicted from it, so it is counted at the
+    // largest evicted count and the merged count stays an overestimate.
+    public synchronized void mergeInto(Map<Long, Long> totals, long oldestSlot) {
+        if (slot < oldestSlot) {
+            return;
+        }
+        totals.replaceAll((sweetId, total) -> total + counts.getOrDefault(sweetId, evictedCount));
+    }
+
+    public synchronized void remove(Long sweetId) {
+        counts.remove(sweetId);
+    }
+}
@@ -0,0 +1,41 @@
+package com.api.mithai.sweet.service;
+
+import com.api.mithai.sweet.alert.LowStockLevel;
+import lombok.Getter;
+
+import java.util.Comparator;
+
+// Immutable snapshot of one sweet in the low-stock index; replaced on every change
+@Getter
+public class StockLevel {
+
+    // Lowest stock relative to its threshold first
+    public static final Comparator<StockLevel> BY_RATIO =
+            Comparator.comparingDouble(StockLevel::getRatio).thenComparing(StockLevel::getSweetId);
+
+    private final Long sweetId;
+    private final String sweetName;
+    private final int quantity;
+    private final int threshold;
+    private final double ratio;
+    // Most severe level already alerted since the sweet was last above its threshold
+    private final LowStockLevel alertedLevel;
+    // Sequence of the change the quantity came from; 0 when it was loaded
+    private final long sequence;
+
+    public StockLevel(Long sweetId, String sweetName, int quantity, int threshold, LowStockLevel alertedLevel,
+                      long sequence) {
+        this.sweetId = sweetId;
+        this.sweetName = sweetName;
+        this.quantity = quantity;
+        this.threshold = threshold;
+        this.ratio = threshold > 0 ? (double) quantity / threshold
+                : (quantity > 0 ? Double.POSITIVE_INFINITY : 0);
+        this.alertedLevel = alertedLevel;
+        this.sequence = sequence;
+    }
+
+    public LowStockLevel getLevel() {
+        return LowStockLevel.of(quantity, threshold);
+    }
+}
@@ -0,0 +1,138 @@
+package com.api.mithai.sweet.service;
+
+import com.api.mithai.sweet.dto.StockLevelDto;
+import com.api.mithai.sweet.event.SweetChangedEvent;
+import com.api.mithai.sweet.event.SweetDeletedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class StockStreamService {
+
+    public static final String STOCK_EVENT_NAME = "stock";
+    // Sent when frames were dropped for a slow client; its data is the total dropped so far
+    public static final String RESYNC_EVENT_NAME = "resync";
+
+    private final ObjectMapper objectMapper;
+
+    // Latest quantity per sweet since the last flush; repeated changes coalesce here
+    private final Map<Long, Integer> pendingStockLevels = new ConcurrentHashMap<>();
+    // Sequence of the newest change queued per sweet, so an older one reaching us later is dropped
+    private final Map<Long, Long> sequences = new ConcurrentHashMap<>();
+    private final Set<StockSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    @Value("${app.stockStream.bufferSize:64}")
+    private int bufferSize;
+
+    @Value("${app.stockStream.timeoutInMs:1800000}")
+    private long timeoutInMs;
+
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(timeoutInMs);
+        StockSubscriber subscriber = new StockSubscriber(emitter, bufferSize);
+
+        emitter.onCompletion(() -> unregister(subscriber));
+        emitter.onTimeout(() -> unregister(subscriber));
+        emitter.onError(ex -> unregister(subscriber));
+
+        register(subscriber);
+        Thread.ofVirtual().name("stock-stream").start(subscriber);
+        return emitter;
+    }
+
+    public void register(StockSubscriber subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    public void unregister(StockSubscriber subscriber) {
+        subscriber.close();
+        subscribers.remove(subscriber);
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    // Runs after commit, or straight away when the change was not transactional
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSweetChanged(SweetChangedEvent event) {
+        sequences.compute(event.getSweet().getId(), (id, latest) -> {
+            if (latest != null && latest > event.getSequence()) {
+                return latest;
+            }
+            pendingStockLevels.put(id, event.getSweet().getQuantity());
+            return event.getSequence();
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSweetDeleted(SweetDeletedEvent event) {
+        sequences.remove(event.getSweetId());
+        pendingStockLevels.remove(event.getSweetId());
+    }
+
+    @Scheduled(fixedDelayString = "${app.stockStream.flushIntervalInMs:500}")
+    public void flush() {
+        if (pendingStockLevels.isEmpty()) {
+            return;
+        }
+
+        List<StockLevelDto> stockLevels = new ArrayList<>(pendingStockLevels.size());
+        for (Long id : pendingStockLevels.keySet()) {
+            Integer quantity = pendingStockLevels.remove(id);
+            if (quantity != null) {
+                stockLevels.add(new StockLevelDto(id, quantity));
+            }
+        }
+        if (stockLevels.isEmpty() || subscribers.isEmpty()) {
+            return;
+        }
+
+        // Serialize once and share the payload between all subscribers
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(stockLevels);
+        } catch (JsonProcessingException ex) {
+            log.error("Could not serialize stock levels", ex);
+            return;
+        }
+        for (StockSubscriber subscriber : subscribers) {
+            subscriber.offer(SseEmitter.event()
+                    .name(STOCK_EVENT_NAME)
+                    .data(payload, MediaType.APPLICATION_JSON));
+        }
+    }
+
+    @Scheduled(fixedRateString = "${app.stockStream.heartbeatIntervalInMs:15000}")
+    public void heartbeat() {
+        for (StockSubscriber subscriber : subscribers) {
+            subscriber.offerHeartbeat(SseEmitter.event().comment("heartbeat"));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (StockSubscriber subscriber : subscribers) {
+            subscriber.close();
+            subscriber.getEmitter().complete();
+        }
+        subscribers.clear();
+    }
+}
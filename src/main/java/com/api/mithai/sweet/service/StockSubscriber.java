@@ -0,0 +1,149 @@
+package com.api.mithai.sweet.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// One open stock stream. Frames are queued by the shared publisher and written by
+// this subscriber's own (virtual) thread, so a slow client never blocks the others.
+// A client that fell behind loses its oldest frames and is sent a resync event ahead of the
+// rest, so it knows to re-fetch stock instead of keeping a quantity that was overwritten.
+@Slf4j
+public class StockSubscriber implements Runnable {
+
+    private final SseEmitter emitter;
+    private final int capacity;
+    private final ArrayDeque<SseEmitter.SseEventBuilder> buffer;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+
+    private volatile boolean closed = false;
+    private long droppedCount = 0;
+    private boolean resyncPending = false;
+
+    public StockSubscriber(SseEmitter emitter, int capacity) {
+        this.emitter = emitter;
+        this.capacity = capacity;
+        this.buffer = new ArrayDeque<>(capacity);
+    }
+
+    public SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    // Never blocks: when the buffer is full the oldest frame is dropped
+    public void offer(SseEmitter.SseEventBuilder frame) {
+        if (closed) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (buffer.size() == capacity) {
+                buffer.pollFirst();
+                droppedCount++;
+                resyncPending = true;
+            }
+            buffer.addLast(frame);
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Heartbeats only keep an idle connection open, so one is never queued behind frames
+    // and can never push a frame out
+    public void offerHeartbeat(SseEmitter.SseEventBuilder heartbeat) {
+        if (closed) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (buffer.isEmpty()) {
+                buffer.addLast(heartbeat);
+                notEmpty.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public SseEmitter.SseEventBuilder poll(long timeoutInMs) throws InterruptedException {
+        long remainingNanos = TimeUnit.MILLISECONDS.toNanos(timeoutInMs);
+        lock.lock();
+        try {
+            while (buffer.isEmpty() && !closed) {
+                if (remainingNanos <= 0) {
+                    return null;
+                }
+                remainingNanos = notEmpty.awaitNanos(remainingNanos);
+            }
+            if (resyncPending && !closed) {
+                resyncPending = false;
+                return SseEmitter.event()
+                        .name(StockStreamService.RESYNC_EVENT_NAME)
+                        .data(String.valueOf(droppedCount));
+            }
+            return buffer.pollFirst();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (!closed) {
+                SseEmitter.SseEventBuilder frame = poll(TimeUnit.SECONDS.toMillis(30));
+                if (frame != null) {
+                    emitter.send(frame);
+                }
+            }
+        } catch (IOException | IllegalStateException ex) {
+            // Client went away; the emitter callbacks remove this subscriber
+            log.debug("Stock stream closed: {}", ex.getMessage());
+            close();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            close();
+        }
+    }
+
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            buffer.clear();
+            resyncPending = false;
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getBufferedCount() {
+        lock.lock();
+        try {
+            return buffer.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getDroppedCount() {
+        lock.lock();
+        try {
+            return droppedCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -3,16 +3,27 @@ package com.api.mithai.sweet.service;
 import com.api.mithai.base.constants.Constants;
 import com.api.mithai.base.exception.ResponseStatusException;
 import com.api.mithai.base.response.PaginatedBaseResponse;
+import com.api.mithai.base.tracing.SpanAttributes;
+import com.api.mithai.ledger.service.InventoryLedger;
+import com.api.mithai.store.service.StoreService;
+import com.api.mithai.sweet.dto.SweetBatchUpdateRequestDto;
 import com.api.mithai.sweet.dto.SweetRequestDto;
 import com.api.mithai.sweet.dto.SweetResponseDto;
 import com.api.mithai.sweet.entity.Sweet;
 import com.api.mithai.sweet.entity.SweetCategory;
+import com.api.mithai.sweet.event.SweetChangeType;
+import com.api.mithai.sweet.event.SweetChangedEvent;
+import com.api.mithai.sweet.event.SweetDeletedEvent;
 import com.api.mithai.sweet.repository.SweetCategoryRepository;
 import com.api.mithai.sweet.repository.SweetRepository;
 import com.api.mithai.sweet.specification.SweetSpecification;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -21,8 +32,16 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -30,20 +49,21 @@ import java.util.stream.Collectors;
 @Service
 public class SweetService {
 
+    public static final String NAME_UNIQUE_INDEX = "ux_sweets_lower_name";
+
     private final SweetRepository sweetRepository;
     private final SweetCategoryRepository sweetCategoryRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final InventoryLedger inventoryLedger;
 
+    @Timed(value = "mithai.service", histogram = true)
+    @Transactional
     public SweetResponseDto create(SweetRequestDto sweetRequestDto) {
         // Validate all input fields first
         String name = validateName(sweetRequestDto.getName());
         Long categoryId = validateCategoryId(sweetRequestDto.getCategoryId());
         Double price = validatePrice(sweetRequestDto.getPrice());
         Integer quantity = validateQuantity(sweetRequestDto.getQuantity());
-        
-        // Check for duplicate name (case-insensitive)
-        if (sweetRepository.existsByNameIgnoreCase(name)) {
-            throw new ResponseStatusException(Constants.SWEET_NAME_ALREADY_EXISTS, HttpStatus.BAD_REQUEST);
-        }
 
         // Get category after all validations pass
         SweetCategory category = sweetCategoryRepository.findById(categoryId)
@@ -55,13 +75,21 @@ public class SweetService {
         sweet.setCategory(category);
         sweet.setPrice(price);
         sweet.setQuantity(quantity);
-        
-        Sweet savedSweet = sweetRepository.save(sweet);
-        
-        return mapToResponseDto(savedSweet);
+
+        // Duplicate names (case-insensitive) are rejected by the unique index on lower(name)
+        Sweet savedSweet = saveAndFlush(sweet);
+        inventoryLedger.open(sweetRequestDto.getStoreId(), List.of(savedSweet));
+
+        SweetResponseDto sweetResponseDto = mapToResponseDto(savedSweet, savedSweet.getQuantity(), savedSweet.getQuantity());
+        publishChange(SweetChangeType.CREATED, sweetResponseDto);
+        return sweetResponseDto;
     }
 
+    @Timed(value = "mithai.service", histogram = true)
+    @Transactional
     public SweetResponseDto update(Long id, SweetRequestDto sweetRequestDto) {
+        SpanAttributes.set(SpanAttributes.SWEET_ID, id);
+
         // Check if sweet exists
         Sweet existingSweet = sweetRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException("Sweet not found", HttpStatus.BAD_REQUEST));
@@ -71,36 +99,224 @@ public class SweetService {
         Long categoryId = validateCategoryId(sweetRequestDto.getCategoryId());
         Double price = validatePrice(sweetRequestDto.getPrice());
         Integer quantity = validateQuantity(sweetRequestDto.getQuantity());
-        
-        // Check for duplicate name (case-insensitive) excluding current sweet
-        if (!name.equalsIgnoreCase(existingSweet.getName()) && 
-            sweetRepository.existsByNameIgnoreCaseAndIdNot(name, id)) {
-            throw new ResponseStatusException(Constants.SWEET_NAME_ALREADY_EXISTS, HttpStatus.BAD_REQUEST);
-        }
+        Long storeId = StoreService.orDefault(sweetRequestDto.getStoreId());
 
         SweetCategory category = sweetCategoryRepository.findById(categoryId)
                 .orElseThrow(() -> new ResponseStatusException("Category not found", HttpStatus.BAD_REQUEST));
 
-        // Update sweet
+        // Update sweet; a new quantity is recorded as an adjustment of the store's stock
         existingSweet.setName(name);
         existingSweet.setCategory(category);
         existingSweet.setPrice(price);
-        existingSweet.setQuantity(quantity);
-        
-        Sweet updatedSweet = sweetRepository.save(existingSweet);
-        
-        return mapToResponseDto(updatedSweet);
+        int newTotal = inventoryLedger.adjust(id, storeId, quantity);
+
+        // Duplicate names (case-insensitive) are rejected by the unique index on lower(name)
+        Sweet updatedSweet = saveAndFlush(existingSweet);
+
+        SweetResponseDto sweetResponseDto = mapToResponseDto(updatedSweet, newTotal, quantity);
+        publishChange(SweetChangeType.UPDATED, sweetResponseDto);
+        return sweetResponseDto;
     }
 
+    @Timed(value = "mithai.service", histogram = true)
+    @Transactional
+    public List<SweetResponseDto> createBatch(List<SweetRequestDto> sweetRequestDtos) {
+        validateBatchSize(sweetRequestDtos);
+        SpanAttributes.set(SpanAttributes.BATCH_SIZE, sweetRequestDtos.size());
+
+        // Validate all input fields and detect names repeated inside the batch
+        Set<String> lowerNames = new HashSet<>();
+        List<String> names = new ArrayList<>(sweetRequestDtos.size());
+        for (SweetRequestDto sweetRequestDto : sweetRequestDtos) {
+            String name = validateName(sweetRequestDto.getName());
+            validateRequestFields(sweetRequestDto);
+            names.add(name);
+            if (!lowerNames.add(name.toLowerCase(Locale.ROOT))) {
+                throw new ResponseStatusException(Constants.SWEET_NAME_DUPLICATED_IN_BATCH, HttpStatus.BAD_REQUEST, name);
+            }
+        }
+
+        // Check for duplicate names against the database in a single query
+        List<Sweet> conflicts = sweetRepository.findAllByLowerNameIn(lowerNames);
+        if (!conflicts.isEmpty()) {
+            throw new ResponseStatusException(Constants.SWEET_NAME_ALREADY_EXISTS, HttpStatus.BAD_REQUEST,
+                    conflicts.get(0).getName());
+        }
+
+        Map<Long, SweetCategory> categories = findCategories(sweetRequestDtos);
+
+        List<Sweet> sweets = new ArrayList<>(sweetRequestDtos.size());
+        for (int i = 0; i < sweetRequestDtos.size(); i++) {
+            SweetRequestDto sweetRequestDto = sweetRequestDtos.get(i);
+            Sweet sweet = new Sweet();
+            sweet.setName(names.get(i));
+            sweet.setCategory(categories.get(sweetRequestDto.getCategoryId()));
+            sweet.setPrice(sweetRequestDto.getPrice());
+            sweet.setQuantity(sweetRequestDto.getQuantity());
+            sweets.add(sweet);
+        }
+
+        // Inserts are sent as JDBC batches, opening stock as one batch per store
+        List<Sweet> savedSweets = saveAllAndFlush(sweets);
+        Map<Long, List<Sweet>> sweetsByStore = new LinkedHashMap<>();
+        for (int i = 0; i < savedSweets.size(); i++) {
+            sweetsByStore.computeIfAbsent(StoreService.orDefault(sweetRequestDtos.get(i).getStoreId()),
+                    storeId -> new ArrayList<>()).add(savedSweets.get(i));
+        }
+        sweetsByStore.forEach(inventoryLedger::open);
+        List<SweetResponseDto> sweetResponseDtos = savedSweets.stream()
+                .map(sweet -> mapToResponseDto(sweet, sweet.getQuantity(), sweet.getQuantity()))
+                .collect(Collectors.toList());
+        sweetResponseDtos.forEach(sweetResponseDto -> publishChange(SweetChangeType.CREATED, sweetResponseDto));
+        return sweetResponseDtos;
+    }
+
+    @Timed(value = "mithai.service", histogram = true)
+    @Transactional
+    public List<SweetResponseDto> updateBatch(List<SweetBatchUpdateRequestDto> sweetRequestDtos) {
+        validateBatchSize(sweetRequestDtos);
+        SpanAttributes.set(SpanAttributes.BATCH_SIZE, sweetRequestDtos.size());
+
+        // Validate all input fields and detect ids or names repeated inside the batch
+        Set<Long> ids = new HashSet<>();
+        Map<String, Long> idsByLowerName = new HashMap<>();
+        Map<Long, String> namesById = new HashMap<>();
+        for (SweetBatchUpdateRequestDto sweetRequestDto : sweetRequestDtos) {
+            if (sweetRequestDto.getId() == null) {
+                throw new ResponseStatusException("Sweet ID cannot be null", HttpStatus.BAD_REQUEST);
+            }
+            String name = validateName(sweetRequestDto.getName());
+            validateRequestFields(sweetRequestDto);
+            if (!ids.add(sweetRequestDto.getId())) {
+                throw new ResponseStatusException(Constants.SWEET_ID_DUPLICATED_IN_BATCH, HttpStatus.BAD_REQUEST,
+                        sweetRequestDto.getId());
+            }
+            namesById.put(sweetRequestDto.getId(), name);
+            if (idsByLowerName.putIfAbsent(name.toLowerCase(Locale.ROOT), sweetRequestDto.getId()) != null) {
+                throw new ResponseStatusException(Constants.SWEET_NAME_DUPLICATED_IN_BATCH, HttpStatus.BAD_REQUEST, name);
+            }
+        }
+
+        Map<Long, Sweet> existingSweets = sweetRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Sweet::getId, Function.identity()));
+        if (existingSweets.size() != ids.size()) {
+            throw new ResponseStatusException("Sweet not found", HttpStatus.BAD_REQUEST);
+        }
+
+        // A name conflicts when it is held by a different sweet than the one claiming it
+        for (Sweet holder : sweetRepository.findAllByLowerNameIn(idsByLowerName.keySet())) {
+            Long claimingId = idsByLowerName.get(holder.getName().toLowerCase(Locale.ROOT));
+            if (!holder.getId().equals(claimingId)) {
+                throw new ResponseStatusException(Constants.SWEET_NAME_ALREADY_EXISTS, HttpStatus.BAD_REQUEST,
+                        holder.getName());
+            }
+        }
+
+        Map<Long, SweetCategory> categories = findCategories(sweetRequestDtos);
+
+        List<Sweet> sweets = new ArrayList<>(sweetRequestDtos.size());
+        for (SweetBatchUpdateRequestDto sweetRequestDto : sweetRequestDtos) {
+            Sweet sweet = existingSweets.get(sweetRequestDto.getId());
+            sweet.setName(namesById.get(sweetRequestDto.getId()));
+            sweet.setCategory(categories.get(sweetRequestDto.getCategoryId()));
+            sweet.setPrice(sweetRequestDto.getPrice());
+            sweets.add(sweet);
+        }
+
+        // Quantities are ledger adjustments, taken in id order so two batches cannot deadlock
+        Map<Long, Integer> totals = new HashMap<>();
+        Map<Long, Integer> quantities = new HashMap<>();
+        sweetRequestDtos.stream()
+                .sorted(Comparator.comparing(SweetBatchUpdateRequestDto::getId))
+                .forEach(sweetRequestDto -> {
+                    totals.put(sweetRequestDto.getId(), inventoryLedger.adjust(sweetRequestDto.getId(),
+                            sweetRequestDto.getStoreId(), sweetRequestDto.getQuantity()));
+                    quantities.put(sweetRequestDto.getId(), sweetRequestDto.getQuantity());
+                });
+
+        // Updates are sent as JDBC batches
+        List<SweetResponseDto> sweetResponseDtos = saveAllAndFlush(sweets).stream()
+                .map(sweet -> mapToResponseDto(sweet, totals.get(sweet.getId()), quantities.get(sweet.getId())))
+                .collect(Collectors.toList());
+        // Published in id order as well, since the outbox locks each sweet until commit
+        sweetResponseDtos.stream()
+                .sorted(Comparator.comparing(SweetResponseDto::getId))
+                .forEach(sweetResponseDto -> publishChange(SweetChangeType.UPDATED, sweetResponseDto));
+        return sweetResponseDtos;
+    }
+
+    private void publishChange(SweetChangeType changeType, SweetResponseDto sweetResponseDto) {
+        applicationEventPublisher.publishEvent(new SweetChangedEvent(changeType, sweetResponseDto));
+    }
+
+    private Sweet saveAndFlush(Sweet sweet) {
+        try {
+            return sweetRepository.saveAndFlush(sweet);
+        } catch (DataIntegrityViolationException ex) {
+            if (isNameUniqueViolation(ex)) {
+                throw new ResponseStatusException(Constants.SWEET_NAME_ALREADY_EXISTS, HttpStatus.BAD_REQUEST);
+            }
+            throw ex;
+        }
+    }
+
+    private List<Sweet> saveAllAndFlush(List<Sweet> sweets) {
+        try {
+            return sweetRepository.saveAllAndFlush(sweets);
+        } catch (DataIntegrityViolationException ex) {
+            // A concurrent writer took one of the names after the lower(name) IN (...) check
+            if (isNameUniqueViolation(ex)) {
+                throw new ResponseStatusException(Constants.SWEET_NAME_ALREADY_EXISTS, HttpStatus.BAD_REQUEST);
+            }
+            throw ex;
+        }
+    }
+
+    private boolean isNameUniqueViolation(DataIntegrityViolationException ex) {
+        return ex.getCause() instanceof ConstraintViolationException constraintViolation
+                && NAME_UNIQUE_INDEX.equalsIgnoreCase(constraintViolation.getConstraintName());
+    }
+
+    private void validateBatchSize(List<? extends SweetRequestDto> sweetRequestDtos) {
+        if (sweetRequestDtos == null || sweetRequestDtos.isEmpty()
+                || sweetRequestDtos.size() > Constants.MAX_BATCH_SIZE) {
+            throw new ResponseStatusException(Constants.BATCH_SIZE_INVALID, HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // The name is validated by the caller, which keeps the trimmed value
+    private void validateRequestFields(SweetRequestDto sweetRequestDto) {
+        validateCategoryId(sweetRequestDto.getCategoryId());
+        validatePrice(sweetRequestDto.getPrice());
+        validateQuantity(sweetRequestDto.getQuantity());
+    }
+
+    private Map<Long, SweetCategory> findCategories(List<? extends SweetRequestDto> sweetRequestDtos) {
+        Set<Long> categoryIds = sweetRequestDtos.stream()
+                .map(SweetRequestDto::getCategoryId)
+                .collect(Collectors.toSet());
+
+        Map<Long, SweetCategory> categories = sweetCategoryRepository.findAllById(categoryIds).stream()
+                .collect(Collectors.toMap(SweetCategory::getId, Function.identity()));
+        if (categories.size() != categoryIds.size()) {
+            throw new ResponseStatusException("Category not found", HttpStatus.BAD_REQUEST);
+        }
+        return categories;
+    }
+
+    @Timed(value = "mithai.service", histogram = true)
     @Transactional
     public void delete(Long id) {
+        SpanAttributes.set(SpanAttributes.SWEET_ID, id);
         if (!sweetRepository.existsById(id)) {
             throw new ResponseStatusException("Sweet not found", HttpStatus.BAD_REQUEST);
         }
         
         sweetRepository.deleteById(id);
+        applicationEventPublisher.publishEvent(new SweetDeletedEvent(id));
     }
 
+    @Timed(value = "mithai.service", histogram = true)
     public PaginatedBaseResponse<SweetResponseDto> listAll(Map<String, Object> params) {
         // Extract pagination parameters
         Integer page = params.get("page") != null ? 
@@ -122,6 +338,10 @@ public class SweetService {
         Double maxPrice = params.get("maxValue") != null ? 
                 Double.parseDouble(params.get("maxValue").toString()) : null;
 
+        // Quantities are totals over stores; a given store's stock is added as storeQuantity
+        Long storeId = params.get("storeId") != null ?
+                Long.parseLong(params.get("storeId").toString()) : null;
+
         // Validate pagination parameters
         if (page < 0) {
             page = 0;
@@ -132,6 +352,10 @@ public class SweetService {
         if (size > 100) {
             size = 100; // Max page size limit
         }
+        SpanAttributes.set(SpanAttributes.PAGE_SIZE, size);
+        if (searchValue != null) {
+            SpanAttributes.set(SpanAttributes.SEARCH_TERM_LENGTH, searchValue.length());
+        }
 
         // Validate sort field
         if (!isValidSortField(sortField)) {
@@ -153,10 +377,10 @@ public class SweetService {
         // Execute query with pagination and filtering
         Page<Sweet> sweetPage = sweetRepository.findAll(spec, pageable);
 
-        // Map to DTOs
-        List<SweetResponseDto> content = sweetPage.getContent().stream()
-                .map(this::mapToResponseDto)
-                .collect(Collectors.toList());
+        // Map to DTOs; stock comes from the ledger's in-memory projection, not the sweet rows
+        List<SweetResponseDto> content = storeId != null
+                ? mapToResponseDtos(sweetPage.getContent(), storeId)
+                : mapToResponseDtos(sweetPage.getContent());
 
         // Build paginated response
         PaginatedBaseResponse<SweetResponseDto> response = new PaginatedBaseResponse<>();
@@ -171,7 +395,7 @@ public class SweetService {
         if (sortField == null || sortField.trim().isEmpty()) {
             return false;
         }
-        // Allowed sort fields
+        // Allowed sort fields; quantity sorts by the total over stores in the last ledger snapshot
         return sortField.equals("id") || 
                sortField.equals("name") || 
                sortField.equals("price") || 
@@ -219,21 +443,44 @@ public class SweetService {
         return quantity;
     }
 
+    @Timed(value = "mithai.service", histogram = true)
     public SweetResponseDto getSweet(Long id){
+        SpanAttributes.set(SpanAttributes.SWEET_ID, id);
         Sweet sweet = sweetRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException("Sweet does not exist", HttpStatus.BAD_REQUEST));
 
         return mapToResponseDto(sweet);
     }
 
-    private SweetResponseDto mapToResponseDto(Sweet sweet) {
+    public SweetResponseDto mapToResponseDto(Sweet sweet) {
+        return mapToResponseDto(sweet, inventoryLedger.getQuantity(sweet.getId()), null);
+    }
+
+    // Stock the ledger does not hold yet is loaded for all the sweets at once
+    public List<SweetResponseDto> mapToResponseDtos(List<Sweet> sweets) {
+        inventoryLedger.loadStock(sweets.stream().map(Sweet::getId).toList());
+        return sweets.stream()
+                .map(this::mapToResponseDto)
+                .collect(Collectors.toList());
+    }
+
+    private List<SweetResponseDto> mapToResponseDtos(List<Sweet> sweets, Long storeId) {
+        inventoryLedger.loadStock(sweets.stream().map(Sweet::getId).toList());
+        return sweets.stream()
+                .map(sweet -> mapToResponseDto(sweet, inventoryLedger.getQuantity(sweet.getId()),
+                        inventoryLedger.getQuantity(sweet.getId(), storeId)))
+                .collect(Collectors.toList());
+    }
+
+    private SweetResponseDto mapToResponseDto(Sweet sweet, int quantity, Integer storeQuantity) {
         return new SweetResponseDto(
                 sweet.getId(),
                 sweet.getName(),
                 sweet.getCategory().getId(),
                 sweet.getCategory().getName(),
                 sweet.getPrice(),
-                sweet.getQuantity()
+                quantity,
+                storeQuantity
         );
     }
 }
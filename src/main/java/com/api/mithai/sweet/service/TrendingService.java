@@ -0,0 +1,110 @@
+package com.api.mithai.sweet.service;
+
+import com.api.mithai.base.constants.Constants;
+import com.api.mithai.base.exception.ResponseStatusException;
+import com.api.mithai.sweet.dto.TrendingSweetDto;
+import com.api.mithai.sweet.event.SweetChangeType;
+import com.api.mithai.sweet.event.SweetChangedEvent;
+import com.api.mithai.sweet.event.SweetDeletedEvent;
+import com.api.mithai.sweet.event.SweetPurchasedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Best sellers per sliding window, fed by committed purchases and answered from memory.
+// Sweet details come from the change events, cached only for sweets the sketches track.
+@Service
+public class TrendingService {
+
+    private static final int DEFAULT_LIMIT = 10;
+
+    private final Map<TrendingWindow, SlidingTopK> windows = new EnumMap<>(TrendingWindow.class);
+    // Latest change of each sweet, kept for its details
+    private final Map<Long, SweetChangedEvent> sweets = new ConcurrentHashMap<>();
+
+    public TrendingService(@Value("${app.trending.capacity:64}") int capacity) {
+        for (TrendingWindow window : TrendingWindow.values()) {
+            windows.put(window, new SlidingTopK(window.getLength(), window.getSlot(), capacity));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSweetPurchased(SweetPurchasedEvent event) {
+        long purchasedAt = event.getPurchasedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        for (SlidingTopK topK : windows.values()) {
+            topK.offer(event.getSweetId(), event.getQuantity(), purchasedAt);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSweetChanged(SweetChangedEvent event) {
+        Long sweetId = event.getSweet().getId();
+        if (event.getChangeType() == SweetChangeType.PURCHASED) {
+            sweets.merge(sweetId, event, TrendingService::newer);
+        } else {
+            sweets.computeIfPresent(sweetId, (id, cached) -> newer(cached, event));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSweetDeleted(SweetDeletedEvent event) {
+        for (SlidingTopK topK : windows.values()) {
+            topK.remove(event.getSweetId());
+        }
+        sweets.remove(event.getSweetId());
+    }
+
+    public List<TrendingSweetDto> getTrending(String window, Integer limit) {
+        TrendingWindow trendingWindow = window != null ? TrendingWindow.fromLabel(window) : TrendingWindow.DAY;
+        if (trendingWindow == null) {
+            throw new ResponseStatusException(Constants.TRENDING_WINDOW_INVALID, HttpStatus.BAD_REQUEST);
+        }
+        int size = limit != null ? limit : DEFAULT_LIMIT;
+        if (size < 1 || size > Constants.MAX_TRENDING_LIMIT) {
+            throw new ResponseStatusException(Constants.TRENDING_LIMIT_INVALID, HttpStatus.BAD_REQUEST);
+        }
+
+        List<TrendingSweetDto> trending = new ArrayList<>(size);
+        for (Map.Entry<Long, Long> entry : windows.get(trendingWindow).top(Integer.MAX_VALUE, System.currentTimeMillis())) {
+            SweetChangedEvent change = sweets.get(entry.getKey());
+            if (change != null) {
+                trending.add(new TrendingSweetDto(change.getSweet(), entry.getValue()));
+                if (trending.size() == size) {
+                    break;
+                }
+            }
+        }
+        return trending;
+    }
+
+    // Drops cached details of sweets that fell out of every sketch
+    @Scheduled(fixedDelayString = "${app.trending.pruneIntervalInMs:60000}")
+    public void prune() {
+        long now = System.currentTimeMillis();
+        Set<Long> tracked = new HashSet<>();
+        for (SlidingTopK topK : windows.values()) {
+            topK.top(Integer.MAX_VALUE, now).forEach(entry -> tracked.add(entry.getKey()));
+        }
+        sweets.keySet().retainAll(tracked);
+    }
+
+    // Changes of one sweet can reach listeners out of commit order
+    private static SweetChangedEvent newer(SweetChangedEvent cached, SweetChangedEvent change) {
+        return change.getSequence() >= cached.getSequence() ? change : cached;
+    }
+
+    public int getCachedSweetCount() {
+        return sweets.size();
+    }
+}
@@ -0,0 +1,37 @@
+package com.api.mithai.sweet.service;
+
+import java.time.Duration;
+
+// Windows served by /api/sweets/trending and the step each one slides by
+public enum TrendingWindow {
+    HOUR("1h", Duration.ofHours(1), Duration.ofMinutes(5)),
+    DAY("1d", Duration.ofDays(1), Duration.ofHours(1)),
+    WEEK("7d", Duration.ofDays(7), Duration.ofHours(6));
+
+    private final String label;
+    private final Duration length;
+    private final Duration slot;
+
+    TrendingWindow(String label, Duration length, Duration slot) {
+        this.label = label;
+        this.length = length;
+        this.slot = slot;
+    }
+
+    public Duration getLength() {
+        return length;
+    }
+
+    public Duration getSlot() {
+        return slot;
+    }
+
+    public static TrendingWindow fromLabel(String label) {
+        for (TrendingWindow window : values()) {
+            if (window.label.equalsIgnoreCase(label)) {
+                return window;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,10 @@
+-- Allocation size for every entity id sequence, from spring.flyway.placeholders.id_allocation_size.
+-- Hibernate adopts the database increment at startup (increment_size_mismatch_strategy=FIX).
+-- Only lower the value once every running instance has been restarted, otherwise
+-- an old instance can still be handing out ids from a larger block.
+ALTER SEQUENCE sweets_seq INCREMENT BY ${id_allocation_size};
+ALTER SEQUENCE sweet_categories_seq INCREMENT BY ${id_allocation_size};
+ALTER SEQUENCE users_seq INCREMENT BY ${id_allocation_size};
+ALTER SEQUENCE orders_seq INCREMENT BY ${id_allocation_size};
+ALTER SEQUENCE order_lines_seq INCREMENT BY ${id_allocation_size};
+ALTER SEQUENCE stores_seq INCREMENT BY ${id_allocation_size};
@@ -0,0 +1,13 @@
+-- One row per sweet: the smoothed daily demand fitted by DemandForecastJob, the last day
+-- it has seen (so the next run only reads newer purchases) and the resulting advice.
+CREATE TABLE IF NOT EXISTS restock_recommendations (
+    sweet_id             BIGINT PRIMARY KEY REFERENCES sweets (id) ON DELETE CASCADE,
+    daily_demand         FLOAT(53) NOT NULL,
+    through_day          DATE NOT NULL,
+    stock_quantity       INTEGER NOT NULL,
+    days_of_cover        FLOAT(53),
+    recommended_quantity INTEGER NOT NULL,
+    computed_at          TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS ix_restock_recommendations_days_of_cover ON restock_recommendations (days_of_cover);
@@ -0,0 +1,12 @@
+-- Results of requests sent with an Idempotency-Key, so a retry returns the first response.
+-- Keys are scoped to the user that sent them; request records what the key was first used for.
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    user_id         BIGINT       NOT NULL,
+    idempotency_key VARCHAR(100) NOT NULL,
+    request         VARCHAR(255) NOT NULL,
+    response        TEXT         NOT NULL,
+    created_at      TIMESTAMP    NOT NULL,
+    PRIMARY KEY (user_id, idempotency_key)
+);
+
+CREATE INDEX IF NOT EXISTS ix_idempotency_keys_created_at ON idempotency_keys (created_at);
@@ -0,0 +1,15 @@
+-- Stock and catalog changes waiting to be relayed to downstream systems. Rows are written in
+-- the same transaction as the change and deleted once a sink has accepted them.
+CREATE SEQUENCE IF NOT EXISTS inventory_outbox_seq START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE IF NOT EXISTS inventory_outbox (
+    id         BIGINT PRIMARY KEY DEFAULT nextval('inventory_outbox_seq'),
+    sweet_id   BIGINT      NOT NULL,
+    event_type VARCHAR(20) NOT NULL,
+    -- The sweet after the change; null for a deletion
+    payload    JSONB,
+    created_at TIMESTAMP   NOT NULL
+);
+
+-- Lets the relay see whether an older event of the same sweet is still pending
+CREATE INDEX IF NOT EXISTS ix_inventory_outbox_sweet_id ON inventory_outbox (sweet_id, id);
@@ -0,0 +1,25 @@
+-- Append-only stock ledger. Every purchase, restock and adjustment of a sweet is one row
+-- numbered 1, 2, 3... per sweet; the unique key rejects a second writer of the same version.
+-- Rows are kept after the sweet is deleted so its history can still be audited.
+CREATE SEQUENCE IF NOT EXISTS inventory_events_seq START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE IF NOT EXISTS inventory_events (
+    id         BIGINT PRIMARY KEY DEFAULT nextval('inventory_events_seq'),
+    sweet_id   BIGINT      NOT NULL,
+    version    BIGINT      NOT NULL,
+    event_type VARCHAR(20) NOT NULL,
+    delta      INTEGER     NOT NULL,
+    created_at TIMESTAMP   NOT NULL,
+    CONSTRAINT ux_inventory_events_sweet_version UNIQUE (sweet_id, version)
+);
+
+-- sweets.quantity becomes a snapshot: the stock after every event up to ledger_version
+ALTER TABLE sweets ADD COLUMN IF NOT EXISTS ledger_version BIGINT NOT NULL DEFAULT 0;
+
+-- Existing stock is the opening adjustment of each sweet's ledger
+INSERT INTO inventory_events (sweet_id, version, event_type, delta, created_at)
+SELECT id, 1, 'ADJUSTMENT', quantity, now()
+FROM sweets
+WHERE ledger_version = 0;
+
+UPDATE sweets SET ledger_version = 1 WHERE ledger_version = 0;
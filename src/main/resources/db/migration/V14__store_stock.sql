@@ -0,0 +1,38 @@
+-- Outlets with their own stock. Store 1 is the default store: existing stock moves there and
+-- requests that name no store act on it.
+CREATE SEQUENCE IF NOT EXISTS stores_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS stores (
+    id   BIGINT PRIMARY KEY DEFAULT nextval('stores_seq'),
+    name VARCHAR(255) NOT NULL,
+    CONSTRAINT ux_stores_name UNIQUE (name)
+);
+
+INSERT INTO stores (id, name) VALUES (1, 'Main store') ON CONFLICT DO NOTHING;
+SELECT setval('stores_seq', (SELECT MAX(id) FROM stores) + 1, false);
+ALTER SEQUENCE stores_seq OWNED BY stores.id;
+
+-- Stock snapshot per sweet and store: the quantity after every event of that pair up to
+-- ledger_version. A pair without a row has had no stock snapshotted yet.
+CREATE TABLE IF NOT EXISTS sweet_stock (
+    sweet_id       BIGINT  NOT NULL REFERENCES sweets (id) ON DELETE CASCADE,
+    store_id       BIGINT  NOT NULL REFERENCES stores (id),
+    quantity       INTEGER NOT NULL,
+    ledger_version BIGINT  NOT NULL,
+    PRIMARY KEY (sweet_id, store_id)
+);
+
+-- Events are numbered per sweet and store, so stores never compete for a version
+ALTER TABLE inventory_events ADD COLUMN IF NOT EXISTS store_id BIGINT NOT NULL DEFAULT 1;
+ALTER TABLE inventory_events ALTER COLUMN store_id DROP DEFAULT;
+ALTER TABLE inventory_events DROP CONSTRAINT IF EXISTS ux_inventory_events_sweet_version;
+ALTER TABLE inventory_events
+    ADD CONSTRAINT ux_inventory_events_sweet_store_version UNIQUE (sweet_id, store_id, version);
+
+INSERT INTO sweet_stock (sweet_id, store_id, quantity, ledger_version)
+SELECT id, 1, quantity, ledger_version
+FROM sweets
+ON CONFLICT DO NOTHING;
+
+-- sweets.quantity stays as the total over all stores, refreshed from sweet_stock
+ALTER TABLE sweets DROP COLUMN IF EXISTS ledger_version;
@@ -0,0 +1,15 @@
+-- Stock held for carts, shared by every instance. A hold counts against its store's stock until
+-- expires_at; the instance that took it deletes it then, and rows left behind by a stopped
+-- instance stop counting at expires_at and are purged nightly.
+CREATE TABLE IF NOT EXISTS stock_reservations (
+    id         VARCHAR(36) PRIMARY KEY,
+    sweet_id   BIGINT      NOT NULL REFERENCES sweets (id) ON DELETE CASCADE,
+    store_id   BIGINT      NOT NULL REFERENCES stores (id),
+    user_id    BIGINT      NOT NULL,
+    quantity   INTEGER     NOT NULL,
+    expires_at TIMESTAMP   NOT NULL
+);
+
+-- Active holds of a sweet and store are summed on every purchase, from the index alone
+CREATE INDEX IF NOT EXISTS ix_stock_reservations_stock
+    ON stock_reservations (sweet_id, store_id, expires_at) INCLUDE (quantity);
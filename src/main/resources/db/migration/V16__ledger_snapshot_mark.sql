@@ -0,0 +1,10 @@
+-- High-water mark of the stock snapshot: the events up to last_event_id are folded into
+-- sweet_stock, so a snapshot only reads the sweet and store pairs with events after it.
+-- The single row is also locked by each snapshot, so instances take turns.
+CREATE TABLE IF NOT EXISTS ledger_snapshot_state (
+    id            SMALLINT PRIMARY KEY CHECK (id = 1),
+    last_event_id BIGINT NOT NULL
+);
+
+-- The first snapshot after this reads the whole ledger once
+INSERT INTO ledger_snapshot_state (id, last_event_id) VALUES (1, 0) ON CONFLICT DO NOTHING;
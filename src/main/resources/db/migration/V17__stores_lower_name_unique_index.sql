@@ -0,0 +1,4 @@
+-- Store names are unique regardless of case, enforced here instead of by an existence query
+-- before the insert. StoreService.NAME_UNIQUE_INDEX must match the index name.
+ALTER TABLE stores DROP CONSTRAINT IF EXISTS ux_stores_name;
+CREATE UNIQUE INDEX IF NOT EXISTS ux_stores_lower_name ON stores (lower(name));
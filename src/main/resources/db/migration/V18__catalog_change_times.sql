@@ -0,0 +1,25 @@
+-- When each catalog version was taken. A version is taken inside its transaction, so one can
+-- commit after a higher one is already visible; delta sync only hands out versions up to the
+-- highest one taken longer ago than a transaction may stay open, so none is skipped.
+-- Existing rows count as settled; the constant default fills them without firing the version trigger.
+ALTER TABLE sweet_categories ADD COLUMN IF NOT EXISTS changed_at TIMESTAMP NOT NULL DEFAULT TIMESTAMP '1970-01-01';
+ALTER TABLE sweets ADD COLUMN IF NOT EXISTS changed_at TIMESTAMP NOT NULL DEFAULT TIMESTAMP '1970-01-01';
+
+-- clock_timestamp, not now(): versions are compared with the time they were taken, not the transaction start
+CREATE OR REPLACE FUNCTION set_catalog_change_version() RETURNS trigger AS $$
+BEGIN
+    NEW.change_version := nextval('catalog_change_seq');
+    NEW.changed_at := clock_timestamp();
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION record_sweet_tombstone() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO sweet_tombstones (sweet_id, change_version, deleted_at)
+    VALUES (OLD.id, nextval('catalog_change_seq'), clock_timestamp())
+    ON CONFLICT (sweet_id) DO UPDATE
+        SET change_version = EXCLUDED.change_version, deleted_at = EXCLUDED.deleted_at;
+    RETURN OLD;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,22 @@
+-- Schema as previously created by hibernate ddl-auto. Existing databases are
+-- baselined at this version (spring.flyway.baseline-on-migrate) and skip it.
+CREATE TABLE IF NOT EXISTS sweet_categories (
+    id   BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255) NOT NULL UNIQUE
+);
+
+CREATE TABLE IF NOT EXISTS users (
+    id        BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username  VARCHAR(255) NOT NULL,
+    email_id  VARCHAR(255) NOT NULL UNIQUE,
+    password  VARCHAR(255) NOT NULL,
+    role_name VARCHAR(255) NOT NULL CHECK (role_name IN ('USER', 'ADMIN'))
+);
+
+CREATE TABLE IF NOT EXISTS sweets (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        VARCHAR(255) NOT NULL,
+    category_id BIGINT NOT NULL REFERENCES sweet_categories (id),
+    price       FLOAT(53) NOT NULL,
+    quantity    INTEGER NOT NULL
+);
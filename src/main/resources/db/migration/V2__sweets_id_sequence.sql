@@ -0,0 +1,9 @@
+-- Sweets move from IDENTITY to a pooled sequence so Hibernate can batch inserts.
+-- The sequence starts past the current max id so existing rows keep their ids.
+CREATE SEQUENCE IF NOT EXISTS sweets_seq INCREMENT BY 50;
+
+SELECT setval('sweets_seq', COALESCE((SELECT MAX(id) FROM sweets), 0) + 50, false);
+
+ALTER TABLE sweets ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE sweets ALTER COLUMN id SET DEFAULT nextval('sweets_seq');
+ALTER SEQUENCE sweets_seq OWNED BY sweets.id;
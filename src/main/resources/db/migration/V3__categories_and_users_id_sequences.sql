@@ -0,0 +1,14 @@
+-- Categories and users move from IDENTITY to pooled sequences as well.
+-- Ids are handed out with the pooled-lo optimizer, so each sequence value is
+-- the first id of a block and the sequences start right after the current max.
+CREATE SEQUENCE IF NOT EXISTS sweet_categories_seq INCREMENT BY 50;
+SELECT setval('sweet_categories_seq', COALESCE((SELECT MAX(id) FROM sweet_categories), 0) + 1, false);
+ALTER TABLE sweet_categories ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE sweet_categories ALTER COLUMN id SET DEFAULT nextval('sweet_categories_seq');
+ALTER SEQUENCE sweet_categories_seq OWNED BY sweet_categories.id;
+
+CREATE SEQUENCE IF NOT EXISTS users_seq INCREMENT BY 50;
+SELECT setval('users_seq', COALESCE((SELECT MAX(id) FROM users), 0) + 1, false);
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE users ALTER COLUMN id SET DEFAULT nextval('users_seq');
+ALTER SEQUENCE users_seq OWNED BY users.id;
@@ -0,0 +1,4 @@
+-- Case-insensitive uniqueness of sweet names is enforced here instead of by an
+-- existence query before every insert/update. SweetService.NAME_UNIQUE_INDEX
+-- must match the index name.
+CREATE UNIQUE INDEX IF NOT EXISTS ux_sweets_lower_name ON sweets (lower(name));
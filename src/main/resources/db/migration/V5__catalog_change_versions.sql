@@ -0,0 +1,55 @@
+-- Delta sync for POS terminals. Every insert/update of a sweet or category takes
+-- the next value of one global sequence, and deleted sweets leave a tombstone
+-- carrying a version from the same sequence, so "changes since N" is a range scan
+-- on the change_version indexes.
+CREATE SEQUENCE IF NOT EXISTS catalog_change_seq;
+
+ALTER TABLE sweet_categories ADD COLUMN IF NOT EXISTS change_version BIGINT;
+UPDATE sweet_categories SET change_version = nextval('catalog_change_seq') WHERE change_version IS NULL;
+ALTER TABLE sweet_categories ALTER COLUMN change_version SET NOT NULL;
+
+ALTER TABLE sweets ADD COLUMN IF NOT EXISTS change_version BIGINT;
+UPDATE sweets SET change_version = nextval('catalog_change_seq') WHERE change_version IS NULL;
+ALTER TABLE sweets ALTER COLUMN change_version SET NOT NULL;
+
+CREATE TABLE IF NOT EXISTS sweet_tombstones (
+    sweet_id BIGINT PRIMARY KEY,
+    change_version BIGINT NOT NULL,
+    deleted_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS ix_sweet_categories_change_version ON sweet_categories (change_version);
+CREATE INDEX IF NOT EXISTS ix_sweets_change_version ON sweets (change_version);
+CREATE INDEX IF NOT EXISTS ix_sweet_tombstones_change_version ON sweet_tombstones (change_version);
+
+CREATE OR REPLACE FUNCTION set_catalog_change_version() RETURNS trigger AS $$
+BEGIN
+    NEW.change_version := nextval('catalog_change_seq');
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION record_sweet_tombstone() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO sweet_tombstones (sweet_id, change_version, deleted_at)
+    VALUES (OLD.id, nextval('catalog_change_seq'), now())
+    ON CONFLICT (sweet_id) DO UPDATE
+        SET change_version = EXCLUDED.change_version, deleted_at = EXCLUDED.deleted_at;
+    RETURN OLD;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_sweet_categories_change_version ON sweet_categories;
+CREATE TRIGGER trg_sweet_categories_change_version
+    BEFORE INSERT OR UPDATE ON sweet_categories
+    FOR EACH ROW EXECUTE FUNCTION set_catalog_change_version();
+
+DROP TRIGGER IF EXISTS trg_sweets_change_version ON sweets;
+CREATE TRIGGER trg_sweets_change_version
+    BEFORE INSERT OR UPDATE ON sweets
+    FOR EACH ROW EXECUTE FUNCTION set_catalog_change_version();
+
+DROP TRIGGER IF EXISTS trg_sweets_tombstone ON sweets;
+CREATE TRIGGER trg_sweets_tombstone
+    AFTER DELETE ON sweets
+    FOR EACH ROW EXECUTE FUNCTION record_sweet_tombstone();
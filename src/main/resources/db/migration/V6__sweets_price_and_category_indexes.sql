@@ -0,0 +1,8 @@
+-- Indexes for the sweet listing: the price range filter and the category join.
+-- Built CONCURRENTLY so writes to sweets are not blocked while they build. Flyway
+-- detects the concurrent builds and runs this script outside a transaction, which
+-- is why spring.flyway.postgresql.transactional-lock is off.
+-- A build that fails leaves an INVALID index behind; drop it before retrying, as
+-- IF NOT EXISTS would otherwise skip it.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_sweets_price ON sweets (price);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_sweets_category_id ON sweets (category_id);
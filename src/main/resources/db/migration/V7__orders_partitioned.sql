@@ -0,0 +1,50 @@
+-- Purchase history, range-partitioned by month on the order time. The primary keys
+-- include the partition key as Postgres requires; ids still come from pooled sequences.
+-- order_lines has no foreign key to orders so that old partitions of either table can be
+-- detached on their own (OrderPartitionMaintenance).
+CREATE SEQUENCE IF NOT EXISTS orders_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS order_lines_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS orders (
+    id           BIGINT NOT NULL DEFAULT nextval('orders_seq'),
+    user_id      BIGINT NOT NULL,
+    created_at   TIMESTAMP NOT NULL,
+    total_amount FLOAT(53) NOT NULL,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE IF NOT EXISTS order_lines (
+    id               BIGINT NOT NULL DEFAULT nextval('order_lines_seq'),
+    order_id         BIGINT NOT NULL,
+    order_created_at TIMESTAMP NOT NULL,
+    sweet_id         BIGINT NOT NULL,
+    sweet_name       VARCHAR(255) NOT NULL,
+    unit_price       FLOAT(53) NOT NULL,
+    quantity         INTEGER NOT NULL,
+    PRIMARY KEY (id, order_created_at)
+) PARTITION BY RANGE (order_created_at);
+
+-- Keyset pagination of one user's history, newest first
+CREATE INDEX IF NOT EXISTS ix_orders_user_created_id ON orders (user_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS ix_order_lines_order_id ON order_lines (order_id);
+
+-- Creates the monthly partitions of both tables from the current month through
+-- months_ahead months later. Safe to call from several instances at once.
+CREATE OR REPLACE FUNCTION create_order_partitions(months_ahead INTEGER) RETURNS void AS $$
+DECLARE
+    month_start DATE;
+    suffix TEXT;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('create_order_partitions'));
+    FOR i IN 0..months_ahead LOOP
+        month_start := (date_trunc('month', now()) + make_interval(months => i))::date;
+        suffix := to_char(month_start, 'YYYYMM');
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF orders FOR VALUES FROM (%L) TO (%L)',
+                       'orders_p' || suffix, month_start, (month_start + INTERVAL '1 month')::date);
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF order_lines FOR VALUES FROM (%L) TO (%L)',
+                       'order_lines_p' || suffix, month_start, (month_start + INTERVAL '1 month')::date);
+    END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT create_order_partitions(3);
@@ -0,0 +1,19 @@
+-- Sales counters pre-aggregated by SalesAggregator. One row per sweet per bucket, so a
+-- report reads a number of rows bounded by the catalog size, not by the number of purchases.
+CREATE TABLE IF NOT EXISTS sales_rollup_minute (
+    bucket_start TIMESTAMP NOT NULL,
+    sweet_id     BIGINT NOT NULL,
+    category_id  BIGINT NOT NULL,
+    units        BIGINT NOT NULL,
+    revenue      FLOAT(53) NOT NULL,
+    PRIMARY KEY (bucket_start, sweet_id)
+);
+
+CREATE TABLE IF NOT EXISTS sales_rollup_day (
+    bucket_date DATE NOT NULL,
+    sweet_id    BIGINT NOT NULL,
+    category_id BIGINT NOT NULL,
+    units       BIGINT NOT NULL,
+    revenue     FLOAT(53) NOT NULL,
+    PRIMARY KEY (bucket_date, sweet_id)
+);
@@ -0,0 +1,5 @@
+-- Per-sweet reorder threshold; sweets without a row use app.lowStock.defaultThreshold
+CREATE TABLE IF NOT EXISTS sweet_reorder_thresholds (
+    sweet_id  BIGINT PRIMARY KEY REFERENCES sweets (id) ON DELETE CASCADE,
+    threshold INTEGER NOT NULL CHECK (threshold >= 0)
+);
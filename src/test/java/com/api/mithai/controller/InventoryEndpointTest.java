@@ -4,13 +4,17 @@ import com.api.mithai.base.constants.Constants;
 import com.api.mithai.base.constants.Urls;
 import com.api.mithai.base.exception.GlobalExceptionHandler;
 import com.api.mithai.base.exception.ResponseStatusException;
+import com.api.mithai.base.idempotency.IdempotencyService;
 import com.api.mithai.base.response.BaseResponse;
 import com.api.mithai.base.response.ResponseHandler;
 import com.api.mithai.sweet.controller.InventoryController;
 import com.api.mithai.sweet.dto.PurchaseDto;
+import com.api.mithai.sweet.dto.ReservationDto;
+import com.api.mithai.sweet.dto.ReserveDto;
 import com.api.mithai.sweet.dto.RestockDto;
 import com.api.mithai.sweet.dto.SweetResponseDto;
 import com.api.mithai.sweet.service.InventoryService;
+import com.api.mithai.sweet.service.ReservationService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -26,6 +30,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.time.LocalDateTime;
+
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -39,6 +45,12 @@ public class InventoryEndpointTest {
     @Mock
     private InventoryService inventoryService;
 
+    @Mock
+    private ReservationService reservationService;
+
+    @Mock
+    private IdempotencyService idempotencyService;
+
     @Mock
     private ResponseHandler responseHandler;
 
@@ -331,5 +343,92 @@ public class InventoryEndpointTest {
             verify(inventoryService, never()).restock(anyLong(), any(RestockDto.class));
         }
     }
-}
 
+    @Nested
+    @DisplayName("Idempotency-Key Tests")
+    class IdempotencyKeyTests {
+
+        @Test
+        @DisplayName("Should run the purchase through the idempotency service when a key is sent")
+        void shouldPurchaseOnceWithKey() throws Exception {
+            // Given
+            PurchaseDto purchaseDto = new PurchaseDto();
+            purchaseDto.setPurchaseQuantity(10);
+            SweetResponseDto purchasedResponse = new SweetResponseDto(1L, "Gulab Jamun", 1L, "Milk Sweets", 150.0, 40);
+            when(idempotencyService.execute(eq("retry-1"), eq("purchase:1:10:null:null"), eq(SweetResponseDto.class), any()))
+                    .thenReturn(purchasedResponse);
+            when(responseHandler.okResponse(eq(purchasedResponse), eq(HttpStatus.OK), eq(Constants.SWEET_PURCHASED_SUCCESSFULLY)))
+                    .thenReturn(new ResponseEntity<>(new BaseResponse(purchasedResponse, true, Constants.SWEET_PURCHASED_SUCCESSFULLY), HttpStatus.OK));
+
+            // When & Then
+            mockMvc.perform(post(Urls.BASE_URL + Urls.SWEETS_URL + "/1" + Urls.PURCHASE_URL)
+                            .header(Constants.IDEMPOTENCY_KEY_HEADER, "retry-1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(purchaseDto)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.quantity").value(40));
+
+            verify(inventoryService, never()).purchase(anyLong(), any(PurchaseDto.class));
+        }
+
+        @Test
+        @DisplayName("Should purchase directly when no key is sent")
+        void shouldPurchaseDirectlyWithoutKey() throws Exception {
+            // Given
+            PurchaseDto purchaseDto = new PurchaseDto();
+            purchaseDto.setPurchaseQuantity(10);
+
+            // When
+            mockMvc.perform(post(Urls.BASE_URL + Urls.SWEETS_URL + "/1" + Urls.PURCHASE_URL)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(purchaseDto)));
+
+            // Then
+            verify(inventoryService, times(1)).purchase(eq(1L), any(PurchaseDto.class));
+            verifyNoInteractions(idempotencyService);
+        }
+    }
+
+    @Nested
+    @DisplayName("POST /api/sweets/:id/reserve - Reserve Sweet Tests")
+    class ReserveSweetEndpointTests {
+
+        @Test
+        @DisplayName("Should reserve sweet and return 201 CREATED")
+        void shouldReserveSweetAndReturn201Created() throws Exception {
+            // Given
+            ReserveDto reserveDto = new ReserveDto();
+            reserveDto.setQuantity(3);
+            ReservationDto reservationDto = new ReservationDto("hold-1", 1L, 1L, 3, LocalDateTime.now().plusMinutes(15), 37);
+            BaseResponse expectedResponse = new BaseResponse(reservationDto, true, Constants.SWEET_RESERVED_SUCCESSFULLY);
+            when(reservationService.reserve(eq(1L), any(ReserveDto.class))).thenReturn(reservationDto);
+            when(responseHandler.okResponse(eq(reservationDto), eq(HttpStatus.CREATED), eq(Constants.SWEET_RESERVED_SUCCESSFULLY)))
+                    .thenReturn(new ResponseEntity<>(expectedResponse, HttpStatus.CREATED));
+
+            // When & Then
+            mockMvc.perform(post(Urls.BASE_URL + Urls.SWEETS_URL + "/1" + Urls.RESERVE_URL)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(reserveDto)))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.message").value(Constants.SWEET_RESERVED_SUCCESSFULLY));
+
+            verify(reservationService, times(1)).reserve(eq(1L), any(ReserveDto.class));
+        }
+
+        @Test
+        @DisplayName("Should return 400 BAD REQUEST when reservation quantity is not positive")
+        void shouldReturn400BadRequestWhenQuantityIsNotPositive() throws Exception {
+            // Given
+            ReserveDto reserveDto = new ReserveDto();
+            reserveDto.setQuantity(0);
+
+            // When & Then
+            mockMvc.perform(post(Urls.BASE_URL + Urls.SWEETS_URL + "/1" + Urls.RESERVE_URL)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(reserveDto)))
+                    .andExpect(status().isBadRequest());
+
+            verify(reservationService, never()).reserve(anyLong(), any(ReserveDto.class));
+        }
+    }
+}
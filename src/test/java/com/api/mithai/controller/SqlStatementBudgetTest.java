@@ -0,0 +1,307 @@
+package com.api.mithai.controller;
+
+import com.api.mithai.auth.dto.LoginRequestDto;
+import com.api.mithai.auth.dto.RegisterAuthRequestDto;
+import com.api.mithai.base.constants.Constants;
+import com.api.mithai.base.constants.Urls;
+import com.api.mithai.sweet.dto.PurchaseDto;
+import com.api.mithai.sweet.dto.ReserveDto;
+import com.api.mithai.sweet.dto.RestockDto;
+import com.api.mithai.sweet.dto.SweetRequestDto;
+import com.api.mithai.support.SqlStatementBudget;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Statement budgets of the sweet and inventory endpoints against the real persistence layer on an
+// embedded PostgreSQL. Every statement on a connection counts, Hibernate and JdbcTemplate alike,
+// including the JWT user lookup. A budget going up is a change to review, not a number to bump.
+@SpringBootTest(properties = {
+        "app.sqlGuard.enabled=true",
+        "app.frontend.allowed.origin=http://localhost",
+        "app.jfr.enabled=false",
+        "app.tracing.exporter=memory",
+        "app.lowStock.sinks=log",
+        "app.catalog.changeCommitLagInMs=0"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("SQL Statement Budget Tests")
+public class SqlStatementBudgetTest {
+
+    private static final EmbeddedPostgres POSTGRES = startPostgres();
+    private static final String ADMIN_EMAIL = "budget-admin@example.com";
+    private static final String ADMIN_PASSWORD = "Budget@123";
+    private static final List<String> CATEGORIES = List.of("Budget Milk Sweets", "Budget Dry Sweets", "Budget Bengali Sweets");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<Long> sweetIds = new ArrayList<>();
+    private final List<Long> categoryIds = new ArrayList<>();
+    private String accessToken;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        POSTGRES.close();
+    }
+
+    // One admin and a page of sweets spread over several categories, so a per-row lookup repeats
+    @BeforeAll
+    void seed() throws Exception {
+        RegisterAuthRequestDto registerAuthRequestDto = new RegisterAuthRequestDto();
+        registerAuthRequestDto.setEmailId(ADMIN_EMAIL);
+        registerAuthRequestDto.setPassword(ADMIN_PASSWORD);
+        mockMvc.perform(post(Urls.BASE_URL + Urls.AUTH_URL + Urls.REGISTER_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(registerAuthRequestDto)))
+                .andExpect(status().isCreated());
+        // Registration only creates USER accounts
+        jdbcTemplate.update("UPDATE users SET role_name = 'ADMIN' WHERE email_id = ?", ADMIN_EMAIL);
+
+        LoginRequestDto loginRequestDto = new LoginRequestDto();
+        loginRequestDto.setEmail(ADMIN_EMAIL);
+        loginRequestDto.setPassword(ADMIN_PASSWORD);
+        accessToken = read(mockMvc.perform(post(Urls.BASE_URL + Urls.AUTH_URL + Urls.LOGIN_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequestDto)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString()).path("data").path("accessToken").asText();
+
+        for (String category : CATEGORIES) {
+            jdbcTemplate.update("INSERT INTO sweet_categories (name) VALUES (?) ON CONFLICT (name) DO NOTHING", category);
+            categoryIds.add(jdbcTemplate.queryForObject("SELECT id FROM sweet_categories WHERE name = ?", Long.class, category));
+        }
+
+        List<SweetRequestDto> sweets = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            sweets.add(sweet("Budget Sweet " + i, categoryIds.get(i % categoryIds.size()), 1_000));
+        }
+        JsonNode created = read(mockMvc.perform(authorized(post(Urls.BASE_URL + Urls.SWEETS_URL + Urls.BATCH_URL))
+                        .content(objectMapper.writeValueAsString(sweets)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString()).path("data");
+        created.forEach(sweet -> sweetIds.add(sweet.path("id").asLong()));
+    }
+
+    @Test
+    @DisplayName("Should list and search sweets without a statement per row")
+    void shouldListAndSearchWithoutPerRowStatements() throws Exception {
+        // user lookup, page, count and the page's categories in one batch
+        mockMvc.perform(authorized(get(Urls.BASE_URL + Urls.SWEETS_URL)))
+                .andExpect(status().isOk())
+                .andExpect(SqlStatementBudget.atMost(4))
+                .andExpect(SqlStatementBudget.noRepeatedStatements());
+        mockMvc.perform(authorized(get(Urls.BASE_URL + Urls.SWEETS_URL + Urls.SEARCH_URL)).param("searchValue", "budget"))
+                .andExpect(status().isOk())
+                .andExpect(SqlStatementBudget.atMost(4))
+                .andExpect(SqlStatementBudget.noRepeatedStatements());
+    }
+
+    @Test
+    @DisplayName("Should load the stock of a page the ledger does not hold in one statement")
+    void shouldListColdStockInOneStatement() throws Exception {
+        // Written around the application, so the ledger has none of their stock in memory
+        for (int i = 0; i < 6; i++) {
+            jdbcTemplate.update("INSERT INTO sweets (name, category_id, price, quantity) VALUES (?, ?, 120, 0)",
+                    "Cold Budget Sweet " + i, categoryIds.get(i % categoryIds.size()));
+        }
+
+        // user lookup, page, count, the page's categories and the page's stock
+        mockMvc.perform(authorized(get(Urls.BASE_URL + Urls.SWEETS_URL)).param("searchValue", "cold budget"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.list.length()").value(6))
+                .andExpect(SqlStatementBudget.atMost(5))
+                .andExpect(SqlStatementBudget.noRepeatedStatements());
+    }
+
+    @Test
+    @DisplayName("Should read catalog changes with one statement per source")
+    void shouldReadChangesWithinBudget() throws Exception {
+        // user lookup, the settled version, then sweets, categories and tombstones
+        mockMvc.perform(authorized(get(Urls.BASE_URL + Urls.SWEETS_URL + Urls.CHANGES_URL)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.sweets").isNotEmpty())
+                .andExpect(SqlStatementBudget.atMost(5))
+                .andExpect(SqlStatementBudget.noRepeatedStatements());
+    }
+
+    @Test
+    @DisplayName("Should create, update and delete a sweet within budget")
+    void shouldWriteSweetsWithinBudget() throws Exception {
+        // user lookup, category, id block, insert, its trigger-assigned version, opening stock event,
+        // then the sweet's outbox lock, its total and the outbox row
+        JsonNode created = read(mockMvc.perform(authorized(post(Urls.BASE_URL + Urls.SWEETS_URL))
+                        .content(objectMapper.writeValueAsString(sweet("Budget Created Sweet", categoryIds.get(0), 50))))
+                .andExpect(status().isCreated())
+                .andExpect(SqlStatementBudget.atMost(10))
+                .andReturn().getResponse().getContentAsString());
+        long id = created.path("data").path("id").asLong();
+
+        // user lookup, sweet, category, stock event, outbox lock, total, outbox, update, its version
+        SweetRequestDto update = sweet("Budget Updated Sweet", categoryIds.get(1), 40);
+        update.setStoreId(1L);
+        mockMvc.perform(authorized(put(Urls.BASE_URL + Urls.SWEETS_URL + "/" + id))
+                        .content(objectMapper.writeValueAsString(update)))
+                .andExpect(status().isOk())
+                .andExpect(SqlStatementBudget.atMost(10));
+
+        // user lookup, existence check, load and delete, outbox lock, outbox
+        mockMvc.perform(authorized(delete(Urls.BASE_URL + Urls.SWEETS_URL + "/" + id)))
+                .andExpect(status().isOk())
+                .andExpect(SqlStatementBudget.atMost(7));
+    }
+
+    @Test
+    @DisplayName("Should let one of several admins racing on a name create it, through the lower(name) index")
+    void shouldCreateOnceWhenAdminsRaceOnTheSameName() throws Exception {
+        int admins = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(admins);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<MvcResult>> results = new ArrayList<>();
+        for (int i = 0; i < admins; i++) {
+            String body = objectMapper.writeValueAsString(
+                    sweet(i % 2 == 0 ? "Raced Budget Sweet" : "RACED BUDGET SWEET", categoryIds.get(0), 10));
+            results.add(executor.submit(() -> {
+                start.await();
+                return mockMvc.perform(authorized(post(Urls.BASE_URL + Urls.SWEETS_URL)).content(body)).andReturn();
+            }));
+        }
+
+        start.countDown();
+        int created = 0;
+        for (Future<MvcResult> future : results) {
+            MvcResult result = future.get(30, TimeUnit.SECONDS);
+            if (result.getResponse().getStatus() == HttpStatus.CREATED.value()) {
+                created++;
+            } else {
+                assertEquals(HttpStatus.BAD_REQUEST.value(), result.getResponse().getStatus());
+                assertEquals(Constants.SWEET_NAME_ALREADY_EXISTS, read(result.getResponse().getContentAsString()).path("message").asText());
+            }
+            // The same statements as a single create; a loser stops at its insert, no existence query runs first
+            SqlStatementBudget.atMost(10).match(result);
+        }
+        executor.shutdown();
+
+        assertEquals(1, created);
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sweets WHERE lower(name) = 'raced budget sweet'",
+                Integer.class));
+    }
+
+    @Test
+    @DisplayName("Should purchase and restock within budget")
+    void shouldPurchaseAndRestockWithinBudget() throws Exception {
+        PurchaseDto purchaseDto = new PurchaseDto();
+        purchaseDto.setPurchaseQuantity(2);
+        RestockDto restockDto = new RestockDto();
+        restockDto.setQuantity(5);
+        long id = sweetIds.get(0);
+
+        // user lookup, sweet, stock lock, held stock, stock event, order and order line with their id blocks,
+        // category, outbox lock, total, outbox
+        mockMvc.perform(authorized(post(Urls.BASE_URL + Urls.SWEETS_URL + "/" + id + Urls.PURCHASE_URL))
+                        .content(objectMapper.writeValueAsString(purchaseDto)))
+                .andExpect(status().isOk())
+                .andExpect(SqlStatementBudget.atMost(14));
+
+        // user lookup, sweet, stock event, category, outbox lock, total, outbox
+        mockMvc.perform(authorized(post(Urls.BASE_URL + Urls.SWEETS_URL + "/" + id + Urls.RESTOCK_URL))
+                        .content(objectMapper.writeValueAsString(restockDto)))
+                .andExpect(status().isOk())
+                .andExpect(SqlStatementBudget.atMost(8));
+
+        // The idempotency record adds its lookup and insert on top
+        mockMvc.perform(authorized(post(Urls.BASE_URL + Urls.SWEETS_URL + "/" + id + Urls.RESTOCK_URL))
+                        .header(Constants.IDEMPOTENCY_KEY_HEADER, "budget-restock-1")
+                        .content(objectMapper.writeValueAsString(restockDto)))
+                .andExpect(status().isOk())
+                .andExpect(SqlStatementBudget.atMost(10));
+    }
+
+    @Test
+    @DisplayName("Should reserve within budget and reject an unknown sweet")
+    void shouldReserveWithinBudget() throws Exception {
+        ReserveDto reserveDto = new ReserveDto();
+        reserveDto.setQuantity(1);
+
+        // user lookup, stock lock, committed stock, held stock, insert
+        mockMvc.perform(authorized(post(Urls.BASE_URL + Urls.SWEETS_URL + "/" + sweetIds.get(1) + Urls.RESERVE_URL))
+                        .content(objectMapper.writeValueAsString(reserveDto)))
+                .andExpect(status().isCreated())
+                .andExpect(SqlStatementBudget.atMost(5))
+                .andExpect(SqlStatementBudget.noRepeatedStatements());
+
+        mockMvc.perform(authorized(post(Urls.BASE_URL + Urls.SWEETS_URL + "/" + Long.MAX_VALUE + Urls.RESERVE_URL))
+                        .content(objectMapper.writeValueAsString(reserveDto)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Sweet not found"));
+    }
+
+    private MockHttpServletRequestBuilder authorized(MockHttpServletRequestBuilder request) {
+        return request.header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .contentType(MediaType.APPLICATION_JSON);
+    }
+
+    private static SweetRequestDto sweet(String name, Long categoryId, int quantity) {
+        SweetRequestDto sweetRequestDto = new SweetRequestDto();
+        sweetRequestDto.setName(name);
+        sweetRequestDto.setCategoryId(categoryId);
+        sweetRequestDto.setPrice(120.0);
+        sweetRequestDto.setQuantity(quantity);
+        return sweetRequestDto;
+    }
+
+    private JsonNode read(String body) throws IOException {
+        return objectMapper.readTree(body);
+    }
+
+    private static EmbeddedPostgres startPostgres() {
+        try {
+            return EmbeddedPostgres.builder().start();
+        } catch (IOException ex) {
+            throw new IllegalStateException("Embedded PostgreSQL could not be started", ex);
+        }
+    }
+}
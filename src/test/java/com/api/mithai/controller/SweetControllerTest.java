@@ -7,10 +7,17 @@ import com.api.mithai.base.exception.ResponseStatusException;
 import com.api.mithai.base.response.BaseResponse;
 import com.api.mithai.base.response.PaginatedBaseResponse;
 import com.api.mithai.base.response.ResponseHandler;
+import com.api.mithai.base.sqlguard.SqlCountingDataSource;
 import com.api.mithai.sweet.controller.SweetController;
+import com.api.mithai.sweet.dto.SweetChangesDto;
 import com.api.mithai.sweet.dto.SweetRequestDto;
 import com.api.mithai.sweet.dto.SweetResponseDto;
+import com.api.mithai.sweet.dto.TrendingSweetDto;
+import com.api.mithai.sweet.service.CatalogSyncService;
+import com.api.mithai.sweet.service.StockStreamService;
 import com.api.mithai.sweet.service.SweetService;
+import com.api.mithai.sweet.service.TrendingService;
+import com.api.mithai.support.SqlStatementBudget;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -25,12 +32,17 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import javax.sql.DataSource;
+import java.sql.Connection;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -44,6 +56,15 @@ public class SweetControllerTest {
     @Mock
     private SweetService sweetService;
 
+    @Mock
+    private StockStreamService stockStreamService;
+
+    @Mock
+    private CatalogSyncService catalogSyncService;
+
+    @Mock
+    private TrendingService trendingService;
+
     @Mock
     private ResponseHandler responseHandler;
 
@@ -61,6 +82,7 @@ public class SweetControllerTest {
         globalExceptionHandler = new GlobalExceptionHandler();
         mockMvc = MockMvcBuilders.standaloneSetup(sweetController)
                 .setControllerAdvice(globalExceptionHandler)
+                .addFilters(SqlStatementBudget.guard())
                 .build();
         objectMapper = new ObjectMapper();
 
@@ -540,5 +562,135 @@ public class SweetControllerTest {
             verify(sweetService, never()).delete(anyLong());
         }
     }
-}
 
+    @Nested
+    @DisplayName("GET /api/v1/sweets/stream - Stock Stream Tests")
+    class StockStreamEndpointTests {
+
+        @Test
+        @DisplayName("Should open an asynchronous event stream")
+        void shouldOpenAsynchronousEventStream() throws Exception {
+            // Given
+            when(stockStreamService.subscribe()).thenReturn(new SseEmitter(60000L));
+
+            // When & Then
+            mockMvc.perform(get(Urls.BASE_URL + Urls.SWEETS_URL + Urls.STREAM_URL)
+                            .accept(MediaType.TEXT_EVENT_STREAM))
+                    .andExpect(request().asyncStarted());
+
+            verify(stockStreamService, times(1)).subscribe();
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/v1/sweets/changes - Catalog Changes Tests")
+    class CatalogChangesEndpointTests {
+
+        @Test
+        @DisplayName("Should return 200 OK with changes since the given version")
+        void shouldReturn200OkWithChangesSinceVersion() throws Exception {
+            // Given
+            SweetChangesDto sweetChangesDto = new SweetChangesDto(
+                    List.of(sweetResponseDto), new ArrayList<>(), List.of(9L), 42L, false);
+            BaseResponse expectedResponse = new BaseResponse(sweetChangesDto, true, Constants.CHANGES_RETRIEVED_SUCCESSFULLY);
+            ResponseEntity<BaseResponse> responseEntity = new ResponseEntity<>(expectedResponse, HttpStatus.OK);
+
+            when(catalogSyncService.getChanges(40L, null)).thenReturn(sweetChangesDto);
+            when(responseHandler.okResponse(eq(sweetChangesDto), eq(HttpStatus.OK), eq(Constants.CHANGES_RETRIEVED_SUCCESSFULLY)))
+                    .thenReturn(responseEntity);
+
+            // When & Then
+            mockMvc.perform(get(Urls.BASE_URL + Urls.SWEETS_URL + Urls.CHANGES_URL).param("since", "40"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.sweets[0].name").value("Gulab Jamun"))
+                    .andExpect(jsonPath("$.data.deletedSweetIds[0]").value(9L))
+                    .andExpect(jsonPath("$.data.nextVersion").value(42L))
+                    .andExpect(jsonPath("$.data.hasMore").value(false));
+
+            verify(catalogSyncService, times(1)).getChanges(40L, null);
+        }
+
+        @Test
+        @DisplayName("Should return 400 BAD REQUEST when version is negative")
+        void shouldReturn400BadRequestWhenVersionIsNegative() throws Exception {
+            // Given
+            when(catalogSyncService.getChanges(-1L, null))
+                    .thenThrow(new ResponseStatusException(Constants.CHANGES_VERSION_INVALID, HttpStatus.BAD_REQUEST));
+
+            // When & Then
+            mockMvc.perform(get(Urls.BASE_URL + Urls.SWEETS_URL + Urls.CHANGES_URL).param("since", "-1"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value(Constants.CHANGES_VERSION_INVALID));
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/v1/sweets/trending - Trending Sweets Tests")
+    class TrendingSweetsEndpointTests {
+
+        @Test
+        @DisplayName("Should return 200 OK with the best sellers of the window")
+        void shouldReturn200OkWithBestSellers() throws Exception {
+            // Given
+            List<TrendingSweetDto> trendingSweetDtos = List.of(new TrendingSweetDto(sweetResponseDto, 25L));
+            BaseResponse expectedResponse = new BaseResponse(trendingSweetDtos, true, Constants.TRENDING_RETRIEVED_SUCCESSFULLY);
+            ResponseEntity<BaseResponse> responseEntity = new ResponseEntity<>(expectedResponse, HttpStatus.OK);
+
+            when(trendingService.getTrending("1h", 5)).thenReturn(trendingSweetDtos);
+            when(responseHandler.okResponse(eq(trendingSweetDtos), eq(HttpStatus.OK), eq(Constants.TRENDING_RETRIEVED_SUCCESSFULLY)))
+                    .thenReturn(responseEntity);
+
+            // When & Then
+            mockMvc.perform(get(Urls.BASE_URL + Urls.SWEETS_URL + Urls.TRENDING_URL)
+                            .param("window", "1h")
+                            .param("limit", "5"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data[0].sweet.name").value("Gulab Jamun"))
+                    .andExpect(jsonPath("$.data[0].units").value(25L));
+        }
+
+        @Test
+        @DisplayName("Should return 400 BAD REQUEST for an unknown window")
+        void shouldReturn400BadRequestForUnknownWindow() throws Exception {
+            // Given
+            when(trendingService.getTrending("2h", null))
+                    .thenThrow(new ResponseStatusException(Constants.TRENDING_WINDOW_INVALID, HttpStatus.BAD_REQUEST));
+
+            // When & Then
+            mockMvc.perform(get(Urls.BASE_URL + Urls.SWEETS_URL + Urls.TRENDING_URL).param("window", "2h"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value(Constants.TRENDING_WINDOW_INVALID));
+        }
+    }
+
+    // Budgets of the real endpoints are in SqlStatementBudgetTest; this checks the matchers themselves
+    @Nested
+    @DisplayName("SQL Statement Budget Tests")
+    class SqlStatementBudgetTests {
+
+        @Test
+        @DisplayName("Should fail the budget when the same statement repeats per row")
+        void shouldFailBudgetOnRepeatedStatements() {
+            // Given
+            DataSource dataSource = new SqlCountingDataSource(mock(DataSource.class, RETURNS_MOCKS));
+            when(sweetService.listAll(any(Map.class))).thenAnswer(invocation -> {
+                try (Connection connection = dataSource.getConnection()) {
+                    connection.prepareStatement("select s.id, s.name from sweets s order by s.id offset 0 rows fetch first 10 rows only");
+                    for (long categoryId = 1; categoryId <= 3; categoryId++) {
+                        connection.createStatement().executeQuery("select c.id, c.name from sweet_categories c where c.id = " + categoryId);
+                    }
+                }
+                return null;
+            });
+
+            // When & Then
+            AssertionError overBudget = assertThrows(AssertionError.class, () ->
+                    mockMvc.perform(get(Urls.BASE_URL + Urls.SWEETS_URL))
+                            .andExpect(SqlStatementBudget.atMost(2)));
+            assertTrue(overBudget.getMessage().contains("3x select c.id, c.name from sweet_categories c where c.id = ?"));
+            assertThrows(AssertionError.class, () ->
+                    mockMvc.perform(get(Urls.BASE_URL + Urls.SWEETS_URL))
+                            .andExpect(SqlStatementBudget.noRepeatedStatements()));
+        }
+    }
+}
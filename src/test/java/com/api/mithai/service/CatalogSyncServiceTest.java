@@ -0,0 +1,172 @@
+package com.api.mithai.service;
+
+import com.api.mithai.base.constants.Constants;
+import com.api.mithai.base.exception.ResponseStatusException;
+import com.api.mithai.ledger.service.InventoryLedger;
+import com.api.mithai.sweet.dto.SweetChangesDto;
+import com.api.mithai.sweet.dto.SweetResponseDto;
+import com.api.mithai.sweet.entity.Sweet;
+import com.api.mithai.sweet.entity.SweetCategory;
+import com.api.mithai.sweet.entity.SweetTombstone;
+import com.api.mithai.sweet.repository.SweetCategoryRepository;
+import com.api.mithai.sweet.repository.SweetRepository;
+import com.api.mithai.sweet.repository.SweetTombstoneRepository;
+import com.api.mithai.sweet.service.CatalogSyncService;
+import com.api.mithai.sweet.service.SweetCategoryService;
+import com.api.mithai.sweet.service.SweetService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CatalogSyncService Changes Tests")
+public class CatalogSyncServiceTest {
+
+    @Mock
+    private SweetRepository sweetRepository;
+
+    @Mock
+    private SweetCategoryRepository sweetCategoryRepository;
+
+    @Mock
+    private SweetTombstoneRepository sweetTombstoneRepository;
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Mock
+    private InventoryLedger inventoryLedger;
+
+    private CatalogSyncService catalogSyncService;
+    private SweetCategory testCategory;
+
+    @BeforeEach
+    void setUp() {
+        SweetService sweetService = new SweetService(sweetRepository, sweetCategoryRepository, applicationEventPublisher, inventoryLedger);
+        SweetCategoryService sweetCategoryService = new SweetCategoryService(sweetCategoryRepository);
+        catalogSyncService = new CatalogSyncService(sweetRepository, sweetCategoryRepository,
+                sweetTombstoneRepository, sweetService, sweetCategoryService);
+        testCategory = versioned(new SweetCategory(1L, "Milk Sweets"), 5L);
+    }
+
+    private static <T> T versioned(T entity, Long changeVersion) {
+        ReflectionTestUtils.setField(entity, "changeVersion", changeVersion);
+        return entity;
+    }
+
+    @Test
+    @DisplayName("Should return every change after the version when they fit in one page")
+    void shouldReturnAllChangesSinceVersion() {
+        // Given
+        Sweet updated = versioned(new Sweet(1L, "Gulab Jamun", testCategory, 150.0, 50), 12L);
+        when(sweetRepository.findSettledChangeVersion(eq(4L), any())).thenReturn(14L);
+        when(sweetRepository.findChangedSince(4L, 14L, PageRequest.of(0, 11))).thenReturn(List.of(updated));
+        when(sweetCategoryRepository.findByChangeVersionBetweenOrderByChangeVersionAsc(5L, 14L, PageRequest.of(0, 11)))
+                .thenReturn(List.of(testCategory));
+        when(sweetTombstoneRepository.findByChangeVersionBetweenOrderByChangeVersionAsc(5L, 14L, PageRequest.of(0, 11)))
+                .thenReturn(List.of(new SweetTombstone(9L, 14L, LocalDateTime.now())));
+
+        // When
+        SweetChangesDto result = catalogSyncService.getChanges(4L, 10);
+
+        // Then
+        assertEquals(1, result.getSweets().size());
+        assertEquals("Gulab Jamun", result.getSweets().get(0).getName());
+        assertEquals("Milk Sweets", result.getCategories().get(0).getName());
+        assertEquals(List.of(9L), result.getDeletedSweetIds());
+        assertEquals(14L, result.getNextVersion());
+        assertFalse(result.getHasMore());
+    }
+
+    @Test
+    @DisplayName("Should cut the page at the limit-th lowest version across all sources")
+    void shouldCutPageAtLimitAcrossSources() {
+        // Given
+        Sweet first = versioned(new Sweet(1L, "Gulab Jamun", testCategory, 150.0, 50), 6L);
+        Sweet second = versioned(new Sweet(2L, "Rasgulla", testCategory, 120.0, 30), 9L);
+        when(sweetRepository.findSettledChangeVersion(eq(0L), any())).thenReturn(9L);
+        when(sweetRepository.findChangedSince(0L, 9L, PageRequest.of(0, 3))).thenReturn(List.of(first, second));
+        when(sweetCategoryRepository.findByChangeVersionBetweenOrderByChangeVersionAsc(1L, 9L, PageRequest.of(0, 3)))
+                .thenReturn(List.of(testCategory));
+        when(sweetTombstoneRepository.findByChangeVersionBetweenOrderByChangeVersionAsc(1L, 9L, PageRequest.of(0, 3)))
+                .thenReturn(List.of(new SweetTombstone(7L, 8L, LocalDateTime.now())));
+
+        // When
+        SweetChangesDto result = catalogSyncService.getChanges(null, 2);
+
+        // Then
+        assertEquals(List.of(1L), result.getSweets().stream().map(SweetResponseDto::getId).toList());
+        assertEquals(1, result.getCategories().size());
+        assertTrue(result.getDeletedSweetIds().isEmpty());
+        assertEquals(6L, result.getNextVersion());
+        assertTrue(result.getHasMore());
+    }
+
+    @Test
+    @DisplayName("Should keep the given version without reading the sources when nothing settled since")
+    void shouldKeepVersionWhenNothingChanged() {
+        // Given
+        when(sweetRepository.findSettledChangeVersion(eq(42L), any())).thenReturn(42L);
+
+        // When
+        SweetChangesDto result = catalogSyncService.getChanges(42L, null);
+
+        // Then
+        assertEquals(42L, result.getNextVersion());
+        assertFalse(result.getHasMore());
+        assertTrue(result.getSweets().isEmpty());
+        verify(sweetRepository, never()).findChangedSince(anyLong(), anyLong(), any());
+        verifyNoInteractions(sweetCategoryRepository, sweetTombstoneRepository);
+    }
+
+    @Test
+    @DisplayName("Should hand out changes only up to the newest version taken longer than the commit lag ago")
+    void shouldStopAtSettledVersion() {
+        // Given
+        ReflectionTestUtils.setField(catalogSyncService, "changeCommitLagInMs", 30_000L);
+        Sweet settled = versioned(new Sweet(1L, "Gulab Jamun", testCategory, 150.0, 50), 6L);
+        when(sweetRepository.findSettledChangeVersion(eq(4L), any())).thenReturn(6L);
+        when(sweetRepository.findChangedSince(4L, 6L, PageRequest.of(0, Constants.MAX_CHANGES_PAGE_SIZE + 1)))
+                .thenReturn(List.of(settled));
+        when(sweetCategoryRepository.findByChangeVersionBetweenOrderByChangeVersionAsc(eq(5L), eq(6L), any()))
+                .thenReturn(Collections.emptyList());
+        when(sweetTombstoneRepository.findByChangeVersionBetweenOrderByChangeVersionAsc(eq(5L), eq(6L), any()))
+                .thenReturn(Collections.emptyList());
+
+        // When
+        LocalDateTime before = LocalDateTime.now();
+        SweetChangesDto result = catalogSyncService.getChanges(4L, null);
+
+        // Then
+        assertEquals(6L, result.getNextVersion());
+        assertEquals(1, result.getSweets().size());
+        verify(sweetRepository).findSettledChangeVersion(eq(4L), argThat(takenBefore ->
+                !takenBefore.isAfter(LocalDateTime.now().minusSeconds(30)) && takenBefore.isAfter(before.minusSeconds(31))));
+    }
+
+    @Test
+    @DisplayName("Should reject a negative version")
+    void shouldRejectNegativeVersion() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
+            catalogSyncService.getChanges(-1L, null);
+        });
+        assertEquals(Constants.CHANGES_VERSION_INVALID, exception.getMessage());
+        verifyNoInteractions(sweetRepository, sweetCategoryRepository, sweetTombstoneRepository);
+    }
+}
@@ -0,0 +1,151 @@
+package com.api.mithai.service;
+
+import com.api.mithai.sweet.dto.RestockRecommendationDto;
+import com.api.mithai.sweet.repository.DemandRepository;
+import com.api.mithai.sweet.service.DemandForecastJob;
+import com.api.mithai.sweet.service.DemandModel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Demand Model Tests")
+public class DemandModelTest {
+
+    @Nested
+    @DisplayName("Exponential Smoothing Tests")
+    class SmoothingTests {
+
+        @Test
+        @DisplayName("Should start from the first sale and smooth the following days")
+        void shouldSmoothDailyDemand() {
+            // Given
+            DemandModel model = new DemandModel(1L, 0, null);
+            LocalDate day = LocalDate.of(2026, 3, 1);
+
+            // When
+            model.observe(day, 0, 0.5);
+            model.observe(day.plusDays(1), 8, 0.5);
+            model.observe(day.plusDays(2), 4, 0.5);
+            model.observe(day.plusDays(3), 0, 0.5);
+
+            // Then
+            assertEquals(3.0, model.getDailyDemand());
+            assertEquals(day.plusDays(3), model.getThroughDay());
+        }
+
+        @Test
+        @DisplayName("Should ignore days already folded in by an earlier run")
+        void shouldIgnoreSeenDays() {
+            // Given
+            LocalDate day = LocalDate.of(2026, 3, 1);
+            DemandModel model = new DemandModel(1L, 5.0, day);
+
+            // When
+            model.observe(day, 100, 0.5);
+
+            // Then
+            assertEquals(5.0, model.getDailyDemand());
+        }
+
+        @Test
+        @DisplayName("Should recommend enough stock for lead time plus target cover")
+        void shouldRecommendRestock() {
+            DemandModel model = new DemandModel(1L, 3.5, LocalDate.now());
+
+            assertEquals(12, model.recommendedQuantity(20, 2, 7));
+            assertEquals(0, model.recommendedQuantity(50, 2, 7));
+            assertEquals(20 / 3.5, model.daysOfCover(20));
+            assertNull(new DemandModel(2L, 0, LocalDate.now()).daysOfCover(20));
+        }
+    }
+
+    @Nested
+    @DisplayName("Forecast Job Tests")
+    class ForecastJobTests {
+
+        @Mock
+        private DemandRepository demandRepository;
+
+        private DemandForecastJob demandForecastJob;
+
+        @BeforeEach
+        void setUp() {
+            demandForecastJob = new DemandForecastJob(demandRepository, 2);
+            ReflectionTestUtils.setField(demandForecastJob, "alpha", 0.5);
+            ReflectionTestUtils.setField(demandForecastJob, "leadTimeDays", 2);
+            ReflectionTestUtils.setField(demandForecastJob, "targetCoverDays", 7);
+            ReflectionTestUtils.setField(demandForecastJob, "lookbackDays", 90);
+            ReflectionTestUtils.setField(demandForecastJob, "chunkSize", 100);
+        }
+
+        @AfterEach
+        void tearDown() {
+            demandForecastJob.shutdown();
+        }
+
+        @Test
+        @SuppressWarnings("unchecked")
+        @DisplayName("Should read only days after the last run and fit old and new sweets")
+        void shouldFitIncrementally() {
+            // Given
+            LocalDate yesterday = LocalDate.now().minusDays(1);
+            when(demandRepository.tryLock()).thenReturn(true);
+            when(demandRepository.findModels()).thenReturn(List.of(new DemandModel(1L, 4.0, yesterday.minusDays(2))));
+            doAnswer(invocation -> {
+                DemandRepository.DailyDemandConsumer consumer = invocation.getArgument(3);
+                consumer.accept(1L, yesterday.minusDays(1), 10);
+                consumer.accept(2L, yesterday, 6);
+                return null;
+            }).when(demandRepository).streamDailyDemand(eq(yesterday.minusDays(1)), eq(LocalDate.now()), eq(100), any());
+            when(demandRepository.findStockLevels()).thenReturn(Map.of(1L, 20, 2L, 3));
+
+            // When
+            demandForecastJob.run();
+
+            // Then
+            ArgumentCaptor<List<RestockRecommendationDto>> saved = ArgumentCaptor.forClass(List.class);
+            verify(demandRepository).saveRecommendations(saved.capture(), eq(100));
+            List<RestockRecommendationDto> recommendations = saved.getValue().stream()
+                    .sorted(Comparator.comparing(RestockRecommendationDto::getSweetId))
+                    .toList();
+            assertEquals(2, recommendations.size());
+            assertEquals(3.5, recommendations.get(0).getDailyDemand());
+            assertEquals(12, recommendations.get(0).getRecommendedQuantity());
+            assertEquals(yesterday, recommendations.get(0).getThroughDay());
+            assertEquals(6.0, recommendations.get(1).getDailyDemand());
+            assertEquals(51, recommendations.get(1).getRecommendedQuantity());
+            assertEquals(0.5, recommendations.get(1).getDaysOfCover());
+        }
+
+        @Test
+        @DisplayName("Should skip the run when another instance holds the lock")
+        void shouldSkipWhenLocked() {
+            // Given
+            when(demandRepository.tryLock()).thenReturn(false);
+
+            // When
+            demandForecastJob.run();
+
+            // Then
+            verify(demandRepository, never()).findModels();
+            verify(demandRepository, never()).saveRecommendations(anyList(), anyInt());
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.api.mithai.service;
+
+import com.api.mithai.auth.entity.User;
+import com.api.mithai.auth.enums.Role;
+import com.api.mithai.base.constants.Constants;
+import com.api.mithai.base.exception.ResponseStatusException;
+import com.api.mithai.base.idempotency.IdempotencyRecord;
+import com.api.mithai.base.idempotency.IdempotencyRepository;
+import com.api.mithai.base.idempotency.IdempotencyService;
+import com.api.mithai.security.UserDetailsImpl;
+import com.api.mithai.sweet.dto.SweetResponseDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("IdempotencyService Tests")
+public class IdempotencyServiceTest {
+
+    private static final String REQUEST = "purchase:1:10:null";
+
+    @Mock
+    private IdempotencyRepository idempotencyRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private IdempotencyService idempotencyService;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyService(idempotencyRepository, transactionManager, objectMapper, 100);
+        signIn();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static void signIn() {
+        UserDetailsImpl userDetails = new UserDetailsImpl(new User(7L, "johndoe", "user@example.com", "SecureP@1", Role.USER));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+    }
+
+    private Supplier<SweetResponseDto> purchase() {
+        return () -> {
+            int quantity = 50 - 10 * executions.incrementAndGet();
+            return new SweetResponseDto(1L, "Gulab Jamun", 1L, "Milk Sweets", 150.0, quantity);
+        };
+    }
+
+    @Test
+    @DisplayName("Should run once and replay the first response from memory")
+    void shouldReplayFromMemory() {
+        // Given
+        when(idempotencyRepository.find(7L, "key-1")).thenReturn(Optional.empty());
+
+        // When
+        SweetResponseDto first = idempotencyService.execute("key-1", REQUEST, SweetResponseDto.class, purchase());
+        SweetResponseDto retry = idempotencyService.execute("key-1", REQUEST, SweetResponseDto.class, purchase());
+
+        // Then
+        assertEquals(1, executions.get());
+        assertEquals(40, first.getQuantity());
+        assertEquals(first, retry);
+        verify(idempotencyRepository, times(1)).insert(eq(7L), eq("key-1"), eq(REQUEST), contains("\"quantity\":40"));
+        verify(idempotencyRepository, times(1)).find(7L, "key-1");
+    }
+
+    @Test
+    @DisplayName("Should replay a response stored before a restart without running")
+    void shouldReplayFromTable() throws Exception {
+        // Given
+        SweetResponseDto stored = new SweetResponseDto(1L, "Gulab Jamun", 1L, "Milk Sweets", 150.0, 40);
+        when(idempotencyRepository.find(7L, "key-1"))
+                .thenReturn(Optional.of(new IdempotencyRecord(REQUEST, objectMapper.writeValueAsString(stored))));
+
+        // When
+        SweetResponseDto result = idempotencyService.execute("key-1", REQUEST, SweetResponseDto.class, purchase());
+
+        // Then
+        assertEquals(stored, result);
+        assertEquals(0, executions.get());
+        verify(idempotencyRepository, never()).insert(anyLong(), anyString(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused for a different request")
+    void shouldRejectReusedKey() {
+        // Given
+        when(idempotencyRepository.find(7L, "key-1")).thenReturn(Optional.empty());
+        idempotencyService.execute("key-1", REQUEST, SweetResponseDto.class, purchase());
+
+        // When & Then
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                idempotencyService.execute("key-1", "purchase:1:20:null", SweetResponseDto.class, purchase()));
+        assertEquals(Constants.IDEMPOTENCY_KEY_REUSED, exception.getMessage());
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, exception.getStatus());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    @DisplayName("Should not remember a failed request so it can be retried")
+    void shouldRetryAfterFailure() {
+        // Given
+        when(idempotencyRepository.find(7L, "key-1")).thenReturn(Optional.empty());
+        Supplier<SweetResponseDto> failing = () -> {
+            throw new ResponseStatusException("Purchase quantity cannot exceed available quantity", HttpStatus.BAD_REQUEST);
+        };
+        assertThrows(ResponseStatusException.class, () ->
+                idempotencyService.execute("key-1", REQUEST, SweetResponseDto.class, failing));
+
+        // When
+        SweetResponseDto result = idempotencyService.execute("key-1", REQUEST, SweetResponseDto.class, purchase());
+
+        // Then
+        assertEquals(40, result.getQuantity());
+        verify(idempotencyRepository, times(1)).insert(anyLong(), anyString(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should run concurrent duplicates once and give every caller its result")
+    void shouldCoalesceConcurrentDuplicates() throws Exception {
+        // Given
+        when(idempotencyRepository.find(7L, "key-1")).thenReturn(Optional.empty());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<SweetResponseDto> slow = () -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return purchase().get();
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<SweetResponseDto> first = executor.submit(() -> {
+                signIn();
+                return idempotencyService.execute("key-1", REQUEST, SweetResponseDto.class, slow);
+            });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<SweetResponseDto> second = executor.submit(() -> {
+                signIn();
+                return idempotencyService.execute("key-1", REQUEST, SweetResponseDto.class, slow);
+            });
+            Future<SweetResponseDto> third = executor.submit(() -> {
+                signIn();
+                return idempotencyService.execute("key-1", REQUEST, SweetResponseDto.class, slow);
+            });
+
+            // When
+            release.countDown();
+
+            // Then
+            assertEquals(40, first.get(5, TimeUnit.SECONDS).getQuantity());
+            assertEquals(40, second.get(5, TimeUnit.SECONDS).getQuantity());
+            assertEquals(40, third.get(5, TimeUnit.SECONDS).getQuantity());
+            assertEquals(1, executions.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject an overlong key")
+    void shouldRejectInvalidKey() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                idempotencyService.execute("k".repeat(101), REQUEST, SweetResponseDto.class, purchase()));
+        assertEquals(Constants.IDEMPOTENCY_KEY_INVALID, exception.getMessage());
+        verifyNoInteractions(idempotencyRepository);
+    }
+}
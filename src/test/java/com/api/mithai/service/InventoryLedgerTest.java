@@ -0,0 +1,458 @@
+package com.api.mithai.service;
+
+import com.api.mithai.base.constants.Constants;
+import com.api.mithai.base.exception.ResponseStatusException;
+import com.api.mithai.ledger.InventoryEvent;
+import com.api.mithai.ledger.InventoryEventType;
+import com.api.mithai.ledger.StockKey;
+import com.api.mithai.ledger.StockState;
+import com.api.mithai.ledger.dto.LedgerRebuildDto;
+import com.api.mithai.ledger.repository.InventoryEventRepository;
+import com.api.mithai.ledger.service.InventoryLedger;
+import com.api.mithai.store.service.StoreService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("InventoryLedger Tests")
+public class InventoryLedgerTest {
+
+    private static final Long MAIN = StoreService.DEFAULT_STORE_ID;
+    private static final Long OUTLET = 2L;
+
+    @Mock
+    private InventoryEventRepository inventoryEventRepository;
+
+    @Mock
+    private StoreService storeService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private InventoryLedger inventoryLedger;
+
+    @BeforeEach
+    void setUp() {
+        inventoryLedger = new InventoryLedger(inventoryEventRepository, storeService, transactionManager);
+        lenient().when(storeService.getStoreIds()).thenReturn(Set.of(MAIN));
+        lenient().when(storeService.validateStoreId(any())).thenAnswer(invocation ->
+                StoreService.orDefault(invocation.getArgument(0)));
+        lenient().when(inventoryEventRepository.append(any(InventoryEvent.class))).thenReturn(true);
+    }
+
+    @Nested
+    @DisplayName("Append Tests")
+    class AppendTests {
+
+        @Test
+        @DisplayName("Should load a sweet once and number its events after the loaded version")
+        void shouldAppendAfterLoadedVersion() {
+            // Given
+            when(inventoryEventRepository.findState(1L, MAIN)).thenReturn(Optional.of(new StockState(50, 4)));
+
+            // When
+            int afterPurchase = inventoryLedger.append(1L, MAIN, InventoryEventType.PURCHASE, quantity -> -10);
+            int afterRestock = inventoryLedger.append(1L, MAIN, InventoryEventType.RESTOCK, quantity -> 5);
+
+            // Then
+            assertEquals(40, afterPurchase);
+            assertEquals(45, afterRestock);
+            assertEquals(45, inventoryLedger.getQuantity(1L));
+            verify(inventoryEventRepository, times(1)).findState(1L, MAIN);
+            verify(inventoryEventRepository).append(argThat(event -> event.getVersion() == 5
+                    && event.getType() == InventoryEventType.PURCHASE && event.getDelta() == -10));
+            verify(inventoryEventRepository).append(argThat(event -> event.getVersion() == 6
+                    && event.getType() == InventoryEventType.RESTOCK && event.getDelta() == 5));
+        }
+
+        @Test
+        @DisplayName("Should write nothing for a rejected change or an adjustment to the same quantity")
+        void shouldSkipRejectedAndUnchanged() {
+            // Given
+            when(inventoryEventRepository.findState(1L, MAIN)).thenReturn(Optional.of(new StockState(50, 4)));
+
+            // When
+            assertThrows(ResponseStatusException.class, () -> inventoryLedger.append(1L, MAIN, InventoryEventType.PURCHASE,
+                    quantity -> {
+                        throw new ResponseStatusException("Purchase quantity cannot exceed available quantity", HttpStatus.BAD_REQUEST);
+                    }));
+            int adjusted = inventoryLedger.adjust(1L, MAIN, 50);
+
+            // Then
+            assertEquals(50, adjusted);
+            verify(inventoryEventRepository, never()).append(any(InventoryEvent.class));
+        }
+
+        @Test
+        @DisplayName("Should reload and decide again when another instance wrote the version")
+        void shouldRetryAfterConflict() {
+            // Given
+            when(inventoryEventRepository.findState(1L, MAIN))
+                    .thenReturn(Optional.of(new StockState(50, 4)), Optional.of(new StockState(30, 5)));
+            when(inventoryEventRepository.append(any(InventoryEvent.class))).thenReturn(false, true);
+            List<Integer> seen = new ArrayList<>();
+
+            // When
+            int afterPurchase = inventoryLedger.append(1L, MAIN, InventoryEventType.PURCHASE, quantity -> {
+                seen.add(quantity);
+                return -10;
+            });
+
+            // Then
+            assertEquals(20, afterPurchase);
+            assertEquals(List.of(50, 30), seen);
+            verify(inventoryEventRepository).append(argThat(event -> event.getVersion() == 6 && event.getDelta() == -10));
+        }
+
+        @Test
+        @DisplayName("Should report a conflict when the version keeps being taken")
+        void shouldGiveUpAfterRepeatedConflicts() {
+            // Given
+            when(inventoryEventRepository.findState(1L, MAIN)).thenReturn(Optional.of(new StockState(50, 4)));
+            when(inventoryEventRepository.append(any(InventoryEvent.class))).thenReturn(false);
+
+            // When
+            ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                    inventoryLedger.append(1L, MAIN, InventoryEventType.PURCHASE, quantity -> -10));
+
+            // Then
+            assertEquals(Constants.INVENTORY_CONFLICT, exception.getMessage());
+            assertEquals(HttpStatus.CONFLICT, exception.getStatus());
+            verify(inventoryEventRepository, times(3)).append(any(InventoryEvent.class));
+        }
+
+        @Test
+        @DisplayName("Should read the committed stock past an entry another instance moved on")
+        void shouldReadCommittedStock() {
+            // Given
+            when(inventoryEventRepository.findState(1L, MAIN))
+                    .thenReturn(Optional.of(new StockState(50, 4)))
+                    .thenReturn(Optional.of(new StockState(30, 6)));
+            inventoryLedger.getQuantity(1L);
+
+            // When
+            int committed = inventoryLedger.getCommittedQuantity(1L, MAIN);
+
+            // Then
+            assertEquals(30, committed);
+            assertEquals(30, inventoryLedger.getQuantity(1L));
+        }
+
+        @Test
+        @DisplayName("Should reject an unknown sweet")
+        void shouldRejectUnknownSweet() {
+            when(inventoryEventRepository.findState(999L, MAIN)).thenReturn(Optional.empty());
+
+            ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                    inventoryLedger.getQuantity(999L));
+            assertEquals("Sweet not found", exception.getMessage());
+        }
+    }
+
+    @Nested
+    @DisplayName("Store Tests")
+    class StoreTests {
+
+        @BeforeEach
+        void openOutlet() {
+            when(storeService.getStoreIds()).thenReturn(Set.of(MAIN, OUTLET));
+            when(inventoryEventRepository.findState(1L, MAIN)).thenReturn(Optional.of(new StockState(50, 4)));
+            when(inventoryEventRepository.findState(1L, OUTLET)).thenReturn(Optional.of(new StockState(0, 0)));
+        }
+
+        @Test
+        @DisplayName("Should keep each store's stock and versions and report the total over stores")
+        void shouldTrackStoresSeparately() {
+            // When
+            int afterRestock = inventoryLedger.append(1L, OUTLET, InventoryEventType.RESTOCK, quantity -> 20);
+            int afterPurchase = inventoryLedger.append(1L, null, InventoryEventType.PURCHASE, quantity -> -10);
+
+            // Then
+            assertEquals(70, afterRestock);
+            assertEquals(60, afterPurchase);
+            assertEquals(20, inventoryLedger.getQuantity(1L, OUTLET));
+            assertEquals(40, inventoryLedger.getQuantity(1L, MAIN));
+            verify(inventoryEventRepository).append(argThat(event -> event.getStoreId().equals(OUTLET)
+                    && event.getVersion() == 1 && event.getDelta() == 20));
+            verify(inventoryEventRepository).append(argThat(event -> event.getStoreId().equals(MAIN)
+                    && event.getVersion() == 5 && event.getDelta() == -10));
+        }
+
+        @Test
+        @DisplayName("Should let another store sell while a transaction holds one store")
+        void shouldNotBlockOtherStores() throws Exception {
+            // Given
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                inventoryLedger.append(1L, MAIN, InventoryEventType.PURCHASE, quantity -> -10);
+
+                // When
+                int outletTotal = CompletableFuture.supplyAsync(() ->
+                        inventoryLedger.append(1L, OUTLET, InventoryEventType.RESTOCK, quantity -> 5))
+                        .get(5, TimeUnit.SECONDS);
+
+                // Then: the uncommitted sale is only counted by its own transaction
+                assertEquals(55, outletTotal);
+                assertEquals(45, inventoryLedger.getQuantity(1L));
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should read another store's stock without waiting for a writer holding it")
+    void shouldNotWaitForHeldStore() throws Exception {
+        // Given: a writer holds the outlet while its first load is stalled
+        when(storeService.getStoreIds()).thenReturn(Set.of(MAIN, OUTLET));
+        when(inventoryEventRepository.findState(1L, MAIN)).thenReturn(Optional.of(new StockState(50, 4)));
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean first = new AtomicBoolean(true);
+        doAnswer(invocation -> {
+            if (first.getAndSet(false)) {
+                loading.countDown();
+                release.await(10, TimeUnit.SECONDS);
+            }
+            return Optional.of(new StockState(0, 0));
+        }).when(inventoryEventRepository).findState(1L, OUTLET);
+        CompletableFuture<Integer> writer = CompletableFuture.supplyAsync(() ->
+                inventoryLedger.append(1L, OUTLET, InventoryEventType.RESTOCK, quantity -> 5));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        try {
+            // When
+            int total = CompletableFuture.supplyAsync(() -> inventoryLedger.getQuantity(1L))
+                    .get(5, TimeUnit.SECONDS);
+
+            // Then
+            assertEquals(50, total);
+        } finally {
+            release.countDown();
+        }
+        assertEquals(55, writer.get(5, TimeUnit.SECONDS));
+    }
+
+    @Nested
+    @DisplayName("Transaction Tests")
+    class TransactionTests {
+
+        @BeforeEach
+        void beginTransaction() {
+            TransactionSynchronizationManager.initSynchronization();
+        }
+
+        @AfterEach
+        void endTransaction() {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        }
+
+        private void complete(int status) {
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(status);
+            }
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        @Test
+        @DisplayName("Should publish the stock and release the sweet only when the transaction commits")
+        void shouldPublishOnCommit() throws Exception {
+            // Given
+            when(inventoryEventRepository.findState(1L, MAIN)).thenReturn(Optional.of(new StockState(50, 4)));
+            inventoryLedger.append(1L, MAIN, InventoryEventType.PURCHASE, quantity -> -10);
+            inventoryLedger.append(1L, MAIN, InventoryEventType.PURCHASE, quantity -> -5);
+
+            // When
+            int seenBeforeCommit = CompletableFuture.supplyAsync(() -> inventoryLedger.getQuantity(1L))
+                    .get(5, TimeUnit.SECONDS);
+            int seenInTransaction = inventoryLedger.getQuantity(1L, MAIN);
+            CompletableFuture<Integer> otherWriter = CompletableFuture.supplyAsync(() ->
+                    inventoryLedger.append(1L, MAIN, InventoryEventType.RESTOCK, quantity -> 1));
+            Thread.sleep(100);
+            boolean otherWriterBlocked = !otherWriter.isDone();
+            complete(TransactionSynchronization.STATUS_COMMITTED);
+
+            // Then
+            assertEquals(50, seenBeforeCommit);
+            assertEquals(35, seenInTransaction);
+            assertTrue(otherWriterBlocked);
+            assertEquals(36, otherWriter.get(5, TimeUnit.SECONDS));
+            verify(inventoryEventRepository).append(argThat(event -> event.getVersion() == 7));
+        }
+
+        @Test
+        @DisplayName("Should keep the committed stock when the transaction rolls back")
+        void shouldDiscardOnRollback() {
+            // Given
+            when(inventoryEventRepository.findState(1L, MAIN)).thenReturn(Optional.of(new StockState(50, 4)));
+            inventoryLedger.append(1L, MAIN, InventoryEventType.PURCHASE, quantity -> -10);
+
+            // When
+            complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+            int afterRollback = inventoryLedger.append(1L, MAIN, InventoryEventType.PURCHASE, quantity -> -10);
+
+            // Then
+            assertEquals(40, afterRollback);
+            verify(inventoryEventRepository, times(2)).append(argThat(event -> event.getVersion() == 5));
+        }
+    }
+
+    @Test
+    @DisplayName("Should reload stock other instances moved past since the last check")
+    void shouldRefreshStockChangedElsewhere() {
+        // Given
+        when(inventoryEventRepository.findSettledEventId(eq(0L), any())).thenReturn(100L);
+        inventoryLedger.rebuild();
+        when(inventoryEventRepository.findState(1L, MAIN))
+                .thenReturn(Optional.of(new StockState(50, 4)), Optional.of(new StockState(35, 6)));
+        when(inventoryEventRepository.findState(2L, MAIN)).thenReturn(Optional.of(new StockState(12, 9)));
+        inventoryLedger.getQuantity(1L);
+        inventoryLedger.getQuantity(2L);
+        when(inventoryEventRepository.findSettledEventId(eq(100L), any())).thenReturn(120L);
+        when(inventoryEventRepository.findLatestVersions(100L)).thenReturn(Map.of(
+                new StockKey(1L, MAIN), 6L, new StockKey(2L, MAIN), 9L, new StockKey(3L, MAIN), 2L));
+
+        // When
+        int dropped = inventoryLedger.refresh();
+
+        // Then
+        assertEquals(1, dropped);
+        assertEquals(35, inventoryLedger.getQuantity(1L));
+        assertEquals(12, inventoryLedger.getQuantity(2L));
+        verify(inventoryEventRepository, times(1)).findState(2L, MAIN);
+
+        // And the next check starts after the settled events
+        when(inventoryEventRepository.findSettledEventId(eq(120L), any())).thenReturn(120L);
+        when(inventoryEventRepository.findLatestVersions(120L)).thenReturn(Map.of());
+        assertEquals(0, inventoryLedger.refresh());
+    }
+
+    @Test
+    @DisplayName("Should snapshot only pairs past the mark and refresh only their sweets' totals")
+    void shouldSnapshotPastMark() {
+        // Given
+        when(inventoryEventRepository.lockSnapshotMark()).thenReturn(100L);
+        when(inventoryEventRepository.findSettledEventId(eq(100L), any())).thenReturn(150L);
+        when(inventoryEventRepository.snapshot(100L)).thenReturn(Set.of(1L, 3L));
+
+        // When
+        inventoryLedger.snapshot();
+
+        // Then
+        verify(inventoryEventRepository).refreshTotals(Set.of(1L, 3L));
+        verify(inventoryEventRepository).saveSnapshotMark(150L);
+        verify(storeService).reload();
+    }
+
+    @Test
+    @DisplayName("Should not refresh totals when no snapshot moved")
+    void shouldSkipTotalsWhenIdle() {
+        // Given
+        when(inventoryEventRepository.lockSnapshotMark()).thenReturn(150L);
+        when(inventoryEventRepository.findSettledEventId(eq(150L), any())).thenReturn(150L);
+        when(inventoryEventRepository.snapshot(150L)).thenReturn(Set.of());
+
+        // When
+        inventoryLedger.snapshot();
+
+        // Then
+        verify(inventoryEventRepository, never()).refreshTotals(any());
+    }
+
+    @Test
+    @DisplayName("Should lock the snapshot mark inside a transaction when loading on startup")
+    void shouldSnapshotInTransactionOnLoad() {
+        // Given
+        when(inventoryEventRepository.lockSnapshotMark()).thenReturn(100L);
+        when(inventoryEventRepository.findSettledEventId(anyLong(), any())).thenReturn(100L);
+        when(inventoryEventRepository.snapshot(100L)).thenReturn(Set.of());
+
+        // When
+        inventoryLedger.load();
+
+        // Then
+        InOrder inOrder = inOrder(transactionManager, inventoryEventRepository);
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(inventoryEventRepository).lockSnapshotMark();
+        inOrder.verify(inventoryEventRepository).saveSnapshotMark(100L);
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(inventoryEventRepository).replay(any());
+    }
+
+    @Test
+    @DisplayName("Should rebuild from snapshots without moving a sweet back to an older version")
+    void shouldRebuildFromSnapshots() {
+        // Given
+        when(inventoryEventRepository.findState(1L, MAIN)).thenReturn(Optional.of(new StockState(50, 4)));
+        inventoryLedger.append(1L, MAIN, InventoryEventType.PURCHASE, quantity -> -10);
+        doAnswer(invocation -> {
+            InventoryEventRepository.StockStateConsumer consumer = invocation.getArgument(0);
+            consumer.accept(1L, MAIN, new StockState(50, 4), 3);
+            consumer.accept(2L, MAIN, new StockState(12, 9), 0);
+            return null;
+        }).when(inventoryEventRepository).replay(any());
+
+        // When
+        LedgerRebuildDto result = inventoryLedger.rebuild();
+
+        // Then
+        assertEquals(2, result.getSweets());
+        assertEquals(3L, result.getReplayedEvents());
+        assertEquals(40, inventoryLedger.getQuantity(1L));
+        assertEquals(12, inventoryLedger.getQuantity(2L));
+        verify(inventoryEventRepository, never()).findState(2L, MAIN);
+    }
+
+    @Test
+    @DisplayName("Should load the stock of a page of sweets in one query, skipping stock already held")
+    void shouldLoadPageStockAtOnce() {
+        // Given
+        when(inventoryEventRepository.findState(1L, MAIN)).thenReturn(Optional.of(new StockState(50, 4)));
+        inventoryLedger.getQuantity(1L);
+        doAnswer(invocation -> {
+            InventoryEventRepository.StockStateConsumer consumer = invocation.getArgument(1);
+            consumer.accept(2L, MAIN, new StockState(12, 9), 0);
+            consumer.accept(3L, MAIN, new StockState(7, 2), 0);
+            return null;
+        }).when(inventoryEventRepository).findStates(any(), any());
+
+        // When
+        inventoryLedger.loadStock(List.of(1L, 2L, 3L));
+
+        // Then
+        assertEquals(12, inventoryLedger.getQuantity(2L));
+        assertEquals(7, inventoryLedger.getQuantity(3L));
+        verify(inventoryEventRepository).findStates(eq(List.of(2L, 3L)), any());
+        verify(inventoryEventRepository, never()).findState(2L, MAIN);
+        verify(inventoryEventRepository, never()).findState(3L, MAIN);
+    }
+}
@@ -1,25 +1,38 @@
 package com.api.mithai.service;
 
 import com.api.mithai.base.exception.ResponseStatusException;
+import com.api.mithai.ledger.InventoryEventType;
+import com.api.mithai.ledger.service.InventoryLedger;
+import com.api.mithai.order.service.OrderService;
 import com.api.mithai.sweet.dto.PurchaseDto;
 import com.api.mithai.sweet.dto.SweetResponseDto;
 import com.api.mithai.sweet.entity.Sweet;
 import com.api.mithai.sweet.entity.SweetCategory;
 import com.api.mithai.sweet.repository.SweetRepository;
+import com.api.mithai.sweet.event.SweetChangeType;
+import com.api.mithai.sweet.event.SweetChangedEvent;
+import com.api.mithai.sweet.event.SweetPurchasedEvent;
+import com.api.mithai.sweet.metrics.InventoryMetrics;
 import com.api.mithai.sweet.service.InventoryService;
+import com.api.mithai.sweet.service.ReservationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Optional;
+import java.util.function.IntUnaryOperator;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,6 +42,21 @@ public class InventoryServicePurchaseTest {
     @Mock
     private SweetRepository sweetRepository;
 
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Mock
+    private InventoryMetrics inventoryMetrics;
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private ReservationService reservationService;
+
+    @Mock
+    private InventoryLedger inventoryLedger;
+
     @InjectMocks
     private InventoryService inventoryService;
 
@@ -45,6 +73,12 @@ public class InventoryServicePurchaseTest {
         existingSweet = new Sweet(1L, "Gulab Jamun", testCategory, 150.0, 50);
     }
 
+    // The ledger runs the service's stock check against the given current stock
+    private void givenStock(int quantity) {
+        when(inventoryLedger.append(eq(1L), eq(1L), eq(InventoryEventType.PURCHASE), any(IntUnaryOperator.class)))
+                .thenAnswer(invocation -> quantity + invocation.<IntUnaryOperator>getArgument(3).applyAsInt(quantity));
+    }
+
     @Nested
     @DisplayName("Purchase Sweet Success Tests")
     class PurchaseSweetSuccessTests {
@@ -54,7 +88,7 @@ public class InventoryServicePurchaseTest {
         void shouldPurchaseSweetSuccessfullyWhenQuantityIsAvailable() {
             // Given
             when(sweetRepository.findById(1L)).thenReturn(Optional.of(existingSweet));
-            when(sweetRepository.save(any(Sweet.class))).thenAnswer(invocation -> invocation.getArgument(0));
+            givenStock(50);
 
             // When
             SweetResponseDto result = inventoryService.purchase(1L, purchaseDto);
@@ -63,9 +97,22 @@ public class InventoryServicePurchaseTest {
             assertNotNull(result);
             assertEquals(40, result.getQuantity()); // 50 - 10 = 40
             verify(sweetRepository, times(1)).findById(1L);
-            verify(sweetRepository, times(1)).save(argThat(sweet ->
-                    sweet.getId().equals(1L) &&
-                    sweet.getQuantity().equals(40)
+            InOrder stockOrder = inOrder(reservationService, inventoryLedger);
+            stockOrder.verify(reservationService).lockStock(1L, 1L);
+            stockOrder.verify(inventoryLedger).append(eq(1L), eq(1L), eq(InventoryEventType.PURCHASE), any(IntUnaryOperator.class));
+            verify(sweetRepository, never()).save(any(Sweet.class));
+            verify(applicationEventPublisher, times(1)).publishEvent(argThat((Object event) ->
+                    event instanceof SweetChangedEvent changed &&
+                    changed.getChangeType() == SweetChangeType.PURCHASED &&
+                    changed.getSweet().getQuantity().equals(40)
+            ));
+            verify(inventoryMetrics, times(1)).recordPurchase(10);
+            verify(orderService, times(1)).recordPurchase(existingSweet, 10);
+            verify(applicationEventPublisher, times(1)).publishEvent(argThat((Object event) ->
+                    event instanceof SweetPurchasedEvent purchased &&
+                    purchased.getSweetId().equals(1L) &&
+                    purchased.getQuantity().equals(10) &&
+                    purchased.getAmount().equals(1500.0)
             ));
         }
 
@@ -75,7 +122,7 @@ public class InventoryServicePurchaseTest {
             // Given
             purchaseDto.setPurchaseQuantity(50); // Equal to current quantity
             when(sweetRepository.findById(1L)).thenReturn(Optional.of(existingSweet));
-            when(sweetRepository.save(any(Sweet.class))).thenAnswer(invocation -> invocation.getArgument(0));
+            givenStock(50);
 
             // When
             SweetResponseDto result = inventoryService.purchase(1L, purchaseDto);
@@ -83,7 +130,7 @@ public class InventoryServicePurchaseTest {
             // Then
             assertNotNull(result);
             assertEquals(0, result.getQuantity()); // 50 - 50 = 0
-            verify(sweetRepository, times(1)).save(any(Sweet.class));
+            verify(inventoryLedger, times(1)).append(eq(1L), eq(1L), eq(InventoryEventType.PURCHASE), any(IntUnaryOperator.class));
         }
     }
 
@@ -104,6 +151,7 @@ public class InventoryServicePurchaseTest {
             assertEquals("Sweet not found", exception.getMessage());
             verify(sweetRepository, times(1)).findById(999L);
             verify(sweetRepository, never()).save(any(Sweet.class));
+            verify(inventoryMetrics, times(1)).recordPurchaseFailure(InventoryMetrics.REASON_SWEET_NOT_FOUND);
         }
     }
 
@@ -125,6 +173,7 @@ public class InventoryServicePurchaseTest {
             assertEquals("Purchase quantity cannot be null", exception.getMessage());
             verify(sweetRepository, times(1)).findById(1L);
             verify(sweetRepository, never()).save(any(Sweet.class));
+            verify(inventoryMetrics, times(1)).recordPurchaseFailure(InventoryMetrics.REASON_INVALID_QUANTITY);
         }
 
         @Test
@@ -165,6 +214,7 @@ public class InventoryServicePurchaseTest {
             // Given
             purchaseDto.setPurchaseQuantity(60); // More than current quantity (50)
             when(sweetRepository.findById(1L)).thenReturn(Optional.of(existingSweet));
+            givenStock(50);
 
             // When & Then
             ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
@@ -173,6 +223,9 @@ public class InventoryServicePurchaseTest {
             assertEquals("Purchase quantity cannot exceed available quantity", exception.getMessage());
             verify(sweetRepository, times(1)).findById(1L);
             verify(sweetRepository, never()).save(any(Sweet.class));
+            verify(inventoryMetrics, times(1)).recordPurchaseFailure(InventoryMetrics.REASON_INSUFFICIENT_STOCK);
+            verify(inventoryMetrics, never()).recordPurchase(anyInt());
+            verify(orderService, never()).recordPurchase(any(Sweet.class), anyInt());
         }
     }
 
@@ -186,18 +239,15 @@ public class InventoryServicePurchaseTest {
             // Given
             purchaseDto.setPurchaseQuantity(25);
             when(sweetRepository.findById(1L)).thenReturn(Optional.of(existingSweet));
-            when(sweetRepository.save(any(Sweet.class))).thenAnswer(invocation -> invocation.getArgument(0));
+            givenStock(50);
 
             // When
             SweetResponseDto result = inventoryService.purchase(1L, purchaseDto);
 
             // Then
             assertEquals(25, result.getQuantity()); // 50 - 25 = 25
-            verify(sweetRepository, times(1)).save(argThat(sweet ->
-                    sweet.getQuantity().equals(25) &&
-                    sweet.getId().equals(1L) &&
-                    sweet.getName().equals("Gulab Jamun")
-            ));
+            assertEquals("Gulab Jamun", result.getName());
+            verify(inventoryLedger, times(1)).append(eq(1L), eq(1L), eq(InventoryEventType.PURCHASE), any(IntUnaryOperator.class));
         }
 
         @Test
@@ -206,6 +256,7 @@ public class InventoryServicePurchaseTest {
             // Given
             purchaseDto.setPurchaseQuantity(100); // Exceeds available quantity
             when(sweetRepository.findById(1L)).thenReturn(Optional.of(existingSweet));
+            givenStock(50);
 
             // When & Then
             assertThrows(ResponseStatusException.class, () -> {
@@ -216,5 +267,46 @@ public class InventoryServicePurchaseTest {
             verify(sweetRepository, never()).save(any(Sweet.class));
         }
     }
-}
 
+    @Nested
+    @DisplayName("Purchase Sweet Reservation Tests")
+    class PurchaseSweetReservationTests {
+
+        @Test
+        @DisplayName("Should not sell stock held for other carts")
+        void shouldNotSellHeldStock() {
+            // Given
+            purchaseDto.setPurchaseQuantity(45);
+            when(sweetRepository.findById(1L)).thenReturn(Optional.of(existingSweet));
+            when(reservationService.getHeldQuantity(1L, 1L)).thenReturn(10);
+            givenStock(50);
+
+            // When & Then
+            ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
+                inventoryService.purchase(1L, purchaseDto);
+            });
+            assertEquals("Purchase quantity cannot exceed available quantity", exception.getMessage());
+            verify(sweetRepository, never()).save(any(Sweet.class));
+            verify(inventoryMetrics, times(1)).recordPurchaseFailure(InventoryMetrics.REASON_INSUFFICIENT_STOCK);
+        }
+
+        @Test
+        @DisplayName("Should sell against the buyer's own hold and consume it")
+        void shouldConsumeOwnHold() {
+            // Given
+            purchaseDto.setPurchaseQuantity(45);
+            purchaseDto.setReservationId("hold-1");
+            when(sweetRepository.findById(1L)).thenReturn(Optional.of(existingSweet));
+            when(reservationService.getReservedQuantity("hold-1", 1L, 1L)).thenReturn(10);
+            when(reservationService.getHeldQuantity(1L, 1L)).thenReturn(10);
+            givenStock(50);
+
+            // When
+            SweetResponseDto result = inventoryService.purchase(1L, purchaseDto);
+
+            // Then
+            assertEquals(5, result.getQuantity());
+            verify(reservationService, times(1)).consume("hold-1");
+        }
+    }
+}
@@ -1,12 +1,17 @@
 package com.api.mithai.service;
 
 import com.api.mithai.base.exception.ResponseStatusException;
+import com.api.mithai.ledger.InventoryEventType;
+import com.api.mithai.ledger.service.InventoryLedger;
+import com.api.mithai.order.service.OrderService;
 import com.api.mithai.sweet.dto.RestockDto;
 import com.api.mithai.sweet.dto.SweetResponseDto;
 import com.api.mithai.sweet.entity.Sweet;
 import com.api.mithai.sweet.entity.SweetCategory;
 import com.api.mithai.sweet.repository.SweetRepository;
+import com.api.mithai.sweet.metrics.InventoryMetrics;
 import com.api.mithai.sweet.service.InventoryService;
+import com.api.mithai.sweet.service.ReservationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -15,11 +20,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Optional;
+import java.util.function.IntUnaryOperator;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,6 +37,21 @@ public class InventoryServiceRestockTest {
     @Mock
     private SweetRepository sweetRepository;
 
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Mock
+    private InventoryMetrics inventoryMetrics;
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private ReservationService reservationService;
+
+    @Mock
+    private InventoryLedger inventoryLedger;
+
     @InjectMocks
     private InventoryService inventoryService;
 
@@ -45,6 +68,12 @@ public class InventoryServiceRestockTest {
         existingSweet = new Sweet(1L, "Gulab Jamun", testCategory, 150.0, 50);
     }
 
+    // The ledger applies the service's change to the given current stock
+    private void givenStock(int quantity) {
+        when(inventoryLedger.append(eq(1L), eq(1L), eq(InventoryEventType.RESTOCK), any(IntUnaryOperator.class)))
+                .thenAnswer(invocation -> quantity + invocation.<IntUnaryOperator>getArgument(3).applyAsInt(quantity));
+    }
+
     @Nested
     @DisplayName("Restock Sweet Success Tests")
     class RestockSweetSuccessTests {
@@ -54,7 +83,7 @@ public class InventoryServiceRestockTest {
         void shouldRestockSweetSuccessfullyWithValidQuantity() {
             // Given
             when(sweetRepository.findById(1L)).thenReturn(Optional.of(existingSweet));
-            when(sweetRepository.save(any(Sweet.class))).thenAnswer(invocation -> invocation.getArgument(0));
+            givenStock(50);
 
             // When
             SweetResponseDto result = inventoryService.restock(1L, restockDto);
@@ -63,10 +92,9 @@ public class InventoryServiceRestockTest {
             assertNotNull(result);
             assertEquals(70, result.getQuantity()); // 50 + 20 = 70
             verify(sweetRepository, times(1)).findById(1L);
-            verify(sweetRepository, times(1)).save(argThat(sweet ->
-                    sweet.getId().equals(1L) &&
-                    sweet.getQuantity().equals(70)
-            ));
+            verify(inventoryLedger, times(1)).append(eq(1L), eq(1L), eq(InventoryEventType.RESTOCK), any(IntUnaryOperator.class));
+            verify(sweetRepository, never()).save(any(Sweet.class));
+            verify(inventoryMetrics, times(1)).recordRestock(20);
         }
 
         @Test
@@ -75,7 +103,7 @@ public class InventoryServiceRestockTest {
             // Given
             restockDto.setQuantity(100);
             when(sweetRepository.findById(1L)).thenReturn(Optional.of(existingSweet));
-            when(sweetRepository.save(any(Sweet.class))).thenAnswer(invocation -> invocation.getArgument(0));
+            givenStock(50);
 
             // When
             SweetResponseDto result = inventoryService.restock(1L, restockDto);
@@ -83,7 +111,23 @@ public class InventoryServiceRestockTest {
             // Then
             assertNotNull(result);
             assertEquals(150, result.getQuantity()); // 50 + 100 = 150
-            verify(sweetRepository, times(1)).save(any(Sweet.class));
+            verify(inventoryLedger, times(1)).append(eq(1L), eq(1L), eq(InventoryEventType.RESTOCK), any(IntUnaryOperator.class));
+        }
+
+        @Test
+        @DisplayName("Should return the store's stock next to the total over stores")
+        void shouldReturnStoreStockWithTotal() {
+            // Given
+            when(sweetRepository.findById(1L)).thenReturn(Optional.of(existingSweet));
+            givenStock(50);
+            when(inventoryLedger.getQuantity(1L, 1L)).thenReturn(30);
+
+            // When
+            SweetResponseDto result = inventoryService.restock(1L, restockDto);
+
+            // Then
+            assertEquals(70, result.getQuantity());
+            assertEquals(30, result.getStoreQuantity());
         }
     }
 
@@ -170,18 +214,15 @@ public class InventoryServiceRestockTest {
             // Given
             restockDto.setQuantity(30);
             when(sweetRepository.findById(1L)).thenReturn(Optional.of(existingSweet));
-            when(sweetRepository.save(any(Sweet.class))).thenAnswer(invocation -> invocation.getArgument(0));
+            givenStock(50);
 
             // When
             SweetResponseDto result = inventoryService.restock(1L, restockDto);
 
             // Then
             assertEquals(80, result.getQuantity()); // 50 + 30 = 80
-            verify(sweetRepository, times(1)).save(argThat(sweet ->
-                    sweet.getQuantity().equals(80) &&
-                    sweet.getId().equals(1L) &&
-                    sweet.getName().equals("Gulab Jamun")
-            ));
+            assertEquals("Gulab Jamun", result.getName());
+            verify(inventoryLedger, times(1)).append(eq(1L), eq(1L), eq(InventoryEventType.RESTOCK), any(IntUnaryOperator.class));
         }
 
         @Test
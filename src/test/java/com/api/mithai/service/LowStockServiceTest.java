@@ -0,0 +1,179 @@
+package com.api.mithai.service;
+
+import com.api.mithai.base.constants.Constants;
+import com.api.mithai.base.exception.ResponseStatusException;
+import com.api.mithai.ledger.service.InventoryLedger;
+import com.api.mithai.sweet.alert.LowStockAlert;
+import com.api.mithai.sweet.alert.LowStockAlertSink;
+import com.api.mithai.sweet.alert.LowStockLevel;
+import com.api.mithai.sweet.dto.LowStockDto;
+import com.api.mithai.sweet.dto.SweetResponseDto;
+import com.api.mithai.sweet.entity.Sweet;
+import com.api.mithai.sweet.entity.SweetCategory;
+import com.api.mithai.sweet.entity.SweetReorderThreshold;
+import com.api.mithai.sweet.event.SweetChangeType;
+import com.api.mithai.sweet.event.SweetChangedEvent;
+import com.api.mithai.sweet.event.SweetDeletedEvent;
+import com.api.mithai.sweet.repository.SweetReorderThresholdRepository;
+import com.api.mithai.sweet.repository.SweetRepository;
+import com.api.mithai.sweet.service.LowStockService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LowStockService Tests")
+public class LowStockServiceTest {
+
+    @Mock
+    private SweetRepository sweetRepository;
+
+    @Mock
+    private SweetReorderThresholdRepository sweetReorderThresholdRepository;
+
+    @Mock
+    private InventoryLedger inventoryLedger;
+
+    private LowStockService lowStockService;
+    private final List<LowStockAlert> alerts = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        LowStockAlertSink recordingSink = new LowStockAlertSink() {
+            @Override
+            public String getName() {
+                return "recording";
+            }
+
+            @Override
+            public void send(LowStockAlert alert) {
+                alerts.add(alert);
+            }
+        };
+        lowStockService = new LowStockService(sweetRepository, sweetReorderThresholdRepository, List.of(recordingSink),
+                inventoryLedger);
+        ReflectionTestUtils.setField(lowStockService, "defaultThreshold", 10);
+        ReflectionTestUtils.setField(lowStockService, "enabledSinks", Set.of("recording"));
+    }
+
+    private void changed(Long id, int quantity) {
+        lowStockService.onSweetChanged(new SweetChangedEvent(SweetChangeType.PURCHASED,
+                new SweetResponseDto(id, "Sweet " + id, 1L, "Milk Sweets", 100.0, quantity)));
+    }
+
+    @Nested
+    @DisplayName("Alert Tests")
+    class AlertTests {
+
+        @Test
+        @DisplayName("Should alert once when a sweet drops to its threshold and again when it runs out")
+        void shouldAlertOncePerLevel() {
+            // When
+            changed(1L, 12);
+            changed(1L, 10);
+            changed(1L, 7);
+            changed(1L, 0);
+
+            // Then
+            assertEquals(2, alerts.size());
+            assertEquals(LowStockLevel.LOW, alerts.get(0).getLevel());
+            assertEquals(10, alerts.get(0).getQuantity());
+            assertEquals(LowStockLevel.OUT_OF_STOCK, alerts.get(1).getLevel());
+        }
+
+        @Test
+        @DisplayName("Should alert again only after the sweet was restocked above its threshold")
+        void shouldRearmAfterRestock() {
+            // When
+            changed(1L, 5);
+            changed(1L, 8);
+            changed(1L, 40);
+            changed(1L, 9);
+
+            // Then
+            assertEquals(2, alerts.size());
+            assertEquals(9, alerts.get(1).getQuantity());
+        }
+
+        @Test
+        @DisplayName("Should use a sweet's own threshold once it is set")
+        void shouldUseCustomThreshold() {
+            // Given
+            // The snapshot is behind the ledger, which has sold down to 30
+            Sweet sweet = new Sweet(1L, "Gulab Jamun", new SweetCategory(1L, "Milk Sweets"), 150.0, 60);
+            when(sweetRepository.findById(1L)).thenReturn(Optional.of(sweet));
+            when(inventoryLedger.getQuantity(1L)).thenReturn(30);
+
+            // When
+            LowStockDto result = lowStockService.setThreshold(1L, 40);
+
+            // Then
+            assertEquals(LowStockLevel.LOW, result.getLevel());
+            assertEquals(30, result.getQuantity());
+            assertEquals(1, alerts.size());
+            verify(sweetReorderThresholdRepository, times(1)).save(any(SweetReorderThreshold.class));
+        }
+
+        @Test
+        @DisplayName("Should reject a negative threshold")
+        void shouldRejectNegativeThreshold() {
+            ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
+                lowStockService.setThreshold(1L, -1);
+            });
+            assertEquals(Constants.REORDER_THRESHOLD_INVALID, exception.getMessage());
+            verifyNoInteractions(sweetRepository, sweetReorderThresholdRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("Low Stock List Tests")
+    class LowStockListTests {
+
+        @Test
+        @DisplayName("Should list only sweets at or below threshold, lowest ratio first")
+        void shouldListByRatio() {
+            // Given
+            changed(1L, 8);
+            changed(2L, 50);
+            changed(3L, 0);
+            changed(4L, 3);
+
+            // When
+            List<LowStockDto> result = lowStockService.getLowStock(null);
+
+            // Then
+            assertEquals(List.of(3L, 4L, 1L), result.stream().map(LowStockDto::getSweetId).toList());
+        }
+
+        @Test
+        @DisplayName("Should move a sweet in the index when its stock changes and drop it when deleted")
+        void shouldReorderAndDrop() {
+            // Given
+            changed(1L, 2);
+            changed(2L, 5);
+            changed(1L, 9);
+
+            // When
+            List<LowStockDto> beforeDelete = lowStockService.getLowStock(10);
+            lowStockService.onSweetDeleted(new SweetDeletedEvent(2L));
+
+            // Then
+            assertEquals(List.of(2L, 1L), beforeDelete.stream().map(LowStockDto::getSweetId).toList());
+            assertEquals(List.of(1L), lowStockService.getLowStock(10).stream().map(LowStockDto::getSweetId).toList());
+        }
+    }
+}
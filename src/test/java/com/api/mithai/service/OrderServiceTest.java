@@ -0,0 +1,199 @@
+package com.api.mithai.service;
+
+import com.api.mithai.auth.entity.User;
+import com.api.mithai.auth.enums.Role;
+import com.api.mithai.base.constants.Constants;
+import com.api.mithai.base.exception.ResponseStatusException;
+import com.api.mithai.order.dto.OrderPageDto;
+import com.api.mithai.order.entity.CustomerOrder;
+import com.api.mithai.order.entity.OrderLine;
+import com.api.mithai.order.repository.CustomerOrderRepository;
+import com.api.mithai.order.repository.OrderLineRepository;
+import com.api.mithai.order.service.OrderService;
+import com.api.mithai.security.UserDetailsImpl;
+import com.api.mithai.sweet.entity.Sweet;
+import com.api.mithai.sweet.entity.SweetCategory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrderService Tests")
+public class OrderServiceTest {
+
+    @Mock
+    private CustomerOrderRepository customerOrderRepository;
+
+    @Mock
+    private OrderLineRepository orderLineRepository;
+
+    @InjectMocks
+    private OrderService orderService;
+
+    private Sweet sweet;
+
+    @BeforeEach
+    void setUp() {
+        sweet = new Sweet(1L, "Gulab Jamun", new SweetCategory(1L, "Milk Sweets"), 150.0, 40);
+        UserDetailsImpl userDetails = new UserDetailsImpl(new User(7L, "johndoe", "user@example.com", "SecureP@1", Role.USER));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static CustomerOrder order(Long id, LocalDateTime createdAt) {
+        CustomerOrder order = new CustomerOrder(7L, createdAt, 300.0);
+        order.setId(id);
+        return order;
+    }
+
+    @Nested
+    @DisplayName("Record Purchase Tests")
+    class RecordPurchaseTests {
+
+        @Test
+        @DisplayName("Should save the order and its line for the current user")
+        void shouldSaveOrderAndLine() {
+            // Given
+            when(customerOrderRepository.save(any(CustomerOrder.class))).thenAnswer(invocation -> {
+                CustomerOrder saved = invocation.getArgument(0);
+                saved.setId(100L);
+                return saved;
+            });
+
+            // When
+            CustomerOrder result = orderService.recordPurchase(sweet, 2);
+
+            // Then
+            assertEquals(7L, result.getUserId());
+            assertEquals(300.0, result.getTotalAmount());
+            verify(orderLineRepository, times(1)).save(argThat(line ->
+                    line.getOrderId().equals(100L) &&
+                    line.getOrderCreatedAt().equals(result.getCreatedAt()) &&
+                    line.getSweetName().equals("Gulab Jamun") &&
+                    line.getUnitPrice().equals(150.0) &&
+                    line.getQuantity().equals(2)
+            ));
+        }
+
+        @Test
+        @DisplayName("Should reject a purchase without an authenticated user")
+        void shouldRejectWithoutUser() {
+            // Given
+            SecurityContextHolder.clearContext();
+
+            // When & Then
+            ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
+                orderService.recordPurchase(sweet, 2);
+            });
+            assertEquals(HttpStatus.UNAUTHORIZED, exception.getStatus());
+            verifyNoInteractions(customerOrderRepository, orderLineRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("List My Orders Tests")
+    class ListMyOrdersTests {
+
+        @Test
+        @DisplayName("Should return the newest page with its lines and a cursor to the next one")
+        void shouldReturnFirstPageWithCursor() {
+            // Given
+            LocalDateTime now = LocalDateTime.of(2026, 3, 10, 12, 0);
+            CustomerOrder newest = order(3L, now);
+            CustomerOrder middle = order(2L, now.minusDays(40));
+            CustomerOrder oldest = order(1L, now.minusDays(80));
+            when(customerOrderRepository.findLatestByUser(7L, 3)).thenReturn(List.of(newest, middle, oldest));
+            when(orderLineRepository.findByOrderIds(Set.of(3L, 2L), middle.getCreatedAt(), newest.getCreatedAt()))
+                    .thenReturn(List.of(new OrderLine(middle, 1L, "Gulab Jamun", 150.0, 2)));
+
+            // When
+            OrderPageDto result = orderService.listMyOrders(null, 2);
+
+            // Then
+            assertEquals(List.of(3L, 2L), result.getOrders().stream().map(o -> o.getId()).toList());
+            assertTrue(result.getOrders().get(0).getLines().isEmpty());
+            assertEquals("Gulab Jamun", result.getOrders().get(1).getLines().get(0).getSweetName());
+            assertEquals(OrderService.encodeCursor(middle), result.getNextCursor());
+        }
+
+        @Test
+        @DisplayName("Should continue strictly after the cursor and stop when no older order exists")
+        void shouldContinueFromCursor() {
+            // Given
+            LocalDateTime createdAt = LocalDateTime.of(2026, 1, 29, 12, 0, 0, 123456000);
+            CustomerOrder previous = order(2L, createdAt);
+            CustomerOrder oldest = order(1L, createdAt.minusDays(40));
+            when(customerOrderRepository.findByUserBefore(7L, createdAt, 2L, 3)).thenReturn(List.of(oldest));
+            when(orderLineRepository.findByOrderIds(Set.of(1L), oldest.getCreatedAt(), oldest.getCreatedAt()))
+                    .thenReturn(Collections.emptyList());
+
+            // When
+            OrderPageDto result = orderService.listMyOrders(OrderService.encodeCursor(previous), 2);
+
+            // Then
+            assertEquals(1, result.getOrders().size());
+            assertNull(result.getNextCursor());
+            verify(customerOrderRepository, never()).findLatestByUser(anyLong(), anyInt());
+        }
+
+        @Test
+        @DisplayName("Should not look up lines when the user has no orders")
+        void shouldReturnEmptyPage() {
+            // Given
+            when(customerOrderRepository.findLatestByUser(7L, 21)).thenReturn(Collections.emptyList());
+
+            // When
+            OrderPageDto result = orderService.listMyOrders(null, null);
+
+            // Then
+            assertTrue(result.getOrders().isEmpty());
+            assertNull(result.getNextCursor());
+            verifyNoInteractions(orderLineRepository);
+        }
+
+        @Test
+        @DisplayName("Should reject a cursor it did not issue")
+        void shouldRejectInvalidCursor() {
+            ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
+                orderService.listMyOrders("not-a-cursor", 10);
+            });
+            assertEquals(Constants.ORDER_CURSOR_INVALID, exception.getMessage());
+            verifyNoInteractions(customerOrderRepository, orderLineRepository);
+        }
+
+        @Test
+        @DisplayName("Should reject a page size above the maximum")
+        void shouldRejectOversizedPage() {
+            ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
+                orderService.listMyOrders(null, Constants.MAX_ORDERS_PAGE_SIZE + 1);
+            });
+            assertEquals(Constants.ORDERS_PAGE_SIZE_INVALID, exception.getMessage());
+            verifyNoInteractions(customerOrderRepository, orderLineRepository);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.api.mithai.service;
+
+import com.api.mithai.ledger.repository.InventoryEventRepository;
+import com.api.mithai.outbox.OutboxEvent;
+import com.api.mithai.outbox.repository.OutboxRepository;
+import com.api.mithai.outbox.service.OutboxRelay;
+import com.api.mithai.outbox.service.OutboxWriter;
+import com.api.mithai.outbox.sink.MemoryOutboxSink;
+import com.api.mithai.outbox.sink.OutboxSink;
+import com.api.mithai.sweet.dto.SweetResponseDto;
+import com.api.mithai.sweet.event.SweetChangeType;
+import com.api.mithai.sweet.event.SweetChangedEvent;
+import com.api.mithai.sweet.event.SweetDeletedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Outbox Tests")
+public class OutboxRelayTest {
+
+    @Mock
+    private OutboxRepository outboxRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private static OutboxEvent event(long id, long sweetId) {
+        return new OutboxEvent(id, sweetId, "PURCHASED", "{\"id\":" + sweetId + "}", LocalDateTime.now());
+    }
+
+    @Nested
+    @DisplayName("Relay Tests")
+    class RelayTests {
+
+        private MemoryOutboxSink memorySink;
+        private SimpleMeterRegistry meterRegistry;
+        private OutboxRelay outboxRelay;
+
+        @BeforeEach
+        void setUp() {
+            memorySink = new MemoryOutboxSink(100);
+            meterRegistry = new SimpleMeterRegistry();
+            outboxRelay = new OutboxRelay(outboxRepository, transactionManager, List.of(memorySink), meterRegistry, "memory");
+            ReflectionTestUtils.setField(outboxRelay, "batchSize", 2);
+        }
+
+        @Test
+        @DisplayName("Should publish locked events in order and delete them after the sink accepts them")
+        void shouldPublishThenDelete() {
+            // Given
+            List<OutboxEvent> first = List.of(event(1, 7), event(2, 8));
+            List<OutboxEvent> second = List.of(event(3, 7));
+            when(outboxRepository.lockBatch(2)).thenReturn(first, second);
+
+            // When
+            outboxRelay.relay();
+
+            // Then
+            assertEquals(List.of(1L, 2L, 3L), memorySink.read(0, 10).stream().map(OutboxEvent::getId).toList());
+            verify(outboxRepository).delete(first);
+            verify(outboxRepository).delete(second);
+            assertEquals(3.0, meterRegistry.get("mithai.outbox.events.published").counter().count());
+        }
+
+        @Test
+        @DisplayName("Should keep a rejected batch in the outbox to send it again")
+        void shouldKeepRejectedBatch() throws Exception {
+            // Given
+            OutboxSink failingSink = mock(OutboxSink.class);
+            when(failingSink.getName()).thenReturn("file");
+            doThrow(new IOException("disk full")).when(failingSink).publish(anyList());
+            OutboxRelay relay = new OutboxRelay(outboxRepository, transactionManager, List.of(failingSink), meterRegistry, "file");
+            ReflectionTestUtils.setField(relay, "batchSize", 2);
+            when(outboxRepository.lockBatch(2)).thenReturn(List.of(event(1, 7), event(2, 8)));
+
+            // When
+            int relayed = relay.relayBatch();
+
+            // Then
+            assertEquals(0, relayed);
+            verify(outboxRepository, never()).delete(anyList());
+            assertEquals(1.0, meterRegistry.get("mithai.outbox.publish.failures").tag("sink", "file").counter().count());
+        }
+
+        @Test
+        @DisplayName("Should stop polling when the outbox is empty")
+        void shouldStopWhenEmpty() {
+            // Given
+            when(outboxRepository.lockBatch(2)).thenReturn(Collections.emptyList());
+
+            // When
+            outboxRelay.relay();
+
+            // Then
+            verify(outboxRepository, times(1)).lockBatch(2);
+            verify(outboxRepository, never()).delete(anyList());
+        }
+
+        @Test
+        @DisplayName("Should refuse to start with an unknown sink")
+        void shouldRejectUnknownSink() {
+            assertThrows(IllegalStateException.class, () ->
+                    new OutboxRelay(outboxRepository, transactionManager, List.of(memorySink), meterRegistry, "kafka"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Memory Sink Tests")
+    class MemorySinkTests {
+
+        @Test
+        @DisplayName("Should drop the oldest events past capacity and keep offsets stable")
+        void shouldReadByOffset() {
+            // Given
+            MemoryOutboxSink sink = new MemoryOutboxSink(2);
+            List<OutboxEvent> events = new ArrayList<>();
+            for (long id = 1; id <= 3; id++) {
+                events.add(event(id, id));
+            }
+
+            // When
+            sink.publish(events);
+
+            // Then
+            assertEquals(3, sink.getEndOffset());
+            assertEquals(List.of(2L, 3L), sink.read(0, 10).stream().map(OutboxEvent::getId).toList());
+            assertEquals(List.of(3L), sink.read(2, 10).stream().map(OutboxEvent::getId).toList());
+        }
+    }
+
+    @Nested
+    @DisplayName("Writer Tests")
+    class WriterTests {
+
+        @Mock
+        private InventoryEventRepository inventoryEventRepository;
+
+        private OutboxWriter outboxWriter;
+
+        @BeforeEach
+        void setUp() {
+            outboxWriter = new OutboxWriter(outboxRepository, new ObjectMapper(), inventoryEventRepository);
+        }
+
+        @Test
+        @DisplayName("Should append a change with the sweet as payload and a deletion without one")
+        void shouldAppendChanges() {
+            // Given
+            SweetResponseDto sweet = new SweetResponseDto(7L, "Gulab Jamun", 1L, "Milk Sweets", 150.0, 40);
+
+            // When
+            outboxWriter.onSweetChanged(new SweetChangedEvent(SweetChangeType.PURCHASED, sweet));
+            outboxWriter.onSweetDeleted(new SweetDeletedEvent(7L));
+
+            // Then
+            verify(outboxRepository).insert(eq(7L), eq("PURCHASED"), contains("\"quantity\":40"), any(LocalDateTime.class));
+            verify(outboxRepository).insert(eq(7L), eq(OutboxWriter.DELETED), isNull(), any(LocalDateTime.class));
+            // No transaction is active here, so there is nothing to serialise against
+            verify(outboxRepository, never()).lockSweet(anyLong());
+            verifyNoInteractions(inventoryEventRepository);
+        }
+
+        @Test
+        @DisplayName("Should lock the sweet, then write the total over stores and keep the outbox id as sequence")
+        void shouldWriteTotalUnderLock() {
+            // Given
+            SweetResponseDto sweet = new SweetResponseDto(7L, "Gulab Jamun", 1L, "Milk Sweets", 150.0, 40);
+            SweetChangedEvent event = new SweetChangedEvent(SweetChangeType.PURCHASED, sweet);
+            when(inventoryEventRepository.findTotal(7L)).thenReturn(35);
+            when(outboxRepository.insert(eq(7L), eq("PURCHASED"), anyString(), any(LocalDateTime.class))).thenReturn(12L);
+            TransactionSynchronizationManager.setActualTransactionActive(true);
+
+            // When
+            try {
+                outboxWriter.onSweetChanged(event);
+            } finally {
+                TransactionSynchronizationManager.setActualTransactionActive(false);
+            }
+
+            // Then: a sale in another store committed since this one computed 40
+            InOrder inOrder = inOrder(outboxRepository, inventoryEventRepository);
+            inOrder.verify(outboxRepository).lockSweet(7L);
+            inOrder.verify(inventoryEventRepository).findTotal(7L);
+            inOrder.verify(outboxRepository).insert(eq(7L), eq("PURCHASED"), contains("\"quantity\":35"), any(LocalDateTime.class));
+            assertEquals(35, sweet.getQuantity());
+            assertEquals(12L, event.getSequence());
+        }
+    }
+}
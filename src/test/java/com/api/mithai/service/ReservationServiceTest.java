@@ -0,0 +1,325 @@
+package com.api.mithai.service;
+
+import com.api.mithai.auth.entity.User;
+import com.api.mithai.auth.enums.Role;
+import com.api.mithai.base.constants.Constants;
+import com.api.mithai.base.exception.ResponseStatusException;
+import com.api.mithai.ledger.service.InventoryLedger;
+import com.api.mithai.security.UserDetailsImpl;
+import com.api.mithai.sweet.dto.ReservationDto;
+import com.api.mithai.sweet.dto.ReserveDto;
+import com.api.mithai.sweet.repository.StockReservation;
+import com.api.mithai.sweet.repository.StockReservationRepository;
+import com.api.mithai.sweet.service.HashedTimingWheel;
+import com.api.mithai.sweet.service.ReservationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReservationService Tests")
+public class ReservationServiceTest {
+
+    private static final long TTL_MILLIS = 60_000;
+
+    @Mock
+    private InventoryLedger inventoryLedger;
+
+    private InMemoryStockReservationRepository stockReservationRepository;
+    private ReservationService reservationService;
+
+    @BeforeEach
+    void setUp() {
+        stockReservationRepository = new InMemoryStockReservationRepository();
+        reservationService = new ReservationService(inventoryLedger, stockReservationRepository, TTL_MILLIS / 1000, 1000, 16);
+        signIn(7L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static void signIn(Long userId) {
+        UserDetailsImpl userDetails = new UserDetailsImpl(new User(userId, "user" + userId, "user" + userId + "@example.com", "SecureP@1", Role.USER));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+    }
+
+    // The store's committed stock, which may only be read once the store's stock is locked
+    private void givenStock(Long sweetId, Long storeId, int quantity) {
+        when(inventoryLedger.getCommittedQuantity(sweetId, storeId)).thenAnswer(invocation -> {
+            assertTrue(stockReservationRepository.isLocked(sweetId, storeId));
+            return quantity;
+        });
+    }
+
+    private ReservationDto reserve(Long sweetId, int quantity) {
+        return reserve(sweetId, null, quantity);
+    }
+
+    private ReservationDto reserve(Long sweetId, Long storeId, int quantity) {
+        ReserveDto reserveDto = new ReserveDto();
+        reserveDto.setQuantity(quantity);
+        reserveDto.setStoreId(storeId);
+        return reservationService.reserve(sweetId, reserveDto);
+    }
+
+    @Nested
+    @DisplayName("Reserve Tests")
+    class ReserveTests {
+
+        @BeforeEach
+        void setUpSweet() {
+            givenStock(1L, 1L, 10);
+        }
+
+        @Test
+        @DisplayName("Should hold stock and report what is left for other carts")
+        void shouldHoldStock() {
+            // When
+            reserve(1L, 4);
+            ReservationDto second = reserve(1L, 5);
+
+            // Then
+            assertEquals(1, second.getAvailable());
+            assertEquals(9, reservationService.getHeldQuantity(1L, 1L));
+            assertNotNull(second.getReservationId());
+        }
+
+        @Test
+        @DisplayName("Should reject a hold larger than the stock not already held")
+        void shouldRejectOverReservation() {
+            // Given
+            reserve(1L, 8);
+
+            // When & Then
+            ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> reserve(1L, 3));
+            assertEquals(Constants.RESERVATION_EXCEEDS_AVAILABLE, exception.getMessage());
+            assertEquals(8, reservationService.getHeldQuantity(1L, 1L));
+        }
+
+        @Test
+        @DisplayName("Should hold each store's stock separately")
+        void shouldHoldPerStore() {
+            // Given
+            givenStock(1L, 2L, 3);
+            reserve(1L, 8);
+
+            // When
+            ReservationDto outlet = reserve(1L, 2L, 3);
+
+            // Then
+            assertEquals(2L, outlet.getStoreId());
+            assertEquals(0, outlet.getAvailable());
+            assertEquals(8, reservationService.getHeldQuantity(1L, 1L));
+            assertEquals(3, reservationService.getHeldQuantity(1L, 2L));
+            assertThrows(ResponseStatusException.class, () -> reserve(1L, 2L, 1));
+            assertThrows(ResponseStatusException.class, () ->
+                    reservationService.getReservedQuantity(outlet.getReservationId(), 1L, 1L));
+        }
+
+        @Test
+        @DisplayName("Should release the hold when its TTL runs out")
+        void shouldExpireHold() {
+            // Given
+            ReservationDto reservation = reserve(1L, 4);
+
+            // When
+            int early = reservationService.expireDue(System.currentTimeMillis());
+            int expired = reservationService.expireDue(System.currentTimeMillis() + TTL_MILLIS + 2000);
+
+            // Then
+            assertEquals(0, early);
+            assertEquals(1, expired);
+            assertEquals(0, reservationService.getHeldQuantity(1L, 1L));
+            assertThrows(ResponseStatusException.class, () -> reservationService.consume(reservation.getReservationId()));
+        }
+
+        @Test
+        @DisplayName("Should consume a hold only once")
+        void shouldConsumeHold() {
+            // Given
+            ReservationDto reservation = reserve(1L, 4);
+
+            // When
+            int reserved = reservationService.getReservedQuantity(reservation.getReservationId(), 1L, 1L);
+            reservationService.consume(reservation.getReservationId());
+
+            // Then
+            assertEquals(4, reserved);
+            assertEquals(0, reservationService.getHeldQuantity(1L, 1L));
+            assertThrows(ResponseStatusException.class, () -> reservationService.consume(reservation.getReservationId()));
+            reservationService.expireDue(System.currentTimeMillis() + TTL_MILLIS + 2000);
+            assertEquals(0, reservationService.getHeldQuantity(1L, 1L));
+        }
+
+        @Test
+        @DisplayName("Should count holds taken by another instance")
+        void shouldCountSharedHolds() {
+            // Given
+            stockReservationRepository.insert(new StockReservation("other-instance", 1L, 1L, 9L, 7,
+                    LocalDateTime.now().plusMinutes(5)));
+
+            // When & Then
+            assertEquals(7, reservationService.getHeldQuantity(1L, 1L));
+            assertEquals(0, reserve(1L, 3).getAvailable());
+            assertThrows(ResponseStatusException.class, () -> reserve(1L, 1));
+        }
+
+        @Test
+        @DisplayName("Should not let another user see or cancel the hold")
+        void shouldKeepHoldPrivate() {
+            // Given
+            ReservationDto reservation = reserve(1L, 4);
+            signIn(8L);
+
+            // When & Then
+            ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                    reservationService.cancel(reservation.getReservationId()));
+            assertEquals(Constants.RESERVATION_NOT_FOUND, exception.getMessage());
+            assertEquals(4, reservationService.getHeldQuantity(1L, 1L));
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject a hold on an unknown sweet without writing it")
+    void shouldRejectUnknownSweet() {
+        // Given
+        when(inventoryLedger.getCommittedQuantity(999L, 1L))
+                .thenThrow(new ResponseStatusException("Sweet not found", HttpStatus.BAD_REQUEST));
+
+        // When & Then
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> reserve(999L, 1));
+        assertEquals("Sweet not found", exception.getMessage());
+        assertEquals(0, reservationService.getHeldQuantity(999L, 1L));
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive quantity before looking up the stock")
+    void shouldRejectInvalidQuantity() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> reserve(1L, 0));
+        assertEquals(Constants.RESERVATION_QUANTITY_INVALID, exception.getMessage());
+        verifyNoInteractions(inventoryLedger);
+    }
+
+    @Nested
+    @DisplayName("Timing Wheel Tests")
+    class TimingWheelTests {
+
+        @Test
+        @DisplayName("Should expire items on the tick after their deadline, including past a full turn")
+        void shouldExpireAfterDeadline() {
+            // Given
+            List<String> expired = new ArrayList<>();
+            HashedTimingWheel<String> wheel = new HashedTimingWheel<>(100, 4, 0, expired::add);
+            wheel.schedule("soon", 250);
+            wheel.schedule("later", 1050);
+
+            // When & Then
+            wheel.advance(299);
+            assertTrue(expired.isEmpty());
+            wheel.advance(300);
+            assertEquals(List.of("soon"), expired);
+            wheel.advance(1099);
+            assertEquals(List.of("soon"), expired);
+            wheel.advance(1100);
+            assertEquals(List.of("soon", "later"), expired);
+        }
+
+        @Test
+        @DisplayName("Should not expire a cancelled item")
+        void shouldSkipCancelled() {
+            // Given
+            List<String> expired = new ArrayList<>();
+            HashedTimingWheel<String> wheel = new HashedTimingWheel<>(100, 4, 0, expired::add);
+            HashedTimingWheel.Timeout<String> timeout = wheel.schedule("cart", 150);
+
+            // When
+            boolean cancelled = timeout.cancel();
+            wheel.advance(1000);
+
+            // Then
+            assertTrue(cancelled);
+            assertTrue(expired.isEmpty());
+            assertFalse(timeout.cancel());
+        }
+    }
+
+    // The table's semantics: holds count and can be found until expires_at
+    private static final class InMemoryStockReservationRepository extends StockReservationRepository {
+
+        private final Map<String, StockReservation> rows = new ConcurrentHashMap<>();
+        private final Set<String> locks = ConcurrentHashMap.newKeySet();
+
+        private InMemoryStockReservationRepository() {
+            super(null);
+        }
+
+        @Override
+        public void lockStock(Long sweetId, Long storeId) {
+            locks.add(sweetId + ":" + storeId);
+        }
+
+        private boolean isLocked(Long sweetId, Long storeId) {
+            return locks.contains(sweetId + ":" + storeId);
+        }
+
+        @Override
+        public void insert(StockReservation reservation) {
+            rows.put(reservation.getId(), reservation);
+        }
+
+        @Override
+        public int getHeldQuantity(Long sweetId, Long storeId, LocalDateTime now) {
+            return rows.values().stream()
+                    .filter(row -> row.getSweetId().equals(sweetId) && row.getStoreId().equals(storeId)
+                            && row.getExpiresAt().isAfter(now))
+                    .mapToInt(StockReservation::getQuantity)
+                    .sum();
+        }
+
+        @Override
+        public Optional<StockReservation> findActive(String id, LocalDateTime now) {
+            return Optional.ofNullable(rows.get(id)).filter(row -> row.getExpiresAt().isAfter(now));
+        }
+
+        @Override
+        public boolean deleteActive(String id, LocalDateTime now) {
+            return findActive(id, now).map(row -> rows.remove(id) != null).orElse(false);
+        }
+
+        @Override
+        public void delete(String id) {
+            rows.remove(id);
+        }
+
+        @Override
+        public int purgeExpired(LocalDateTime now) {
+            int before = rows.size();
+            rows.values().removeIf(row -> !row.getExpiresAt().isAfter(now));
+            return before - rows.size();
+        }
+    }
+}
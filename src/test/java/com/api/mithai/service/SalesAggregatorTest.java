@@ -0,0 +1,117 @@
+package com.api.mithai.service;
+
+import com.api.mithai.report.repository.SalesRollupRepository;
+import com.api.mithai.report.service.SalesAggregator;
+import com.api.mithai.report.service.SalesDelta;
+import com.api.mithai.sweet.event.SweetPurchasedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SalesAggregator Tests")
+public class SalesAggregatorTest {
+
+    @Mock
+    private SalesRollupRepository salesRollupRepository;
+
+    @InjectMocks
+    private SalesAggregator salesAggregator;
+
+    private static SweetPurchasedEvent purchased(Long sweetId, int quantity, LocalDateTime purchasedAt) {
+        return new SweetPurchasedEvent(sweetId, 1L, quantity, 150.0 * quantity, purchasedAt);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<SalesDelta> captured(ArgumentCaptor<List> captor, int call) {
+        return (List<SalesDelta>) captor.getAllValues().get(call);
+    }
+
+    @Test
+    @DisplayName("Should write one minute row and one day row per sweet, summing the purchases")
+    void shouldSumPurchasesPerBucket() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        salesAggregator.onSweetPurchased(purchased(1L, 2, now));
+        salesAggregator.onSweetPurchased(purchased(1L, 3, now));
+        salesAggregator.onSweetPurchased(purchased(2L, 1, now));
+
+        // When
+        salesAggregator.flush();
+
+        // Then
+        ArgumentCaptor<List> minutes = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List> days = ArgumentCaptor.forClass(List.class);
+        verify(salesRollupRepository).addToMinuteRollup(minutes.capture());
+        verify(salesRollupRepository).addToDayRollup(days.capture());
+        List<SalesDelta> dayDeltas = captured(days, 0);
+        assertEquals(2, captured(minutes, 0).size());
+        SalesDelta first = dayDeltas.stream().filter(delta -> delta.getSweetId().equals(1L)).findFirst().orElseThrow();
+        assertEquals(5, first.getUnits());
+        assertEquals(750.0, first.getRevenue());
+        assertEquals(now.toLocalDate().atStartOfDay(), first.getBucket());
+    }
+
+    @Test
+    @DisplayName("Should only write what was added since the last flush")
+    void shouldWriteOnlyNewSales() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        salesAggregator.onSweetPurchased(purchased(1L, 2, now));
+        salesAggregator.flush();
+        salesAggregator.onSweetPurchased(purchased(1L, 4, now));
+
+        // When
+        salesAggregator.flush();
+        salesAggregator.flush();
+
+        // Then
+        ArgumentCaptor<List> days = ArgumentCaptor.forClass(List.class);
+        verify(salesRollupRepository, times(2)).addToDayRollup(days.capture());
+        assertEquals(4, captured(days, 1).get(0).getUnits());
+    }
+
+    @Test
+    @DisplayName("Should keep unwritten sales for the next flush when the write fails")
+    void shouldRetryAfterFailedWrite() {
+        // Given
+        salesAggregator.onSweetPurchased(purchased(1L, 2, LocalDateTime.now()));
+        doThrow(new RuntimeException("database down")).doNothing()
+                .when(salesRollupRepository).addToMinuteRollup(anyList());
+        assertThrows(RuntimeException.class, () -> salesAggregator.flush());
+
+        // When
+        salesAggregator.flush();
+
+        // Then
+        ArgumentCaptor<List> minutes = ArgumentCaptor.forClass(List.class);
+        verify(salesRollupRepository, times(2)).addToMinuteRollup(minutes.capture());
+        assertEquals(2, captured(minutes, 1).get(0).getUnits());
+    }
+
+    @Test
+    @DisplayName("Should drop closed buckets from memory once they are written")
+    void shouldEvictClosedBuckets() {
+        // Given
+        salesAggregator.onSweetPurchased(purchased(1L, 2, LocalDateTime.now().minusDays(2)));
+        assertEquals(2, salesAggregator.getCounterCount());
+
+        // When
+        salesAggregator.flush();
+
+        // Then
+        assertEquals(0, salesAggregator.getCounterCount());
+        verify(salesRollupRepository).addToDayRollup(anyList());
+    }
+}
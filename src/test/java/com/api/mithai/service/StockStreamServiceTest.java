@@ -0,0 +1,237 @@
+package com.api.mithai.service;
+
+import com.api.mithai.sweet.dto.SweetResponseDto;
+import com.api.mithai.sweet.event.SweetChangeType;
+import com.api.mithai.sweet.event.SweetChangedEvent;
+import com.api.mithai.sweet.service.StockStreamService;
+import com.api.mithai.sweet.service.StockSubscriber;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("StockStreamService Tests")
+public class StockStreamServiceTest {
+
+    private StockStreamService stockStreamService;
+
+    @BeforeEach
+    void setUp() {
+        stockStreamService = new StockStreamService(new ObjectMapper());
+    }
+
+    private SweetChangedEvent changed(Long id, Integer quantity) {
+        return new SweetChangedEvent(SweetChangeType.PURCHASED,
+                new SweetResponseDto(id, "Gulab Jamun", 1L, "Milk Sweets", 150.0, quantity));
+    }
+
+    private static String render(SseEmitter.SseEventBuilder frame) {
+        StringBuilder text = new StringBuilder();
+        for (ResponseBodyEmitter.DataWithMediaType part : frame.build()) {
+            text.append(part.getData());
+        }
+        return text.toString();
+    }
+
+    @Nested
+    @DisplayName("Coalescing Tests")
+    class CoalescingTests {
+
+        @Test
+        @DisplayName("Should send only the latest quantity per sweet in one frame")
+        void shouldCoalesceChangesPerSweet() throws InterruptedException {
+            // Given
+            StockSubscriber subscriber = new StockSubscriber(new SseEmitter(), 8);
+            stockStreamService.register(subscriber);
+            stockStreamService.onSweetChanged(changed(1L, 50));
+            stockStreamService.onSweetChanged(changed(1L, 45));
+            stockStreamService.onSweetChanged(changed(1L, 40));
+            stockStreamService.onSweetChanged(changed(2L, 7));
+
+            // When
+            stockStreamService.flush();
+
+            // Then
+            assertEquals(1, subscriber.getBufferedCount());
+            String frame = render(subscriber.poll(0));
+            assertTrue(frame.contains("event:" + StockStreamService.STOCK_EVENT_NAME));
+            assertTrue(frame.contains("{\"id\":1,\"quantity\":40}"));
+            assertTrue(frame.contains("{\"id\":2,\"quantity\":7}"));
+            assertFalse(frame.contains("\"quantity\":45"));
+        }
+
+        @Test
+        @DisplayName("Should keep the newest change when an older one arrives after it")
+        void shouldDropOlderChange() throws InterruptedException {
+            // Given
+            StockSubscriber subscriber = new StockSubscriber(new SseEmitter(), 8);
+            stockStreamService.register(subscriber);
+            SweetChangedEvent newer = changed(1L, 30);
+            newer.setSequence(12);
+            SweetChangedEvent older = changed(1L, 40);
+            older.setSequence(11);
+
+            // When
+            stockStreamService.onSweetChanged(newer);
+            stockStreamService.flush();
+            stockStreamService.onSweetChanged(older);
+            stockStreamService.flush();
+
+            // Then
+            assertEquals(1, subscriber.getBufferedCount());
+            assertTrue(render(subscriber.poll(0)).contains("{\"id\":1,\"quantity\":30}"));
+        }
+
+        @Test
+        @DisplayName("Should not send a frame when nothing changed since the last flush")
+        void shouldSkipEmptyFlush() {
+            // Given
+            StockSubscriber subscriber = new StockSubscriber(new SseEmitter(), 8);
+            stockStreamService.register(subscriber);
+            stockStreamService.onSweetChanged(changed(1L, 40));
+            stockStreamService.flush();
+
+            // When
+            stockStreamService.flush();
+
+            // Then
+            assertEquals(1, subscriber.getBufferedCount());
+        }
+    }
+
+    @Nested
+    @DisplayName("Slow Subscriber Tests")
+    class SlowSubscriberTests {
+
+        @Test
+        @DisplayName("Should drop the oldest frames when a subscriber buffer is full and tell it to resync")
+        void shouldDropOldestFramesWhenBufferIsFull() throws InterruptedException {
+            // Given
+            StockSubscriber subscriber = new StockSubscriber(new SseEmitter(), 2);
+            stockStreamService.register(subscriber);
+
+            // When
+            for (int quantity = 1; quantity <= 5; quantity++) {
+                stockStreamService.onSweetChanged(changed(1L, quantity));
+                stockStreamService.flush();
+            }
+
+            // Then
+            assertEquals(2, subscriber.getBufferedCount());
+            assertEquals(3, subscriber.getDroppedCount());
+            assertTrue(render(subscriber.poll(0)).contains("event:" + StockStreamService.RESYNC_EVENT_NAME));
+            assertTrue(render(subscriber.poll(0)).contains("\"quantity\":4"));
+            assertTrue(render(subscriber.poll(0)).contains("\"quantity\":5"));
+        }
+
+        @Test
+        @DisplayName("Should keep feeding other subscribers while one is stalled")
+        void shouldNotBlockOnStalledSubscriber() throws Exception {
+            // Given
+            CountDownLatch release = new CountDownLatch(1);
+            StockSubscriber stalled = new StockSubscriber(new RecordingEmitter(frame -> awaitQuietly(release)), 1);
+            List<String> received = new CopyOnWriteArrayList<>();
+            CountDownLatch delivered = new CountDownLatch(3);
+            StockSubscriber healthy = new StockSubscriber(new RecordingEmitter(frame -> {
+                received.add(frame);
+                delivered.countDown();
+            }), 8);
+            stockStreamService.register(stalled);
+            stockStreamService.register(healthy);
+            Thread stalledThread = Thread.ofVirtual().start(stalled);
+            Thread healthyThread = Thread.ofVirtual().start(healthy);
+
+            // When
+            for (int quantity = 1; quantity <= 3; quantity++) {
+                stockStreamService.onSweetChanged(changed(1L, quantity));
+                stockStreamService.flush();
+            }
+
+            // Then
+            assertTrue(delivered.await(5, TimeUnit.SECONDS));
+            assertEquals(3, received.size());
+            assertTrue(received.get(2).contains("\"quantity\":3"));
+
+            release.countDown();
+            stalled.close();
+            healthy.close();
+            stalledThread.join(5000);
+            healthyThread.join(5000);
+            assertTrue(stalled.isClosed());
+        }
+    }
+
+    @Test
+    @DisplayName("Should send a heartbeat only to an idle subscriber")
+    void shouldNotQueueHeartbeatBehindFrames() throws InterruptedException {
+        // Given
+        StockSubscriber idle = new StockSubscriber(new SseEmitter(), 1);
+        StockSubscriber busy = new StockSubscriber(new SseEmitter(), 1);
+        stockStreamService.register(idle);
+        stockStreamService.register(busy);
+        busy.offer(SseEmitter.event().name(StockStreamService.STOCK_EVENT_NAME).data("[{\"id\":1,\"quantity\":40}]"));
+
+        // When
+        stockStreamService.heartbeat();
+
+        // Then
+        assertEquals(1, idle.getBufferedCount());
+        assertTrue(render(idle.poll(0)).contains("heartbeat"));
+        assertEquals(0, busy.getDroppedCount());
+        assertTrue(render(busy.poll(0)).contains("\"quantity\":40"));
+    }
+
+    @Test
+    @DisplayName("Should stop sending to a subscriber once it is unregistered")
+    void shouldStopSendingAfterUnregister() {
+        // Given
+        StockSubscriber subscriber = new StockSubscriber(new SseEmitter(), 8);
+        stockStreamService.register(subscriber);
+        stockStreamService.unregister(subscriber);
+        stockStreamService.onSweetChanged(changed(1L, 40));
+
+        // When
+        stockStreamService.flush();
+        stockStreamService.heartbeat();
+
+        // Then
+        assertEquals(0, stockStreamService.getSubscriberCount());
+        assertTrue(subscriber.isClosed());
+        assertEquals(0, subscriber.getBufferedCount());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Hands each rendered frame to a callback instead of an HTTP response
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final Consumer<String> onFrame;
+
+        RecordingEmitter(Consumer<String> onFrame) {
+            this.onFrame = onFrame;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            onFrame.accept(render(builder));
+        }
+    }
+}
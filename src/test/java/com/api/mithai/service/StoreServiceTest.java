@@ -0,0 +1,121 @@
+package com.api.mithai.service;
+
+import com.api.mithai.base.constants.Constants;
+import com.api.mithai.base.exception.ResponseStatusException;
+import com.api.mithai.store.dto.StoreRequestDto;
+import com.api.mithai.store.dto.StoreResponseDto;
+import com.api.mithai.store.entity.Store;
+import com.api.mithai.store.repository.StoreRepository;
+import com.api.mithai.store.service.StoreService;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StoreService Tests")
+public class StoreServiceTest {
+
+    @Mock
+    private StoreRepository storeRepository;
+
+    @InjectMocks
+    private StoreService storeService;
+
+    @Test
+    @DisplayName("Should use the default store when none is given and cache the store ids")
+    void shouldDefaultAndCache() {
+        // Given
+        when(storeRepository.findAllIds()).thenReturn(List.of(1L, 2L));
+
+        // When
+        Long defaultStore = storeService.validateStoreId(null);
+        Long outlet = storeService.validateStoreId(2L);
+
+        // Then
+        assertEquals(StoreService.DEFAULT_STORE_ID, defaultStore);
+        assertEquals(2L, outlet);
+        verify(storeRepository, times(1)).findAllIds();
+    }
+
+    @Test
+    @DisplayName("Should reload once for a store created on another instance and reject one that does not exist")
+    void shouldReloadForUnknownStore() {
+        // Given
+        when(storeRepository.findAllIds()).thenReturn(List.of(1L), List.of(1L, 2L), List.of(1L, 2L));
+        storeService.getStoreIds();
+
+        // When
+        Long outlet = storeService.validateStoreId(2L);
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                storeService.validateStoreId(99L));
+
+        // Then
+        assertEquals(2L, outlet);
+        assertEquals(Constants.STORE_NOT_FOUND, exception.getMessage());
+        verify(storeRepository, times(3)).findAllIds();
+    }
+
+    @Test
+    @DisplayName("Should create a store and pick it up on the next read")
+    void shouldCreateStore() {
+        // Given
+        StoreRequestDto storeRequestDto = new StoreRequestDto();
+        storeRequestDto.setName("  Andheri  ");
+        when(storeRepository.saveAndFlush(any(Store.class))).thenReturn(new Store(2L, "Andheri"));
+        when(storeRepository.findAllIds()).thenReturn(List.of(1L), List.of(1L, 2L));
+        storeService.getStoreIds();
+
+        // When
+        StoreResponseDto result = storeService.create(storeRequestDto);
+
+        // Then
+        assertEquals(new StoreResponseDto(2L, "Andheri"), result);
+        assertTrue(storeService.getStoreIds().contains(2L));
+    }
+
+    @Test
+    @DisplayName("Should reject a store name that is already taken in any case")
+    void shouldRejectDuplicateName() {
+        // Given
+        StoreRequestDto storeRequestDto = new StoreRequestDto();
+        storeRequestDto.setName("MAIN STORE");
+        when(storeRepository.saveAndFlush(any(Store.class))).thenThrow(duplicateNameViolation());
+
+        // When & Then
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () ->
+                storeService.create(storeRequestDto));
+        assertEquals(Constants.STORE_NAME_ALREADY_EXISTS, exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should not hide other integrity violations")
+    void shouldRethrowOtherViolations() {
+        // Given
+        StoreRequestDto storeRequestDto = new StoreRequestDto();
+        storeRequestDto.setName("Andheri");
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("could not execute statement");
+        when(storeRepository.saveAndFlush(any(Store.class))).thenThrow(violation);
+
+        // When & Then
+        assertSame(violation, assertThrows(DataIntegrityViolationException.class, () ->
+                storeService.create(storeRequestDto)));
+    }
+
+    private DataIntegrityViolationException duplicateNameViolation() {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("duplicate key value", new SQLException("duplicate key value", "23505"),
+                        StoreService.NAME_UNIQUE_INDEX));
+    }
+}
@@ -0,0 +1,273 @@
+package com.api.mithai.service;
+
+import com.api.mithai.base.constants.Constants;
+import com.api.mithai.base.exception.ResponseStatusException;
+import com.api.mithai.ledger.service.InventoryLedger;
+import com.api.mithai.sweet.dto.SweetBatchUpdateRequestDto;
+import com.api.mithai.sweet.dto.SweetRequestDto;
+import com.api.mithai.sweet.dto.SweetResponseDto;
+import com.api.mithai.sweet.entity.Sweet;
+import com.api.mithai.sweet.entity.SweetCategory;
+import com.api.mithai.sweet.repository.SweetCategoryRepository;
+import com.api.mithai.sweet.repository.SweetRepository;
+import com.api.mithai.sweet.service.SweetService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SweetService Batch Create/Update Tests")
+public class SweetServiceBatchTest {
+
+    @Mock
+    private SweetRepository sweetRepository;
+
+    @Mock
+    private SweetCategoryRepository sweetCategoryRepository;
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Mock
+    private InventoryLedger inventoryLedger;
+
+    @InjectMocks
+    private SweetService sweetService;
+
+    private SweetCategory testCategory;
+
+    @BeforeEach
+    void setUp() {
+        testCategory = new SweetCategory(1L, "Milk Sweets");
+    }
+
+    private SweetRequestDto createRequest(String name) {
+        SweetRequestDto sweetRequestDto = new SweetRequestDto();
+        sweetRequestDto.setName(name);
+        sweetRequestDto.setCategoryId(1L);
+        sweetRequestDto.setPrice(150.0);
+        sweetRequestDto.setQuantity(50);
+        return sweetRequestDto;
+    }
+
+    private SweetBatchUpdateRequestDto updateRequest(Long id, String name) {
+        SweetBatchUpdateRequestDto sweetRequestDto = new SweetBatchUpdateRequestDto();
+        sweetRequestDto.setId(id);
+        sweetRequestDto.setName(name);
+        sweetRequestDto.setCategoryId(1L);
+        sweetRequestDto.setPrice(200.0);
+        sweetRequestDto.setQuantity(75);
+        sweetRequestDto.setStoreId(1L);
+        return sweetRequestDto;
+    }
+
+    @Nested
+    @DisplayName("Create Batch Tests")
+    class CreateBatchTests {
+
+        @Test
+        @DisplayName("Should check all names with a single query and save all sweets together, trimmed")
+        void shouldCheckNamesOnceAndSaveAll() {
+            // Given
+            List<SweetRequestDto> requests = List.of(createRequest("  Gulab Jamun "), createRequest("Rasgulla"));
+            when(sweetRepository.findAllByLowerNameIn(Set.of("gulab jamun", "rasgulla"))).thenReturn(Collections.emptyList());
+            when(sweetCategoryRepository.findAllById(Set.of(1L))).thenReturn(List.of(testCategory));
+            when(sweetRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> {
+                List<Sweet> sweets = invocation.getArgument(0);
+                for (int i = 0; i < sweets.size(); i++) {
+                    sweets.get(i).setId((long) i + 1);
+                }
+                return sweets;
+            });
+
+            // When
+            List<SweetResponseDto> result = sweetService.createBatch(requests);
+
+            // Then
+            assertEquals(2, result.size());
+            assertEquals("Gulab Jamun", result.get(0).getName());
+            assertEquals("Rasgulla", result.get(1).getName());
+            assertEquals("Milk Sweets", result.get(1).getCategoryName());
+            verify(sweetRepository, times(1)).findAllByLowerNameIn(anyCollection());
+            verify(sweetRepository, never()).save(any(Sweet.class));
+            verify(sweetRepository, times(1)).saveAllAndFlush(anyList());
+        }
+
+        @Test
+        @DisplayName("Should reject names repeated within the batch without querying the database")
+        void shouldRejectIntraBatchDuplicates() {
+            // Given
+            List<SweetRequestDto> requests = List.of(createRequest("Gulab Jamun"), createRequest("GULAB JAMUN"));
+
+            // When & Then
+            ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
+                sweetService.createBatch(requests);
+            });
+            assertEquals(Constants.SWEET_NAME_DUPLICATED_IN_BATCH, exception.getMessage());
+            verify(sweetRepository, never()).findAllByLowerNameIn(anyCollection());
+            verify(sweetRepository, never()).saveAllAndFlush(anyList());
+        }
+
+        @Test
+        @DisplayName("Should reject the batch when a name already exists")
+        void shouldRejectExistingName() {
+            // Given
+            List<SweetRequestDto> requests = List.of(createRequest("Gulab Jamun"), createRequest("Rasgulla"));
+            when(sweetRepository.findAllByLowerNameIn(anyCollection()))
+                    .thenReturn(List.of(new Sweet(7L, "Rasgulla", testCategory, 100.0, 10)));
+
+            // When & Then
+            ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
+                sweetService.createBatch(requests);
+            });
+            assertEquals(Constants.SWEET_NAME_ALREADY_EXISTS, exception.getMessage());
+            assertEquals("Rasgulla", exception.getData());
+            verify(sweetCategoryRepository, never()).findAllById(any());
+            verify(sweetRepository, never()).saveAllAndFlush(anyList());
+        }
+
+        @Test
+        @DisplayName("Should reject the batch when a category is missing")
+        void shouldRejectMissingCategory() {
+            // Given
+            SweetRequestDto unknownCategory = createRequest("Rasgulla");
+            unknownCategory.setCategoryId(999L);
+            List<SweetRequestDto> requests = List.of(createRequest("Gulab Jamun"), unknownCategory);
+            when(sweetRepository.findAllByLowerNameIn(anyCollection())).thenReturn(Collections.emptyList());
+            when(sweetCategoryRepository.findAllById(Set.of(1L, 999L))).thenReturn(List.of(testCategory));
+
+            // When & Then
+            ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
+                sweetService.createBatch(requests);
+            });
+            assertEquals("Category not found", exception.getMessage());
+            verify(sweetRepository, never()).saveAllAndFlush(anyList());
+        }
+
+        @Test
+        @DisplayName("Should reject an empty batch")
+        void shouldRejectEmptyBatch() {
+            ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
+                sweetService.createBatch(Collections.emptyList());
+            });
+            assertEquals(Constants.BATCH_SIZE_INVALID, exception.getMessage());
+            verifyNoInteractions(sweetRepository, sweetCategoryRepository);
+        }
+
+        @Test
+        @DisplayName("Should validate every item before touching the database")
+        void shouldValidateEveryItemFirst() {
+            // Given
+            SweetRequestDto invalid = createRequest("Rasgulla");
+            invalid.setPrice(0.0);
+            List<SweetRequestDto> requests = List.of(createRequest("Gulab Jamun"), invalid);
+
+            // When & Then
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
+                sweetService.createBatch(requests);
+            });
+            assertEquals("Price must be greater than zero", exception.getMessage());
+            verifyNoInteractions(sweetRepository, sweetCategoryRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("Update Batch Tests")
+    class UpdateBatchTests {
+
+        @Test
+        @DisplayName("Should update all sweets using set-based lookups, with trimmed names")
+        void shouldUpdateAllSweets() {
+            // Given
+            Sweet first = new Sweet(1L, "Gulab Jamun", testCategory, 150.0, 50);
+            Sweet second = new Sweet(2L, "Rasgulla", testCategory, 120.0, 30);
+            List<SweetBatchUpdateRequestDto> requests = List.of(
+                    updateRequest(1L, "Gulab Jamun"), updateRequest(2L, " Kaju Katli  "));
+            when(sweetRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(first, second));
+            // Sweet 1 keeps its own name, which is not a conflict
+            when(sweetRepository.findAllByLowerNameIn(Set.of("gulab jamun", "kaju katli"))).thenReturn(List.of(first));
+            when(sweetCategoryRepository.findAllById(Set.of(1L))).thenReturn(List.of(testCategory));
+            when(sweetRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+            when(inventoryLedger.adjust(anyLong(), any(), anyInt())).thenAnswer(invocation -> invocation.getArgument(2));
+
+            // When
+            List<SweetResponseDto> result = sweetService.updateBatch(requests);
+
+            // Then
+            assertEquals(2, result.size());
+            assertEquals("Kaju Katli", result.get(1).getName());
+            assertEquals(200.0, result.get(0).getPrice());
+            assertEquals(75, result.get(1).getQuantity());
+            verify(sweetRepository, times(1)).saveAllAndFlush(anyList());
+            verify(inventoryLedger, times(1)).adjust(1L, 1L, 75);
+            verify(inventoryLedger, times(1)).adjust(2L, 1L, 75);
+        }
+
+        @Test
+        @DisplayName("Should reject a name held by another sweet")
+        void shouldRejectNameHeldByAnotherSweet() {
+            // Given
+            Sweet first = new Sweet(1L, "Gulab Jamun", testCategory, 150.0, 50);
+            Sweet other = new Sweet(3L, "Kaju Katli", testCategory, 300.0, 5);
+            List<SweetBatchUpdateRequestDto> requests = List.of(updateRequest(1L, "kaju katli"));
+            when(sweetRepository.findAllById(Set.of(1L))).thenReturn(List.of(first));
+            when(sweetRepository.findAllByLowerNameIn(Set.of("kaju katli"))).thenReturn(List.of(other));
+
+            // When & Then
+            ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
+                sweetService.updateBatch(requests);
+            });
+            assertEquals(Constants.SWEET_NAME_ALREADY_EXISTS, exception.getMessage());
+            verify(sweetRepository, never()).saveAllAndFlush(anyList());
+        }
+
+        @Test
+        @DisplayName("Should reject ids repeated within the batch")
+        void shouldRejectRepeatedIds() {
+            // Given
+            List<SweetBatchUpdateRequestDto> requests = List.of(
+                    updateRequest(1L, "Gulab Jamun"), updateRequest(1L, "Rasgulla"));
+
+            // When & Then
+            ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
+                sweetService.updateBatch(requests);
+            });
+            assertEquals(Constants.SWEET_ID_DUPLICATED_IN_BATCH, exception.getMessage());
+            verifyNoInteractions(sweetRepository, sweetCategoryRepository);
+        }
+
+        @Test
+        @DisplayName("Should reject the batch when a sweet is missing")
+        void shouldRejectMissingSweet() {
+            // Given
+            Sweet first = new Sweet(1L, "Gulab Jamun", testCategory, 150.0, 50);
+            List<SweetBatchUpdateRequestDto> requests = List.of(
+                    updateRequest(1L, "Gulab Jamun"), updateRequest(999L, "Rasgulla"));
+            when(sweetRepository.findAllById(Set.of(1L, 999L))).thenReturn(List.of(first));
+
+            // When & Then
+            ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
+                sweetService.updateBatch(requests);
+            });
+            assertEquals("Sweet not found", exception.getMessage());
+            verify(sweetRepository, never()).findAllByLowerNameIn(anyCollection());
+            verify(sweetRepository, never()).saveAllAndFlush(anyList());
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.api.mithai.service;
 
 import com.api.mithai.base.constants.Constants;
 import com.api.mithai.base.exception.ResponseStatusException;
+import com.api.mithai.ledger.service.InventoryLedger;
 import com.api.mithai.sweet.dto.SweetRequestDto;
 import com.api.mithai.sweet.dto.SweetResponseDto;
 import com.api.mithai.sweet.entity.Sweet;
@@ -9,6 +10,7 @@ import com.api.mithai.sweet.entity.SweetCategory;
 import com.api.mithai.sweet.repository.SweetCategoryRepository;
 import com.api.mithai.sweet.repository.SweetRepository;
 import com.api.mithai.sweet.service.SweetService;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -17,8 +19,21 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -34,6 +49,12 @@ public class SweetServiceCreateSweetTest {
     @Mock
     private SweetCategoryRepository sweetCategoryRepository;
 
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Mock
+    private InventoryLedger inventoryLedger;
+
     @InjectMocks
     private SweetService sweetService;
 
@@ -51,6 +72,12 @@ public class SweetServiceCreateSweetTest {
         testCategory = new SweetCategory(1L, "Milk Sweets");
     }
 
+    private DataIntegrityViolationException duplicateNameViolation() {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("duplicate key value", new SQLException("duplicate key value", "23505"),
+                        SweetService.NAME_UNIQUE_INDEX));
+    }
+
     @Nested
     @DisplayName("Create Sweet Success Tests")
     class CreateSweetSuccessTests {
@@ -59,9 +86,8 @@ public class SweetServiceCreateSweetTest {
         @DisplayName("Should create sweet successfully with valid data")
         void shouldCreateSweetSuccessfullyWithValidData() {
             // Given
-            when(sweetRepository.existsByNameIgnoreCase("Gulab Jamun")).thenReturn(false);
             when(sweetCategoryRepository.findById(1L)).thenReturn(Optional.of(testCategory));
-            when(sweetRepository.save(any(Sweet.class))).thenAnswer(invocation -> {
+            when(sweetRepository.saveAndFlush(any(Sweet.class))).thenAnswer(invocation -> {
                 Sweet sweet = invocation.getArgument(0);
                 sweet.setId(1L);
                 return sweet;
@@ -79,9 +105,11 @@ public class SweetServiceCreateSweetTest {
             assertEquals(150.0, result.getPrice());
             assertEquals(50, result.getQuantity());
 
-            verify(sweetRepository, times(1)).existsByNameIgnoreCase("Gulab Jamun");
             verify(sweetCategoryRepository, times(1)).findById(1L);
-            verify(sweetRepository, times(1)).save(any(Sweet.class));
+            verify(sweetRepository, times(1)).saveAndFlush(any(Sweet.class));
+            // The opening stock is the sweet's first ledger event
+            verify(inventoryLedger, times(1)).open(isNull(), argThat(sweets ->
+                    sweets.size() == 1 && sweets.get(0).getQuantity().equals(50)));
         }
 
         @Test
@@ -89,9 +117,8 @@ public class SweetServiceCreateSweetTest {
         void shouldCreateSweetWithZeroQuantity() {
             // Given
             createSweetRequest.setQuantity(0);
-            when(sweetRepository.existsByNameIgnoreCase("Gulab Jamun")).thenReturn(false);
             when(sweetCategoryRepository.findById(1L)).thenReturn(Optional.of(testCategory));
-            when(sweetRepository.save(any(Sweet.class))).thenAnswer(invocation -> {
+            when(sweetRepository.saveAndFlush(any(Sweet.class))).thenAnswer(invocation -> {
                 Sweet sweet = invocation.getArgument(0);
                 sweet.setId(1L);
                 return sweet;
@@ -103,8 +130,7 @@ public class SweetServiceCreateSweetTest {
             // Then
             assertNotNull(result);
             assertEquals(0, result.getQuantity());
-            verify(sweetRepository, times(1)).existsByNameIgnoreCase("Gulab Jamun");
-            verify(sweetRepository, times(1)).save(any(Sweet.class));
+            verify(sweetRepository, times(1)).saveAndFlush(any(Sweet.class));
         }
     }
 
@@ -124,7 +150,7 @@ public class SweetServiceCreateSweetTest {
             });
             assertEquals("Sweet name cannot be null or empty", exception.getMessage());
             verify(sweetCategoryRepository, never()).findById(anyLong());
-            verify(sweetRepository, never()).save(any(Sweet.class));
+            verify(sweetRepository, never()).saveAndFlush(any(Sweet.class));
         }
 
         @Test
@@ -139,7 +165,7 @@ public class SweetServiceCreateSweetTest {
             });
             assertEquals("Sweet name cannot be null or empty", exception.getMessage());
             verify(sweetCategoryRepository, never()).findById(anyLong());
-            verify(sweetRepository, never()).save(any(Sweet.class));
+            verify(sweetRepository, never()).saveAndFlush(any(Sweet.class));
         }
 
         @Test
@@ -154,7 +180,7 @@ public class SweetServiceCreateSweetTest {
             });
             assertEquals("Sweet name cannot be null or empty", exception.getMessage());
             verify(sweetCategoryRepository, never()).findById(anyLong());
-            verify(sweetRepository, never()).save(any(Sweet.class));
+            verify(sweetRepository, never()).saveAndFlush(any(Sweet.class));
         }
 
         @Test
@@ -162,16 +188,16 @@ public class SweetServiceCreateSweetTest {
         void shouldThrowExceptionWhenSweetNameAlreadyExistsExactCase() {
             // Given
             Sweet existingSweet = new Sweet(1L, "Gulab Jamun", testCategory, 150.0, 50);
-            when(sweetRepository.existsByNameIgnoreCase("Gulab Jamun")).thenReturn(true);
+            when(sweetCategoryRepository.findById(1L)).thenReturn(Optional.of(testCategory));
+            when(sweetRepository.saveAndFlush(any(Sweet.class))).thenThrow(duplicateNameViolation());
 
             // When & Then
             ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
                 sweetService.create(createSweetRequest);
             });
             assertEquals(Constants.SWEET_NAME_ALREADY_EXISTS, exception.getMessage());
-            verify(sweetRepository, times(1)).existsByNameIgnoreCase("Gulab Jamun");
-            verify(sweetCategoryRepository, never()).findById(anyLong());
-            verify(sweetRepository, never()).save(any(Sweet.class));
+            verify(sweetCategoryRepository, times(1)).findById(anyLong());
+            verify(sweetRepository, times(1)).saveAndFlush(any(Sweet.class));
         }
 
         @Test
@@ -179,16 +205,16 @@ public class SweetServiceCreateSweetTest {
         void shouldThrowExceptionWhenSweetNameAlreadyExistsCaseInsensitive() {
             // Given
             createSweetRequest.setName("GULAB JAMUN"); // Different case
-            when(sweetRepository.existsByNameIgnoreCase("GULAB JAMUN")).thenReturn(true);
+            when(sweetCategoryRepository.findById(1L)).thenReturn(Optional.of(testCategory));
+            when(sweetRepository.saveAndFlush(any(Sweet.class))).thenThrow(duplicateNameViolation());
 
             // When & Then
             ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
                 sweetService.create(createSweetRequest);
             });
             assertEquals(Constants.SWEET_NAME_ALREADY_EXISTS, exception.getMessage());
-            verify(sweetRepository, times(1)).existsByNameIgnoreCase("GULAB JAMUN");
-            verify(sweetCategoryRepository, never()).findById(anyLong());
-            verify(sweetRepository, never()).save(any(Sweet.class));
+            verify(sweetCategoryRepository, times(1)).findById(anyLong());
+            verify(sweetRepository, times(1)).saveAndFlush(any(Sweet.class));
         }
 
         @Test
@@ -196,16 +222,16 @@ public class SweetServiceCreateSweetTest {
         void shouldThrowExceptionWhenSweetNameAlreadyExistsMixedCase() {
             // Given
             createSweetRequest.setName("GuLaB jAmUn"); // Mixed case
-            when(sweetRepository.existsByNameIgnoreCase("GuLaB jAmUn")).thenReturn(true);
+            when(sweetCategoryRepository.findById(1L)).thenReturn(Optional.of(testCategory));
+            when(sweetRepository.saveAndFlush(any(Sweet.class))).thenThrow(duplicateNameViolation());
 
             // When & Then
             ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
                 sweetService.create(createSweetRequest);
             });
             assertEquals(Constants.SWEET_NAME_ALREADY_EXISTS, exception.getMessage());
-            verify(sweetRepository, times(1)).existsByNameIgnoreCase("GuLaB jAmUn");
-            verify(sweetCategoryRepository, never()).findById(anyLong());
-            verify(sweetRepository, never()).save(any(Sweet.class));
+            verify(sweetCategoryRepository, times(1)).findById(anyLong());
+            verify(sweetRepository, times(1)).saveAndFlush(any(Sweet.class));
         }
     }
 
@@ -225,7 +251,7 @@ public class SweetServiceCreateSweetTest {
             });
             assertEquals("Category ID cannot be null", exception.getMessage());
             verify(sweetCategoryRepository, never()).findById(anyLong());
-            verify(sweetRepository, never()).save(any(Sweet.class));
+            verify(sweetRepository, never()).saveAndFlush(any(Sweet.class));
         }
 
         @Test
@@ -242,7 +268,7 @@ public class SweetServiceCreateSweetTest {
             });
             assertEquals("Category not found", exception.getMessage());
             verify(sweetCategoryRepository, times(1)).findById(999L);
-            verify(sweetRepository, never()).save(any(Sweet.class));
+            verify(sweetRepository, never()).saveAndFlush(any(Sweet.class));
         }
     }
 
@@ -262,7 +288,7 @@ public class SweetServiceCreateSweetTest {
             });
             assertEquals("Price cannot be null", exception.getMessage());
             verify(sweetCategoryRepository, never()).findById(anyLong());
-            verify(sweetRepository, never()).save(any(Sweet.class));
+            verify(sweetRepository, never()).saveAndFlush(any(Sweet.class));
         }
 
         @Test
@@ -277,7 +303,7 @@ public class SweetServiceCreateSweetTest {
             });
             assertEquals("Price must be greater than zero", exception.getMessage());
             verify(sweetCategoryRepository, never()).findById(anyLong());
-            verify(sweetRepository, never()).save(any(Sweet.class));
+            verify(sweetRepository, never()).saveAndFlush(any(Sweet.class));
         }
 
         @Test
@@ -292,7 +318,7 @@ public class SweetServiceCreateSweetTest {
             });
             assertEquals("Price must be greater than zero", exception.getMessage());
             verify(sweetCategoryRepository, never()).findById(anyLong());
-            verify(sweetRepository, never()).save(any(Sweet.class));
+            verify(sweetRepository, never()).saveAndFlush(any(Sweet.class));
         }
     }
 
@@ -312,7 +338,7 @@ public class SweetServiceCreateSweetTest {
             });
             assertEquals("Quantity cannot be null", exception.getMessage());
             verify(sweetCategoryRepository, never()).findById(anyLong());
-            verify(sweetRepository, never()).save(any(Sweet.class));
+            verify(sweetRepository, never()).saveAndFlush(any(Sweet.class));
         }
 
         @Test
@@ -327,7 +353,7 @@ public class SweetServiceCreateSweetTest {
             });
             assertEquals("Quantity cannot be negative", exception.getMessage());
             verify(sweetCategoryRepository, never()).findById(anyLong());
-            verify(sweetRepository, never()).save(any(Sweet.class));
+            verify(sweetRepository, never()).saveAndFlush(any(Sweet.class));
         }
     }
 
@@ -339,9 +365,8 @@ public class SweetServiceCreateSweetTest {
         @DisplayName("Should validate all fields before saving")
         void shouldValidateAllFieldsBeforeSaving() {
             // Given
-            when(sweetRepository.existsByNameIgnoreCase("Gulab Jamun")).thenReturn(false);
             when(sweetCategoryRepository.findById(1L)).thenReturn(Optional.of(testCategory));
-            when(sweetRepository.save(any(Sweet.class))).thenAnswer(invocation -> {
+            when(sweetRepository.saveAndFlush(any(Sweet.class))).thenAnswer(invocation -> {
                 Sweet sweet = invocation.getArgument(0);
                 sweet.setId(1L);
                 return sweet;
@@ -357,9 +382,8 @@ public class SweetServiceCreateSweetTest {
             assertEquals("Milk Sweets", result.getCategoryName());
             assertEquals(150.0, result.getPrice());
             assertEquals(50, result.getQuantity());
-            verify(sweetRepository, times(1)).existsByNameIgnoreCase("Gulab Jamun");
             verify(sweetCategoryRepository, times(1)).findById(1L);
-            verify(sweetRepository, times(1)).save(argThat(sweet ->
+            verify(sweetRepository, times(1)).saveAndFlush(argThat(sweet ->
                     sweet.getName().equals("Gulab Jamun") &&
                     sweet.getCategory().equals(testCategory) &&
                     sweet.getPrice().equals(150.0) &&
@@ -379,8 +403,67 @@ public class SweetServiceCreateSweetTest {
             });
 
             verify(sweetCategoryRepository, never()).findById(anyLong());
-            verify(sweetRepository, never()).save(any(Sweet.class));
+            verify(sweetRepository, never()).saveAndFlush(any(Sweet.class));
         }
     }
-}
 
+    @Nested
+    @DisplayName("Create Sweet Concurrency Tests")
+    class CreateSweetConcurrencyTests {
+
+        @Test
+        @DisplayName("Should create only one sweet when admins race on the same name")
+        void shouldCreateOnlyOneSweetWhenAdminsRaceOnTheSameName() throws Exception {
+            // Given - the unique index on lower(name) is simulated by the mocked repository
+            Map<String, Sweet> uniqueIndex = new ConcurrentHashMap<>();
+            when(sweetCategoryRepository.findById(1L)).thenReturn(Optional.of(testCategory));
+            when(sweetRepository.saveAndFlush(any(Sweet.class))).thenAnswer(invocation -> {
+                Sweet sweet = invocation.getArgument(0);
+                if (uniqueIndex.putIfAbsent(sweet.getName().toLowerCase(), sweet) != null) {
+                    throw duplicateNameViolation();
+                }
+                sweet.setId((long) uniqueIndex.size());
+                return sweet;
+            });
+
+            int admins = 8;
+            ExecutorService executor = Executors.newFixedThreadPool(admins);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<SweetResponseDto>> results = new ArrayList<>();
+            for (int i = 0; i < admins; i++) {
+                SweetRequestDto request = new SweetRequestDto();
+                request.setName(i % 2 == 0 ? "Gulab Jamun" : "GULAB JAMUN");
+                request.setCategoryId(1L);
+                request.setPrice(150.0);
+                request.setQuantity(50);
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return sweetService.create(request);
+                }));
+            }
+
+            // When
+            start.countDown();
+            int created = 0;
+            int rejected = 0;
+            for (Future<SweetResponseDto> result : results) {
+                try {
+                    result.get(5, TimeUnit.SECONDS);
+                    created++;
+                } catch (ExecutionException ex) {
+                    assertInstanceOf(ResponseStatusException.class, ex.getCause());
+                    assertEquals(Constants.SWEET_NAME_ALREADY_EXISTS, ex.getCause().getMessage());
+                    rejected++;
+                }
+            }
+            executor.shutdown();
+
+            // Then - one write per attempt and no separate existence query
+            assertEquals(1, created);
+            assertEquals(admins - 1, rejected);
+            assertEquals(1, uniqueIndex.size());
+            verify(sweetRepository, times(admins)).saveAndFlush(any(Sweet.class));
+            verifyNoMoreInteractions(sweetRepository);
+        }
+    }
+}
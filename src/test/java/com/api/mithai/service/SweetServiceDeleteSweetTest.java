@@ -1,6 +1,7 @@
 package com.api.mithai.service;
 
 import com.api.mithai.base.exception.ResponseStatusException;
+import com.api.mithai.ledger.service.InventoryLedger;
 import com.api.mithai.sweet.entity.Sweet;
 import com.api.mithai.sweet.entity.SweetCategory;
 import com.api.mithai.sweet.repository.SweetCategoryRepository;
@@ -14,6 +15,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -29,6 +31,12 @@ public class SweetServiceDeleteSweetTest {
     @Mock
     private SweetCategoryRepository sweetCategoryRepository;
 
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Mock
+    private InventoryLedger inventoryLedger;
+
     @InjectMocks
     private SweetService sweetService;
 
@@ -2,13 +2,17 @@ package com.api.mithai.service;
 
 import com.api.mithai.base.constants.Constants;
 import com.api.mithai.base.exception.ResponseStatusException;
+import com.api.mithai.ledger.service.InventoryLedger;
+import com.api.mithai.store.service.StoreService;
 import com.api.mithai.sweet.dto.SweetRequestDto;
 import com.api.mithai.sweet.dto.SweetResponseDto;
 import com.api.mithai.sweet.entity.Sweet;
 import com.api.mithai.sweet.entity.SweetCategory;
+import com.api.mithai.sweet.event.SweetChangedEvent;
 import com.api.mithai.sweet.repository.SweetCategoryRepository;
 import com.api.mithai.sweet.repository.SweetRepository;
 import com.api.mithai.sweet.service.SweetService;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -17,7 +21,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 
+import java.sql.SQLException;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -35,6 +42,12 @@ public class SweetServiceUpdateSweetTest {
     @Mock
     private SweetCategoryRepository sweetCategoryRepository;
 
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Mock
+    private InventoryLedger inventoryLedger;
+
     @InjectMocks
     private SweetService sweetService;
 
@@ -50,6 +63,7 @@ public class SweetServiceUpdateSweetTest {
         updateSweetRequest.setCategoryId(2L);
         updateSweetRequest.setPrice(200.0);
         updateSweetRequest.setQuantity(75);
+        updateSweetRequest.setStoreId(1L);
 
         testCategory = new SweetCategory(1L, "Milk Sweets");
         newCategory = new SweetCategory(2L, "Traditional Sweets");
@@ -57,6 +71,12 @@ public class SweetServiceUpdateSweetTest {
         existingSweet = new Sweet(1L, "Gulab Jamun", testCategory, 150.0, 50);
     }
 
+    private DataIntegrityViolationException duplicateNameViolation() {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("duplicate key value", new SQLException("duplicate key value", "23505"),
+                        SweetService.NAME_UNIQUE_INDEX));
+    }
+
     @Nested
     @DisplayName("Update Sweet Success Tests")
     class UpdateSweetSuccessTests {
@@ -66,9 +86,9 @@ public class SweetServiceUpdateSweetTest {
         void shouldUpdateSweetSuccessfullyWithValidData() {
             // Given
             when(sweetRepository.findById(1L)).thenReturn(Optional.of(existingSweet));
-            when(sweetRepository.existsByNameIgnoreCaseAndIdNot("Rasgulla", 1L)).thenReturn(false);
             when(sweetCategoryRepository.findById(2L)).thenReturn(Optional.of(newCategory));
-            when(sweetRepository.save(any(Sweet.class))).thenAnswer(invocation -> invocation.getArgument(0));
+            when(sweetRepository.saveAndFlush(any(Sweet.class))).thenAnswer(invocation -> invocation.getArgument(0));
+            when(inventoryLedger.adjust(eq(1L), eq(1L), anyInt())).thenAnswer(invocation -> invocation.getArgument(2));
 
             // When
             SweetResponseDto result = sweetService.update(1L, updateSweetRequest);
@@ -83,9 +103,8 @@ public class SweetServiceUpdateSweetTest {
             assertEquals(75, result.getQuantity());
 
             verify(sweetRepository, times(1)).findById(1L);
-            verify(sweetRepository, times(1)).existsByNameIgnoreCaseAndIdNot("Rasgulla", 1L);
             verify(sweetCategoryRepository, times(1)).findById(2L);
-            verify(sweetRepository, times(1)).save(any(Sweet.class));
+            verify(sweetRepository, times(1)).saveAndFlush(any(Sweet.class));
         }
 
         @Test
@@ -95,7 +114,7 @@ public class SweetServiceUpdateSweetTest {
             updateSweetRequest.setName("Gulab Jamun"); // Same name as existing
             when(sweetRepository.findById(1L)).thenReturn(Optional.of(existingSweet));
             when(sweetCategoryRepository.findById(2L)).thenReturn(Optional.of(newCategory));
-            when(sweetRepository.save(any(Sweet.class))).thenAnswer(invocation -> invocation.getArgument(0));
+            when(sweetRepository.saveAndFlush(any(Sweet.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
             // When
             SweetResponseDto result = sweetService.update(1L, updateSweetRequest);
@@ -104,8 +123,7 @@ public class SweetServiceUpdateSweetTest {
             assertNotNull(result);
             assertEquals("Gulab Jamun", result.getName());
             verify(sweetRepository, times(1)).findById(1L);
-            verify(sweetRepository, never()).existsByNameIgnoreCaseAndIdNot(anyString(), anyLong());
-            verify(sweetRepository, times(1)).save(any(Sweet.class));
+            verify(sweetRepository, times(1)).saveAndFlush(any(Sweet.class));
         }
 
         @Test
@@ -114,9 +132,9 @@ public class SweetServiceUpdateSweetTest {
             // Given
             updateSweetRequest.setQuantity(0);
             when(sweetRepository.findById(1L)).thenReturn(Optional.of(existingSweet));
-            when(sweetRepository.existsByNameIgnoreCaseAndIdNot("Rasgulla", 1L)).thenReturn(false);
             when(sweetCategoryRepository.findById(2L)).thenReturn(Optional.of(newCategory));
-            when(sweetRepository.save(any(Sweet.class))).thenAnswer(invocation -> invocation.getArgument(0));
+            when(sweetRepository.saveAndFlush(any(Sweet.class))).thenAnswer(invocation -> invocation.getArgument(0));
+            when(inventoryLedger.adjust(eq(1L), eq(1L), anyInt())).thenAnswer(invocation -> invocation.getArgument(2));
 
             // When
             SweetResponseDto result = sweetService.update(1L, updateSweetRequest);
@@ -124,7 +142,7 @@ public class SweetServiceUpdateSweetTest {
             // Then
             assertNotNull(result);
             assertEquals(0, result.getQuantity());
-            verify(sweetRepository, times(1)).save(any(Sweet.class));
+            verify(sweetRepository, times(1)).saveAndFlush(any(Sweet.class));
         }
     }
 
@@ -144,9 +162,8 @@ public class SweetServiceUpdateSweetTest {
             });
             assertEquals("Sweet not found", exception.getMessage());
             verify(sweetRepository, times(1)).findById(999L);
-            verify(sweetRepository, never()).existsByNameIgnoreCaseAndIdNot(anyString(), anyLong());
             verify(sweetCategoryRepository, never()).findById(anyLong());
-            verify(sweetRepository, never()).save(any(Sweet.class));
+            verify(sweetRepository, never()).saveAndFlush(any(Sweet.class));
         }
     }
 
@@ -167,9 +184,8 @@ public class SweetServiceUpdateSweetTest {
             });
             assertEquals("Sweet name cannot be null or empty", exception.getMessage());
             verify(sweetRepository, times(1)).findById(1L);
-            verify(sweetRepository, never()).existsByNameIgnoreCaseAndIdNot(anyString(), anyLong());
             verify(sweetCategoryRepository, never()).findById(anyLong());
-            verify(sweetRepository, never()).save(any(Sweet.class));
+            verify(sweetRepository, never()).saveAndFlush(any(Sweet.class));
         }
 
         @Test
@@ -185,9 +201,8 @@ public class SweetServiceUpdateSweetTest {
             });
             assertEquals("Sweet name cannot be null or empty", exception.getMessage());
             verify(sweetRepository, times(1)).findById(1L);
-            verify(sweetRepository, never()).existsByNameIgnoreCaseAndIdNot(anyString(), anyLong());
             verify(sweetCategoryRepository, never()).findById(anyLong());
-            verify(sweetRepository, never()).save(any(Sweet.class));
+            verify(sweetRepository, never()).saveAndFlush(any(Sweet.class));
         }
 
         @Test
@@ -203,9 +218,8 @@ public class SweetServiceUpdateSweetTest {
             });
             assertEquals("Sweet name cannot be null or empty", exception.getMessage());
             verify(sweetRepository, times(1)).findById(1L);
-            verify(sweetRepository, never()).existsByNameIgnoreCaseAndIdNot(anyString(), anyLong());
             verify(sweetCategoryRepository, never()).findById(anyLong());
-            verify(sweetRepository, never()).save(any(Sweet.class));
+            verify(sweetRepository, never()).saveAndFlush(any(Sweet.class));
         }
 
         @Test
@@ -213,7 +227,8 @@ public class SweetServiceUpdateSweetTest {
         void shouldThrowExceptionWhenSweetNameAlreadyExistsExactCase() {
             // Given
             when(sweetRepository.findById(1L)).thenReturn(Optional.of(existingSweet));
-            when(sweetRepository.existsByNameIgnoreCaseAndIdNot("Rasgulla", 1L)).thenReturn(true);
+            when(sweetCategoryRepository.findById(2L)).thenReturn(Optional.of(newCategory));
+            when(sweetRepository.saveAndFlush(any(Sweet.class))).thenThrow(duplicateNameViolation());
 
             // When & Then
             ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
@@ -221,9 +236,8 @@ public class SweetServiceUpdateSweetTest {
             });
             assertEquals(Constants.SWEET_NAME_ALREADY_EXISTS, exception.getMessage());
             verify(sweetRepository, times(1)).findById(1L);
-            verify(sweetRepository, times(1)).existsByNameIgnoreCaseAndIdNot("Rasgulla", 1L);
-            verify(sweetCategoryRepository, never()).findById(anyLong());
-            verify(sweetRepository, never()).save(any(Sweet.class));
+            verify(sweetCategoryRepository, times(1)).findById(anyLong());
+            verify(sweetRepository, times(1)).saveAndFlush(any(Sweet.class));
         }
 
         @Test
@@ -232,15 +246,15 @@ public class SweetServiceUpdateSweetTest {
             // Given
             updateSweetRequest.setName("RASGULLA"); // Different case
             when(sweetRepository.findById(1L)).thenReturn(Optional.of(existingSweet));
-            when(sweetRepository.existsByNameIgnoreCaseAndIdNot("RASGULLA", 1L)).thenReturn(true);
+            when(sweetCategoryRepository.findById(2L)).thenReturn(Optional.of(newCategory));
+            when(sweetRepository.saveAndFlush(any(Sweet.class))).thenThrow(duplicateNameViolation());
 
             // When & Then
             ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
                 sweetService.update(1L, updateSweetRequest);
             });
             assertEquals(Constants.SWEET_NAME_ALREADY_EXISTS, exception.getMessage());
-            verify(sweetRepository, times(1)).existsByNameIgnoreCaseAndIdNot("RASGULLA", 1L);
-            verify(sweetRepository, never()).save(any(Sweet.class));
+            verify(sweetRepository, times(1)).saveAndFlush(any(Sweet.class));
         }
 
         @Test
@@ -249,15 +263,15 @@ public class SweetServiceUpdateSweetTest {
             // Given
             updateSweetRequest.setName("RaSgUlLa"); // Mixed case
             when(sweetRepository.findById(1L)).thenReturn(Optional.of(existingSweet));
-            when(sweetRepository.existsByNameIgnoreCaseAndIdNot("RaSgUlLa", 1L)).thenReturn(true);
+            when(sweetCategoryRepository.findById(2L)).thenReturn(Optional.of(newCategory));
+            when(sweetRepository.saveAndFlush(any(Sweet.class))).thenThrow(duplicateNameViolation());
 
             // When & Then
             ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
                 sweetService.update(1L, updateSweetRequest);
             });
             assertEquals(Constants.SWEET_NAME_ALREADY_EXISTS, exception.getMessage());
-            verify(sweetRepository, times(1)).existsByNameIgnoreCaseAndIdNot("RaSgUlLa", 1L);
-            verify(sweetRepository, never()).save(any(Sweet.class));
+            verify(sweetRepository, times(1)).saveAndFlush(any(Sweet.class));
         }
     }
 
@@ -278,7 +292,7 @@ public class SweetServiceUpdateSweetTest {
             });
             assertEquals("Category ID cannot be null", exception.getMessage());
             verify(sweetCategoryRepository, never()).findById(anyLong());
-            verify(sweetRepository, never()).save(any(Sweet.class));
+            verify(sweetRepository, never()).saveAndFlush(any(Sweet.class));
         }
 
         @Test
@@ -286,7 +300,6 @@ public class SweetServiceUpdateSweetTest {
         void shouldThrowExceptionWhenCategoryNotFound() {
             // Given
             when(sweetRepository.findById(1L)).thenReturn(Optional.of(existingSweet));
-            when(sweetRepository.existsByNameIgnoreCaseAndIdNot("Rasgulla", 1L)).thenReturn(false);
             when(sweetCategoryRepository.findById(999L)).thenReturn(Optional.empty());
 
             updateSweetRequest.setCategoryId(999L);
@@ -297,7 +310,7 @@ public class SweetServiceUpdateSweetTest {
             });
             assertEquals("Category not found", exception.getMessage());
             verify(sweetCategoryRepository, times(1)).findById(999L);
-            verify(sweetRepository, never()).save(any(Sweet.class));
+            verify(sweetRepository, never()).saveAndFlush(any(Sweet.class));
         }
     }
 
@@ -318,7 +331,7 @@ public class SweetServiceUpdateSweetTest {
             });
             assertEquals("Price cannot be null", exception.getMessage());
             verify(sweetCategoryRepository, never()).findById(anyLong());
-            verify(sweetRepository, never()).save(any(Sweet.class));
+            verify(sweetRepository, never()).saveAndFlush(any(Sweet.class));
         }
 
         @Test
@@ -334,7 +347,7 @@ public class SweetServiceUpdateSweetTest {
             });
             assertEquals("Price must be greater than zero", exception.getMessage());
             verify(sweetCategoryRepository, never()).findById(anyLong());
-            verify(sweetRepository, never()).save(any(Sweet.class));
+            verify(sweetRepository, never()).saveAndFlush(any(Sweet.class));
         }
 
         @Test
@@ -350,7 +363,7 @@ public class SweetServiceUpdateSweetTest {
             });
             assertEquals("Price must be greater than zero", exception.getMessage());
             verify(sweetCategoryRepository, never()).findById(anyLong());
-            verify(sweetRepository, never()).save(any(Sweet.class));
+            verify(sweetRepository, never()).saveAndFlush(any(Sweet.class));
         }
     }
 
@@ -371,7 +384,7 @@ public class SweetServiceUpdateSweetTest {
             });
             assertEquals("Quantity cannot be null", exception.getMessage());
             verify(sweetCategoryRepository, never()).findById(anyLong());
-            verify(sweetRepository, never()).save(any(Sweet.class));
+            verify(sweetRepository, never()).saveAndFlush(any(Sweet.class));
         }
 
         @Test
@@ -387,7 +400,49 @@ public class SweetServiceUpdateSweetTest {
             });
             assertEquals("Quantity cannot be negative", exception.getMessage());
             verify(sweetCategoryRepository, never()).findById(anyLong());
-            verify(sweetRepository, never()).save(any(Sweet.class));
+            verify(sweetRepository, never()).saveAndFlush(any(Sweet.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("Update Sweet Store Tests")
+    class UpdateSweetStoreTests {
+
+        @Test
+        @DisplayName("Should set the default store's stock when no store is given")
+        void shouldAdjustDefaultStoreWithoutStore() {
+            // Given
+            updateSweetRequest.setStoreId(null);
+            when(sweetRepository.findById(1L)).thenReturn(Optional.of(existingSweet));
+            when(sweetCategoryRepository.findById(2L)).thenReturn(Optional.of(newCategory));
+            when(sweetRepository.saveAndFlush(any(Sweet.class))).thenAnswer(invocation -> invocation.getArgument(0));
+            when(inventoryLedger.adjust(1L, StoreService.DEFAULT_STORE_ID, 75)).thenReturn(75);
+
+            // When
+            sweetService.update(1L, updateSweetRequest);
+
+            // Then
+            verify(inventoryLedger).adjust(1L, StoreService.DEFAULT_STORE_ID, 75);
+        }
+
+        @Test
+        @DisplayName("Should return and publish the total over stores with the store's stock")
+        void shouldReturnTotalWithStoreStock() {
+            // Given
+            updateSweetRequest.setStoreId(2L);
+            when(sweetRepository.findById(1L)).thenReturn(Optional.of(existingSweet));
+            when(sweetCategoryRepository.findById(2L)).thenReturn(Optional.of(newCategory));
+            when(sweetRepository.saveAndFlush(any(Sweet.class))).thenAnswer(invocation -> invocation.getArgument(0));
+            when(inventoryLedger.adjust(1L, 2L, 75)).thenReturn(125);
+
+            // When
+            SweetResponseDto result = sweetService.update(1L, updateSweetRequest);
+
+            // Then
+            assertEquals(125, result.getQuantity());
+            assertEquals(75, result.getStoreQuantity());
+            verify(applicationEventPublisher).publishEvent(argThat((Object event) -> event instanceof SweetChangedEvent changed
+                    && changed.getSweet().getQuantity() == 125 && changed.getSweet().getStoreQuantity() == 75));
         }
     }
 
@@ -400,9 +455,9 @@ public class SweetServiceUpdateSweetTest {
         void shouldValidateAllFieldsBeforeSaving() {
             // Given
             when(sweetRepository.findById(1L)).thenReturn(Optional.of(existingSweet));
-            when(sweetRepository.existsByNameIgnoreCaseAndIdNot("Rasgulla", 1L)).thenReturn(false);
             when(sweetCategoryRepository.findById(2L)).thenReturn(Optional.of(newCategory));
-            when(sweetRepository.save(any(Sweet.class))).thenAnswer(invocation -> invocation.getArgument(0));
+            when(sweetRepository.saveAndFlush(any(Sweet.class))).thenAnswer(invocation -> invocation.getArgument(0));
+            when(inventoryLedger.adjust(eq(1L), eq(1L), anyInt())).thenAnswer(invocation -> invocation.getArgument(2));
 
             // When
             SweetResponseDto result = sweetService.update(1L, updateSweetRequest);
@@ -415,14 +470,13 @@ public class SweetServiceUpdateSweetTest {
             assertEquals(200.0, result.getPrice());
             assertEquals(75, result.getQuantity());
             verify(sweetRepository, times(1)).findById(1L);
-            verify(sweetRepository, times(1)).existsByNameIgnoreCaseAndIdNot("Rasgulla", 1L);
             verify(sweetCategoryRepository, times(1)).findById(2L);
-            verify(sweetRepository, times(1)).save(argThat(sweet ->
+            verify(sweetRepository, times(1)).saveAndFlush(argThat(sweet ->
                     sweet.getName().equals("Rasgulla") &&
                     sweet.getCategory().equals(newCategory) &&
-                    sweet.getPrice().equals(200.0) &&
-                    sweet.getQuantity().equals(75)
+                    sweet.getPrice().equals(200.0)
             ));
+            verify(inventoryLedger, times(1)).adjust(1L, 1L, 75);
         }
 
         @Test
@@ -439,7 +493,7 @@ public class SweetServiceUpdateSweetTest {
 
             verify(sweetRepository, times(1)).findById(1L);
             verify(sweetCategoryRepository, never()).findById(anyLong());
-            verify(sweetRepository, never()).save(any(Sweet.class));
+            verify(sweetRepository, never()).saveAndFlush(any(Sweet.class));
         }
 
         @Test
@@ -452,9 +506,9 @@ public class SweetServiceUpdateSweetTest {
             updateSweetRequest.setQuantity(50); // Same quantity
             
             when(sweetRepository.findById(1L)).thenReturn(Optional.of(existingSweet));
-            when(sweetRepository.existsByNameIgnoreCaseAndIdNot("New Gulab Jamun", 1L)).thenReturn(false);
             when(sweetCategoryRepository.findById(1L)).thenReturn(Optional.of(testCategory));
-            when(sweetRepository.save(any(Sweet.class))).thenAnswer(invocation -> invocation.getArgument(0));
+            when(sweetRepository.saveAndFlush(any(Sweet.class))).thenAnswer(invocation -> invocation.getArgument(0));
+            when(inventoryLedger.adjust(eq(1L), eq(1L), anyInt())).thenAnswer(invocation -> invocation.getArgument(2));
 
             // When
             SweetResponseDto result = sweetService.update(1L, updateSweetRequest);
@@ -465,7 +519,7 @@ public class SweetServiceUpdateSweetTest {
             assertEquals(1L, result.getCategoryId());
             assertEquals(150.0, result.getPrice());
             assertEquals(50, result.getQuantity());
-            verify(sweetRepository, times(1)).save(any(Sweet.class));
+            verify(sweetRepository, times(1)).saveAndFlush(any(Sweet.class));
         }
     }
 }
@@ -0,0 +1,165 @@
+package com.api.mithai.service;
+
+import com.api.mithai.base.constants.Constants;
+import com.api.mithai.base.exception.ResponseStatusException;
+import com.api.mithai.sweet.dto.SweetResponseDto;
+import com.api.mithai.sweet.dto.TrendingSweetDto;
+import com.api.mithai.sweet.event.SweetChangeType;
+import com.api.mithai.sweet.event.SweetChangedEvent;
+import com.api.mithai.sweet.event.SweetDeletedEvent;
+import com.api.mithai.sweet.event.SweetPurchasedEvent;
+import com.api.mithai.sweet.service.SlidingTopK;
+import com.api.mithai.sweet.service.TrendingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TrendingService Tests")
+public class TrendingServiceTest {
+
+    private TrendingService trendingService;
+
+    @BeforeEach
+    void setUp() {
+        trendingService = new TrendingService(4);
+    }
+
+    private void purchase(Long id, int quantity, LocalDateTime purchasedAt) {
+        trendingService.onSweetChanged(new SweetChangedEvent(SweetChangeType.PURCHASED,
+                new SweetResponseDto(id, "Sweet " + id, 1L, "Milk Sweets", 100.0, 50)));
+        trendingService.onSweetPurchased(new SweetPurchasedEvent(id, 1L, quantity, 100.0 * quantity, purchasedAt));
+    }
+
+    private static List<Long> ids(List<TrendingSweetDto> trending) {
+        return trending.stream().map(dto -> dto.getSweet().getId()).toList();
+    }
+
+    @Nested
+    @DisplayName("Trending Tests")
+    class TrendingTests {
+
+        @Test
+        @DisplayName("Should rank sweets by units sold in the window")
+        void shouldRankByUnits() {
+            // Given
+            LocalDateTime now = LocalDateTime.now();
+            purchase(1L, 2, now);
+            purchase(2L, 9, now);
+            purchase(3L, 5, now);
+            purchase(1L, 1, now);
+
+            // When
+            List<TrendingSweetDto> result = trendingService.getTrending("1h", 2);
+
+            // Then
+            assertEquals(List.of(2L, 3L), ids(result));
+            assertEquals(9L, result.get(0).getUnits());
+        }
+
+        @Test
+        @DisplayName("Should leave purchases older than the window out of it")
+        void shouldRespectWindowLength() {
+            // Given
+            purchase(1L, 20, LocalDateTime.now().minusHours(3));
+            purchase(2L, 1, LocalDateTime.now());
+
+            // When & Then
+            assertEquals(List.of(2L), ids(trendingService.getTrending("1h", 10)));
+            assertEquals(List.of(1L, 2L), ids(trendingService.getTrending("1d", 10)));
+        }
+
+        @Test
+        @DisplayName("Should stop listing a deleted sweet and forget its details")
+        void shouldForgetDeletedSweet() {
+            // Given
+            purchase(1L, 3, LocalDateTime.now());
+            purchase(2L, 1, LocalDateTime.now());
+
+            // When
+            trendingService.onSweetDeleted(new SweetDeletedEvent(1L));
+
+            // Then
+            assertEquals(List.of(2L), ids(trendingService.getTrending("7d", 10)));
+            assertEquals(1, trendingService.getCachedSweetCount());
+        }
+
+        @Test
+        @DisplayName("Should reject an unknown window")
+        void shouldRejectUnknownWindow() {
+            ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> {
+                trendingService.getTrending("2h", null);
+            });
+            assertEquals(Constants.TRENDING_WINDOW_INVALID, exception.getMessage());
+        }
+    }
+
+    @Nested
+    @DisplayName("Sketch Tests")
+    class SketchTests {
+
+        @Test
+        @DisplayName("Should keep heavy hitters within a fixed number of counters")
+        void shouldKeepHeavyHittersInBoundedMemory() {
+            // Given
+            SlidingTopK topK = new SlidingTopK(Duration.ofMinutes(10), Duration.ofMinutes(10), 3);
+            long now = System.currentTimeMillis();
+
+            // When
+            for (long id = 100; id < 1100; id++) {
+                topK.offer(id, 1, now);
+                topK.offer(1L, 2, now);
+            }
+
+            // Then
+            List<Map.Entry<Long, Long>> top = topK.top(10, now);
+            assertEquals(3, top.size());
+            assertEquals(1L, top.get(0).getKey());
+            assertTrue(top.get(0).getValue() >= 2000);
+        }
+
+        @Test
+        @DisplayName("Should not undercount a sweet evicted from one slot and held in another")
+        void shouldNotUndercountAcrossSlots() {
+            // Given
+            SlidingTopK topK = new SlidingTopK(Duration.ofMinutes(2), Duration.ofMinutes(1), 2);
+            long start = 0;
+            long next = start + Duration.ofMinutes(1).toMillis();
+            topK.offer(1L, 3, start);
+            topK.offer(2L, 4, start);
+            topK.offer(3L, 1, start);
+            topK.offer(1L, 2, next);
+
+            // When
+            Map<Long, Long> counts = new HashMap<>();
+            topK.top(10, next).forEach(entry -> counts.put(entry.getKey(), entry.getValue()));
+
+            // Then: sweet 1 sold 5, its first 3 were evicted from the first slot by sweet 3
+            assertTrue(counts.get(1L) >= 5);
+            assertTrue(counts.get(2L) >= 4);
+            assertTrue(counts.get(3L) >= 1);
+        }
+
+        @Test
+        @DisplayName("Should slide the window one slot at a time")
+        void shouldSlideBySlot() {
+            // Given
+            SlidingTopK topK = new SlidingTopK(Duration.ofMinutes(3), Duration.ofMinutes(1), 8);
+            long start = 0;
+            topK.offer(1L, 5, start);
+            topK.offer(2L, 1, start + Duration.ofMinutes(2).toMillis());
+
+            // When & Then
+            assertEquals(1L, topK.top(1, start + Duration.ofMinutes(2).toMillis()).get(0).getKey());
+            assertEquals(2L, topK.top(1, start + Duration.ofMinutes(3).toMillis()).get(0).getKey());
+        }
+    }
+}
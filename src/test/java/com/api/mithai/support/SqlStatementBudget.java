@@ -0,0 +1,51 @@
+package com.api.mithai.support;
+
+import com.api.mithai.base.sqlguard.SqlGuardFilter;
+import com.api.mithai.base.sqlguard.SqlStatementStats;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.util.Map;
+
+// MockMvc matchers for the SQL a request ran; standalone MockMvc needs guard() in its filters
+public final class SqlStatementBudget {
+
+    private SqlStatementBudget() {
+    }
+
+    // Records everything and never logs, budgets are asserted by the matchers instead
+    public static SqlGuardFilter guard() {
+        return new SqlGuardFilter(Integer.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE);
+    }
+
+    public static ResultMatcher atMost(int maxStatements) {
+        return result -> {
+            SqlStatementStats stats = statsOf(result);
+            if (stats.getStatementCount() > maxStatements) {
+                throw new AssertionError("Expected at most " + maxStatements + " SQL statements for "
+                        + result.getRequest().getRequestURI() + " but " + stats.getStatementCount() + " ran:"
+                        + SqlGuardFilter.describe(stats));
+            }
+        };
+    }
+
+    public static ResultMatcher noRepeatedStatements() {
+        return result -> {
+            SqlStatementStats stats = statsOf(result);
+            for (Map.Entry<String, Integer> entry : stats.getFingerprints().entrySet()) {
+                if (entry.getValue() > 1) {
+                    throw new AssertionError(result.getRequest().getRequestURI() + " ran the same statement "
+                            + entry.getValue() + " times: " + entry.getKey());
+                }
+            }
+        };
+    }
+
+    private static SqlStatementStats statsOf(MvcResult result) {
+        Object stats = result.getRequest().getAttribute(SqlGuardFilter.STATS_ATTRIBUTE);
+        if (!(stats instanceof SqlStatementStats)) {
+            throw new AssertionError("SqlGuardFilter is not installed on this MockMvc");
+        }
+        return (SqlStatementStats) stats;
+    }
+}